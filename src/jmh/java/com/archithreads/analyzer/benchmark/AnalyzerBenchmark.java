@@ -0,0 +1,54 @@
+package com.archithreads.analyzer.benchmark;
+
+import com.archithreads.analyzer.model.ProblemPattern;
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import com.archithreads.analyzer.service.AnalysisMetrics;
+import com.archithreads.analyzer.service.LockGraphAnalyzer;
+import com.archithreads.analyzer.service.PatternAnalyzer;
+import com.archithreads.analyzer.service.RuleEngine;
+import com.archithreads.analyzer.service.ThreadDumpParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스레드 수별 분석기 지연 시간. 파싱은 setup 에서 한 번만 수행한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class AnalyzerBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    private int threads;
+
+    private final LockGraphAnalyzer lockGraphAnalyzer = new LockGraphAnalyzer();
+    private PatternAnalyzer patternAnalyzer;
+    private ThreadDumpAnalysis analysis;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // cpu=/elapsed= 가 있는 최신 헤더 형식 (고CPU 순위 계산 포함)
+        String dump = new SyntheticThreadDumpGenerator(threads, 17, 42L).generate();
+        // 기본 탐지 규칙만 사용 (작업 디렉토리의 rules/ 는 읽지 않음)
+        AnalysisMetrics metrics = new AnalysisMetrics();
+        patternAnalyzer = new PatternAnalyzer(metrics, new RuleEngine());
+        analysis = new ThreadDumpParser(metrics).parseThreadDump(dump);
+        lockGraphAnalyzer.analyze(analysis);
+    }
+
+    @Benchmark
+    public ThreadDumpAnalysis lockGraph() {
+        lockGraphAnalyzer.analyze(analysis);
+        return analysis;
+    }
+
+    @Benchmark
+    public List<ProblemPattern> patterns() {
+        return patternAnalyzer.analyzePatterns(analysis);
+    }
+}
@@ -0,0 +1,77 @@
+package com.archithreads.analyzer.benchmark;
+
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import com.archithreads.analyzer.service.AnalysisMetrics;
+import com.archithreads.analyzer.service.ThreadDumpParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 파서 처리량. megabytes 보조 카운터가 초당 파싱한 MB(MB/s)를 보여준다.
+ * 덤프 1건당 할당량은 -prof gc 의 gc.alloc.rate.norm 으로 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ParserBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    private int threads;
+
+    @Param({"8", "11", "17", "21"})
+    private int jdk;
+
+    private ThreadDumpParser parser;
+    private String dump;
+    private byte[] dumpBytes;
+    private double dumpMegabytes;
+    private Path dumpFile;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class ParsedBytes {
+        public double megabytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        parser = new ThreadDumpParser(new AnalysisMetrics());
+        dump = new SyntheticThreadDumpGenerator(threads, jdk, 42L).generate();
+        dumpBytes = dump.getBytes(StandardCharsets.UTF_8);
+        dumpMegabytes = dumpBytes.length / (1024.0 * 1024.0);
+        dumpFile = Files.createTempFile("bench-threaddump-", ".txt");
+        Files.write(dumpFile, dumpBytes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(dumpFile);
+    }
+
+    @Benchmark
+    public ThreadDumpAnalysis parseString(ParsedBytes counter) {
+        counter.megabytes += dumpMegabytes;
+        return parser.parseThreadDump(dump);
+    }
+
+    @Benchmark
+    public ThreadDumpAnalysis parseStream(ParsedBytes counter) throws IOException {
+        counter.megabytes += dumpMegabytes;
+        return parser.parseThreadDump(new ByteArrayInputStream(dumpBytes));
+    }
+
+    @Benchmark
+    public ThreadDumpAnalysis parseMapped(ParsedBytes counter) throws IOException {
+        counter.megabytes += dumpMegabytes;
+        return parser.parseMappedFile(dumpFile);
+    }
+}
@@ -0,0 +1,388 @@
+package com.archithreads.analyzer.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 벤치마크용 HotSpot jstack 형식 Thread Dump 생성기.
+ *
+ * 스레드 풀 이름, 유휴 대기/슬립/소켓 읽기/락 대기 스택, 길이가 다른 애플리케이션 프레임,
+ * 모니터 및 ReentrantLock 대기 체인, 데드락 사이클 하나를 섞어서 만든다.
+ * JDK 8 / 11 / 17 / 21 의 헤더 형식 차이(cpu=/elapsed=, SMR 정보, 모듈 접두사, [os tid])를 따른다.
+ * 같은 seed 면 항상 같은 덤프를 만든다.
+ *
+ * 단독 실행: java ... SyntheticThreadDumpGenerator &lt;스레드 수&gt; &lt;JDK 버전&gt; &lt;출력 파일&gt;
+ */
+public class SyntheticThreadDumpGenerator {
+
+    private static final String[] PACKAGES = {
+            "com.acme.order", "com.acme.billing", "com.acme.inventory", "com.acme.search", "com.acme.user"
+    };
+    private static final String[] CLASSES = {
+            "Controller", "Service", "Repository", "Client", "Mapper", "Validator", "Handler", "Cache"
+    };
+    private static final String[] METHODS = {
+            "find", "save", "update", "process", "handle", "load", "validate", "convert", "send", "lookup"
+    };
+
+    private static final int APPLICATION_PATHS = 32;
+    private static final int MAX_APPLICATION_DEPTH = 64;
+
+    private final int threadCount;
+    private final int jdkVersion;
+    private final Random random;
+
+    // 같은 풀의 워커는 같은 작업 큐 Condition 에서 대기
+    private final Map<String, String> poolConditions = new HashMap<>();
+    private final List<List<String>> applicationPaths = new ArrayList<>();
+
+    private long nextAddress = 0x00000000c0000000L;
+    private long nextTid = 0x00007f3a2c000000L;
+    private int nextNid = 0x2a00;
+    private int nextThreadNumber = 1;
+
+    public SyntheticThreadDumpGenerator(int threadCount, int jdkVersion, long seed) {
+        if (jdkVersion != 8 && jdkVersion != 11 && jdkVersion != 17 && jdkVersion != 21) {
+            throw new IllegalArgumentException("지원하는 JDK 버전은 8, 11, 17, 21 입니다: " + jdkVersion);
+        }
+        this.threadCount = threadCount;
+        this.jdkVersion = jdkVersion;
+        this.random = new Random(seed);
+        for (int i = 0; i < APPLICATION_PATHS; i++) {
+            applicationPaths.add(new ArrayList<>());
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("사용법: SyntheticThreadDumpGenerator <스레드 수> <JDK 버전> <출력 파일>");
+            System.exit(1);
+        }
+        Path output = Paths.get(args[2]);
+        try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            new SyntheticThreadDumpGenerator(Integer.parseInt(args[0]), Integer.parseInt(args[1]), 42L).writeTo(writer);
+        }
+        System.out.println(output + ": " + Files.size(output) + " bytes");
+    }
+
+    public String generate() {
+        StringBuilder dump = new StringBuilder(threadCount * 1200);
+        try {
+            writeTo(dump);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return dump.toString();
+    }
+
+    public void writeTo(Appendable out) throws IOException {
+        List<ThreadBlock> threads = new ArrayList<>(threadCount);
+        addSystemThreads(threads);
+        addDeadlock(threads);
+        while (threads.size() < threadCount) {
+            int remaining = threadCount - threads.size();
+            int kind = random.nextInt(100);
+            if (kind < 6 && remaining >= 3) {
+                addMonitorChain(threads, 2 + random.nextInt(Math.min(4, remaining - 1)));
+            } else if (kind < 10 && remaining >= 3 && jdkVersion >= 11) {
+                addReentrantLockChain(threads, 2 + random.nextInt(Math.min(4, remaining - 1)));
+            } else if (kind < 55) {
+                threads.add(idlePoolWorker());
+            } else if (kind < 70) {
+                threads.add(sleeping());
+            } else {
+                threads.add(socketReader());
+            }
+        }
+
+        out.append("2024-05-01 10:00:00\n");
+        out.append("Full thread dump ").append(vmName()).append(":\n\n");
+        if (jdkVersion >= 11) {
+            appendSmrInfo(out, threads);
+        }
+        for (ThreadBlock thread : threads.subList(0, threadCount)) {
+            thread.appendTo(out);
+        }
+        out.append("JNI global refs: ").append(Integer.toString(threadCount * 3)).append(", weak refs: 0\n\n");
+    }
+
+    private String vmName() {
+        switch (jdkVersion) {
+            case 8: return "Java HotSpot(TM) 64-Bit Server VM (25.381-b09 mixed mode)";
+            case 11: return "OpenJDK 64-Bit Server VM (11.0.22+7 mixed mode, sharing)";
+            case 17: return "OpenJDK 64-Bit Server VM (17.0.10+7 mixed mode, sharing)";
+            default: return "OpenJDK 64-Bit Server VM (21.0.2+13 mixed mode, sharing)";
+        }
+    }
+
+    private String jdkFrame(String className, String method, String file, int line) {
+        // JDK 9+ 는 java.base 모듈 접두사를 붙인다
+        String module = jdkVersion == 8 ? "" : "java.base@" + moduleVersion() + "/";
+        return "at " + className + "." + method + "(" + module + (file != null ? file + ":" + line : "Native Method") + ")";
+    }
+
+    private String moduleVersion() {
+        switch (jdkVersion) {
+            case 11: return "11.0.22";
+            case 17: return "17.0.10";
+            default: return "21.0.2";
+        }
+    }
+
+    private String unsafeClass() {
+        return jdkVersion == 8 ? "sun.misc.Unsafe" : "jdk.internal.misc.Unsafe";
+    }
+
+    private void addSystemThreads(List<ThreadBlock> threads) {
+        ThreadBlock referenceHandler = newThread("Reference Handler", true, 10, "RUNNABLE", "runnable");
+        if (jdkVersion == 8) {
+            referenceHandler.state = "WAITING (on object monitor)";
+            referenceHandler.headerState = "in Object.wait()";
+            String lock = address();
+            referenceHandler.frames.add(jdkFrame("java.lang.Object", "wait", null, 0));
+            referenceHandler.frames.add("- waiting on <" + lock + "> (a java.lang.ref.Reference$Lock)");
+            referenceHandler.frames.add(jdkFrame("java.lang.ref.Reference", "tryHandlePending", "Reference.java", 191));
+            referenceHandler.frames.add("- locked <" + lock + "> (a java.lang.ref.Reference$Lock)");
+        } else {
+            referenceHandler.frames.add(jdkFrame("java.lang.ref.Reference", "waitForReferencePendingList", null, 0));
+            referenceHandler.frames.add(jdkFrame("java.lang.ref.Reference", "processPendingReferences", "Reference.java", 253));
+        }
+        referenceHandler.frames.add(jdkFrame("java.lang.ref.Reference$ReferenceHandler", "run", "Reference.java", 215));
+        threads.add(referenceHandler);
+
+        ThreadBlock finalizer = newThread("Finalizer", true, 8, "WAITING (on object monitor)", "in Object.wait()");
+        String queueLock = address();
+        finalizer.frames.add(jdkFrame("java.lang.Object", "wait", null, 0));
+        finalizer.frames.add("- waiting on <" + queueLock + "> (a java.lang.ref.ReferenceQueue$Lock)");
+        finalizer.frames.add(jdkFrame("java.lang.ref.ReferenceQueue", "remove", "ReferenceQueue.java", 155));
+        finalizer.frames.add("- locked <" + queueLock + "> (a java.lang.ref.ReferenceQueue$Lock)");
+        finalizer.frames.add(jdkFrame("java.lang.ref.Finalizer$FinalizerThread", "run", "Finalizer.java", 216));
+        threads.add(finalizer);
+
+        threads.add(newThread("Signal Dispatcher", true, 9, "RUNNABLE", "runnable"));
+        threads.add(newThread("C2 CompilerThread0", true, 9, "RUNNABLE", "waiting on condition"));
+
+        ThreadBlock main = newThread("main", false, 5, "RUNNABLE", "runnable");
+        main.frames.add(jdkFrame("sun.nio.ch.EPoll", "wait", null, 0));
+        main.frames.add(jdkFrame("sun.nio.ch.EPollSelectorImpl", "doSelect", "EPollSelectorImpl.java", 118));
+        main.frames.add("at org.apache.catalina.startup.Catalina.await(Catalina.java:789)");
+        main.frames.add("at org.springframework.boot.SpringApplication.run(SpringApplication.java:316)");
+        main.frames.add("at com.acme.Application.main(Application.java:12)");
+        threads.add(main);
+    }
+
+    // 서로의 모니터를 기다리는 두 스레드 (JVM 데드락 보고는 생략하고 그래프 탐지로만 찾도록)
+    private void addDeadlock(List<ThreadBlock> threads) {
+        if (threadCount < 50) {
+            return;
+        }
+        String first = address();
+        String second = address();
+        threads.add(blockedOn(poolThreadName("http-nio-8080-exec"), second, first));
+        threads.add(blockedOn(poolThreadName("http-nio-8080-exec"), first, second));
+    }
+
+    // 앞 스레드가 뒤 스레드의 모니터를 기다리는 체인. 마지막 스레드는 락을 쥔 채 실행 중
+    private void addMonitorChain(List<ThreadBlock> threads, int length) {
+        String[] locks = new String[length];
+        for (int i = 0; i < length; i++) {
+            locks[i] = address();
+        }
+        for (int i = 0; i < length - 1; i++) {
+            threads.add(blockedOn(poolThreadName("http-nio-8080-exec"), locks[i + 1], locks[i]));
+        }
+        ThreadBlock owner = socketReader();
+        owner.frames.add(owner.frames.size() - 2, "- locked <" + locks[length - 1] + "> (a com.acme.order.OrderLock)");
+        threads.add(owner);
+    }
+
+    private void addReentrantLockChain(List<ThreadBlock> threads, int length) {
+        String[] locks = new String[length];
+        for (int i = 0; i < length; i++) {
+            locks[i] = address();
+        }
+        for (int i = 0; i < length - 1; i++) {
+            ThreadBlock waiter = newThread(poolThreadName("pool-3-thread"), false, 5, "WAITING (parking)", "waiting on condition");
+            waiter.frames.add(jdkFrame(unsafeClass(), "park", null, 0));
+            waiter.frames.add("- parking to wait for  <" + locks[i + 1] + "> (a java.util.concurrent.locks.ReentrantLock$NonfairSync)");
+            waiter.frames.add(jdkFrame("java.util.concurrent.locks.LockSupport", "park", "LockSupport.java", 211));
+            waiter.frames.add(jdkFrame("java.util.concurrent.locks.ReentrantLock", "lock", "ReentrantLock.java", 322));
+            appendApplicationFrames(waiter.frames, 3 + random.nextInt(8));
+            appendPoolFrames(waiter.frames);
+            waiter.synchronizers.add(locks[i]);
+            threads.add(waiter);
+        }
+        ThreadBlock owner = sleeping();
+        owner.synchronizers.add(locks[length - 1]);
+        threads.add(owner);
+    }
+
+    private ThreadBlock blockedOn(String name, String waitingFor, String held) {
+        ThreadBlock thread = newThread(name, true, 5, "BLOCKED (on object monitor)", "waiting for monitor entry");
+        int depth = 2 + random.nextInt(10);
+        thread.frames.add("at " + applicationFrame());
+        thread.frames.add("- waiting to lock <" + waitingFor + "> (a com.acme.order.OrderLock)");
+        thread.frames.add("- locked <" + held + "> (a com.acme.order.OrderLock)");
+        appendApplicationFrames(thread.frames, depth);
+        appendPoolFrames(thread.frames);
+        return thread;
+    }
+
+    // 대부분의 스레드: 작업 큐에서 대기 중인 풀 워커 (동일 스택 그룹을 만든다)
+    private ThreadBlock idlePoolWorker() {
+        boolean tomcat = random.nextBoolean();
+        String pool = tomcat ? "http-nio-8080-exec" : "pool-" + (1 + random.nextInt(4)) + "-thread";
+        String condition = poolConditions.computeIfAbsent(pool, p -> address());
+        ThreadBlock thread = newThread(poolThreadName(pool), tomcat, 5, "WAITING (parking)", "waiting on condition");
+        thread.frames.add(jdkFrame(unsafeClass(), "park", null, 0));
+        thread.frames.add("- parking to wait for  <" + condition + "> (a java.util.concurrent.locks.AbstractQueuedSynchronizer$ConditionObject)");
+        thread.frames.add(jdkFrame("java.util.concurrent.locks.LockSupport", "park", "LockSupport.java", jdkVersion == 8 ? 175 : 341));
+        thread.frames.add(jdkFrame("java.util.concurrent.locks.AbstractQueuedSynchronizer$ConditionObject", "await", "AbstractQueuedSynchronizer.java", jdkVersion == 8 ? 2039 : 1623));
+        thread.frames.add(jdkFrame("java.util.concurrent.LinkedBlockingQueue", "take", "LinkedBlockingQueue.java", jdkVersion == 8 ? 442 : 435));
+        if (tomcat) {
+            thread.frames.add("at org.apache.tomcat.util.threads.TaskQueue.take(TaskQueue.java:141)");
+        }
+        thread.frames.add(jdkFrame("java.util.concurrent.ThreadPoolExecutor", "getTask", "ThreadPoolExecutor.java", jdkVersion == 8 ? 1074 : 1062));
+        appendPoolFrames(thread.frames);
+        return thread;
+    }
+
+    private ThreadBlock sleeping() {
+        ThreadBlock thread = newThread(poolThreadName("scheduling"), false, 5, "TIMED_WAITING (sleeping)", "waiting on condition");
+        thread.frames.add(jdkFrame("java.lang.Thread", jdkVersion >= 21 ? "sleep0" : "sleep", null, 0));
+        if (jdkVersion >= 21) {
+            thread.frames.add(jdkFrame("java.lang.Thread", "sleep", "Thread.java", 509));
+        }
+        appendApplicationFrames(thread.frames, 2 + random.nextInt(6));
+        appendPoolFrames(thread.frames);
+        return thread;
+    }
+
+    // 깊이가 다양한 애플리케이션 스택 위에서 소켓을 읽는 실행 중 스레드
+    private ThreadBlock socketReader() {
+        ThreadBlock thread = newThread(poolThreadName("http-nio-8080-exec"), true, 5, "RUNNABLE", "runnable");
+        if (jdkVersion == 8) {
+            thread.frames.add(jdkFrame("java.net.SocketInputStream", "socketRead0", null, 0));
+            thread.frames.add(jdkFrame("java.net.SocketInputStream", "read", "SocketInputStream.java", 171));
+        } else {
+            thread.frames.add(jdkFrame("sun.nio.ch.Net", "poll", null, 0));
+            thread.frames.add(jdkFrame("sun.nio.ch.NioSocketImpl", "park", "NioSocketImpl.java", 186));
+            thread.frames.add(jdkFrame("sun.nio.ch.NioSocketImpl", "read", "NioSocketImpl.java", 304));
+        }
+        thread.frames.add("at com.mysql.cj.protocol.ReadAheadInputStream.fill(ReadAheadInputStream.java:107)");
+        thread.frames.add("at com.zaxxer.hikari.pool.ProxyPreparedStatement.executeQuery(ProxyPreparedStatement.java:52)");
+        appendApplicationFrames(thread.frames, 5 + random.nextInt(60));
+        appendPoolFrames(thread.frames);
+        return thread;
+    }
+
+    // 미리 만든 호출 경로 중 하나의 앞부분을 사용 (요청 처리 경로 수가 한정된 실제 서비스처럼)
+    private void appendApplicationFrames(List<String> frames, int depth) {
+        List<String> path = applicationPaths.get(random.nextInt(APPLICATION_PATHS));
+        if (path.isEmpty()) {
+            for (int i = 0; i < MAX_APPLICATION_DEPTH; i++) {
+                path.add("at " + applicationFrame());
+            }
+        }
+        frames.addAll(path.subList(0, Math.min(depth, MAX_APPLICATION_DEPTH)));
+    }
+
+    private void appendPoolFrames(List<String> frames) {
+        frames.add(jdkFrame("java.util.concurrent.ThreadPoolExecutor", "runWorker", "ThreadPoolExecutor.java", jdkVersion == 8 ? 1149 : 1136));
+        frames.add(jdkFrame("java.util.concurrent.ThreadPoolExecutor$Worker", "run", "ThreadPoolExecutor.java", jdkVersion == 8 ? 624 : 635));
+        frames.add(jdkFrame("java.lang.Thread", "run", "Thread.java", jdkVersion == 8 ? 748 : 840));
+    }
+
+    // 프레임 어휘를 제한해 실제 덤프처럼 같은 프레임이 여러 스레드에서 반복되게 한다
+    private String applicationFrame() {
+        String pkg = PACKAGES[random.nextInt(PACKAGES.length)];
+        String cls = CLASSES[random.nextInt(CLASSES.length)];
+        String simpleName = Character.toUpperCase(pkg.charAt(pkg.lastIndexOf('.') + 1)) + pkg.substring(pkg.lastIndexOf('.') + 2) + cls;
+        String method = METHODS[random.nextInt(METHODS.length)];
+        return pkg + "." + simpleName + "." + method + "(" + simpleName + ".java:" + (20 + random.nextInt(40) * 5) + ")";
+    }
+
+    private String poolThreadName(String pool) {
+        return pool + "-" + nextThreadNumber++;
+    }
+
+    private String address() {
+        nextAddress += 0x18 + random.nextInt(64) * 8;
+        return String.format("0x%016x", nextAddress);
+    }
+
+    private ThreadBlock newThread(String name, boolean daemon, int priority, String state, String headerState) {
+        ThreadBlock thread = new ThreadBlock();
+        thread.name = name;
+        thread.daemon = daemon;
+        thread.priority = priority;
+        thread.state = state;
+        thread.headerState = headerState;
+        thread.tid = nextTid += 0x1000 + random.nextInt(16) * 0x800;
+        thread.nid = nextNid++;
+        return thread;
+    }
+
+    private void appendSmrInfo(Appendable out, List<ThreadBlock> threads) throws IOException {
+        out.append("Threads class SMR info:\n");
+        out.append(String.format("_java_thread_list=0x%016x, length=%d, elements={\n", nextTid + 0x10000, threadCount));
+        for (int i = 0; i < threadCount; i++) {
+            out.append(String.format("0x%016x", threads.get(i).tid));
+            out.append(i == threadCount - 1 ? "\n" : (i % 4 == 3 ? ",\n" : ", "));
+        }
+        out.append("}\n\n");
+    }
+
+    private final class ThreadBlock {
+        private String name;
+        private boolean daemon;
+        private int priority;
+        private String state;
+        private String headerState;
+        private long tid;
+        private int nid;
+        private final List<String> frames = new ArrayList<>();
+        private final List<String> synchronizers = new ArrayList<>();
+
+        void appendTo(Appendable out) throws IOException {
+            int number = nid - 0x2a00 + 1;
+            out.append('"').append(name).append("\" #").append(Integer.toString(number));
+            if (jdkVersion >= 21) {
+                // JDK 19+ 는 OS 스레드 ID 를 [ ] 로 출력하고 nid 를 10진수로 쓴다
+                out.append(" [").append(Integer.toString(nid)).append(']');
+            }
+            if (daemon) {
+                out.append(" daemon");
+            }
+            out.append(" prio=").append(Integer.toString(priority)).append(" os_prio=0");
+            if (jdkVersion >= 11) {
+                out.append(String.format(" cpu=%.2fms elapsed=%.2fs", random.nextInt(500000) / 100.0, 3600 + random.nextInt(360000) / 100.0));
+            }
+            out.append(String.format(" tid=0x%016x", tid));
+            out.append(jdkVersion >= 21 ? " nid=" + nid : " nid=0x" + Integer.toHexString(nid));
+            out.append(' ').append(headerState);
+            out.append(frames.isEmpty() ? " \n" : String.format("  [0x%016x]\n", tid & 0xffffffffff000L));
+            out.append("   java.lang.Thread.State: ").append(state).append('\n');
+            for (String frame : frames) {
+                out.append('\t').append(frame).append('\n');
+            }
+            out.append('\n');
+            if (!synchronizers.isEmpty()) {
+                out.append("   Locked ownable synchronizers:\n");
+                for (String synchronizer : synchronizers) {
+                    out.append("\t- <").append(synchronizer).append("> (a java.util.concurrent.locks.ReentrantLock$NonfairSync)\n");
+                }
+                out.append('\n');
+            }
+        }
+    }
+}
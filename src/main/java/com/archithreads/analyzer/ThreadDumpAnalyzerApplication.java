@@ -2,11 +2,21 @@ package com.archithreads.analyzer;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+import java.util.Arrays;
+
+// 완료된 작업, 멈춘 분할 업로드 정리용 (배치 모드는 이 설정을 쓰지 않음)
+@EnableScheduling
 @SpringBootApplication
 public class ThreadDumpAnalyzerApplication {
 
     public static void main(String[] args) {
+        // java -jar thread-dump-analyzer.jar batch ... : 웹 서버 없이 일괄 분석
+        if (args.length > 0 && "batch".equals(args[0])) {
+            ThreadDumpBatchApplication.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         SpringApplication.run(ThreadDumpAnalyzerApplication.class, args);
     }
 }
@@ -0,0 +1,101 @@
+package com.archithreads.analyzer;
+
+import com.archithreads.analyzer.model.BatchSummary;
+import com.archithreads.analyzer.service.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.Banner;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 웹 서버 없이 덤프 파일들을 일괄 분석하는 명령행 진입점.
+ *
+ * <pre>
+ * java -jar thread-dump-analyzer.jar batch [옵션] &lt;디렉토리|파일|glob&gt;...
+ *   --out=&lt;디렉토리&gt;       결과 디렉토리 (기본 batch-results)
+ *   --format=json|ndjson    덤프별 JSON 파일 또는 하나의 results.ndjson (기본 json)
+ *   --parallelism=&lt;N&gt;     동시에 분석할 파일 수 (기본 CPU 수)
+ *   --recursive             하위 디렉토리까지 포함
+ * </pre>
+ *
+ * 자동 설정(웹, 템플릿, actuator 등) 없이 분석에 필요한 서비스만 등록하여 기동 시간을 줄인다.
+ * 컴포넌트 스캔 대상이 되지 않도록 @Configuration 을 붙이지 않는다.
+ */
+@Import({ThreadDumpParser.class, PatternAnalyzer.class, LockGraphAnalyzer.class, ThreadDumpAnalyzerService.class,
+        AnalysisStore.class, AnalysisCache.class, AnalysisArchive.class, AnalysisMetrics.class,
+        CompressedDumpReader.class, AnalysisJsonExporter.class, RuleEngine.class, ThreadDumpBatchService.class})
+public class ThreadDumpBatchApplication {
+
+    private static final String USAGE = "사용법: batch [--out=<디렉토리>] [--format=json|ndjson] "
+            + "[--parallelism=<N>] [--recursive] <디렉토리|파일|glob>...";
+
+    private static final Map<String, String> BATCH_PROPERTIES = Map.of(
+            // devtools 가 클래스패스에 있으면(bootRun, IDE) 재시작기가 batch 인자 없이 main 을 다시 호출하여 웹 서버가 뜬다
+            "spring.devtools.restart.enabled", "false",
+            // 한 번 실행하고 끝나므로 규칙 디렉토리 감시 스레드가 필요 없다
+            "analyzer.rules.watch", "false",
+            "logging.level.com.archithreads.analyzer", "WARN",
+            "logging.level.org.springframework", "WARN");
+
+    public static void main(String[] args) {
+        DefaultApplicationArguments arguments = new DefaultApplicationArguments(args);
+        String format = option(arguments, "format", ThreadDumpBatchService.FORMAT_JSON);
+        List<String> inputs = arguments.getNonOptionArgs();
+        if (inputs.isEmpty() || !List.of(ThreadDumpBatchService.FORMAT_JSON, ThreadDumpBatchService.FORMAT_NDJSON).contains(format)) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        // 배치 전용 기본값. application.yml 보다 우선하도록 시스템 속성으로 두되, -D 나 --옵션으로 지정한 값은 유지
+        BATCH_PROPERTIES.forEach((name, value) -> {
+            if (System.getProperty(name) == null) {
+                System.setProperty(name, value);
+            }
+        });
+
+        // 웹 서버, 배너 없이 기동 (application.yml 의 analyzer.* 설정은 그대로 적용)
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ThreadDumpBatchApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run(args);
+
+        int exitCode;
+        try {
+            ThreadDumpBatchService batchService = context.getBean(ThreadDumpBatchService.class);
+            Path outputDir = Paths.get(option(arguments, "out", "batch-results"));
+            int parallelism = Integer.parseInt(option(arguments, "parallelism", "0"));
+            BatchSummary summary = batchService.run(inputs, outputDir, format, parallelism,
+                    arguments.containsOption("recursive"));
+            batchService.printSummary(summary, outputDir, System.out);
+            exitCode = summary.getFailedFiles() > 0 ? 1 : 0;
+        } catch (Exception e) {
+            System.err.println("배치 분석 실패: " + e.getMessage());
+            exitCode = 1;
+        } finally {
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+
+    // 웹 애플리케이션의 자동 설정과 같은 기본값 (알 수 없는 속성 무시 등)
+    @Bean
+    ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    private static String option(DefaultApplicationArguments arguments, String name, String defaultValue) {
+        List<String> values = arguments.getOptionValues(name);
+        return values == null || values.isEmpty() ? defaultValue : values.get(values.size() - 1);
+    }
+}
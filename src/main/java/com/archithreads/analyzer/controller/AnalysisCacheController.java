@@ -0,0 +1,29 @@
+package com.archithreads.analyzer.controller;
+
+import com.archithreads.analyzer.model.AnalysisCacheStats;
+import com.archithreads.analyzer.service.AnalysisCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 분석 결과 캐시 상태 조회 및 비우기.
+ */
+@RestController
+@RequestMapping("/api/cache")
+public class AnalysisCacheController {
+
+    @Autowired
+    private AnalysisCache analysisCache;
+
+    @GetMapping("/stats")
+    public AnalysisCacheStats getStats() {
+        return analysisCache.getStats();
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> clear() {
+        analysisCache.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
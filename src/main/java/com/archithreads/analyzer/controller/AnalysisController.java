@@ -0,0 +1,183 @@
+package com.archithreads.analyzer.controller;
+
+import com.archithreads.analyzer.model.ArchivedAnalysis;
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import com.archithreads.analyzer.model.ThreadInfo;
+import com.archithreads.analyzer.model.ThreadPage;
+import com.archithreads.analyzer.service.AnalysisArchive;
+import com.archithreads.analyzer.service.AnalysisJsonExporter;
+import com.archithreads.analyzer.service.ThreadDumpAnalyzerService;
+import com.archithreads.analyzer.service.ThreadQueryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 저장된 분석 결과 JSON API.
+ */
+@RestController
+@RequestMapping("/api/analyses")
+public class AnalysisController {
+
+    @Autowired
+    private ThreadDumpAnalyzerService analyzerService;
+
+    @Autowired
+    private AnalysisArchive analysisArchive;
+
+    @Autowired
+    private ThreadQueryService threadQueryService;
+
+    @Autowired
+    private AnalysisJsonExporter jsonExporter;
+
+    @GetMapping
+    public List<ArchivedAnalysis> list(@RequestParam(value = "limit", defaultValue = "50") int limit) {
+        return analysisArchive.list(limit);
+    }
+
+    /**
+     * 분석 결과 전체를 스트리밍으로 내보낸다 (fields / threadFields: 포함할 필드, stacks=false: 스택 제외).
+     * 알 수 없는 필드 이름은 400.
+     */
+    @GetMapping({"/{analysisId}", "/{analysisId}.json"})
+    public void exportJson(@PathVariable String analysisId,
+                           @RequestParam(value = "fields", required = false) String fields,
+                           @RequestParam(value = "threadFields", required = false) String threadFields,
+                           @RequestParam(value = "stacks", defaultValue = "true") boolean stacks,
+                           @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                           HttpServletResponse response) throws IOException {
+        ThreadDumpAnalysis analysis = find(analysisId);
+        Set<String> fieldNames = fieldSet(fields);
+        Set<String> threadFieldNames = fieldSet(threadFields);
+        validateFields(fieldNames, threadFieldNames);
+        try (OutputStream out = openExport(response, MediaType.APPLICATION_JSON_VALUE, acceptEncoding)) {
+            jsonExporter.writeJson(analysis, out, fieldNames, threadFieldNames, stacks);
+        }
+    }
+
+    /**
+     * 스레드 하나당 한 줄(NDJSON)로 내보낸다.
+     */
+    @GetMapping("/{analysisId}.ndjson")
+    public void exportNdjson(@PathVariable String analysisId,
+                             @RequestParam(value = "threadFields", required = false) String threadFields,
+                             @RequestParam(value = "stacks", defaultValue = "true") boolean stacks,
+                             @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                             HttpServletResponse response) throws IOException {
+        ThreadDumpAnalysis analysis = find(analysisId);
+        Set<String> threadFieldNames = fieldSet(threadFields);
+        validateFields(null, threadFieldNames);
+        try (OutputStream out = openExport(response, "application/x-ndjson", acceptEncoding)) {
+            jsonExporter.writeNdjson(analysis, out, threadFieldNames, stacks);
+        }
+    }
+
+    /**
+     * 스택 트레이스를 제외한 스레드 목록 (필터: q, state, name, lock, pattern / 정렬: name, state, depth, lock).
+     * q 는 검색식 (예: frame:com.acme.billing AND state:BLOCKED).
+     */
+    @GetMapping("/{analysisId}/threads")
+    public ThreadPage threads(@PathVariable String analysisId,
+                              @RequestParam(value = "q", required = false) String q,
+                              @RequestParam(value = "state", required = false) String state,
+                              @RequestParam(value = "name", required = false) String name,
+                              @RequestParam(value = "lock", required = false) String lock,
+                              @RequestParam(value = "pattern", required = false) String pattern,
+                              @RequestParam(value = "sort", required = false) String sort,
+                              @RequestParam(value = "direction", defaultValue = "asc") String direction,
+                              @RequestParam(value = "page", defaultValue = "0") int page,
+                              @RequestParam(value = "size", defaultValue = "100") int size) throws IOException {
+        ThreadDumpAnalysis analysis = find(analysisId);
+        try {
+            return threadQueryService.query(analysis, q, state, name, lock, pattern, sort,
+                    "desc".equalsIgnoreCase(direction), page, size);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * 덤프 순서상 index 번째 스레드의 전체 정보 (스택 트레이스 포함).
+     */
+    @GetMapping("/{analysisId}/threads/{index}")
+    public ThreadInfo thread(@PathVariable String analysisId, @PathVariable int index) throws IOException {
+        ThreadInfo thread = threadQueryService.getThread(find(analysisId), index);
+        if (thread == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "스레드를 찾을 수 없습니다: " + index);
+        }
+        return thread;
+    }
+
+    /**
+     * 호출 트리의 collapsed stack 텍스트 (결과 화면의 icicle 뷰가 지연 로드).
+     */
+    @GetMapping(value = "/{analysisId}/collapsed", produces = MediaType.TEXT_PLAIN_VALUE)
+    public String collapsed(@PathVariable String analysisId) throws IOException {
+        ThreadDumpAnalysis analysis = find(analysisId);
+        return analysis.getCallTree() != null ? analysis.getCallTree().getCollapsed() : "";
+    }
+
+    /**
+     * 이 API 가 직접 만든 오류(검색식 문법 오류 위치, 알 수 없는 필드 등)는 사유를 ProblemDetail 의 detail 로 돌려준다.
+     * 그 밖의 예외 메시지는 기본 오류 응답처럼 노출하지 않는다.
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ProblemDetail> handleStatus(ResponseStatusException e) {
+        return ResponseEntity.status(e.getStatusCode()).body(e.getBody());
+    }
+
+    // 응답을 쓰기 시작한 뒤에는 상태 코드를 바꿀 수 없으므로 먼저 확인
+    private void validateFields(Set<String> fields, Set<String> threadFields) {
+        try {
+            jsonExporter.validateFields(fields, threadFields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // 클라이언트가 gzip 을 받을 수 있으면 압축하면서 쓴다 (응답 전체를 버퍼링하지 않음)
+    static OutputStream openExport(HttpServletResponse response, String contentType,
+                                           String acceptEncoding) throws IOException {
+        response.setContentType(contentType);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip")) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return new GZIPOutputStream(response.getOutputStream(), 64 * 1024);
+        }
+        return response.getOutputStream();
+    }
+
+    // "a,b,c" -> 필드 이름 집합 (비어 있으면 null = 전체)
+    private static Set<String> fieldSet(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        Arrays.stream(fields.split(",")).map(String::trim).filter(name -> !name.isEmpty()).forEach(names::add);
+        return names;
+    }
+
+    private ThreadDumpAnalysis find(String analysisId) throws IOException {
+        ThreadDumpAnalysis analysis = analyzerService.findAnalysis(analysisId);
+        if (analysis == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "분석 결과를 찾을 수 없습니다: " + analysisId);
+        }
+        return analysis;
+    }
+}
@@ -0,0 +1,115 @@
+package com.archithreads.analyzer.controller;
+
+import com.archithreads.analyzer.model.AnalysisJob;
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import com.archithreads.analyzer.service.AnalysisJobService;
+import com.archithreads.analyzer.service.AnalysisJsonExporter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 비동기 분석 작업 JSON API. 작업 등록 즉시 작업 ID 를 반환하고 분석은 백그라운드에서 진행한다.
+ */
+@RestController
+@RequestMapping("/api/jobs")
+public class AnalysisJobController {
+
+    @Autowired
+    private AnalysisJobService jobService;
+
+    @Autowired
+    private AnalysisJsonExporter jsonExporter;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<AnalysisJob> submit(@RequestParam(value = "file", required = false) MultipartFile file,
+                                              @RequestParam(value = "threadDump", required = false) String threadDumpContent)
+            throws IOException {
+        AnalysisJob job;
+        try {
+            if (file != null && !file.isEmpty()) {
+                job = jobService.submit(file);
+            } else if (threadDumpContent != null && !threadDumpContent.isBlank()) {
+                job = jobService.submit(new ByteArrayInputStream(threadDumpContent.getBytes(StandardCharsets.UTF_8)));
+            } else {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "file 또는 threadDump 가 필요합니다.");
+            }
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+        }
+        return accepted(job);
+    }
+
+    // 스크립트용: 요청 본문 전체를 덤프로 받음 (curl --data-binary @dump.txt -H 'Content-Type: text/plain')
+    @PostMapping(consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<AnalysisJob> submitText(InputStream body) throws IOException {
+        try {
+            return accepted(jobService.submit(body));
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    public AnalysisJob getJob(@PathVariable String jobId) {
+        return findJob(jobId);
+    }
+
+    @GetMapping(path = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable String jobId) {
+        return jobService.subscribe(findJob(jobId));
+    }
+
+    /**
+     * 완료된 작업의 분석 결과 (/api/analyses/{id}.json 과 같은 스트리밍 출력).
+     */
+    @GetMapping("/{jobId}/result")
+    public void getResult(@PathVariable String jobId,
+                          @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                          HttpServletResponse response) throws IOException {
+        AnalysisJob job = findJob(jobId);
+        if (AnalysisJob.FAILED.equals(job.getStatus())) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, job.getError());
+        }
+        if (!job.isDone()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "분석이 아직 진행 중입니다.");
+        }
+        ThreadDumpAnalysis analysis = jobService.getResult(job);
+        if (analysis == null) {
+            throw new ResponseStatusException(HttpStatus.GONE, "분석 결과가 보관 기간이 지나 삭제되었습니다.");
+        }
+        try (OutputStream out = AnalysisController.openExport(response, MediaType.APPLICATION_JSON_VALUE, acceptEncoding)) {
+            jsonExporter.writeJson(analysis, out, null, null, true);
+        }
+    }
+
+    private AnalysisJob findJob(String jobId) {
+        AnalysisJob job = jobService.getJob(jobId);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "작업을 찾을 수 없습니다: " + jobId);
+        }
+        return job;
+    }
+
+    private ResponseEntity<AnalysisJob> accepted(AnalysisJob job) {
+        URI location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/{jobId}").buildAndExpand(job.getJobId()).toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+}
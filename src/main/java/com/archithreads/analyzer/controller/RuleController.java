@@ -0,0 +1,27 @@
+package com.archithreads.analyzer.controller;
+
+import com.archithreads.analyzer.model.RuleStatus;
+import com.archithreads.analyzer.service.RuleEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 탐지 규칙 상태 조회 및 다시 로드 (파일 감시를 끈 경우나 즉시 반영할 때).
+ */
+@RestController
+@RequestMapping("/api/rules")
+public class RuleController {
+
+    @Autowired
+    private RuleEngine ruleEngine;
+
+    @GetMapping
+    public RuleStatus getStatus() {
+        return ruleEngine.getStatus();
+    }
+
+    @PostMapping("/reload")
+    public RuleStatus reload() {
+        return ruleEngine.reload();
+    }
+}
@@ -0,0 +1,56 @@
+package com.archithreads.analyzer.controller;
+
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import com.archithreads.analyzer.service.AnalysisMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 컨트롤러 처리 이후(postHandle)부터 뷰 렌더링 완료(afterCompletion)까지를 템플릿 렌더링 시간으로 기록한다.
+ */
+@Component
+public class TemplateRenderTimer implements HandlerInterceptor, WebMvcConfigurer {
+
+    private static final String RENDER_START = TemplateRenderTimer.class.getName() + ".start";
+    private static final String RENDER_VIEW = TemplateRenderTimer.class.getName() + ".view";
+    private static final String RENDER_ANALYSIS = TemplateRenderTimer.class.getName() + ".analysis";
+
+    @Autowired
+    private AnalysisMetrics metrics;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this);
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        // REST 응답과 리다이렉트는 렌더링할 템플릿이 없음
+        if (modelAndView == null || modelAndView.getViewName() == null
+                || modelAndView.getViewName().startsWith("redirect:")) {
+            return;
+        }
+        request.setAttribute(RENDER_VIEW, modelAndView.getViewName());
+        request.setAttribute(RENDER_ANALYSIS, modelAndView.getModel().get("analysis"));
+        request.setAttribute(RENDER_START, System.nanoTime());
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object started = request.getAttribute(RENDER_START);
+        if (started == null) {
+            return;
+        }
+        Object analysis = request.getAttribute(RENDER_ANALYSIS);
+        metrics.recordRender(analysis instanceof ThreadDumpAnalysis ? (ThreadDumpAnalysis) analysis : null,
+                (String) request.getAttribute(RENDER_VIEW), System.nanoTime() - (Long) started);
+    }
+}
@@ -1,7 +1,11 @@
 package com.archithreads.analyzer.controller;
 
 import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import com.archithreads.analyzer.model.ThreadDumpSeries;
+import com.archithreads.analyzer.service.AnalysisArchive;
+import com.archithreads.analyzer.service.RuleEngine;
 import com.archithreads.analyzer.service.ThreadDumpAnalyzerService;
+import com.archithreads.analyzer.service.ThreadDumpSeriesService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -9,7 +13,8 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
 
 @Controller
 public class ThreadDumpController {
@@ -17,8 +22,19 @@ public class ThreadDumpController {
     @Autowired
     private ThreadDumpAnalyzerService analyzerService;
 
+    @Autowired
+    private ThreadDumpSeriesService seriesService;
+
+    @Autowired
+    private AnalysisArchive analysisArchive;
+
+    @Autowired
+    private RuleEngine ruleEngine;
+
     @GetMapping("/")
-    public String index() {
+    public String index(Model model) {
+        // 최근 저장된 분석 결과 목록
+        model.addAttribute("archivedAnalyses", analysisArchive.list(10));
         return "index";
     }
 
@@ -27,16 +43,22 @@ public class ThreadDumpController {
                                    @RequestParam(value = "file", required = false) MultipartFile file,
                                    Model model) {
         try {
-            String content = threadDumpContent;
+            ThreadDumpAnalysis analysis;
             
-            // 파일이 업로드된 경우 파일 내용 사용
+            // 파일이 업로드된 경우 업로드 파일을 바로 파싱 (크기에 따라 스트리밍/매핑, 압축 파일은 풀면서 파싱)
             if (file != null && !file.isEmpty()) {
-                content = new String(file.getBytes(), StandardCharsets.UTF_8);
+                Map<String, ThreadDumpAnalysis> analyses = analyzerService.analyzeUpload(file);
+                analysis = analyses.values().iterator().next();
+                
+                // 압축 파일에 덤프가 여러 개이면 첫 번째 결과를 보여주고 나머지는 링크로
+                if (analyses.size() > 1) {
+                    model.addAttribute("archiveEntries", analyses);
+                }
+            } else {
+                // Thread Dump 분석 수행
+                analysis = analyzerService.analyzeThreadDump(threadDumpContent);
             }
             
-            // Thread Dump 분석 수행
-            ThreadDumpAnalysis analysis = analyzerService.analyzeThreadDump(content);
-            
             model.addAttribute("analysis", analysis);
             model.addAttribute("success", true);
             
@@ -49,6 +71,47 @@ public class ThreadDumpController {
         return "result";
     }
 
+    @GetMapping("/analyses/{analysisId}")
+    public String viewAnalysis(@PathVariable String analysisId, Model model) {
+        try {
+            ThreadDumpAnalysis analysis = analyzerService.findAnalysis(analysisId);
+            
+            if (analysis == null) {
+                model.addAttribute("error", "저장된 분석 결과를 찾을 수 없습니다: " + analysisId);
+            } else {
+                model.addAttribute("analysis", analysis);
+                model.addAttribute("success", true);
+            }
+            
+        } catch (IOException e) {
+            model.addAttribute("error", "저장된 분석 결과를 읽는 중 오류가 발생했습니다: " + e.getMessage());
+        }
+        
+        return "result";
+    }
+
+    @PostMapping("/analyze-series")
+    public String analyzeThreadDumpSeries(@RequestParam("files") List<MultipartFile> files, Model model) {
+        try {
+            // 업로드 순서대로 스냅샷을 반영
+            ThreadDumpSeries series = seriesService.analyzeSeries(files);
+            
+            if (series.getSnapshotCount() < 2) {
+                model.addAttribute("error", "시계열 분석에는 2개 이상의 Thread Dump 파일이 필요합니다.");
+            } else {
+                model.addAttribute("series", series);
+                model.addAttribute("success", true);
+            }
+            
+        } catch (IOException e) {
+            model.addAttribute("error", "파일 읽기 중 오류가 발생했습니다: " + e.getMessage());
+        } catch (Exception e) {
+            model.addAttribute("error", "분석 중 오류가 발생했습니다: " + e.getMessage());
+        }
+        
+        return "series";
+    }
+
     @GetMapping("/detailed")
     public String detailedView(@RequestParam("threadName") String threadName, Model model) {
         // 상세 보기를 위한 데이터 처리
@@ -58,6 +121,8 @@ public class ThreadDumpController {
 
     @GetMapping("/patterns")
     public String patternsInfo(Model model) {
+        // 현재 적용 중인 탐지 규칙 (사용자 규칙 포함)
+        model.addAttribute("ruleStatus", ruleEngine.getStatus());
         return "patterns";
     }
 }
@@ -0,0 +1,92 @@
+package com.archithreads.analyzer.controller;
+
+import com.archithreads.analyzer.model.UploadSession;
+import com.archithreads.analyzer.service.ChunkedUploadService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 멀티파트 크기 제한을 넘는 덤프를 위한 분할 업로드 JSON API.
+ * 업로드를 만들면 분석 작업(jobId)도 함께 시작되며, 진행 상황과 결과는 /api/jobs/{jobId} 로 조회한다.
+ */
+@RestController
+@RequestMapping("/api/uploads")
+public class UploadController {
+
+    @Autowired
+    private ChunkedUploadService uploadService;
+
+    /**
+     * totalBytes 를 알려 주면 완료 시 받은 크기를 검증한다 (모르면 생략).
+     */
+    @PostMapping
+    public ResponseEntity<UploadSession> create(@RequestParam(value = "fileName", required = false) String fileName,
+                                                @RequestParam(value = "totalBytes", defaultValue = "-1") long totalBytes)
+            throws IOException {
+        UploadSession session;
+        try {
+            session = uploadService.create(fileName, totalBytes);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, e.getMessage());
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+        }
+        URI location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/{uploadId}").buildAndExpand(session.getUploadId()).toUri();
+        return ResponseEntity.created(location).body(session);
+    }
+
+    /**
+     * 재개할 위치 (nextChunk, receivedBytes) 확인용.
+     */
+    @GetMapping("/{uploadId}")
+    public UploadSession get(@PathVariable String uploadId) {
+        return found(uploadId, uploadService.getSession(uploadId));
+    }
+
+    // 요청 본문 전체가 청크 하나 (curl -X PUT --data-binary @part -H 'Content-Type: application/octet-stream').
+    // 폼 Content-Type 은 본문이 폼 파라미터로 먼저 소비되므로 받지 않는다
+    @PutMapping(path = "/{uploadId}/chunks/{index}",
+            consumes = {MediaType.APPLICATION_OCTET_STREAM_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    public UploadSession appendChunk(@PathVariable String uploadId, @PathVariable int index, InputStream body)
+            throws IOException {
+        try {
+            return found(uploadId, uploadService.appendChunk(uploadId, index, body));
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, e.getMessage());
+        }
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    public UploadSession complete(@PathVariable String uploadId) {
+        try {
+            return found(uploadId, uploadService.complete(uploadId));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public UploadSession abort(@PathVariable String uploadId) {
+        return found(uploadId, uploadService.abort(uploadId, "클라이언트가 업로드를 취소했습니다"));
+    }
+
+    private static UploadSession found(String uploadId, UploadSession session) {
+        if (session == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "업로드를 찾을 수 없습니다: " + uploadId);
+        }
+        return session;
+    }
+}
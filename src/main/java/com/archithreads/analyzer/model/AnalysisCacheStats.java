@@ -0,0 +1,41 @@
+package com.archithreads.analyzer.model;
+
+/**
+ * 분석 결과 캐시의 적중/미스 통계와 현재 사용량.
+ */
+public class AnalysisCacheStats {
+    private long hits;
+    private long misses;
+    private long evictions;
+    private int entries;
+    private long weightBytes;
+    private long maxWeightBytes;
+    private long ttlSeconds;
+
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+
+    // Getters and Setters
+    public long getHits() { return hits; }
+    public void setHits(long hits) { this.hits = hits; }
+
+    public long getMisses() { return misses; }
+    public void setMisses(long misses) { this.misses = misses; }
+
+    public long getEvictions() { return evictions; }
+    public void setEvictions(long evictions) { this.evictions = evictions; }
+
+    public int getEntries() { return entries; }
+    public void setEntries(int entries) { this.entries = entries; }
+
+    public long getWeightBytes() { return weightBytes; }
+    public void setWeightBytes(long weightBytes) { this.weightBytes = weightBytes; }
+
+    public long getMaxWeightBytes() { return maxWeightBytes; }
+    public void setMaxWeightBytes(long maxWeightBytes) { this.maxWeightBytes = maxWeightBytes; }
+
+    public long getTtlSeconds() { return ttlSeconds; }
+    public void setTtlSeconds(long ttlSeconds) { this.ttlSeconds = ttlSeconds; }
+}
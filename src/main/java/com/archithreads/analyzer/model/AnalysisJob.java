@@ -0,0 +1,77 @@
+package com.archithreads.analyzer.model;
+
+/**
+ * 비동기 분석 작업의 상태. 분석 스레드가 갱신하고 요청 스레드가 읽는다.
+ */
+public class AnalysisJob {
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private String jobId;
+    private volatile String status;
+    private volatile String phase;
+    private long totalBytes;
+    private volatile long bytesParsed;
+    private volatile int threadsParsed;
+    private volatile int analyzersCompleted;
+    private int analyzersTotal;
+    private volatile String analysisId;
+    private volatile String error;
+    private long submittedAt;
+    private volatile long completedAt;
+
+    public AnalysisJob() {
+        this.status = QUEUED;
+    }
+
+    public AnalysisJob(String jobId, long totalBytes, int analyzersTotal) {
+        this();
+        this.jobId = jobId;
+        this.totalBytes = totalBytes;
+        this.analyzersTotal = analyzersTotal;
+        this.submittedAt = System.currentTimeMillis();
+    }
+
+    public boolean isDone() {
+        return COMPLETED.equals(status) || FAILED.equals(status);
+    }
+
+    // Getters and Setters
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getPhase() { return phase; }
+    public void setPhase(String phase) { this.phase = phase; }
+
+    public long getTotalBytes() { return totalBytes; }
+    public void setTotalBytes(long totalBytes) { this.totalBytes = totalBytes; }
+
+    public long getBytesParsed() { return bytesParsed; }
+    public void setBytesParsed(long bytesParsed) { this.bytesParsed = bytesParsed; }
+
+    public int getThreadsParsed() { return threadsParsed; }
+    public void setThreadsParsed(int threadsParsed) { this.threadsParsed = threadsParsed; }
+
+    public int getAnalyzersCompleted() { return analyzersCompleted; }
+    public void setAnalyzersCompleted(int analyzersCompleted) { this.analyzersCompleted = analyzersCompleted; }
+
+    public int getAnalyzersTotal() { return analyzersTotal; }
+    public void setAnalyzersTotal(int analyzersTotal) { this.analyzersTotal = analyzersTotal; }
+
+    public String getAnalysisId() { return analysisId; }
+    public void setAnalysisId(String analysisId) { this.analysisId = analysisId; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public long getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(long submittedAt) { this.submittedAt = submittedAt; }
+
+    public long getCompletedAt() { return completedAt; }
+    public void setCompletedAt(long completedAt) { this.completedAt = completedAt; }
+}
@@ -0,0 +1,37 @@
+package com.archithreads.analyzer.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.Date;
+
+/**
+ * 디스크에 저장된 분석 결과의 헤더 정보 (목록 표시용).
+ */
+public class ArchivedAnalysis {
+    private String analysisId;
+    private String dumpTimestamp;
+    private int totalThreads;
+    private long savedAt;
+    private long fileSize;
+
+    @JsonIgnore
+    public Date getSavedDate() {
+        return new Date(savedAt);
+    }
+
+    // Getters and Setters
+    public String getAnalysisId() { return analysisId; }
+    public void setAnalysisId(String analysisId) { this.analysisId = analysisId; }
+
+    public String getDumpTimestamp() { return dumpTimestamp; }
+    public void setDumpTimestamp(String dumpTimestamp) { this.dumpTimestamp = dumpTimestamp; }
+
+    public int getTotalThreads() { return totalThreads; }
+    public void setTotalThreads(int totalThreads) { this.totalThreads = totalThreads; }
+
+    public long getSavedAt() { return savedAt; }
+    public void setSavedAt(long savedAt) { this.savedAt = savedAt; }
+
+    public long getFileSize() { return fileSize; }
+    public void setFileSize(long fileSize) { this.fileSize = fileSize; }
+}
@@ -0,0 +1,64 @@
+package com.archithreads.analyzer.model;
+
+/**
+ * 배치 분석에서 덤프 파일 하나의 요약 (순위 표시용).
+ */
+public class BatchDumpResult {
+    private String file;
+    private long fileSize;
+    private String dumpTimestamp;
+    private int totalThreads;
+    private int runnableThreads;
+    private int blockedThreads;
+    private int waitingThreads;
+    private int deadlockThreads;
+    private String topProblem;
+    private String topSeverity;
+    private long elapsedMillis;
+    private String output;
+    private String error;
+
+    public boolean isFailed() {
+        return error != null;
+    }
+
+    // Getters and Setters
+    public String getFile() { return file; }
+    public void setFile(String file) { this.file = file; }
+
+    public long getFileSize() { return fileSize; }
+    public void setFileSize(long fileSize) { this.fileSize = fileSize; }
+
+    public String getDumpTimestamp() { return dumpTimestamp; }
+    public void setDumpTimestamp(String dumpTimestamp) { this.dumpTimestamp = dumpTimestamp; }
+
+    public int getTotalThreads() { return totalThreads; }
+    public void setTotalThreads(int totalThreads) { this.totalThreads = totalThreads; }
+
+    public int getRunnableThreads() { return runnableThreads; }
+    public void setRunnableThreads(int runnableThreads) { this.runnableThreads = runnableThreads; }
+
+    public int getBlockedThreads() { return blockedThreads; }
+    public void setBlockedThreads(int blockedThreads) { this.blockedThreads = blockedThreads; }
+
+    public int getWaitingThreads() { return waitingThreads; }
+    public void setWaitingThreads(int waitingThreads) { this.waitingThreads = waitingThreads; }
+
+    public int getDeadlockThreads() { return deadlockThreads; }
+    public void setDeadlockThreads(int deadlockThreads) { this.deadlockThreads = deadlockThreads; }
+
+    public String getTopProblem() { return topProblem; }
+    public void setTopProblem(String topProblem) { this.topProblem = topProblem; }
+
+    public String getTopSeverity() { return topSeverity; }
+    public void setTopSeverity(String topSeverity) { this.topSeverity = topSeverity; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    public String getOutput() { return output; }
+    public void setOutput(String output) { this.output = output; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
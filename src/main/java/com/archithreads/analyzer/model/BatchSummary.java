@@ -0,0 +1,39 @@
+package com.archithreads.analyzer.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 배치 분석 전체 요약. ranking 은 심각한 덤프부터 정렬된다.
+ */
+public class BatchSummary {
+    private int totalFiles;
+    private int failedFiles;
+    private long totalBytes;
+    private long elapsedMillis;
+    private int parallelism;
+    private List<BatchDumpResult> ranking = new ArrayList<>();
+
+    public double getMegabytesPerSecond() {
+        return elapsedMillis > 0 ? (totalBytes / (1024.0 * 1024.0)) / (elapsedMillis / 1000.0) : 0;
+    }
+
+    // Getters and Setters
+    public int getTotalFiles() { return totalFiles; }
+    public void setTotalFiles(int totalFiles) { this.totalFiles = totalFiles; }
+
+    public int getFailedFiles() { return failedFiles; }
+    public void setFailedFiles(int failedFiles) { this.failedFiles = failedFiles; }
+
+    public long getTotalBytes() { return totalBytes; }
+    public void setTotalBytes(long totalBytes) { this.totalBytes = totalBytes; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    public int getParallelism() { return parallelism; }
+    public void setParallelism(int parallelism) { this.parallelism = parallelism; }
+
+    public List<BatchDumpResult> getRanking() { return ranking; }
+    public void setRanking(List<BatchDumpResult> ranking) { this.ranking = ranking; }
+}
@@ -0,0 +1,156 @@
+package com.archithreads.analyzer.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 모든 스레드의 호출 프레임("at ...")을 합친 접두사 트리. 루트는 가장 바깥쪽 프레임이다.
+ * 노드는 배열로 관리하며 부모는 항상 자식보다 먼저 생성된다.
+ */
+public class CallTree {
+    private static final int ROOT = 0;
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final FrameTable frameTable;
+    private final Map<Long, Integer> children = new HashMap<>();
+
+    private int[] parents = new int[INITIAL_CAPACITY];
+    private int[] frameIds = new int[INITIAL_CAPACITY];
+    private int[] selfCounts = new int[INITIAL_CAPACITY];
+    // 트리가 완성된 뒤 여러 요청 스레드가 함께 읽으므로 다 채운 배열만 게시한다
+    private volatile int[] totalCounts;
+    private int size;
+
+    // 프레임 ID 별 호출 프레임 여부 캐시 (0: 미확인, 1: 호출 프레임, 2: 락 정보 등)
+    private byte[] frameKinds = new byte[INITIAL_CAPACITY];
+
+    public CallTree(FrameTable frameTable) {
+        this.frameTable = frameTable;
+        parents[ROOT] = -1;
+        frameIds[ROOT] = -1;
+        size = 1;
+    }
+
+    /**
+     * 스택(안쪽 프레임부터 나열된 프레임 ID)의 경로를 트리에 등록하고 가장 안쪽 노드를 반환한다.
+     */
+    public int addStack(int[] stack) {
+        int node = ROOT;
+        for (int i = stack.length - 1; i >= 0; i--) {
+            int frameId = stack[i];
+            if (!isCallFrame(frameId)) {
+                continue;
+            }
+            Long key = childKey(node, frameId);
+            Integer child = children.get(key);
+            if (child == null) {
+                child = newNode(node, frameId);
+                children.put(key, child);
+            }
+            node = child;
+        }
+        return node;
+    }
+
+    public void addSamples(int node, int count) {
+        selfCounts[node] += count;
+        totalCounts = null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getParent(int node) {
+        return parents[node];
+    }
+
+    // "at " 을 뗀 프레임 텍스트
+    public String getFrame(int node) {
+        return node == ROOT ? "all" : frameTable.getFrame(frameIds[node]).substring(3);
+    }
+
+    public int getSelfCount(int node) {
+        return selfCounts[node];
+    }
+
+    public int getTotalCount(int node) {
+        int[] totals = totalCounts;
+        if (totals == null) {
+            // 자식이 부모보다 뒤에 있으므로 역순으로 한 번 누적 (동시에 계산해도 결과는 같음)
+            totals = Arrays.copyOf(selfCounts, size);
+            for (int n = size - 1; n > ROOT; n--) {
+                totals[parents[n]] += totals[n];
+            }
+            totalCounts = totals;
+        }
+        return totals[node];
+    }
+
+    /**
+     * collapsed stack 형식("a;b;c 42")으로 출력한다. 가장 안쪽 프레임에서 끝나는 스레드 수만 센다.
+     */
+    public void writeCollapsed(Appendable out) throws IOException {
+        int[] path = new int[16];
+        for (int node = ROOT + 1; node < size; node++) {
+            if (selfCounts[node] == 0) {
+                continue;
+            }
+            int depth = 0;
+            for (int n = node; n != ROOT; n = parents[n]) {
+                if (depth == path.length) {
+                    path = Arrays.copyOf(path, depth * 2);
+                }
+                path[depth++] = n;
+            }
+            for (int i = depth - 1; i >= 0; i--) {
+                out.append(getFrame(path[i]));
+                if (i > 0) {
+                    out.append(';');
+                }
+            }
+            out.append(' ').append(Integer.toString(selfCounts[node])).append('\n');
+        }
+    }
+
+    public String getCollapsed() {
+        StringBuilder collapsed = new StringBuilder();
+        try {
+            writeCollapsed(collapsed);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return collapsed.toString();
+    }
+
+    // (부모, 프레임) 쌍을 섞은 키. Long.hashCode 는 상위/하위 32비트를 XOR 하므로
+    // 그대로 붙이면 작은 정수끼리 해시가 몰린다 (홀수 곱셈은 일대일이라 충돌 없음)
+    private static Long childKey(int parent, int frameId) {
+        return ((((long) parent) << 32) | (frameId & 0xffffffffL)) * 0x9E3779B97F4A7C15L;
+    }
+
+    private boolean isCallFrame(int frameId) {
+        if (frameId >= frameKinds.length) {
+            frameKinds = Arrays.copyOf(frameKinds, Math.max(frameId + 1, frameKinds.length * 2));
+        }
+        if (frameKinds[frameId] == 0) {
+            frameKinds[frameId] = frameTable.getFrame(frameId).startsWith("at ") ? (byte) 1 : (byte) 2;
+        }
+        return frameKinds[frameId] == 1;
+    }
+
+    private int newNode(int parent, int frameId) {
+        if (size == parents.length) {
+            int capacity = size * 2;
+            parents = Arrays.copyOf(parents, capacity);
+            frameIds = Arrays.copyOf(frameIds, capacity);
+            selfCounts = Arrays.copyOf(selfCounts, capacity);
+        }
+        parents[size] = parent;
+        frameIds[size] = frameId;
+        return size++;
+    }
+}
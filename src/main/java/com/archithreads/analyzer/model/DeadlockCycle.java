@@ -0,0 +1,41 @@
+package com.archithreads.analyzer.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 서로의 락을 기다리는 스레드 사이클 하나.
+ * threadNames[i] 는 lockAddresses[i] 를 기다리고, 그 락은 threadNames[i + 1] 이 소유한다.
+ */
+public class DeadlockCycle {
+    private List<String> threadNames;
+    private List<String> lockAddresses;
+    private boolean reportedByJvm;
+    private boolean detectedByGraph;
+
+    public DeadlockCycle() {
+        this.threadNames = new ArrayList<>();
+        this.lockAddresses = new ArrayList<>();
+    }
+
+    // "A → B → A" 형태의 사이클 표기
+    public String getChain() {
+        if (threadNames.isEmpty()) {
+            return "";
+        }
+        return String.join(" → ", threadNames) + " → " + threadNames.get(0);
+    }
+
+    // Getters and Setters
+    public List<String> getThreadNames() { return threadNames; }
+    public void setThreadNames(List<String> threadNames) { this.threadNames = threadNames; }
+
+    public List<String> getLockAddresses() { return lockAddresses; }
+    public void setLockAddresses(List<String> lockAddresses) { this.lockAddresses = lockAddresses; }
+
+    public boolean isReportedByJvm() { return reportedByJvm; }
+    public void setReportedByJvm(boolean reportedByJvm) { this.reportedByJvm = reportedByJvm; }
+
+    public boolean isDetectedByGraph() { return detectedByGraph; }
+    public void setDetectedByGraph(boolean detectedByGraph) { this.detectedByGraph = detectedByGraph; }
+}
@@ -0,0 +1,215 @@
+package com.archithreads.analyzer.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 덤프 하나에서 등장하는 스택 프레임 라인을 int ID 로 관리하는 사전.
+ * 동일한 프레임은 모든 스레드가 같은 ID 를 공유한다.
+ *
+ * 문자열 모드는 String 으로 intern 하고, 매핑 모드는 매핑된 버퍼의 바이트 범위로
+ * intern 하여 프레임 텍스트를 요청될 때까지 디코딩하지 않는다.
+ */
+public class FrameTable {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private ByteBuffer source;
+    private final Map<String, Integer> idsByText;
+
+    private String[] texts = new String[INITIAL_CAPACITY];
+    private int[] offsets;
+    private int[] lengths;
+    private int[] hashes;
+    private int[] slots;
+    private int size;
+
+    public FrameTable() {
+        this.source = null;
+        this.idsByText = new HashMap<>();
+    }
+
+    public FrameTable(ByteBuffer source) {
+        this.source = source;
+        this.idsByText = null;
+        this.offsets = new int[INITIAL_CAPACITY];
+        this.lengths = new int[INITIAL_CAPACITY];
+        this.hashes = new int[INITIAL_CAPACITY];
+        this.slots = new int[INITIAL_CAPACITY * 2];
+    }
+
+    public int intern(String frame) {
+        if (idsByText == null) {
+            throw new IllegalStateException("매핑 모드 사전에는 바이트 범위로만 등록할 수 있습니다.");
+        }
+        Integer id = idsByText.get(frame);
+        if (id == null) {
+            id = size;
+            ensureCapacity(size + 1);
+            texts[size++] = frame;
+            idsByText.put(frame, id);
+        }
+        return id;
+    }
+
+    /**
+     * 매핑된 버퍼의 [offset, offset + length) 범위(앞뒤 공백 제거된 라인)를 등록한다.
+     */
+    public int intern(int offset, int length) {
+        if (source == null) {
+            throw new IllegalStateException("문자열 모드 사전에는 바이트 범위를 등록할 수 없습니다.");
+        }
+        int hash = hash(offset, length);
+        int mask = slots.length - 1;
+        int slot = hash & mask;
+        while (slots[slot] != 0) {
+            int id = slots[slot] - 1;
+            if (hashes[id] == hash && sameBytes(id, offset, length)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int id = size;
+        ensureCapacity(size + 1);
+        offsets[id] = offset;
+        lengths[id] = length;
+        hashes[id] = hash;
+        size++;
+        slots[slot] = id + 1;
+        if (size * 2 > slots.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    public String getFrame(int id) {
+        String text = texts[id];
+        if (text == null) {
+            // 매핑 모드: 처음 요청될 때 디코딩 (고유 프레임 단위로만 보관)
+            byte[] bytes = new byte[lengths[id]];
+            source.get(offsets[id], bytes);
+            text = new String(bytes, StandardCharsets.UTF_8);
+            texts[id] = text;
+        }
+        return text;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isMapped() {
+        return source != null;
+    }
+
+    /**
+     * 사전이 붙잡고 있는 메모리의 대략적인 바이트 수. 매핑 모드는 매핑된 버퍼 전체를 포함한다.
+     */
+    public long estimateRetainedBytes() {
+        long bytes = 16L + 8L * texts.length;
+        for (int id = 0; id < size; id++) {
+            if (texts[id] != null) {
+                bytes += 40L + texts[id].length();
+            }
+        }
+        if (source != null) {
+            bytes += source.capacity() + 4L * (3L * offsets.length + slots.length);
+        } else {
+            // HashMap 엔트리 + Integer
+            bytes += 48L * size;
+        }
+        return bytes;
+    }
+
+    /**
+     * 매핑 모드 사전의 프레임 바이트를 힙 버퍼로 옮겨 더 이상 매핑된 파일을 참조하지 않게 한다.
+     * 고유 프레임만 복사하므로 덤프 크기보다 훨씬 작고, 원본 파일은 바로 지워도 된다.
+     */
+    public void detach() {
+        if (source == null) {
+            return;
+        }
+        int total = 0;
+        for (int id = 0; id < size; id++) {
+            total += lengths[id];
+        }
+        ByteBuffer copy = ByteBuffer.allocate(total);
+        int position = 0;
+        for (int id = 0; id < size; id++) {
+            copy.put(position, source, offsets[id], lengths[id]);
+            offsets[id] = position;
+            position += lengths[id];
+        }
+        source = copy;
+    }
+
+    /**
+     * 다른 사전의 프레임을 이 사전에 병합하고, other 의 ID 를 이 사전의 ID 로 바꾸는 표를 반환한다.
+     */
+    public int[] mergeFrom(FrameTable other) {
+        int[] remap = new int[other.size];
+        for (int id = 0; id < other.size; id++) {
+            remap[id] = (source != null && other.source == source)
+                    ? intern(other.offsets[id], other.lengths[id])
+                    : intern(other.getFrame(id));
+        }
+        return remap;
+    }
+
+    public String render(int[] frameIds) {
+        StringBuilder text = new StringBuilder();
+        for (int id : frameIds) {
+            text.append(getFrame(id)).append("\n");
+        }
+        return text.toString();
+    }
+
+    private int hash(int offset, int length) {
+        int hash = 0x811c9dc5;
+        for (int i = offset; i < offset + length; i++) {
+            hash = (hash ^ source.get(i)) * 0x01000193;
+        }
+        return hash;
+    }
+
+    private boolean sameBytes(int id, int offset, int length) {
+        if (lengths[id] != length) {
+            return false;
+        }
+        int existing = offsets[id];
+        for (int i = 0; i < length; i++) {
+            if (source.get(existing + i) != source.get(offset + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= texts.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, texts.length * 2);
+        texts = Arrays.copyOf(texts, newCapacity);
+        if (source != null) {
+            offsets = Arrays.copyOf(offsets, newCapacity);
+            lengths = Arrays.copyOf(lengths, newCapacity);
+            hashes = Arrays.copyOf(hashes, newCapacity);
+        }
+    }
+
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        int mask = slots.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = hashes[id] & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = id + 1;
+        }
+    }
+}
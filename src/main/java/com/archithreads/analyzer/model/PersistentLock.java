@@ -0,0 +1,24 @@
+package com.archithreads.analyzer.model;
+
+/**
+ * 모든 스냅샷에서 같은 스레드가 계속 소유하고 있는 락.
+ */
+public class PersistentLock {
+    private String lockAddress;
+    private String ownerThreadName;
+    private String ownerNid;
+    private int maxWaiters;
+
+    // Getters and Setters
+    public String getLockAddress() { return lockAddress; }
+    public void setLockAddress(String lockAddress) { this.lockAddress = lockAddress; }
+
+    public String getOwnerThreadName() { return ownerThreadName; }
+    public void setOwnerThreadName(String ownerThreadName) { this.ownerThreadName = ownerThreadName; }
+
+    public String getOwnerNid() { return ownerNid; }
+    public void setOwnerNid(String ownerNid) { this.ownerNid = ownerNid; }
+
+    public int getMaxWaiters() { return maxWaiters; }
+    public void setMaxWaiters(int maxWaiters) { this.maxWaiters = maxWaiters; }
+}
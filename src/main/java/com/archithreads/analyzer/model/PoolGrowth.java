@@ -0,0 +1,36 @@
+package com.archithreads.analyzer.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 스레드 풀(이름 접두사)별 스냅샷마다의 스레드 수.
+ */
+public class PoolGrowth {
+    private String poolName;
+    private List<Integer> threadCounts;
+
+    public PoolGrowth() {
+        this.threadCounts = new ArrayList<>();
+    }
+
+    public PoolGrowth(String poolName, List<Integer> threadCounts) {
+        this.poolName = poolName;
+        this.threadCounts = threadCounts;
+    }
+
+    // 첫 스냅샷 대비 마지막 스냅샷의 증감
+    public int getGrowth() {
+        if (threadCounts.isEmpty()) {
+            return 0;
+        }
+        return threadCounts.get(threadCounts.size() - 1) - threadCounts.get(0);
+    }
+
+    // Getters and Setters
+    public String getPoolName() { return poolName; }
+    public void setPoolName(String poolName) { this.poolName = poolName; }
+
+    public List<Integer> getThreadCounts() { return threadCounts; }
+    public void setThreadCounts(List<Integer> threadCounts) { this.threadCounts = threadCounts; }
+}
@@ -0,0 +1,51 @@
+package com.archithreads.analyzer.model;
+
+/**
+ * 선언적 탐지 규칙. match 조건을 모두 만족하는 스레드 수가 minThreads 이상이면 ProblemPattern 으로 보고한다.
+ */
+public class RuleDefinition {
+    private String name;
+    // 기본 규칙을 끌 때 같은 이름으로 enabled: false 지정
+    private boolean enabled = true;
+    private RuleMatch match;
+    private int minThreads = 1;
+    private String severity;
+    private double confidence = 0.5;
+    // {count} 는 매칭된 스레드 수로 치환
+    private String description;
+    private String rootCause;
+    private String solution;
+    // 규칙을 읽은 파일 (로드할 때 채움)
+    private String source;
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public RuleMatch getMatch() { return match; }
+    public void setMatch(RuleMatch match) { this.match = match; }
+
+    public int getMinThreads() { return minThreads; }
+    public void setMinThreads(int minThreads) { this.minThreads = minThreads; }
+
+    public String getSeverity() { return severity; }
+    public void setSeverity(String severity) { this.severity = severity; }
+
+    public double getConfidence() { return confidence; }
+    public void setConfidence(double confidence) { this.confidence = confidence; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getRootCause() { return rootCause; }
+    public void setRootCause(String rootCause) { this.rootCause = rootCause; }
+
+    public String getSolution() { return solution; }
+    public void setSolution(String solution) { this.solution = solution; }
+
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+}
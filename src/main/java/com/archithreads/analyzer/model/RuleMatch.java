@@ -0,0 +1,45 @@
+package com.archithreads.analyzer.model;
+
+import java.util.List;
+
+/**
+ * 규칙의 매칭 조건. 지정한 조건은 모두 만족해야 한다 (지정하지 않은 조건은 무시).
+ */
+public class RuleMatch {
+    // 나열한 키워드 묶음 중 하나라도 매칭
+    private List<String> keywordSets;
+    // 키워드 중 하나라도 어떤 프레임에 포함
+    private List<String> anyFrame;
+    // 키워드가 모두 (각각 어떤 프레임에) 포함
+    private List<String> allFrames;
+    // 키워드가 어느 프레임에도 없음
+    private List<String> noFrame;
+    // 최상위 프레임에 키워드 중 하나가 포함
+    private List<String> topFrame;
+    // java.lang.Thread.State 가 목록 중 하나
+    private List<String> states;
+    // 스레드 이름에 문자열 중 하나가 포함
+    private List<String> threadNames;
+
+    // Getters and Setters
+    public List<String> getKeywordSets() { return keywordSets; }
+    public void setKeywordSets(List<String> keywordSets) { this.keywordSets = keywordSets; }
+
+    public List<String> getAnyFrame() { return anyFrame; }
+    public void setAnyFrame(List<String> anyFrame) { this.anyFrame = anyFrame; }
+
+    public List<String> getAllFrames() { return allFrames; }
+    public void setAllFrames(List<String> allFrames) { this.allFrames = allFrames; }
+
+    public List<String> getNoFrame() { return noFrame; }
+    public void setNoFrame(List<String> noFrame) { this.noFrame = noFrame; }
+
+    public List<String> getTopFrame() { return topFrame; }
+    public void setTopFrame(List<String> topFrame) { this.topFrame = topFrame; }
+
+    public List<String> getStates() { return states; }
+    public void setStates(List<String> states) { this.states = states; }
+
+    public List<String> getThreadNames() { return threadNames; }
+    public void setThreadNames(List<String> threadNames) { this.threadNames = threadNames; }
+}
@@ -0,0 +1,26 @@
+package com.archithreads.analyzer.model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 규칙 파일(YAML/JSON) 하나의 내용: 이름 붙은 키워드 묶음과 탐지 규칙 목록.
+ */
+public class RuleSet {
+    private Map<String, List<String>> keywordSets;
+    private List<RuleDefinition> rules;
+
+    public RuleSet() {
+        this.keywordSets = new LinkedHashMap<>();
+        this.rules = new ArrayList<>();
+    }
+
+    // Getters and Setters
+    public Map<String, List<String>> getKeywordSets() { return keywordSets; }
+    public void setKeywordSets(Map<String, List<String>> keywordSets) { this.keywordSets = keywordSets; }
+
+    public List<RuleDefinition> getRules() { return rules; }
+    public void setRules(List<RuleDefinition> rules) { this.rules = rules; }
+}
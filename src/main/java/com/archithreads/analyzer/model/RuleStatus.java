@@ -0,0 +1,49 @@
+package com.archithreads.analyzer.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 탐지 규칙 로드 결과. 다시 로드하다 오류가 나면 applied=false 이고 이전 규칙이 계속 쓰인다.
+ */
+public class RuleStatus {
+    private long loadedAt;
+    private boolean applied;
+    private int ruleCount;
+    private int keywordSetCount;
+    private int keywordCount;
+    private List<String> sources;
+    private List<String> errors;
+    private List<RuleDefinition> rules;
+
+    public RuleStatus() {
+        this.sources = new ArrayList<>();
+        this.errors = new ArrayList<>();
+        this.rules = new ArrayList<>();
+    }
+
+    // Getters and Setters
+    public long getLoadedAt() { return loadedAt; }
+    public void setLoadedAt(long loadedAt) { this.loadedAt = loadedAt; }
+
+    public boolean isApplied() { return applied; }
+    public void setApplied(boolean applied) { this.applied = applied; }
+
+    public int getRuleCount() { return ruleCount; }
+    public void setRuleCount(int ruleCount) { this.ruleCount = ruleCount; }
+
+    public int getKeywordSetCount() { return keywordSetCount; }
+    public void setKeywordSetCount(int keywordSetCount) { this.keywordSetCount = keywordSetCount; }
+
+    public int getKeywordCount() { return keywordCount; }
+    public void setKeywordCount(int keywordCount) { this.keywordCount = keywordCount; }
+
+    public List<String> getSources() { return sources; }
+    public void setSources(List<String> sources) { this.sources = sources; }
+
+    public List<String> getErrors() { return errors; }
+    public void setErrors(List<String> errors) { this.errors = errors; }
+
+    public List<RuleDefinition> getRules() { return rules; }
+    public void setRules(List<RuleDefinition> rules) { this.rules = rules; }
+}
@@ -0,0 +1,59 @@
+package com.archithreads.analyzer.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 상태와 프레임이 완전히 동일한 스레드들의 묶음 (identical stack traces).
+ */
+public class StackGroup {
+    private String signature;
+    private String threadState;
+    private int count;
+    private List<String> threadNames;
+    private ThreadInfo representative;
+
+    public StackGroup() {
+        this.threadNames = new ArrayList<>();
+    }
+
+    public StackGroup(String signature, ThreadInfo representative) {
+        this();
+        this.signature = signature;
+        this.representative = representative;
+        this.threadState = representative.getJavaLangThreadState();
+    }
+
+    public void addThread(ThreadInfo thread) {
+        count++;
+        threadNames.add(thread.getThreadName());
+    }
+
+    // 프레임은 대표 스레드의 프레임 ID 로 렌더링
+    public String getStackTrace() {
+        return representative != null ? representative.getStackTrace() : null;
+    }
+
+    public List<String> getStackFrames() {
+        return representative != null ? representative.getStackFrames() : new ArrayList<>();
+    }
+
+    // Getters and Setters
+    public String getSignature() { return signature; }
+    public void setSignature(String signature) { this.signature = signature; }
+
+    public String getThreadState() { return threadState; }
+    public void setThreadState(String threadState) { this.threadState = threadState; }
+
+    public int getCount() { return count; }
+    public void setCount(int count) { this.count = count; }
+
+    public List<String> getThreadNames() { return threadNames; }
+    public void setThreadNames(List<String> threadNames) { this.threadNames = threadNames; }
+
+    @JsonIgnore
+    public ThreadInfo getRepresentative() { return representative; }
+    public void setRepresentative(ThreadInfo representative) { this.representative = representative; }
+}
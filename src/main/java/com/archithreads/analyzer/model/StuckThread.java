@@ -0,0 +1,40 @@
+package com.archithreads.analyzer.model;
+
+/**
+ * 모든 스냅샷에서 같은 상태, 같은 스택에 머물러 있는 스레드.
+ */
+public class StuckThread {
+    private String threadName;
+    private String nid;
+    private String threadState;
+    private String topFrame;
+    private String waitingFor;
+    private String lockOwner;
+    private String stackTrace;
+    private int snapshotCount;
+
+    // Getters and Setters
+    public String getThreadName() { return threadName; }
+    public void setThreadName(String threadName) { this.threadName = threadName; }
+
+    public String getNid() { return nid; }
+    public void setNid(String nid) { this.nid = nid; }
+
+    public String getThreadState() { return threadState; }
+    public void setThreadState(String threadState) { this.threadState = threadState; }
+
+    public String getTopFrame() { return topFrame; }
+    public void setTopFrame(String topFrame) { this.topFrame = topFrame; }
+
+    public String getWaitingFor() { return waitingFor; }
+    public void setWaitingFor(String waitingFor) { this.waitingFor = waitingFor; }
+
+    public String getLockOwner() { return lockOwner; }
+    public void setLockOwner(String lockOwner) { this.lockOwner = lockOwner; }
+
+    public String getStackTrace() { return stackTrace; }
+    public void setStackTrace(String stackTrace) { this.stackTrace = stackTrace; }
+
+    public int getSnapshotCount() { return snapshotCount; }
+    public void setSnapshotCount(int snapshotCount) { this.snapshotCount = snapshotCount; }
+}
@@ -0,0 +1,186 @@
+package com.archithreads.analyzer.model;
+
+import java.util.Arrays;
+
+/**
+ * 스레드 위치(분석 결과의 threads 인덱스) 집합. 불변이다.
+ * 원소가 적으면 정렬된 int 배열, 많으면 long 비트 배열로 보관하여 어느 쪽이든 작은 표현을 쓴다.
+ */
+public final class ThreadBitmap {
+
+    // int 4바이트 vs 비트 1/8바이트: 원소 수가 전체의 1/32 를 넘으면 비트 배열이 작다
+    private static final int DENSE_RATIO = 32;
+
+    private final int size;
+    private final int cardinality;
+    private final int[] positions;
+    private final long[] words;
+
+    private ThreadBitmap(int size, int cardinality, int[] positions, long[] words) {
+        this.size = size;
+        this.cardinality = cardinality;
+        this.positions = positions;
+        this.words = words;
+    }
+
+    public static ThreadBitmap empty(int size) {
+        return new ThreadBitmap(size, 0, new int[0], null);
+    }
+
+    public static ThreadBitmap all(int size) {
+        long[] words = new long[wordCount(size)];
+        Arrays.fill(words, -1L);
+        return fromWords(size, words);
+    }
+
+    /**
+     * 오름차순 위치 배열의 앞 count 개로 만든다.
+     */
+    public static ThreadBitmap of(int size, int[] sortedPositions, int count) {
+        if ((long) count * DENSE_RATIO <= size) {
+            return new ThreadBitmap(size, count, Arrays.copyOf(sortedPositions, count), null);
+        }
+        long[] words = new long[wordCount(size)];
+        for (int i = 0; i < count; i++) {
+            words[sortedPositions[i] >>> 6] |= 1L << sortedPositions[i];
+        }
+        return new ThreadBitmap(size, count, null, words);
+    }
+
+    // 범위 밖 비트를 지우고 원소 수에 맞는 표현으로 바꾼다
+    private static ThreadBitmap fromWords(int size, long[] words) {
+        if ((size & 63) != 0 && words.length > 0) {
+            words[words.length - 1] &= -1L >>> (64 - (size & 63));
+        }
+        int cardinality = 0;
+        for (long word : words) {
+            cardinality += Long.bitCount(word);
+        }
+        if ((long) cardinality * DENSE_RATIO <= size) {
+            int[] positions = new int[cardinality];
+            int count = 0;
+            for (int w = 0; w < words.length; w++) {
+                for (long word = words[w]; word != 0; word &= word - 1) {
+                    positions[count++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                }
+            }
+            return new ThreadBitmap(size, cardinality, positions, null);
+        }
+        return new ThreadBitmap(size, cardinality, null, words);
+    }
+
+    private static int wordCount(int size) {
+        return (size + 63) >>> 6;
+    }
+
+    public boolean contains(int position) {
+        if (position < 0 || position >= size) {
+            return false;
+        }
+        return words != null
+                ? (words[position >>> 6] & (1L << position)) != 0
+                : Arrays.binarySearch(positions, position) >= 0;
+    }
+
+    public ThreadBitmap and(ThreadBitmap other) {
+        if (words != null && other.words != null) {
+            long[] result = new long[words.length];
+            for (int w = 0; w < result.length; w++) {
+                result[w] = words[w] & other.words[w];
+            }
+            return fromWords(size, result);
+        }
+        // 작은 쪽(정렬 배열)을 돌며 큰 쪽에 있는지 확인
+        ThreadBitmap sparse = words == null ? this : other;
+        ThreadBitmap probe = sparse == this ? other : this;
+        int[] result = new int[sparse.cardinality];
+        int count = 0;
+        for (int position : sparse.positions) {
+            if (probe.contains(position)) {
+                result[count++] = position;
+            }
+        }
+        return of(size, result, count);
+    }
+
+    public ThreadBitmap or(ThreadBitmap other) {
+        if (words == null && other.words == null) {
+            int[] result = new int[cardinality + other.cardinality];
+            int i = 0;
+            int j = 0;
+            int count = 0;
+            while (i < positions.length || j < other.positions.length) {
+                int next;
+                if (j >= other.positions.length || (i < positions.length && positions[i] < other.positions[j])) {
+                    next = positions[i++];
+                } else if (i >= positions.length || other.positions[j] < positions[i]) {
+                    next = other.positions[j++];
+                } else {
+                    next = positions[i++];
+                    j++;
+                }
+                result[count++] = next;
+            }
+            return of(size, result, count);
+        }
+        long[] result = toWords();
+        if (other.words != null) {
+            for (int w = 0; w < result.length; w++) {
+                result[w] |= other.words[w];
+            }
+        } else {
+            for (int position : other.positions) {
+                result[position >>> 6] |= 1L << position;
+            }
+        }
+        return fromWords(size, result);
+    }
+
+    public ThreadBitmap not() {
+        long[] result = toWords();
+        for (int w = 0; w < result.length; w++) {
+            result[w] = ~result[w];
+        }
+        return fromWords(size, result);
+    }
+
+    /**
+     * 오름차순 위치 목록.
+     */
+    public int[] toArray() {
+        if (words == null) {
+            return positions.clone();
+        }
+        int[] result = new int[cardinality];
+        int count = 0;
+        for (int w = 0; w < words.length; w++) {
+            for (long word = words[w]; word != 0; word &= word - 1) {
+                result[count++] = (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return result;
+    }
+
+    private long[] toWords() {
+        if (words != null) {
+            return words.clone();
+        }
+        long[] result = new long[wordCount(size)];
+        for (int position : positions) {
+            result[position >>> 6] |= 1L << position;
+        }
+        return result;
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long estimateRetainedBytes() {
+        return 32L + (words != null ? 16L + 8L * words.length : 16L + 4L * positions.length);
+    }
+}
@@ -0,0 +1,48 @@
+package com.archithreads.analyzer.model;
+
+/**
+ * 스레드 하나의 CPU 사용량. 단일 덤프에서는 스레드 수명 전체, 시계열에서는 첫 스냅샷과 마지막 스냅샷 사이의 증가분이다.
+ */
+public class ThreadCpuUsage {
+    private String threadName;
+    private String nid;
+    private String threadState;
+    private double cpuTimeMillis;
+    private double elapsedTimeMillis;
+    private String topFrame;
+
+    public ThreadCpuUsage() {
+    }
+
+    public ThreadCpuUsage(String threadName, String nid, String threadState, double cpuTimeMillis, double elapsedTimeMillis) {
+        this.threadName = threadName;
+        this.nid = nid;
+        this.threadState = threadState;
+        this.cpuTimeMillis = cpuTimeMillis;
+        this.elapsedTimeMillis = elapsedTimeMillis;
+    }
+
+    // 경과 시간 대비 CPU 시간 (1 이면 코어 하나를 계속 사용)
+    public double getCpuRatio() {
+        return elapsedTimeMillis > 0 ? cpuTimeMillis / elapsedTimeMillis : 0;
+    }
+
+    // Getters and Setters
+    public String getThreadName() { return threadName; }
+    public void setThreadName(String threadName) { this.threadName = threadName; }
+
+    public String getNid() { return nid; }
+    public void setNid(String nid) { this.nid = nid; }
+
+    public String getThreadState() { return threadState; }
+    public void setThreadState(String threadState) { this.threadState = threadState; }
+
+    public double getCpuTimeMillis() { return cpuTimeMillis; }
+    public void setCpuTimeMillis(double cpuTimeMillis) { this.cpuTimeMillis = cpuTimeMillis; }
+
+    public double getElapsedTimeMillis() { return elapsedTimeMillis; }
+    public void setElapsedTimeMillis(double elapsedTimeMillis) { this.elapsedTimeMillis = elapsedTimeMillis; }
+
+    public String getTopFrame() { return topFrame; }
+    public void setTopFrame(String topFrame) { this.topFrame = topFrame; }
+}
@@ -1,11 +1,15 @@
 package com.archithreads.analyzer.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 
 public class ThreadDumpAnalysis {
+    private String analysisId;
     private String dumpTimestamp;
     private String jvmVersion;
     private String jvmName;
@@ -17,25 +21,43 @@ public class ThreadDumpAnalysis {
     private int timedWaitingThreads;
     private int terminatedThreads;
     private List<ThreadInfo> threads;
+    private FrameTable frameTable;
+    private List<StackGroup> stackGroups;
+    private CallTree callTree;
+    private List<ThreadPoolUsage> threadPools;
     private List<ProblemPattern> topProblems;
     private Map<String, Integer> threadStateCounts;
     private Map<String, Integer> lockContentionCounts;
     private List<String> deadlockThreads;
+    private List<DeadlockCycle> deadlockCycles;
     private List<String> highCpuThreads;
+    // cpu= 가 있는 덤프(JDK 11+)에서 CPU 시간이 큰 스레드 순
+    private List<ThreadCpuUsage> cpuHotThreads;
     private List<String> memoryLeakThreads;
     private String analysisSummary;
+    // 단계별 소요 시간 (밀리초, 실행 순서)
+    private Map<String, Double> phaseTimings = new LinkedHashMap<>();
+    // 스레드 검색용 역색인 (저장하지 않으며, 없으면 처음 검색할 때 만든다)
+    private volatile ThreadIndex threadIndex;
 
     public ThreadDumpAnalysis() {
         this.threads = new ArrayList<>();
+        this.stackGroups = new ArrayList<>();
+        this.threadPools = new ArrayList<>();
         this.topProblems = new ArrayList<>();
         this.threadStateCounts = new HashMap<>();
         this.lockContentionCounts = new HashMap<>();
         this.deadlockThreads = new ArrayList<>();
+        this.deadlockCycles = new ArrayList<>();
         this.highCpuThreads = new ArrayList<>();
+        this.cpuHotThreads = new ArrayList<>();
         this.memoryLeakThreads = new ArrayList<>();
     }
 
     // Getters and Setters
+    public String getAnalysisId() { return analysisId; }
+    public void setAnalysisId(String analysisId) { this.analysisId = analysisId; }
+
     public String getDumpTimestamp() { return dumpTimestamp; }
     public void setDumpTimestamp(String dumpTimestamp) { this.dumpTimestamp = dumpTimestamp; }
 
@@ -69,6 +91,21 @@ public class ThreadDumpAnalysis {
     public List<ThreadInfo> getThreads() { return threads; }
     public void setThreads(List<ThreadInfo> threads) { this.threads = threads; }
 
+    @JsonIgnore
+    public FrameTable getFrameTable() { return frameTable; }
+    public void setFrameTable(FrameTable frameTable) { this.frameTable = frameTable; }
+
+    public List<StackGroup> getStackGroups() { return stackGroups; }
+    public void setStackGroups(List<StackGroup> stackGroups) { this.stackGroups = stackGroups; }
+
+    // collapsed 텍스트는 크기가 크므로 /collapsed 와 스트리밍 내보내기에서만 쓴다
+    @JsonIgnore
+    public CallTree getCallTree() { return callTree; }
+    public void setCallTree(CallTree callTree) { this.callTree = callTree; }
+
+    public List<ThreadPoolUsage> getThreadPools() { return threadPools; }
+    public void setThreadPools(List<ThreadPoolUsage> threadPools) { this.threadPools = threadPools; }
+
     public List<ProblemPattern> getTopProblems() { return topProblems; }
     public void setTopProblems(List<ProblemPattern> topProblems) { this.topProblems = topProblems; }
 
@@ -81,12 +118,25 @@ public class ThreadDumpAnalysis {
     public List<String> getDeadlockThreads() { return deadlockThreads; }
     public void setDeadlockThreads(List<String> deadlockThreads) { this.deadlockThreads = deadlockThreads; }
 
+    public List<DeadlockCycle> getDeadlockCycles() { return deadlockCycles; }
+    public void setDeadlockCycles(List<DeadlockCycle> deadlockCycles) { this.deadlockCycles = deadlockCycles; }
+
     public List<String> getHighCpuThreads() { return highCpuThreads; }
     public void setHighCpuThreads(List<String> highCpuThreads) { this.highCpuThreads = highCpuThreads; }
 
+    public List<ThreadCpuUsage> getCpuHotThreads() { return cpuHotThreads; }
+    public void setCpuHotThreads(List<ThreadCpuUsage> cpuHotThreads) { this.cpuHotThreads = cpuHotThreads; }
+
     public List<String> getMemoryLeakThreads() { return memoryLeakThreads; }
     public void setMemoryLeakThreads(List<String> memoryLeakThreads) { this.memoryLeakThreads = memoryLeakThreads; }
 
     public String getAnalysisSummary() { return analysisSummary; }
     public void setAnalysisSummary(String analysisSummary) { this.analysisSummary = analysisSummary; }
+
+    public Map<String, Double> getPhaseTimings() { return phaseTimings; }
+    public void setPhaseTimings(Map<String, Double> phaseTimings) { this.phaseTimings = phaseTimings; }
+
+    @JsonIgnore
+    public ThreadIndex getThreadIndex() { return threadIndex; }
+    public void setThreadIndex(ThreadIndex threadIndex) { this.threadIndex = threadIndex; }
 }
@@ -0,0 +1,55 @@
+package com.archithreads.analyzer.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 일정 간격으로 수집한 여러 덤프를 nid/tid 로 연결해 분석한 결과.
+ * 목록의 i 번째 값은 i 번째 스냅샷에 해당한다.
+ */
+public class ThreadDumpSeries {
+    private int snapshotCount;
+    private List<String> dumpTimestamps;
+    private List<Integer> threadCounts;
+    private List<Integer> blockedCounts;
+    private List<StuckThread> stuckThreads;
+    private List<PersistentLock> persistentLocks;
+    private List<PoolGrowth> poolGrowth;
+    // 스레드별 CPU 시간 증가량 (큰 순, cpu= 가 있는 덤프만)
+    private List<ThreadCpuUsage> cpuDeltas;
+
+    public ThreadDumpSeries() {
+        this.dumpTimestamps = new ArrayList<>();
+        this.threadCounts = new ArrayList<>();
+        this.blockedCounts = new ArrayList<>();
+        this.stuckThreads = new ArrayList<>();
+        this.persistentLocks = new ArrayList<>();
+        this.poolGrowth = new ArrayList<>();
+        this.cpuDeltas = new ArrayList<>();
+    }
+
+    // Getters and Setters
+    public int getSnapshotCount() { return snapshotCount; }
+    public void setSnapshotCount(int snapshotCount) { this.snapshotCount = snapshotCount; }
+
+    public List<String> getDumpTimestamps() { return dumpTimestamps; }
+    public void setDumpTimestamps(List<String> dumpTimestamps) { this.dumpTimestamps = dumpTimestamps; }
+
+    public List<Integer> getThreadCounts() { return threadCounts; }
+    public void setThreadCounts(List<Integer> threadCounts) { this.threadCounts = threadCounts; }
+
+    public List<Integer> getBlockedCounts() { return blockedCounts; }
+    public void setBlockedCounts(List<Integer> blockedCounts) { this.blockedCounts = blockedCounts; }
+
+    public List<StuckThread> getStuckThreads() { return stuckThreads; }
+    public void setStuckThreads(List<StuckThread> stuckThreads) { this.stuckThreads = stuckThreads; }
+
+    public List<PersistentLock> getPersistentLocks() { return persistentLocks; }
+    public void setPersistentLocks(List<PersistentLock> persistentLocks) { this.persistentLocks = persistentLocks; }
+
+    public List<PoolGrowth> getPoolGrowth() { return poolGrowth; }
+    public void setPoolGrowth(List<PoolGrowth> poolGrowth) { this.poolGrowth = poolGrowth; }
+
+    public List<ThreadCpuUsage> getCpuDeltas() { return cpuDeltas; }
+    public void setCpuDeltas(List<ThreadCpuUsage> cpuDeltas) { this.cpuDeltas = cpuDeltas; }
+}
@@ -0,0 +1,289 @@
+package com.archithreads.analyzer.model;
+
+import java.util.*;
+
+/**
+ * 스레드 검색용 역색인. 프레임(메서드와 그 클래스/패키지 접두사), 락(주소와 클래스), 상태별로
+ * 해당 스레드 집합을 ThreadBitmap 으로 보관하여, 조건 조합을 스택 문자열 재스캔 없이 비트맵 연산으로 계산한다.
+ * 위치는 분석 결과의 threads 인덱스이다.
+ */
+public class ThreadIndex {
+
+    private final int threadCount;
+    // 부분 문자열 검색용 (고유 프레임 단위로 비교)
+    private final FrameTable frameTable;
+    private final int[][] threadFrames;
+    private final String[] lowerCaseNames;
+    private final Map<String, ThreadBitmap> frames;
+    private final Map<String, ThreadBitmap> locks;
+    private final Map<String, ThreadBitmap> states;
+
+    private ThreadIndex(int threadCount, FrameTable frameTable, int[][] threadFrames, String[] lowerCaseNames,
+                        Map<String, ThreadBitmap> frames, Map<String, ThreadBitmap> locks,
+                        Map<String, ThreadBitmap> states) {
+        this.threadCount = threadCount;
+        this.frameTable = frameTable;
+        this.threadFrames = threadFrames;
+        this.lowerCaseNames = lowerCaseNames;
+        this.frames = frames;
+        this.locks = locks;
+        this.states = states;
+    }
+
+    /**
+     * 파싱된 스레드의 프레임 ID 로 색인을 만든다. 같은 프레임의 키는 한 번만 계산한다.
+     */
+    public static ThreadIndex build(List<ThreadInfo> threads, FrameTable frameTable) {
+        int threadCount = threads.size();
+        // 프레임 ID 가 없는 스레드(문자열 파싱 결과)는 별도 사전에 등록
+        boolean shared = frameTable != null
+                && threads.stream().allMatch(thread -> thread.getFrameIds() != null && thread.getFrameTable() == frameTable);
+        FrameTable table = shared ? frameTable : new FrameTable();
+        int[][] threadFrames = new int[threadCount][];
+        for (int t = 0; t < threadCount; t++) {
+            ThreadInfo thread = threads.get(t);
+            if (shared) {
+                threadFrames[t] = thread.getFrameIds();
+            } else {
+                List<String> stackFrames = thread.getStackFrames();
+                int[] frameIds = new int[stackFrames.size()];
+                for (int i = 0; i < frameIds.length; i++) {
+                    frameIds[i] = table.intern(stackFrames.get(i).trim());
+                }
+                threadFrames[t] = frameIds;
+            }
+        }
+
+        Postings framePostings = new Postings();
+        Postings lockPostings = new Postings();
+        Postings statePostings = new Postings();
+        int[][] frameKeys = new int[table.size()][];
+        int[][] frameLockKeys = new int[table.size()][];
+        String[] lowerCaseNames = new String[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            ThreadInfo thread = threads.get(t);
+            for (int frameId : threadFrames[t]) {
+                if (frameKeys[frameId] == null) {
+                    String frame = table.getFrame(frameId);
+                    frameKeys[frameId] = framePostings.keyIds(frameKeys(frame));
+                    frameLockKeys[frameId] = lockPostings.keyIds(lockClass(frame));
+                }
+                framePostings.add(frameKeys[frameId], t);
+                lockPostings.add(frameLockKeys[frameId], t);
+            }
+            for (String lock : lockAddresses(thread)) {
+                lockPostings.add(lockPostings.keyId(lock), t);
+            }
+            if (thread.getJavaLangThreadState() != null) {
+                statePostings.add(statePostings.keyId(thread.getJavaLangThreadState().toUpperCase(Locale.ROOT)), t);
+            }
+            lowerCaseNames[t] = thread.getThreadName() != null ? thread.getThreadName().toLowerCase(Locale.ROOT) : null;
+        }
+        return new ThreadIndex(threadCount, table, threadFrames, lowerCaseNames,
+                framePostings.toBitmaps(threadCount), lockPostings.toBitmaps(threadCount),
+                statePostings.toBitmaps(threadCount));
+    }
+
+    /**
+     * "at com.acme.billing.Invoice.charge(Invoice.java:42)" 에서
+     * com, com.acme, com.acme.billing, com.acme.billing.Invoice, com.acme.billing.Invoice.charge.
+     */
+    static List<String> frameKeys(String frame) {
+        if (!frame.startsWith("at ")) {
+            return List.of();
+        }
+        int end = frame.indexOf('(');
+        String method = (end > 0 ? frame.substring(3, end) : frame.substring(3)).trim();
+        // 모듈/클래스로더 접두사 (java.base@17/, app//) 제거. 람다 클래스 이름의 '/' 는 유지
+        int slash = method.indexOf('/');
+        if (slash >= 0 && method.lastIndexOf('$', slash) < 0) {
+            int start = slash;
+            while (start < method.length() && method.charAt(start) == '/') {
+                start++;
+            }
+            method = method.substring(start);
+        }
+        if (method.isEmpty()) {
+            return List.of();
+        }
+        List<String> keys = new ArrayList<>();
+        for (int dot = method.indexOf('.'); dot > 0; dot = method.indexOf('.', dot + 1)) {
+            keys.add(method.substring(0, dot));
+        }
+        keys.add(method);
+        return keys;
+    }
+
+    // "- locked <0x...> (a java.lang.Object)" 의 클래스
+    private static List<String> lockClass(String frame) {
+        int start = frame.startsWith("- ") ? frame.lastIndexOf("(a ") : -1;
+        int end = frame.lastIndexOf(')');
+        return start >= 0 && end > start + 3 ? List.of(frame.substring(start + 3, end)) : List.of();
+    }
+
+    private static List<String> lockAddresses(ThreadInfo thread) {
+        List<String> addresses = new ArrayList<>(thread.getLockedMonitors());
+        addresses.addAll(thread.getLockedSynchronizers());
+        for (String lock : Arrays.asList(thread.getLockInfo(), thread.getWaitingToLock(), thread.getWaitingOn(),
+                thread.getParkingToWaitFor())) {
+            if (lock != null) {
+                addresses.add(lock);
+            }
+        }
+        return addresses;
+    }
+
+    /**
+     * 메서드 또는 클래스/패키지 접두사가 정확히 일치하면 색인에서, 아니면 고유 프레임 텍스트의 부분 문자열로 찾는다.
+     */
+    public ThreadBitmap frame(String value) {
+        ThreadBitmap indexed = frames.get(value);
+        if (indexed != null) {
+            return indexed;
+        }
+        BitSet matchingFrames = new BitSet(frameTable.size());
+        for (int id = 0; id < frameTable.size(); id++) {
+            if (frameTable.getFrame(id).contains(value)) {
+                matchingFrames.set(id);
+            }
+        }
+        if (matchingFrames.isEmpty()) {
+            return ThreadBitmap.empty(threadCount);
+        }
+        int[] positions = new int[threadCount];
+        int count = 0;
+        for (int t = 0; t < threadCount; t++) {
+            for (int frameId : threadFrames[t]) {
+                if (matchingFrames.get(frameId)) {
+                    positions[count++] = t;
+                    break;
+                }
+            }
+        }
+        return ThreadBitmap.of(threadCount, positions, count);
+    }
+
+    /**
+     * 락 주소 또는 클래스가 정확히 일치하면 색인에서, 아니면 부분 문자열(대소문자 무시)로 찾는다.
+     */
+    public ThreadBitmap lock(String value) {
+        String key = value.startsWith("<") && value.endsWith(">") ? value.substring(1, value.length() - 1) : value;
+        ThreadBitmap indexed = locks.get(key);
+        if (indexed != null) {
+            return indexed;
+        }
+        String needle = key.toLowerCase(Locale.ROOT);
+        ThreadBitmap result = ThreadBitmap.empty(threadCount);
+        for (Map.Entry<String, ThreadBitmap> entry : locks.entrySet()) {
+            if (entry.getKey().toLowerCase(Locale.ROOT).contains(needle)) {
+                result = result.or(entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * java.lang.Thread.State 값 (대소문자 무시).
+     */
+    public ThreadBitmap state(String value) {
+        ThreadBitmap indexed = states.get(value.toUpperCase(Locale.ROOT));
+        return indexed != null ? indexed : ThreadBitmap.empty(threadCount);
+    }
+
+    /**
+     * 스레드 이름의 부분 문자열 (대소문자 무시).
+     */
+    public ThreadBitmap threadName(String value) {
+        String needle = value.toLowerCase(Locale.ROOT);
+        int[] positions = new int[threadCount];
+        int count = 0;
+        for (int t = 0; t < threadCount; t++) {
+            if (lowerCaseNames[t] != null && lowerCaseNames[t].contains(needle)) {
+                positions[count++] = t;
+            }
+        }
+        return ThreadBitmap.of(threadCount, positions, count);
+    }
+
+    public ThreadBitmap all() {
+        return ThreadBitmap.all(threadCount);
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * 색인이 붙잡고 있는 메모리의 대략적인 바이트 수 (공유하는 프레임 사전 제외).
+     */
+    public long estimateRetainedBytes() {
+        long bytes = 64L + 16L * threadCount;
+        for (String name : lowerCaseNames) {
+            bytes += name != null ? 40L + name.length() : 0;
+        }
+        for (Map<String, ThreadBitmap> bitmaps : List.of(frames, locks, states)) {
+            for (Map.Entry<String, ThreadBitmap> entry : bitmaps.entrySet()) {
+                bytes += 88L + entry.getKey().length() + entry.getValue().estimateRetainedBytes();
+            }
+        }
+        return bytes;
+    }
+
+    // 키별 스레드 위치 목록 (스레드 순서대로 추가되므로 정렬 상태 유지)
+    private static final class Postings {
+        private final Map<String, Integer> keyIds = new HashMap<>();
+        private final List<String> keys = new ArrayList<>();
+        private int[][] positions = new int[64][];
+        private int[] counts = new int[64];
+
+        int keyId(String key) {
+            Integer id = keyIds.get(key);
+            if (id == null) {
+                id = keys.size();
+                keyIds.put(key, id);
+                keys.add(key);
+                if (id == positions.length) {
+                    positions = Arrays.copyOf(positions, id * 2);
+                    counts = Arrays.copyOf(counts, id * 2);
+                }
+                positions[id] = new int[4];
+            }
+            return id;
+        }
+
+        int[] keyIds(List<String> keys) {
+            int[] ids = new int[keys.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = keyId(keys.get(i));
+            }
+            return ids;
+        }
+
+        void add(int[] ids, int position) {
+            for (int id : ids) {
+                add(id, position);
+            }
+        }
+
+        void add(int id, int position) {
+            int count = counts[id];
+            // 같은 스레드의 중복 프레임은 한 번만
+            if (count > 0 && positions[id][count - 1] == position) {
+                return;
+            }
+            if (count == positions[id].length) {
+                positions[id] = Arrays.copyOf(positions[id], count * 2);
+            }
+            positions[id][count] = position;
+            counts[id] = count + 1;
+        }
+
+        Map<String, ThreadBitmap> toBitmaps(int size) {
+            Map<String, ThreadBitmap> bitmaps = new HashMap<>(keys.size() * 2);
+            for (int id = 0; id < keys.size(); id++) {
+                bitmaps.put(keys.get(id), ThreadBitmap.of(size, positions[id], counts[id]));
+            }
+            return bitmaps;
+        }
+    }
+}
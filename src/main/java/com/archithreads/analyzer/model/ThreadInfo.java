@@ -1,5 +1,8 @@
 package com.archithreads.analyzer.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.AbstractList;
 import java.util.List;
 import java.util.ArrayList;
 
@@ -16,6 +19,9 @@ public class ThreadInfo {
     private String javaThreadId;
     private String stackTrace;
     private List<String> stackFrames;
+    private FrameTable frameTable;
+    private int[] frameIds;
+    private long stackSignature;
     private String lockInfo;
     private String lockOwner;
     private String lockOwnerId;
@@ -23,9 +29,16 @@ public class ThreadInfo {
     private boolean isWaiting;
     private boolean isParked;
     private String waitingOn;
+    private String waitingToLock;
     private String parkingToWaitFor;
     private long blockedTime;
     private long waitedTime;
+    // JDK 11+ 헤더의 cpu= / elapsed= (밀리초, 없으면 null)
+    private Double cpuTimeMillis;
+    private Double elapsedTimeMillis;
+    // JSON 덤프(jcmd Thread.dump_to_file)의 스레드 컨테이너와 가상 스레드 여부
+    private String threadContainer;
+    private boolean isVirtual;
     private String javaLangThreadState;
     private List<String> lockedMonitors;
     private List<String> lockedSynchronizers;
@@ -67,11 +80,44 @@ public class ThreadInfo {
     public String getJavaThreadId() { return javaThreadId; }
     public void setJavaThreadId(String javaThreadId) { this.javaThreadId = javaThreadId; }
 
-    public String getStackTrace() { return stackTrace; }
+    public String getStackTrace() {
+        // 프레임 ID 로 보관된 경우 요청 시점에만 텍스트로 렌더링
+        if (stackTrace == null && frameIds != null) {
+            return frameTable.render(frameIds);
+        }
+        return stackTrace;
+    }
     public void setStackTrace(String stackTrace) { this.stackTrace = stackTrace; }
 
-    public List<String> getStackFrames() { return stackFrames; }
-    public void setStackFrames(List<String> stackFrames) { this.stackFrames = stackFrames; }
+    public List<String> getStackFrames() {
+        if (frameIds != null) {
+            return new AbstractList<String>() {
+                @Override
+                public String get(int index) { return frameTable.getFrame(frameIds[index]); }
+
+                @Override
+                public int size() { return frameIds.length; }
+            };
+        }
+        return stackFrames;
+    }
+    public void setStackFrames(List<String> stackFrames) {
+        this.stackFrames = stackFrames;
+        this.frameIds = null;
+    }
+
+    @JsonIgnore
+    public FrameTable getFrameTable() { return frameTable; }
+    @JsonIgnore
+    public int[] getFrameIds() { return frameIds; }
+
+    public void setFrames(FrameTable frameTable, int[] frameIds) {
+        this.frameTable = frameTable;
+        this.frameIds = frameIds;
+    }
+
+    public long getStackSignature() { return stackSignature; }
+    public void setStackSignature(long stackSignature) { this.stackSignature = stackSignature; }
 
     public String getLockInfo() { return lockInfo; }
     public void setLockInfo(String lockInfo) { this.lockInfo = lockInfo; }
@@ -94,6 +140,9 @@ public class ThreadInfo {
     public String getWaitingOn() { return waitingOn; }
     public void setWaitingOn(String waitingOn) { this.waitingOn = waitingOn; }
 
+    public String getWaitingToLock() { return waitingToLock; }
+    public void setWaitingToLock(String waitingToLock) { this.waitingToLock = waitingToLock; }
+
     public String getParkingToWaitFor() { return parkingToWaitFor; }
     public void setParkingToWaitFor(String parkingToWaitFor) { this.parkingToWaitFor = parkingToWaitFor; }
 
@@ -103,6 +152,18 @@ public class ThreadInfo {
     public long getWaitedTime() { return waitedTime; }
     public void setWaitedTime(long waitedTime) { this.waitedTime = waitedTime; }
 
+    public Double getCpuTimeMillis() { return cpuTimeMillis; }
+    public void setCpuTimeMillis(Double cpuTimeMillis) { this.cpuTimeMillis = cpuTimeMillis; }
+
+    public Double getElapsedTimeMillis() { return elapsedTimeMillis; }
+    public void setElapsedTimeMillis(Double elapsedTimeMillis) { this.elapsedTimeMillis = elapsedTimeMillis; }
+
+    public String getThreadContainer() { return threadContainer; }
+    public void setThreadContainer(String threadContainer) { this.threadContainer = threadContainer; }
+
+    public boolean isVirtual() { return isVirtual; }
+    public void setVirtual(boolean virtual) { isVirtual = virtual; }
+
     public String getJavaLangThreadState() { return javaLangThreadState; }
     public void setJavaLangThreadState(String javaLangThreadState) { this.javaLangThreadState = javaLangThreadState; }
 
@@ -0,0 +1,31 @@
+package com.archithreads.analyzer.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 필터/정렬이 적용된 스레드 목록의 한 페이지.
+ */
+public class ThreadPage {
+    private int page;
+    private int size;
+    private int totalElements;
+    private List<ThreadSummary> threads = new ArrayList<>();
+
+    public int getTotalPages() {
+        return size > 0 ? (totalElements + size - 1) / size : 0;
+    }
+
+    // Getters and Setters
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public int getTotalElements() { return totalElements; }
+    public void setTotalElements(int totalElements) { this.totalElements = totalElements; }
+
+    public List<ThreadSummary> getThreads() { return threads; }
+    public void setThreads(List<ThreadSummary> threads) { this.threads = threads; }
+}
@@ -0,0 +1,45 @@
+package com.archithreads.analyzer.model;
+
+/**
+ * 이름으로 묶은 스레드 풀 하나의 사용 현황.
+ * idle 은 풀에서 다음 작업을 기다리는 스레드, busy 는 실행 중(RUNNABLE), blocked 는 작업 도중 락/조건/응답을 기다리는 스레드.
+ */
+public class ThreadPoolUsage {
+    private String poolName;
+    private String executorType;
+    private int threadCount;
+    private int busyThreads;
+    private int blockedThreads;
+    private int idleThreads;
+
+    public ThreadPoolUsage() {
+    }
+
+    public ThreadPoolUsage(String poolName) {
+        this.poolName = poolName;
+    }
+
+    // 작업을 맡고 있는 스레드 비율 (0~1)
+    public double getUtilization() {
+        return threadCount == 0 ? 0 : (double) (busyThreads + blockedThreads) / threadCount;
+    }
+
+    // Getters and Setters
+    public String getPoolName() { return poolName; }
+    public void setPoolName(String poolName) { this.poolName = poolName; }
+
+    public String getExecutorType() { return executorType; }
+    public void setExecutorType(String executorType) { this.executorType = executorType; }
+
+    public int getThreadCount() { return threadCount; }
+    public void setThreadCount(int threadCount) { this.threadCount = threadCount; }
+
+    public int getBusyThreads() { return busyThreads; }
+    public void setBusyThreads(int busyThreads) { this.busyThreads = busyThreads; }
+
+    public int getBlockedThreads() { return blockedThreads; }
+    public void setBlockedThreads(int blockedThreads) { this.blockedThreads = blockedThreads; }
+
+    public int getIdleThreads() { return idleThreads; }
+    public void setIdleThreads(int idleThreads) { this.idleThreads = idleThreads; }
+}
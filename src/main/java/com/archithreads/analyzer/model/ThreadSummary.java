@@ -0,0 +1,69 @@
+package com.archithreads.analyzer.model;
+
+/**
+ * 스레드 목록 API 의 한 행. 스택 트레이스는 포함하지 않는다 (index 로 별도 조회).
+ */
+public class ThreadSummary {
+    private int index;
+    private String threadName;
+    private String threadId;
+    private String nid;
+    private String priority;
+    private String daemon;
+    private boolean virtual;
+    private String javaLangThreadState;
+    private String lockInfo;
+    private String lockOwner;
+    private int stackDepth;
+
+    public ThreadSummary() {
+    }
+
+    public ThreadSummary(int index, ThreadInfo thread) {
+        this.index = index;
+        this.threadName = thread.getThreadName();
+        this.threadId = thread.getThreadId();
+        this.nid = thread.getNid();
+        this.priority = thread.getPriority();
+        this.daemon = thread.getDaemon();
+        this.virtual = thread.isVirtual();
+        this.javaLangThreadState = thread.getJavaLangThreadState();
+        this.lockInfo = thread.getLockInfo();
+        this.lockOwner = thread.getLockOwner();
+        this.stackDepth = thread.getFrameIds() != null ? thread.getFrameIds().length : thread.getStackFrames().size();
+    }
+
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public String getThreadName() { return threadName; }
+    public void setThreadName(String threadName) { this.threadName = threadName; }
+
+    public String getThreadId() { return threadId; }
+    public void setThreadId(String threadId) { this.threadId = threadId; }
+
+    public String getNid() { return nid; }
+    public void setNid(String nid) { this.nid = nid; }
+
+    public String getPriority() { return priority; }
+    public void setPriority(String priority) { this.priority = priority; }
+
+    public String getDaemon() { return daemon; }
+    public void setDaemon(String daemon) { this.daemon = daemon; }
+
+    public boolean isVirtual() { return virtual; }
+    public void setVirtual(boolean virtual) { this.virtual = virtual; }
+
+    public String getJavaLangThreadState() { return javaLangThreadState; }
+    public void setJavaLangThreadState(String javaLangThreadState) { this.javaLangThreadState = javaLangThreadState; }
+
+    public String getLockInfo() { return lockInfo; }
+    public void setLockInfo(String lockInfo) { this.lockInfo = lockInfo; }
+
+    public String getLockOwner() { return lockOwner; }
+    public void setLockOwner(String lockOwner) { this.lockOwner = lockOwner; }
+
+    public int getStackDepth() { return stackDepth; }
+    public void setStackDepth(int stackDepth) { this.stackDepth = stackDepth; }
+}
@@ -0,0 +1,69 @@
+package com.archithreads.analyzer.model;
+
+/**
+ * 분할 업로드 상태. 클라이언트는 연결이 끊기면 nextChunk 부터 다시 보낸다.
+ */
+public class UploadSession {
+    public static final String UPLOADING = "UPLOADING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String ABORTED = "ABORTED";
+
+    private String uploadId;
+    private String fileName;
+    private long totalBytes;
+    private volatile String status;
+    private volatile long receivedBytes;
+    private volatile int nextChunk;
+    private String jobId;
+    private volatile String error;
+    private long createdAt;
+    private volatile long updatedAt;
+
+    public UploadSession() {
+        this.status = UPLOADING;
+    }
+
+    public UploadSession(String uploadId, String fileName, long totalBytes) {
+        this();
+        this.uploadId = uploadId;
+        this.fileName = fileName;
+        this.totalBytes = totalBytes;
+        this.createdAt = System.currentTimeMillis();
+        this.updatedAt = createdAt;
+    }
+
+    public boolean isDone() {
+        return COMPLETED.equals(status) || ABORTED.equals(status);
+    }
+
+    // Getters and Setters
+    public String getUploadId() { return uploadId; }
+    public void setUploadId(String uploadId) { this.uploadId = uploadId; }
+
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+
+    public long getTotalBytes() { return totalBytes; }
+    public void setTotalBytes(long totalBytes) { this.totalBytes = totalBytes; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public long getReceivedBytes() { return receivedBytes; }
+    public void setReceivedBytes(long receivedBytes) { this.receivedBytes = receivedBytes; }
+
+    public int getNextChunk() { return nextChunk; }
+    public void setNextChunk(int nextChunk) { this.nextChunk = nextChunk; }
+
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public long getCreatedAt() { return createdAt; }
+    public void setCreatedAt(long createdAt) { this.createdAt = createdAt; }
+
+    public long getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(long updatedAt) { this.updatedAt = updatedAt; }
+}
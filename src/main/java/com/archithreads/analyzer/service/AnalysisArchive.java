@@ -0,0 +1,268 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.ArchivedAnalysis;
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 분석 결과를 로컬 디렉토리에 .atd 파일로 저장하고, ID 로 메모리 매핑하여 다시 읽는다.
+ * 저장은 전용 스레드 하나에서 순서대로 처리하므로 요청이나 작업 스레드를 붙잡지 않는다.
+ */
+@Service
+public class AnalysisArchive {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisArchive.class);
+
+    private static final String EXTENSION = ".atd";
+    // 경로 조작 방지를 위해 ID 문자 제한
+    private static final Pattern ANALYSIS_ID_PATTERN = Pattern.compile("[A-Za-z0-9-]{1,64}");
+
+    @Value("${analyzer.archive.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${analyzer.archive.directory:data/analyses}")
+    private String directory = "data/analyses";
+
+    // 이 기간이 지난 파일은 새 결과를 저장할 때 삭제
+    @Value("${analyzer.archive.retention:30d}")
+    private Duration retention = Duration.ofDays(30);
+
+    // 저장 파일 전체 크기 상한. 넘으면 오래된 파일부터 삭제 (0 이면 제한 없음)
+    @Value("${analyzer.archive.max-size:1GB}")
+    private DataSize maxSize = DataSize.ofGigabytes(1);
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "analysis-archive");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // 저장을 기다리는 결과 (파일이 생기기 전에 load 되면 그대로 돌려준다)
+    private final Map<String, ThreadDumpAnalysis> pending = new ConcurrentHashMap<>();
+
+    // 저장된 파일 목록 (오래된 순). 처음 저장할 때 디렉토리를 한 번 읽고 이후에는 저장 스레드만 갱신
+    private Deque<ArchivedFile> archivedFiles;
+    private long archivedBytes;
+
+    private record ArchivedFile(Path path, long lastModified, long size) {
+    }
+
+    /**
+     * 저장을 예약하고 바로 반환한다.
+     */
+    public void save(ThreadDumpAnalysis analysis) {
+        if (!enabled || analysis.getAnalysisId() == null) {
+            return;
+        }
+        Path target = pathOf(analysis.getAnalysisId());
+        if (target == null || pending.putIfAbsent(analysis.getAnalysisId(), analysis) != null) {
+            return;
+        }
+        try {
+            writer.execute(() -> {
+                try {
+                    write(analysis, target);
+                } finally {
+                    pending.remove(analysis.getAnalysisId());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+            pending.remove(analysis.getAnalysisId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // 예약된 저장은 마치고 종료
+        writer.shutdown();
+        if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("저장하지 못한 분석 결과 {}개", pending.size());
+        }
+    }
+
+    private void write(ThreadDumpAnalysis analysis, Path target) {
+        if (Files.exists(target)) {
+            return;
+        }
+        Path tempFile = null;
+        try {
+            Files.createDirectories(target.getParent());
+            tempFile = Files.createTempFile(target.getParent(), analysis.getAnalysisId(), ".tmp");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempFile), 64 * 1024)) {
+                AnalysisCodec.write(analysis, out);
+            }
+            // 완성된 파일만 보이도록 이름 변경으로 저장
+            Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("분석 결과 저장 실패: {}", target, e);
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignored) {
+                    tempFile.toFile().deleteOnExit();
+                }
+            }
+            return;
+        }
+        try {
+            track(target);
+            deleteExpired();
+        } catch (IOException e) {
+            log.warn("오래된 분석 파일 정리 실패: {}", directory, e);
+        }
+    }
+
+    /**
+     * 저장된 분석 결과를 읽는다. 없으면 null.
+     */
+    public ThreadDumpAnalysis load(String analysisId) throws IOException {
+        ThreadDumpAnalysis saving = analysisId != null ? pending.get(analysisId) : null;
+        if (saving != null) {
+            return saving;
+        }
+        Path file = pathOf(analysisId);
+        if (file == null || !Files.exists(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            ThreadDumpAnalysis analysis = AnalysisCodec.read(buffer);
+            // 결과가 매핑을 붙잡지 않도록 고유 프레임만 힙으로 복사 (매핑된 파일은 Windows 에서 지울 수 없음)
+            analysis.getFrameTable().detach();
+            return analysis;
+        }
+    }
+
+    /**
+     * 최근에 저장된 순서로 최대 limit 개의 헤더만 읽어 반환한다.
+     */
+    public List<ArchivedAnalysis> list(int limit) {
+        List<ArchivedAnalysis> archived = new ArrayList<>();
+        Path dir = Paths.get(directory);
+        if (!enabled || !Files.isDirectory(dir)) {
+            return archived;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> recent = files
+                    .filter(file -> file.getFileName().toString().endsWith(EXTENSION))
+                    .sorted(Comparator.comparing(this::lastModified).reversed())
+                    .limit(limit)
+                    .toList();
+            for (Path file : recent) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    // 헤더는 파일 앞부분에만 있음
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), 4096));
+                    ArchivedAnalysis header = AnalysisCodec.readHeader(buffer);
+                    header.setFileSize(channel.size());
+                    archived.add(header);
+                } catch (IOException e) {
+                    log.warn("분석 파일 헤더를 읽을 수 없습니다: {}", file, e);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("분석 저장 디렉토리를 읽을 수 없습니다: {}", dir, e);
+        }
+        return archived;
+    }
+
+    private void track(Path file) throws IOException {
+        if (archivedFiles == null) {
+            // 방금 저장한 파일도 목록에 포함됨
+            scan();
+            return;
+        }
+        ArchivedFile archived = new ArchivedFile(file, lastModified(file), Files.size(file));
+        archivedFiles.addLast(archived);
+        archivedBytes += archived.size();
+    }
+
+    private void scan() throws IOException {
+        List<ArchivedFile> found = new ArrayList<>();
+        try (Stream<Path> files = Files.list(Paths.get(directory))) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().endsWith(EXTENSION)) {
+                    found.add(new ArchivedFile(file, lastModified(file), size(file)));
+                }
+            }
+        }
+        found.sort(Comparator.comparingLong(ArchivedFile::lastModified));
+        archivedFiles = new ArrayDeque<>(found);
+        archivedBytes = found.stream().mapToLong(ArchivedFile::size).sum();
+    }
+
+    // 보관 기간이 지났거나 전체 크기 상한을 넘는 만큼 오래된 파일부터 삭제 (방금 저장한 파일은 남김)
+    private void deleteExpired() {
+        long expiredBefore = System.currentTimeMillis() - retention.toMillis();
+        long maxBytes = maxSize.toBytes();
+        List<ArchivedFile> undeleted = new ArrayList<>();
+        while (archivedFiles.size() > 1) {
+            ArchivedFile oldest = archivedFiles.peekFirst();
+            boolean overSize = maxBytes > 0 && archivedBytes > maxBytes;
+            if (oldest.lastModified() >= expiredBefore && !overSize) {
+                break;
+            }
+            archivedFiles.removeFirst();
+            try {
+                Files.deleteIfExists(oldest.path());
+                archivedBytes -= oldest.size();
+            } catch (IOException e) {
+                log.warn("오래된 분석 파일을 삭제할 수 없습니다: {}", oldest.path(), e);
+                undeleted.add(oldest);
+            }
+        }
+        // 지우지 못한 파일은 크기에 그대로 남겨 두고 다음 저장 때 다시 시도
+        for (int i = undeleted.size() - 1; i >= 0; i--) {
+            archivedFiles.addFirst(undeleted.get(i));
+        }
+    }
+
+    private long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private Path pathOf(String analysisId) {
+        if (analysisId == null || !ANALYSIS_ID_PATTERN.matcher(analysisId).matches()) {
+            return null;
+        }
+        return Paths.get(directory, analysisId + EXTENSION);
+    }
+}
@@ -0,0 +1,241 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.AnalysisCacheStats;
+import com.archithreads.analyzer.model.StackGroup;
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import com.archithreads.analyzer.model.ThreadInfo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 정규화한 덤프 내용의 SHA-256 을 키로 분석 결과를 캐시한다.
+ * 항목 수가 아니라 결과가 붙잡는 메모리 추정치의 합으로 크기를 제한하고, TTL 이 지나면 버린다.
+ */
+@Service
+public class AnalysisCache {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Value("${analyzer.cache.max-weight:256MB}")
+    private DataSize maxWeight = DataSize.ofMegabytes(256);
+
+    @Value("${analyzer.cache.ttl:30m}")
+    private Duration ttl = Duration.ofMinutes(30);
+
+    // 접근 순서 LinkedHashMap: 가장 오래 사용되지 않은 항목부터 제거
+    private final Map<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalWeight;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public String keyOf(String threadDumpContent) {
+        NormalizingDigest digest = new NormalizingDigest();
+        byte[] bytes = threadDumpContent.getBytes(StandardCharsets.UTF_8);
+        digest.update(bytes, 0, bytes.length);
+        return digest.finish();
+    }
+
+    public String keyOf(InputStream threadDumpStream) throws IOException {
+        NormalizingDigest digest = new NormalizingDigest();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int n;
+        while ((n = threadDumpStream.read(buffer)) != -1) {
+            digest.update(buffer, 0, n);
+        }
+        return digest.finish();
+    }
+
+    public synchronized ThreadDumpAnalysis get(String key) {
+        CacheEntry entry = entries.get(key);
+        if (entry != null && entry.expiresAt < System.nanoTime()) {
+            remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.analysis;
+    }
+
+    public void put(String key, ThreadDumpAnalysis analysis) {
+        // 추정은 스레드 수에 비례하므로 락 밖에서 계산
+        long weight = estimateRetainedBytes(analysis);
+        if (weight > maxWeight.toBytes()) {
+            return;
+        }
+        synchronized (this) {
+            CacheEntry previous = entries.put(key, new CacheEntry(analysis, weight, System.nanoTime() + ttl.toNanos()));
+            totalWeight += weight - (previous != null ? previous.weight : 0);
+            evictExpired();
+            Iterator<CacheEntry> eldest = entries.values().iterator();
+            while (totalWeight > maxWeight.toBytes() && eldest.hasNext()) {
+                totalWeight -= eldest.next().weight;
+                eldest.remove();
+                evictions++;
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        totalWeight = 0;
+    }
+
+    public synchronized AnalysisCacheStats getStats() {
+        evictExpired();
+        AnalysisCacheStats stats = new AnalysisCacheStats();
+        stats.setHits(hits);
+        stats.setMisses(misses);
+        stats.setEvictions(evictions);
+        stats.setEntries(entries.size());
+        stats.setWeightBytes(totalWeight);
+        stats.setMaxWeightBytes(maxWeight.toBytes());
+        stats.setTtlSeconds(ttl.toSeconds());
+        return stats;
+    }
+
+    private void evictExpired() {
+        long now = System.nanoTime();
+        Iterator<CacheEntry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            CacheEntry entry = iterator.next();
+            if (entry.expiresAt < now) {
+                totalWeight -= entry.weight;
+                iterator.remove();
+                evictions++;
+            }
+        }
+    }
+
+    private void remove(String key) {
+        CacheEntry entry = entries.remove(key);
+        if (entry != null) {
+            totalWeight -= entry.weight;
+            evictions++;
+        }
+    }
+
+    // 프레임 사전 + 스레드별 객체/문자열의 대략적인 크기 (정확한 측정이 아니라 상한 관리용)
+    private long estimateRetainedBytes(ThreadDumpAnalysis analysis) {
+        long bytes = 1024;
+        if (analysis.getFrameTable() != null) {
+            bytes += analysis.getFrameTable().estimateRetainedBytes();
+        }
+        for (ThreadInfo thread : analysis.getThreads()) {
+            bytes += 256 + stringBytes(thread.getThreadName()) + stringBytes(thread.getLockInfo());
+            bytes += thread.getFrameIds() != null
+                    ? 16L + 4L * thread.getFrameIds().length
+                    : stringBytes(thread.getStackTrace()) * 2;
+            bytes += 56L * (thread.getLockedMonitors().size() + thread.getLockedSynchronizers().size());
+        }
+        if (analysis.getStackGroups() != null) {
+            for (StackGroup group : analysis.getStackGroups()) {
+                bytes += 64 + 8L * group.getThreadNames().size();
+            }
+        }
+        if (analysis.getThreadPools() != null) {
+            bytes += 96L * analysis.getThreadPools().size();
+        }
+        if (analysis.getCpuHotThreads() != null) {
+            bytes += 160L * analysis.getCpuHotThreads().size();
+        }
+        if (analysis.getCallTree() != null) {
+            bytes += 64L * analysis.getCallTree().size();
+        }
+        if (analysis.getThreadIndex() != null) {
+            bytes += analysis.getThreadIndex().estimateRetainedBytes();
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : 40L + value.length();
+    }
+
+    private static final class CacheEntry {
+        private final ThreadDumpAnalysis analysis;
+        private final long weight;
+        private final long expiresAt;
+
+        CacheEntry(ThreadDumpAnalysis analysis, long weight, long expiresAt) {
+            this.analysis = analysis;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * CR 을 제거하고 앞뒤 공백을 무시한 내용으로 SHA-256 을 계산한다.
+     * 같은 덤프를 파일로 올리든, 텍스트 영역(CRLF)에 붙여넣든 같은 키가 된다.
+     */
+    private static final class NormalizingDigest {
+        private final MessageDigest digest;
+        private final byte[] out = new byte[BUFFER_SIZE];
+        private int outLength;
+        private byte[] pending = new byte[64];
+        private int pendingLength;
+        private boolean started;
+
+        NormalizingDigest() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void update(byte[] bytes, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                byte b = bytes[i];
+                if (b == '\r') {
+                    continue;
+                }
+                if (b == '\n' || b == ' ' || b == '\t') {
+                    // 뒤에 내용이 이어질 때만 반영 (앞뒤 공백 무시)
+                    if (started) {
+                        if (pendingLength == pending.length) {
+                            pending = Arrays.copyOf(pending, pendingLength * 2);
+                        }
+                        pending[pendingLength++] = b;
+                    }
+                    continue;
+                }
+                started = true;
+                for (int p = 0; p < pendingLength; p++) {
+                    emit(pending[p]);
+                }
+                pendingLength = 0;
+                emit(b);
+            }
+        }
+
+        String finish() {
+            digest.update(out, 0, outLength);
+            return HexFormat.of().formatHex(digest.digest());
+        }
+
+        private void emit(byte b) {
+            if (outLength == out.length) {
+                digest.update(out, 0, outLength);
+                outLength = 0;
+            }
+            out[outLength++] = b;
+        }
+    }
+}
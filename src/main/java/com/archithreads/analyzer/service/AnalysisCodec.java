@@ -0,0 +1,573 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.ArchivedAnalysis;
+import com.archithreads.analyzer.model.DeadlockCycle;
+import com.archithreads.analyzer.model.FrameTable;
+import com.archithreads.analyzer.model.ProblemPattern;
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import com.archithreads.analyzer.model.ThreadInfo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 분석 결과의 바이너리 저장 형식 (.atd).
+ *
+ * <pre>
+ * 헤더       MAGIC, VERSION, 저장 시각, 스레드 수, 분석 ID, 덤프 시각
+ * 프레임 사전  [길이][UTF-8] 반복 - 읽을 때 매핑된 버퍼 범위로 등록하여 요청 시에만 디코딩
+ * 문자열 사전  [길이][UTF-8] 반복 - 스레드 이름, 상태, 락 주소 등 (null 은 -1)
+ * 스택        고유 스택별 프레임 ID 목록
+ * 스레드 컬럼  컬럼별로 스레드 수만큼 연속 저장 (문자열 ID, 스택 번호, 플래그, 시간, CPU/경과 시간, 컨테이너, 소유 락)
+ * 분석 결과    상태별 수, 락 경합, 데드락 사이클, 문제 패턴, 요약
+ * </pre>
+ *
+ * 이전 버전 파일도 읽는다 (버전 1 은 CPU/경과 시간, 버전 2 까지는 스레드 컨테이너 컬럼 없음).
+ *
+ * 스택 그룹, 호출 트리, 스레드 풀 현황, CPU 순위는 저장하지 않고 읽을 때 ThreadDumpCollector 로 다시 만든다.
+ */
+public class AnalysisCodec {
+
+    public static final int MAGIC = 0x41544431; // "ATD1"
+    public static final short VERSION = 3;
+
+    // 스레드 문자열 컬럼 (순서를 바꾸면 VERSION 을 올려야 함)
+    private static final List<Function<ThreadInfo, String>> STRING_GETTERS = List.of(
+            ThreadInfo::getThreadName, ThreadInfo::getThreadId, ThreadInfo::getThreadState,
+            ThreadInfo::getPriority, ThreadInfo::getDaemon, ThreadInfo::getOsPriority,
+            ThreadInfo::getTid, ThreadInfo::getNid, ThreadInfo::getNativeId, ThreadInfo::getJavaThreadId,
+            ThreadInfo::getLockInfo, ThreadInfo::getLockOwner, ThreadInfo::getLockOwnerId,
+            ThreadInfo::getWaitingOn, ThreadInfo::getWaitingToLock, ThreadInfo::getParkingToWaitFor,
+            ThreadInfo::getJavaLangThreadState);
+    private static final List<BiConsumer<ThreadInfo, String>> STRING_SETTERS = List.of(
+            ThreadInfo::setThreadName, ThreadInfo::setThreadId, ThreadInfo::setThreadState,
+            ThreadInfo::setPriority, ThreadInfo::setDaemon, ThreadInfo::setOsPriority,
+            ThreadInfo::setTid, ThreadInfo::setNid, ThreadInfo::setNativeId, ThreadInfo::setJavaThreadId,
+            ThreadInfo::setLockInfo, ThreadInfo::setLockOwner, ThreadInfo::setLockOwnerId,
+            ThreadInfo::setWaitingOn, ThreadInfo::setWaitingToLock, ThreadInfo::setParkingToWaitFor,
+            ThreadInfo::setJavaLangThreadState);
+
+    private static final int FLAG_BLOCKED = 1;
+    private static final int FLAG_WAITING = 2;
+    private static final int FLAG_PARKED = 4;
+    private static final int FLAG_VIRTUAL = 8;
+    private static final int FLAG_REPORTED_BY_JVM = 1;
+    private static final int FLAG_DETECTED_BY_GRAPH = 2;
+
+    public static void write(ThreadDumpAnalysis analysis, OutputStream outputStream) throws IOException {
+        new Encoder(analysis).writeTo(new DataOutputStream(outputStream));
+    }
+
+    /**
+     * 매핑된 버퍼에서 분석 결과를 읽는다. 프레임 텍스트는 버퍼를 참조하므로 버퍼는 결과와 함께 유지된다.
+     */
+    public static ThreadDumpAnalysis read(ByteBuffer buffer) throws IOException {
+        try {
+            return new Decoder(buffer).read();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("손상된 분석 파일입니다.", e);
+        }
+    }
+
+    public static ArchivedAnalysis readHeader(ByteBuffer buffer) throws IOException {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("분석 파일 형식이 아닙니다.");
+            }
+            short version = buffer.getShort();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("지원하지 않는 분석 파일 버전입니다: " + version);
+            }
+            buffer.getShort();
+
+            ArchivedAnalysis archived = new ArchivedAnalysis();
+            archived.setSavedAt(buffer.getLong());
+            archived.setTotalThreads(buffer.getInt());
+            archived.setAnalysisId(readText(buffer));
+            archived.setDumpTimestamp(readText(buffer));
+            return archived;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("손상된 분석 파일입니다.", e);
+        }
+    }
+
+    private static String readText(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeText(DataOutputStream out, String text) throws IOException {
+        if (text == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static final class Encoder {
+        private final ThreadDumpAnalysis analysis;
+        private final FrameTable frames = new FrameTable();
+        private final Map<String, Integer> stringIds = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private final List<int[]> stacks = new ArrayList<>();
+        private final Map<StackKey, Integer> stackIds = new HashMap<>();
+        private final Map<FrameTable, int[]> frameRemaps = new IdentityHashMap<>();
+
+        Encoder(ThreadDumpAnalysis analysis) {
+            this.analysis = analysis;
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            List<ThreadInfo> threads = analysis.getThreads();
+            int threadCount = threads.size();
+
+            // 사전을 먼저 써야 하므로 컬럼을 메모리에 만든 뒤 한 번에 기록
+            int[][] stringColumns = new int[STRING_GETTERS.size()][threadCount];
+            int[] stackColumn = new int[threadCount];
+            int[] containerColumn = new int[threadCount];
+            byte[] flagColumn = new byte[threadCount];
+            int[] monitorOffsets = new int[threadCount + 1];
+            int[] synchronizerOffsets = new int[threadCount + 1];
+            List<Integer> monitorIds = new ArrayList<>();
+            List<Integer> synchronizerIds = new ArrayList<>();
+
+            for (int t = 0; t < threadCount; t++) {
+                ThreadInfo thread = threads.get(t);
+                for (int c = 0; c < stringColumns.length; c++) {
+                    stringColumns[c][t] = stringId(STRING_GETTERS.get(c).apply(thread));
+                }
+                stackColumn[t] = stackId(thread);
+                containerColumn[t] = stringId(thread.getThreadContainer());
+                flagColumn[t] = (byte) ((thread.isBlocked() ? FLAG_BLOCKED : 0)
+                        | (thread.isWaiting() ? FLAG_WAITING : 0)
+                        | (thread.isParked() ? FLAG_PARKED : 0)
+                        | (thread.isVirtual() ? FLAG_VIRTUAL : 0));
+                for (String monitor : thread.getLockedMonitors()) {
+                    monitorIds.add(stringId(monitor));
+                }
+                monitorOffsets[t + 1] = monitorIds.size();
+                for (String synchronizer : thread.getLockedSynchronizers()) {
+                    synchronizerIds.add(stringId(synchronizer));
+                }
+                synchronizerOffsets[t + 1] = synchronizerIds.size();
+            }
+            int[] summaryIds = {
+                    stringId(analysis.getJvmVersion()), stringId(analysis.getJvmName()),
+                    stringId(analysis.getJvmArgs()), stringId(analysis.getAnalysisSummary())
+            };
+            byte[] resultSection = encodeResults();
+
+            // 헤더
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeShort(0);
+            out.writeLong(System.currentTimeMillis());
+            out.writeInt(threadCount);
+            writeText(out, analysis.getAnalysisId());
+            writeText(out, analysis.getDumpTimestamp());
+
+            // 사전
+            out.writeInt(frames.size());
+            for (int id = 0; id < frames.size(); id++) {
+                writeText(out, frames.getFrame(id));
+            }
+            out.writeInt(strings.size());
+            for (String text : strings) {
+                writeText(out, text);
+            }
+
+            // 스택
+            out.writeInt(stacks.size());
+            for (int[] stack : stacks) {
+                out.writeInt(stack.length);
+                for (int frameId : stack) {
+                    out.writeInt(frameId);
+                }
+            }
+
+            // 스레드 컬럼
+            out.writeInt(threadCount);
+            for (int[] column : stringColumns) {
+                writeInts(out, column);
+            }
+            writeInts(out, stackColumn);
+            out.write(flagColumn);
+            for (ThreadInfo thread : threads) {
+                out.writeLong(thread.getBlockedTime());
+            }
+            for (ThreadInfo thread : threads) {
+                out.writeLong(thread.getWaitedTime());
+            }
+            // 헤더에 없던 값은 NaN
+            for (ThreadInfo thread : threads) {
+                out.writeDouble(thread.getCpuTimeMillis() != null ? thread.getCpuTimeMillis() : Double.NaN);
+            }
+            for (ThreadInfo thread : threads) {
+                out.writeDouble(thread.getElapsedTimeMillis() != null ? thread.getElapsedTimeMillis() : Double.NaN);
+            }
+            writeInts(out, containerColumn);
+            writeInts(out, monitorOffsets);
+            writeInts(out, monitorIds);
+            writeInts(out, synchronizerOffsets);
+            writeInts(out, synchronizerIds);
+
+            // 분석 결과
+            writeInts(out, summaryIds);
+            out.write(resultSection);
+            out.flush();
+        }
+
+        // 결과 섹션도 사전에 문자열을 등록해야 하므로 미리 바이트로 만들어 둔다
+        private byte[] encodeResults() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+
+            out.writeInt(analysis.getTotalThreads());
+            out.writeInt(analysis.getRunnableThreads());
+            out.writeInt(analysis.getBlockedThreads());
+            out.writeInt(analysis.getWaitingThreads());
+            out.writeInt(analysis.getTimedWaitingThreads());
+            out.writeInt(analysis.getTerminatedThreads());
+
+            writeCounts(out, analysis.getThreadStateCounts());
+            writeCounts(out, analysis.getLockContentionCounts());
+            writeStrings(out, analysis.getDeadlockThreads());
+            writeStrings(out, analysis.getHighCpuThreads());
+            writeStrings(out, analysis.getMemoryLeakThreads());
+
+            out.writeInt(analysis.getDeadlockCycles().size());
+            for (DeadlockCycle cycle : analysis.getDeadlockCycles()) {
+                writeStrings(out, cycle.getThreadNames());
+                writeStrings(out, cycle.getLockAddresses());
+                out.writeByte((cycle.isReportedByJvm() ? FLAG_REPORTED_BY_JVM : 0)
+                        | (cycle.isDetectedByGraph() ? FLAG_DETECTED_BY_GRAPH : 0));
+            }
+
+            out.writeInt(analysis.getTopProblems().size());
+            for (ProblemPattern pattern : analysis.getTopProblems()) {
+                out.writeInt(stringId(pattern.getPatternName()));
+                out.writeInt(stringId(pattern.getDescription()));
+                out.writeInt(stringId(pattern.getSeverity()));
+                out.writeInt(stringId(pattern.getRootCause()));
+                out.writeInt(stringId(pattern.getSolution()));
+                out.writeInt(stringId(pattern.getPatternType()));
+                out.writeInt(stringId(pattern.getDetectionMethod()));
+                out.writeInt(pattern.getAffectedThreads());
+                out.writeDouble(pattern.getConfidence());
+                writeStrings(out, pattern.getRelatedThreads());
+            }
+            out.flush();
+            return bytes.toByteArray();
+        }
+
+        private int stringId(String text) {
+            if (text == null) {
+                return -1;
+            }
+            Integer id = stringIds.get(text);
+            if (id == null) {
+                id = strings.size();
+                strings.add(text);
+                stringIds.put(text, id);
+            }
+            return id;
+        }
+
+        // 같은 프레임 목록은 한 번만 저장 (파일 안의 프레임 ID 로 다시 매김)
+        private int stackId(ThreadInfo thread) {
+            int[] stack;
+            if (thread.getFrameIds() != null) {
+                FrameTable source = thread.getFrameTable();
+                int[] remap = frameRemaps.computeIfAbsent(source, table -> {
+                    int[] ids = new int[table.size()];
+                    Arrays.fill(ids, -1);
+                    return ids;
+                });
+                int[] frameIds = thread.getFrameIds();
+                stack = new int[frameIds.length];
+                for (int i = 0; i < frameIds.length; i++) {
+                    int frameId = frameIds[i];
+                    if (remap[frameId] < 0) {
+                        remap[frameId] = frames.intern(source.getFrame(frameId));
+                    }
+                    stack[i] = remap[frameId];
+                }
+            } else {
+                List<String> stackFrames = thread.getStackFrames();
+                stack = new int[stackFrames.size()];
+                for (int i = 0; i < stack.length; i++) {
+                    stack[i] = frames.intern(stackFrames.get(i));
+                }
+            }
+            StackKey key = new StackKey(stack);
+            Integer id = stackIds.get(key);
+            if (id == null) {
+                id = stacks.size();
+                stacks.add(stack);
+                stackIds.put(key, id);
+            }
+            return id;
+        }
+
+        private void writeCounts(DataOutputStream out, Map<String, Integer> counts) throws IOException {
+            out.writeInt(counts.size());
+            for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                out.writeInt(stringId(entry.getKey()));
+                out.writeInt(entry.getValue());
+            }
+        }
+
+        private void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+            out.writeInt(values.size());
+            for (String value : values) {
+                out.writeInt(stringId(value));
+            }
+        }
+
+        private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+            for (int value : values) {
+                out.writeInt(value);
+            }
+        }
+
+        private static void writeInts(DataOutputStream out, List<Integer> values) throws IOException {
+            out.writeInt(values.size());
+            for (int value : values) {
+                out.writeInt(value);
+            }
+        }
+    }
+
+    private static final class Decoder {
+        private final ByteBuffer buffer;
+        private String[] strings;
+
+        Decoder(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        ThreadDumpAnalysis read() throws IOException {
+            ThreadDumpAnalysis analysis = new ThreadDumpAnalysis();
+            buffer.position(0);
+            ArchivedAnalysis header = readHeader(buffer);
+            short version = buffer.getShort(4);
+            analysis.setAnalysisId(header.getAnalysisId());
+            analysis.setDumpTimestamp(header.getDumpTimestamp());
+
+            // 프레임은 버퍼의 바이트 범위로만 등록 (텍스트는 화면에 보일 때 디코딩)
+            FrameTable frameTable = new FrameTable(buffer);
+            int frameCount = buffer.getInt();
+            for (int id = 0; id < frameCount; id++) {
+                int length = buffer.getInt();
+                int offset = buffer.position();
+                if (frameTable.intern(offset, length) != id) {
+                    throw new IOException("손상된 분석 파일입니다: 중복 프레임");
+                }
+                buffer.position(offset + length);
+            }
+            analysis.setFrameTable(frameTable);
+
+            strings = new String[buffer.getInt()];
+            for (int id = 0; id < strings.length; id++) {
+                strings[id] = readText(buffer);
+            }
+
+            int[][] stacks = new int[buffer.getInt()][];
+            for (int s = 0; s < stacks.length; s++) {
+                stacks[s] = new int[buffer.getInt()];
+                buffer.asIntBuffer().get(stacks[s]);
+                skipInts(stacks[s].length);
+            }
+
+            // 스레드 컬럼
+            int threadCount = buffer.getInt();
+            ThreadInfo[] threads = new ThreadInfo[threadCount];
+            for (int t = 0; t < threadCount; t++) {
+                threads[t] = new ThreadInfo();
+            }
+            int[] column = new int[threadCount];
+            for (BiConsumer<ThreadInfo, String> setter : STRING_SETTERS) {
+                readInts(column);
+                for (int t = 0; t < threadCount; t++) {
+                    if (column[t] >= 0) {
+                        setter.accept(threads[t], strings[column[t]]);
+                    }
+                }
+            }
+            readInts(column);
+            for (int t = 0; t < threadCount; t++) {
+                // 같은 스택의 스레드는 프레임 ID 배열을 공유
+                threads[t].setFrames(frameTable, stacks[column[t]]);
+            }
+            for (ThreadInfo thread : threads) {
+                int flags = buffer.get();
+                thread.setBlocked((flags & FLAG_BLOCKED) != 0);
+                thread.setWaiting((flags & FLAG_WAITING) != 0);
+                thread.setParked((flags & FLAG_PARKED) != 0);
+                thread.setVirtual((flags & FLAG_VIRTUAL) != 0);
+            }
+            for (ThreadInfo thread : threads) {
+                thread.setBlockedTime(buffer.getLong());
+            }
+            for (ThreadInfo thread : threads) {
+                thread.setWaitedTime(buffer.getLong());
+            }
+            if (version >= 2) {
+                for (ThreadInfo thread : threads) {
+                    thread.setCpuTimeMillis(millis(buffer.getDouble()));
+                }
+                for (ThreadInfo thread : threads) {
+                    thread.setElapsedTimeMillis(millis(buffer.getDouble()));
+                }
+            }
+            if (version >= 3) {
+                readInts(column);
+                for (int t = 0; t < threadCount; t++) {
+                    if (column[t] >= 0) {
+                        threads[t].setThreadContainer(strings[column[t]]);
+                    }
+                }
+            }
+            readLockLists(threads, ThreadInfo::getLockedMonitors);
+            readLockLists(threads, ThreadInfo::getLockedSynchronizers);
+
+            // 스택 그룹, 호출 트리, 스레드 풀 현황은 파싱 때와 같은 방식으로 다시 구성
+            ThreadDumpCollector collector = new ThreadDumpCollector();
+            for (ThreadInfo thread : threads) {
+                collector.accept(thread);
+            }
+            collector.complete(analysis);
+
+            readResults(analysis);
+            return analysis;
+        }
+
+        private static Double millis(double value) {
+            return Double.isNaN(value) ? null : value;
+        }
+
+        private void readResults(ThreadDumpAnalysis analysis) {
+            analysis.setJvmVersion(string(buffer.getInt()));
+            analysis.setJvmName(string(buffer.getInt()));
+            analysis.setJvmArgs(string(buffer.getInt()));
+            analysis.setAnalysisSummary(string(buffer.getInt()));
+
+            analysis.setTotalThreads(buffer.getInt());
+            analysis.setRunnableThreads(buffer.getInt());
+            analysis.setBlockedThreads(buffer.getInt());
+            analysis.setWaitingThreads(buffer.getInt());
+            analysis.setTimedWaitingThreads(buffer.getInt());
+            analysis.setTerminatedThreads(buffer.getInt());
+
+            readCounts(analysis.getThreadStateCounts());
+            readCounts(analysis.getLockContentionCounts());
+            readStrings(analysis.getDeadlockThreads());
+            // 고CPU 스레드는 복원한 스레드로 이미 계산됨
+            analysis.getHighCpuThreads().clear();
+            readStrings(analysis.getHighCpuThreads());
+            readStrings(analysis.getMemoryLeakThreads());
+
+            int cycleCount = buffer.getInt();
+            for (int i = 0; i < cycleCount; i++) {
+                DeadlockCycle cycle = new DeadlockCycle();
+                readStrings(cycle.getThreadNames());
+                readStrings(cycle.getLockAddresses());
+                int flags = buffer.get();
+                cycle.setReportedByJvm((flags & FLAG_REPORTED_BY_JVM) != 0);
+                cycle.setDetectedByGraph((flags & FLAG_DETECTED_BY_GRAPH) != 0);
+                analysis.getDeadlockCycles().add(cycle);
+            }
+
+            int patternCount = buffer.getInt();
+            for (int i = 0; i < patternCount; i++) {
+                ProblemPattern pattern = new ProblemPattern();
+                pattern.setPatternName(string(buffer.getInt()));
+                pattern.setDescription(string(buffer.getInt()));
+                pattern.setSeverity(string(buffer.getInt()));
+                pattern.setRootCause(string(buffer.getInt()));
+                pattern.setSolution(string(buffer.getInt()));
+                pattern.setPatternType(string(buffer.getInt()));
+                pattern.setDetectionMethod(string(buffer.getInt()));
+                pattern.setAffectedThreads(buffer.getInt());
+                pattern.setConfidence(buffer.getDouble());
+                readStrings(pattern.getRelatedThreads());
+                analysis.getTopProblems().add(pattern);
+            }
+        }
+
+        private void readLockLists(ThreadInfo[] threads, Function<ThreadInfo, List<String>> locks) {
+            int[] offsets = new int[threads.length + 1];
+            readInts(offsets);
+            int[] ids = new int[buffer.getInt()];
+            readInts(ids);
+            for (int t = 0; t < threads.length; t++) {
+                for (int i = offsets[t]; i < offsets[t + 1]; i++) {
+                    locks.apply(threads[t]).add(string(ids[i]));
+                }
+            }
+        }
+
+        private void readCounts(Map<String, Integer> counts) {
+            int size = buffer.getInt();
+            for (int i = 0; i < size; i++) {
+                String key = string(buffer.getInt());
+                counts.put(key, buffer.getInt());
+            }
+        }
+
+        private void readStrings(List<String> values) {
+            int size = buffer.getInt();
+            for (int i = 0; i < size; i++) {
+                values.add(string(buffer.getInt()));
+            }
+        }
+
+        private void readInts(int[] values) {
+            buffer.asIntBuffer().get(values);
+            skipInts(values.length);
+        }
+
+        private void skipInts(int count) {
+            buffer.position(buffer.position() + count * Integer.BYTES);
+        }
+
+        private String string(int id) {
+            return id < 0 ? null : strings[id];
+        }
+    }
+
+    private static final class StackKey {
+        private final int[] frameIds;
+        private final int hash;
+
+        StackKey(int[] frameIds) {
+            this.frameIds = frameIds;
+            this.hash = Arrays.hashCode(frameIds);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof StackKey && Arrays.equals(frameIds, ((StackKey) o).frameIds);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.AnalysisJob;
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 업로드를 임시 파일로 옮긴 뒤 가상 스레드에서 분석하고, 진행 상황을 폴링/SSE 로 제공한다.
+ * 동시에 파싱하는 작업 수는 max-concurrent 로 제한하고 나머지는 등록 순서대로 기다리며,
+ * 대기 중인 작업까지 max-pending 을 넘으면 RejectedExecutionException 으로 등록을 거부한다.
+ */
+@Service
+public class AnalysisJobService {
+
+    // SSE 진행률 이벤트의 최소 간격 (단계 전환과 완료는 즉시 전송)
+    private static final long PUBLISH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    @Autowired
+    private ThreadDumpAnalyzerService analyzerService;
+
+    // 완료된 작업 상태를 보관하는 기간
+    @Value("${analyzer.jobs.retention:1h}")
+    private Duration retention = Duration.ofHours(1);
+
+    // 동시에 파싱하는 작업 수 (0 이면 CPU 수)
+    @Value("${analyzer.jobs.max-concurrent:0}")
+    private int maxConcurrent;
+
+    // 실행 중인 작업을 포함해 받아 둘 수 있는 작업 수
+    @Value("${analyzer.jobs.max-pending:32}")
+    private int maxPending = 32;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger pendingJobs = new AtomicInteger();
+    private Semaphore runningJobs;
+    private final Map<String, AnalysisJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        int permits = maxConcurrent > 0 ? maxConcurrent : Runtime.getRuntime().availableProcessors();
+        runningJobs = new Semaphore(permits, true);
+    }
+
+    public AnalysisJob submit(MultipartFile file) throws IOException {
+        // 대기열이 가득 찼으면 업로드를 옮기기 전에 거부
+        reserve();
+        // 요청이 끝나면 멀티파트 임시 파일이 지워지므로 먼저 옮겨 둔다
+        Path spoolFile;
+        try {
+            spoolFile = Files.createTempFile("threaddump-job-", ".txt");
+        } catch (IOException e) {
+            pendingJobs.decrementAndGet();
+            throw e;
+        }
+        try {
+            file.transferTo(spoolFile);
+        } catch (IOException e) {
+            pendingJobs.decrementAndGet();
+            deleteSpoolFile(spoolFile);
+            throw e;
+        }
+        return start(spoolFile);
+    }
+
+    public AnalysisJob submit(InputStream content) throws IOException {
+        reserve();
+        Path spoolFile;
+        try {
+            spoolFile = Files.createTempFile("threaddump-job-", ".txt");
+        } catch (IOException e) {
+            pendingJobs.decrementAndGet();
+            throw e;
+        }
+        try {
+            Files.copy(content, spoolFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            pendingJobs.decrementAndGet();
+            deleteSpoolFile(spoolFile);
+            throw e;
+        }
+        return start(spoolFile);
+    }
+
+    /**
+     * 스트림을 읽는 대로 파싱하는 작업을 등록한다 (분할 업로드처럼 내용이 아직 도착 중인 경우).
+     * 스트림은 작업이 끝나면 닫는다. totalBytes 를 모르면 -1.
+     * 차례가 올 때까지 도착한 내용은 스트림 쪽(임시 파일)에 쌓인다.
+     */
+    public AnalysisJob submitStreaming(InputStream content, long totalBytes) {
+        reserve();
+        // 차례가 오기 전에 취소되어도 스트림이 닫히도록 정리 단계에서 닫는다
+        return start(totalBytes, listener -> analyzerService.analyzeThreadDump(content, listener),
+                () -> closeQuietly(content));
+    }
+
+    public AnalysisJob getJob(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    public ThreadDumpAnalysis getResult(AnalysisJob job) throws IOException {
+        return job.getAnalysisId() != null ? analyzerService.findAnalysis(job.getAnalysisId()) : null;
+    }
+
+    public SseEmitter subscribe(AnalysisJob job) {
+        SseEmitter emitter = new SseEmitter(retention.toMillis());
+        emitter.onTimeout(emitter::complete);
+
+        // 진행 중인 작업만 이벤트 대상으로 등록 (끝난 작업의 목록은 run() 이 이미 정리함)
+        if (!job.isDone()) {
+            List<SseEmitter> jobEmitters = emitters.computeIfAbsent(job.getJobId(), id -> new CopyOnWriteArrayList<>());
+            jobEmitters.add(emitter);
+            emitter.onCompletion(() -> jobEmitters.remove(emitter));
+            // 등록 직전에 작업이 끝났으면 run() 이 정리한 뒤에 만든 목록일 수 있으므로 직접 정리
+            if (job.isDone()) {
+                jobEmitters.remove(emitter);
+                emitters.remove(job.getJobId(), List.of());
+            }
+        }
+
+        // 현재 상태를 먼저 보내고, 이미 끝난 작업이면 바로 종료
+        send(emitter, job);
+        if (job.isDone()) {
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private AnalysisJob start(Path spoolFile) throws IOException {
+        return start(Files.size(spoolFile), listener -> analyzerService.analyzeThreadDump(spoolFile, listener),
+                () -> deleteSpoolFile(spoolFile));
+    }
+
+    // 대기 중인 작업 수를 하나 늘린다. 한도를 넘으면 RejectedExecutionException
+    private void reserve() {
+        if (pendingJobs.incrementAndGet() > maxPending) {
+            pendingJobs.decrementAndGet();
+            throw new RejectedExecutionException("분석 대기 중인 작업이 " + maxPending + "개를 넘었습니다. 잠시 후 다시 시도하세요.");
+        }
+    }
+
+    private AnalysisJob start(long totalBytes, JobTask task, Runnable cleanup) {
+        AnalysisJob job = new AnalysisJob(UUID.randomUUID().toString(), totalBytes,
+                ThreadDumpAnalyzerService.ANALYZERS.size());
+        jobs.put(job.getJobId(), job);
+        executor.execute(() -> run(job, task, cleanup));
+        return job;
+    }
+
+    private void run(AnalysisJob job, JobTask task, Runnable cleanup) {
+        boolean acquired = false;
+        try {
+            // 차례가 올 때까지 QUEUED 로 대기 (가상 스레드이므로 대기 비용이 작음)
+            runningJobs.acquire();
+            acquired = true;
+            job.setStatus(AnalysisJob.RUNNING);
+            publish(job);
+            ThreadDumpAnalysis analysis = task.analyze(new JobProgress(job));
+            job.setAnalysisId(analysis.getAnalysisId());
+            job.setStatus(AnalysisJob.COMPLETED);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.setError("서버 종료로 작업이 취소되었습니다");
+            job.setStatus(AnalysisJob.FAILED);
+        } catch (Exception e) {
+            job.setError(e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+            job.setStatus(AnalysisJob.FAILED);
+        } finally {
+            if (acquired) {
+                runningJobs.release();
+            }
+            pendingJobs.decrementAndGet();
+            cleanup.run();
+            job.setCompletedAt(System.currentTimeMillis());
+            publish(job);
+
+            List<SseEmitter> jobEmitters = emitters.remove(job.getJobId());
+            if (jobEmitters != null) {
+                jobEmitters.forEach(SseEmitter::complete);
+            }
+        }
+    }
+
+    private void publish(AnalysisJob job) {
+        List<SseEmitter> jobEmitters = emitters.get(job.getJobId());
+        if (jobEmitters != null) {
+            for (SseEmitter emitter : jobEmitters) {
+                send(emitter, job);
+            }
+        }
+    }
+
+    private void send(SseEmitter emitter, AnalysisJob job) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(job.isDone() ? "complete" : "progress")
+                    .data(job, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트 연결이 끊긴 경우
+            emitter.completeWithError(e);
+        }
+    }
+
+    // 새 작업이 없어도 보관 기간이 지난 작업 상태를 정리
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    public void evictExpiredJobs() {
+        long expiredBefore = System.currentTimeMillis() - retention.toMillis();
+        jobs.values().removeIf(job -> job.isDone() && job.getCompletedAt() < expiredBefore);
+    }
+
+    private static void closeQuietly(InputStream content) {
+        try {
+            content.close();
+        } catch (IOException ignored) {
+            // 이미 끝난 작업
+        }
+    }
+
+    // 큰 덤프는 매핑하여 파싱하므로 매핑 해제를 기다렸다 지우는 분석 서비스에 맡긴다
+    private void deleteSpoolFile(Path spoolFile) {
+        analyzerService.deleteSpoolFile(spoolFile);
+    }
+
+    @FunctionalInterface
+    private interface JobTask {
+        ThreadDumpAnalysis analyze(AnalysisProgressListener listener) throws IOException;
+    }
+
+    // 분석 스레드에서 호출되는 진행률 갱신 (이벤트 전송은 간격을 두고)
+    private final class JobProgress implements AnalysisProgressListener {
+        private final AnalysisJob job;
+        private long lastPublished = System.nanoTime();
+
+        JobProgress(AnalysisJob job) {
+            this.job = job;
+        }
+
+        @Override
+        public void phaseStarted(String phase) {
+            job.setPhase(phase);
+            publishNow();
+        }
+
+        @Override
+        public void bytesParsed(long bytes) {
+            job.setBytesParsed(bytes);
+            publishThrottled();
+        }
+
+        @Override
+        public void threadsParsed(int threads) {
+            job.setThreadsParsed(threads);
+            publishThrottled();
+        }
+
+        @Override
+        public void analyzerCompleted(String analyzer) {
+            job.setAnalyzersCompleted(job.getAnalyzersCompleted() + 1);
+            publishNow();
+        }
+
+        private void publishThrottled() {
+            if (System.nanoTime() - lastPublished >= PUBLISH_INTERVAL_NANOS) {
+                publishNow();
+            }
+        }
+
+        private void publishNow() {
+            lastPublished = System.nanoTime();
+            publish(job);
+        }
+    }
+}
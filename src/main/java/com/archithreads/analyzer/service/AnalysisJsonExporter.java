@@ -0,0 +1,255 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.FrameTable;
+import com.archithreads.analyzer.model.StackGroup;
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import com.archithreads.analyzer.model.ThreadInfo;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+
+/**
+ * 분석 결과를 JsonGenerator 로 출력 스트림에 바로 쓴다. 결과 전체를 byte[] 나 String 으로 만들지 않고,
+ * 스택 프레임은 프레임 사전에서 하나씩 꺼내 쓴다. 필드 이름은 ObjectMapper 직렬화 결과와 같다.
+ */
+@Service
+public class AnalysisJsonExporter {
+
+    @FunctionalInterface
+    private interface FieldWriter<T> {
+        void write(JsonGenerator generator, T value) throws IOException;
+    }
+
+    // 스택을 나타내는 필드 (stacks=false 이면 제외)
+    private static final Set<String> STACK_FIELDS = Set.of("stackFrames", "callTree");
+
+    private static final Map<String, FieldWriter<ThreadInfo>> THREAD_FIELDS = new LinkedHashMap<>();
+    private static final Map<String, FieldWriter<StackGroup>> GROUP_FIELDS = new LinkedHashMap<>();
+    private static final Map<String, FieldWriter<ThreadDumpAnalysis>> ANALYSIS_FIELDS = new LinkedHashMap<>();
+
+    static {
+        // stackTrace 문자열은 stackFrames 를 이어 붙인 것이므로 내보내지 않는다
+        THREAD_FIELDS.put("threadName", (g, t) -> g.writeString(t.getThreadName()));
+        THREAD_FIELDS.put("threadId", (g, t) -> g.writeString(t.getThreadId()));
+        THREAD_FIELDS.put("threadState", (g, t) -> g.writeString(t.getThreadState()));
+        THREAD_FIELDS.put("priority", (g, t) -> g.writeString(t.getPriority()));
+        THREAD_FIELDS.put("daemon", (g, t) -> g.writeString(t.getDaemon()));
+        THREAD_FIELDS.put("osPriority", (g, t) -> g.writeString(t.getOsPriority()));
+        THREAD_FIELDS.put("tid", (g, t) -> g.writeString(t.getTid()));
+        THREAD_FIELDS.put("nid", (g, t) -> g.writeString(t.getNid()));
+        THREAD_FIELDS.put("nativeId", (g, t) -> g.writeString(t.getNativeId()));
+        THREAD_FIELDS.put("javaThreadId", (g, t) -> g.writeString(t.getJavaThreadId()));
+        THREAD_FIELDS.put("stackFrames", (g, t) -> writeFrames(g, t.getFrameTable(), t.getFrameIds(), t.getStackFrames()));
+        THREAD_FIELDS.put("stackSignature", (g, t) -> g.writeNumber(t.getStackSignature()));
+        THREAD_FIELDS.put("lockInfo", (g, t) -> g.writeString(t.getLockInfo()));
+        THREAD_FIELDS.put("lockOwner", (g, t) -> g.writeString(t.getLockOwner()));
+        THREAD_FIELDS.put("lockOwnerId", (g, t) -> g.writeString(t.getLockOwnerId()));
+        THREAD_FIELDS.put("waitingOn", (g, t) -> g.writeString(t.getWaitingOn()));
+        THREAD_FIELDS.put("waitingToLock", (g, t) -> g.writeString(t.getWaitingToLock()));
+        THREAD_FIELDS.put("parkingToWaitFor", (g, t) -> g.writeString(t.getParkingToWaitFor()));
+        THREAD_FIELDS.put("blockedTime", (g, t) -> g.writeNumber(t.getBlockedTime()));
+        THREAD_FIELDS.put("waitedTime", (g, t) -> g.writeNumber(t.getWaitedTime()));
+        THREAD_FIELDS.put("cpuTimeMillis", (g, t) -> writeNumber(g, t.getCpuTimeMillis()));
+        THREAD_FIELDS.put("elapsedTimeMillis", (g, t) -> writeNumber(g, t.getElapsedTimeMillis()));
+        THREAD_FIELDS.put("threadContainer", (g, t) -> g.writeString(t.getThreadContainer()));
+        THREAD_FIELDS.put("virtual", (g, t) -> g.writeBoolean(t.isVirtual()));
+        THREAD_FIELDS.put("javaLangThreadState", (g, t) -> g.writeString(t.getJavaLangThreadState()));
+        THREAD_FIELDS.put("lockedMonitors", (g, t) -> writeStrings(g, t.getLockedMonitors()));
+        THREAD_FIELDS.put("lockedSynchronizers", (g, t) -> writeStrings(g, t.getLockedSynchronizers()));
+        THREAD_FIELDS.put("blocked", (g, t) -> g.writeBoolean(t.isBlocked()));
+        THREAD_FIELDS.put("waiting", (g, t) -> g.writeBoolean(t.isWaiting()));
+        THREAD_FIELDS.put("parked", (g, t) -> g.writeBoolean(t.isParked()));
+
+        GROUP_FIELDS.put("signature", (g, group) -> g.writeString(group.getSignature()));
+        GROUP_FIELDS.put("threadState", (g, group) -> g.writeString(group.getThreadState()));
+        GROUP_FIELDS.put("count", (g, group) -> g.writeNumber(group.getCount()));
+        GROUP_FIELDS.put("threadNames", (g, group) -> writeStrings(g, group.getThreadNames()));
+        GROUP_FIELDS.put("stackFrames", (g, group) -> {
+            ThreadInfo representative = group.getRepresentative();
+            if (representative != null) {
+                writeFrames(g, representative.getFrameTable(), representative.getFrameIds(), representative.getStackFrames());
+            } else {
+                writeStrings(g, group.getStackFrames());
+            }
+        });
+
+        ANALYSIS_FIELDS.put("analysisId", (g, a) -> g.writeString(a.getAnalysisId()));
+        ANALYSIS_FIELDS.put("dumpTimestamp", (g, a) -> g.writeString(a.getDumpTimestamp()));
+        ANALYSIS_FIELDS.put("jvmVersion", (g, a) -> g.writeString(a.getJvmVersion()));
+        ANALYSIS_FIELDS.put("jvmName", (g, a) -> g.writeString(a.getJvmName()));
+        ANALYSIS_FIELDS.put("jvmArgs", (g, a) -> g.writeString(a.getJvmArgs()));
+        ANALYSIS_FIELDS.put("totalThreads", (g, a) -> g.writeNumber(a.getTotalThreads()));
+        ANALYSIS_FIELDS.put("runnableThreads", (g, a) -> g.writeNumber(a.getRunnableThreads()));
+        ANALYSIS_FIELDS.put("blockedThreads", (g, a) -> g.writeNumber(a.getBlockedThreads()));
+        ANALYSIS_FIELDS.put("waitingThreads", (g, a) -> g.writeNumber(a.getWaitingThreads()));
+        ANALYSIS_FIELDS.put("timedWaitingThreads", (g, a) -> g.writeNumber(a.getTimedWaitingThreads()));
+        ANALYSIS_FIELDS.put("terminatedThreads", (g, a) -> g.writeNumber(a.getTerminatedThreads()));
+        // threads / stackGroups 는 투영 필드가 필요하므로 write() 에서 직접 처리
+        ANALYSIS_FIELDS.put("threads", null);
+        ANALYSIS_FIELDS.put("stackGroups", null);
+        ANALYSIS_FIELDS.put("callTree", (g, a) -> {
+            if (a.getCallTree() == null) {
+                g.writeNull();
+                return;
+            }
+            g.writeStartObject();
+            g.writeStringField("collapsed", a.getCallTree().getCollapsed());
+            g.writeEndObject();
+        });
+        // 나머지는 크기가 작으므로 ObjectMapper 로 직렬화
+        ANALYSIS_FIELDS.put("topProblems", (g, a) -> g.writeObject(a.getTopProblems()));
+        ANALYSIS_FIELDS.put("threadPools", (g, a) -> g.writeObject(a.getThreadPools()));
+        ANALYSIS_FIELDS.put("threadStateCounts", (g, a) -> g.writeObject(a.getThreadStateCounts()));
+        ANALYSIS_FIELDS.put("lockContentionCounts", (g, a) -> g.writeObject(a.getLockContentionCounts()));
+        ANALYSIS_FIELDS.put("deadlockThreads", (g, a) -> writeStrings(g, a.getDeadlockThreads()));
+        ANALYSIS_FIELDS.put("deadlockCycles", (g, a) -> g.writeObject(a.getDeadlockCycles()));
+        ANALYSIS_FIELDS.put("highCpuThreads", (g, a) -> writeStrings(g, a.getHighCpuThreads()));
+        ANALYSIS_FIELDS.put("cpuHotThreads", (g, a) -> g.writeObject(a.getCpuHotThreads()));
+        ANALYSIS_FIELDS.put("memoryLeakThreads", (g, a) -> writeStrings(g, a.getMemoryLeakThreads()));
+        ANALYSIS_FIELDS.put("analysisSummary", (g, a) -> g.writeString(a.getAnalysisSummary()));
+        ANALYSIS_FIELDS.put("phaseTimings", (g, a) -> g.writeObject(a.getPhaseTimings()));
+    }
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * 알 수 없는 최상위 / 스레드 필드 이름이 있으면 IllegalArgumentException (출력을 시작하기 전에 확인용).
+     */
+    public void validateFields(Set<String> fields, Set<String> threadFields) {
+        checkKnown(ANALYSIS_FIELDS.keySet(), fields, "fields");
+        checkKnown(THREAD_FIELDS.keySet(), threadFields, "threadFields");
+    }
+
+    /**
+     * 분석 결과 전체를 하나의 JSON 객체로 쓴다.
+     * fields / threadFields 는 포함할 최상위 / 스레드 필드 이름 (null 이면 전체), stacks=false 이면 스택 제외.
+     */
+    public void writeJson(ThreadDumpAnalysis analysis, OutputStream out, Set<String> fields,
+                          Set<String> threadFields, boolean stacks) throws IOException {
+        validateFields(fields, threadFields);
+        List<String> analysisFields = project(ANALYSIS_FIELDS.keySet(), fields, stacks);
+        List<String> projectedThreadFields = project(THREAD_FIELDS.keySet(), threadFields, stacks);
+        List<String> groupFields = project(GROUP_FIELDS.keySet(), null, stacks);
+
+        try (JsonGenerator generator = createGenerator(out)) {
+            generator.writeStartObject();
+            for (String field : analysisFields) {
+                generator.writeFieldName(field);
+                switch (field) {
+                    case "threads":
+                        generator.writeStartArray();
+                        for (ThreadInfo thread : analysis.getThreads()) {
+                            writeObject(generator, thread, THREAD_FIELDS, projectedThreadFields);
+                        }
+                        generator.writeEndArray();
+                        break;
+                    case "stackGroups":
+                        generator.writeStartArray();
+                        for (StackGroup group : analysis.getStackGroups()) {
+                            writeObject(generator, group, GROUP_FIELDS, groupFields);
+                        }
+                        generator.writeEndArray();
+                        break;
+                    default:
+                        ANALYSIS_FIELDS.get(field).write(generator, analysis);
+                }
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * 스레드 하나당 한 줄의 JSON 객체(NDJSON)로 쓴다.
+     */
+    public void writeNdjson(ThreadDumpAnalysis analysis, OutputStream out, Set<String> threadFields,
+                            boolean stacks) throws IOException {
+        validateFields(null, threadFields);
+        List<String> projectedThreadFields = project(THREAD_FIELDS.keySet(), threadFields, stacks);
+        try (JsonGenerator generator = createGenerator(out)) {
+            // 최상위 값 사이 구분자(기본 공백) 대신 줄바꿈
+            generator.setRootValueSeparator(null);
+            for (ThreadInfo thread : analysis.getThreads()) {
+                writeObject(generator, thread, THREAD_FIELDS, projectedThreadFields);
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    // 출력 스트림은 호출한 쪽이 닫는다 (배치 NDJSON 은 여러 덤프를 한 스트림에 씀)
+    private JsonGenerator createGenerator(OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.createGenerator(out, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return generator;
+    }
+
+    private static <T> void writeObject(JsonGenerator generator, T value, Map<String, FieldWriter<T>> writers,
+                                        List<String> fields) throws IOException {
+        generator.writeStartObject();
+        for (String field : fields) {
+            generator.writeFieldName(field);
+            writers.get(field).write(generator, value);
+        }
+        generator.writeEndObject();
+    }
+
+    // 선언 순서를 유지하면서 요청된 필드만 남긴다
+    private static List<String> project(Set<String> available, Set<String> requested, boolean stacks) {
+        List<String> fields = new ArrayList<>();
+        for (String field : available) {
+            if ((requested == null || requested.contains(field)) && (stacks || !STACK_FIELDS.contains(field))) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    private static void checkKnown(Set<String> available, Set<String> requested, String parameter) {
+        if (requested == null || available.containsAll(requested)) {
+            return;
+        }
+        List<String> unknown = new ArrayList<>(requested);
+        unknown.removeAll(available);
+        throw new IllegalArgumentException(parameter + " 에 알 수 없는 필드가 있습니다: " + String.join(", ", unknown)
+                + " (사용 가능: " + String.join(", ", available) + ")");
+    }
+
+    private static void writeFrames(JsonGenerator generator, FrameTable frameTable, int[] frameIds,
+                                    List<String> stackFrames) throws IOException {
+        if (frameTable == null || frameIds == null) {
+            writeStrings(generator, stackFrames);
+            return;
+        }
+        generator.writeStartArray();
+        for (int frameId : frameIds) {
+            generator.writeString(frameTable.getFrame(frameId));
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeStrings(JsonGenerator generator, List<String> values) throws IOException {
+        if (values == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartArray();
+        for (String value : values) {
+            generator.writeString(value);
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeNumber(JsonGenerator generator, Double value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+}
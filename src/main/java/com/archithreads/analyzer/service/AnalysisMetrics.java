@@ -0,0 +1,101 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.ProblemPattern;
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 파싱/분석 단계별 소요 시간과 입력 크기를 Micrometer 로 기록하고,
+ * 분석 결과에도 단계별 소요 시간(phaseTimings)을 남긴다.
+ */
+@Service
+public class AnalysisMetrics {
+
+    // 파서 단계
+    public static final String PHASE_PARSE_JVM_INFO = "parseJvmInfo";
+    public static final String PHASE_PARSE_THREADS = "parseThreads";
+    public static final String PHASE_CALCULATE_STATISTICS = "calculateStatistics";
+    // 분석 단계 (PatternAnalyzer 내부 분석은 "patterns." 접두사)
+    public static final String PHASE_LOCK_GRAPH = "lockGraph";
+    public static final String PHASE_PATTERNS = "patterns";
+    public static final String PHASE_SUMMARY = "summary";
+    public static final String PHASE_THREAD_INDEX = "threadIndex";
+    public static final String PHASE_TEMPLATE_RENDER = "templateRender";
+
+    private static final String PHASE_TIMER = "threaddump.phase";
+    private static final String INGESTED_BYTES = "threaddump.ingested.bytes";
+    private static final String PARSED_THREADS = "threaddump.threads.parsed";
+    private static final String DUMP_SIZE = "threaddump.dump.size";
+    private static final String DUMP_THREADS = "threaddump.dump.threads";
+    private static final String DUMP_STACK_GROUPS = "threaddump.dump.stack.groups";
+    private static final String PATTERN_HITS = "threaddump.pattern.hits";
+    private static final String TEMPLATE_RENDER = "threaddump.template.render";
+
+    // 웹 애플리케이션에서는 actuator 레지스트리, 배치/벤치마크에서는 전역(기본 no-op) 레지스트리
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    /**
+     * 단계 소요 시간을 타이머에 기록하고 분석 결과의 phaseTimings 에 누적한다 (병렬 청크에서 호출 가능).
+     */
+    public void record(ThreadDumpAnalysis analysis, String phase, long elapsedNanos) {
+        Timer.builder(PHASE_TIMER)
+                .description("Thread dump parse/analysis phase duration")
+                .tag("phase", phase)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (analysis != null) {
+            Map<String, Double> phaseTimings = analysis.getPhaseTimings();
+            synchronized (phaseTimings) {
+                phaseTimings.merge(phase, elapsedNanos / 1_000_000.0, Double::sum);
+            }
+        }
+    }
+
+    /**
+     * 결과 화면 렌더링 시간을 기록한다. 같은 결과를 다시 볼 때마다 마지막 렌더링 시간으로 갱신된다.
+     */
+    public void recordRender(ThreadDumpAnalysis analysis, String view, long elapsedNanos) {
+        Timer.builder(TEMPLATE_RENDER)
+                .description("Thymeleaf view render duration")
+                .tag("view", view)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (analysis != null) {
+            Map<String, Double> phaseTimings = analysis.getPhaseTimings();
+            synchronized (phaseTimings) {
+                phaseTimings.put(PHASE_TEMPLATE_RENDER, elapsedNanos / 1_000_000.0);
+            }
+        }
+    }
+
+    /**
+     * 파싱이 끝난 덤프의 크기와 형태를 기록한다.
+     */
+    public void recordIngest(ThreadDumpAnalysis analysis, long bytes) {
+        Counter.builder(INGESTED_BYTES).baseUnit("bytes").register(meterRegistry).increment(bytes);
+        Counter.builder(PARSED_THREADS).register(meterRegistry).increment(analysis.getTotalThreads());
+        DistributionSummary.builder(DUMP_SIZE).baseUnit("bytes").register(meterRegistry).record(bytes);
+        DistributionSummary.builder(DUMP_THREADS).register(meterRegistry).record(analysis.getTotalThreads());
+        DistributionSummary.builder(DUMP_STACK_GROUPS).register(meterRegistry).record(analysis.getStackGroups().size());
+    }
+
+    /**
+     * 탐지된 패턴 수를 패턴 이름별로 센다 (상위 N 개로 자르기 전 목록).
+     */
+    public void recordPatternHits(List<ProblemPattern> patterns) {
+        for (ProblemPattern pattern : patterns) {
+            Counter.builder(PATTERN_HITS).tag("pattern", pattern.getPatternName()).register(meterRegistry).increment();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.archithreads.analyzer.service;
+
+/**
+ * 분석 진행 상황 콜백. 파싱 중에는 분석 스레드에서 자주 호출되므로 가볍게 구현해야 한다.
+ */
+public interface AnalysisProgressListener {
+
+    AnalysisProgressListener NONE = new AnalysisProgressListener() { };
+
+    default void phaseStarted(String phase) {
+    }
+
+    // 지금까지 읽은 누적 바이트 수
+    default void bytesParsed(long bytes) {
+    }
+
+    // 지금까지 파싱된 누적 스레드 수
+    default void threadsParsed(int threads) {
+    }
+
+    default void analyzerCompleted(String analyzer) {
+    }
+}
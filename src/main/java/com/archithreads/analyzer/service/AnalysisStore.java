@@ -0,0 +1,41 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 완료된 분석 결과를 ID 로 보관한다. 최근에 조회된 순서로 최대 개수만 유지한다.
+ */
+@Service
+public class AnalysisStore {
+
+    @Value("${analyzer.store.max-analyses:20}")
+    private int maxAnalyses = 20;
+
+    private final Map<String, ThreadDumpAnalysis> analyses = new LinkedHashMap<>(16, 0.75f, true);
+
+    public synchronized String put(ThreadDumpAnalysis analysis) {
+        if (analysis.getAnalysisId() == null) {
+            analysis.setAnalysisId(UUID.randomUUID().toString());
+        }
+        analyses.put(analysis.getAnalysisId(), analysis);
+
+        // 가장 오래 조회되지 않은 결과부터 제거
+        Iterator<ThreadDumpAnalysis> eldest = analyses.values().iterator();
+        while (analyses.size() > maxAnalyses && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+        return analysis.getAnalysisId();
+    }
+
+    public synchronized ThreadDumpAnalysis get(String analysisId) {
+        return analyses.get(analysisId);
+    }
+}
@@ -0,0 +1,316 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.AnalysisJob;
+import com.archithreads.analyzer.model.UploadSession;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 번호가 붙은 청크를 순서대로 임시 파일에 이어 붙이는 분할 업로드.
+ * 업로드를 시작하면 바로 분석 작업을 등록하여, 도착한 앞부분부터 파싱하고 다음 청크를 기다린다.
+ * 청크 전송이 중간에 끊기면 그 청크는 버려지고, 클라이언트는 nextChunk 부터 다시 보낸다.
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private AnalysisJobService jobService;
+
+    // 업로드 하나의 최대 크기
+    @Value("${analyzer.upload.chunked.max-size:4GB}")
+    private DataSize maxSize = DataSize.ofGigabytes(4);
+
+    // 청크 하나의 최대 크기
+    @Value("${analyzer.upload.chunked.max-chunk-size:64MB}")
+    private DataSize maxChunkSize = DataSize.ofMegabytes(64);
+
+    // 이 시간 동안 청크가 오지 않은 업로드는 중단하고, 끝난 업로드 상태는 이 시간 뒤에 버린다
+    @Value("${analyzer.upload.chunked.idle-timeout:30m}")
+    private Duration idleTimeout = Duration.ofMinutes(30);
+
+    private final Map<String, Spool> spools = new ConcurrentHashMap<>();
+
+    public UploadSession create(String fileName, long totalBytes) throws IOException {
+        if (totalBytes > maxSize.toBytes()) {
+            throw new IllegalArgumentException("업로드 크기가 한도(" + maxSize.toMegabytes() + "MB)를 넘습니다");
+        }
+        UploadSession session = new UploadSession(UUID.randomUUID().toString(), fileName, totalBytes);
+        Spool spool = new Spool(session, Files.createTempFile("threaddump-upload-", ".txt"));
+        spools.put(session.getUploadId(), spool);
+
+        // 첫 청크가 오기 전부터 파서가 대기 (도착하는 대로 읽음)
+        InputStream reader = spool.openReader();
+        AnalysisJob job;
+        try {
+            job = jobService.submitStreaming(reader, totalBytes);
+        } catch (RuntimeException e) {
+            // 분석 대기열이 가득 찬 경우: 임시 파일 정리
+            spools.remove(session.getUploadId());
+            reader.close();
+            spool.finish(UploadSession.ABORTED, e.getMessage());
+            throw e;
+        }
+        session.setJobId(job.getJobId());
+        return session;
+    }
+
+    public UploadSession getSession(String uploadId) {
+        Spool spool = spools.get(uploadId);
+        return spool != null ? spool.session : null;
+    }
+
+    /**
+     * index 번째 청크를 이어 붙인다. 이미 받은 청크는 다시 받아도 무시하고(재시도), 건너뛴 청크는 거부한다.
+     */
+    public UploadSession appendChunk(String uploadId, int index, InputStream content) throws IOException {
+        Spool spool = spools.get(uploadId);
+        if (spool == null) {
+            return null;
+        }
+        UploadSession session = spool.session;
+        if (!spool.writeLock.tryLock()) {
+            throw new IllegalStateException("같은 업로드의 다른 청크를 받는 중입니다");
+        }
+        try {
+            // 앞부분 파싱이 실패했으면 나머지를 받을 필요가 없다
+            AnalysisJob job = jobService.getJob(session.getJobId());
+            if (job != null && AnalysisJob.FAILED.equals(job.getStatus())) {
+                spool.finish(UploadSession.ABORTED, job.getError());
+            }
+            if (session.isDone()) {
+                throw new IllegalStateException("이미 끝난 업로드입니다: " + session.getStatus()
+                        + (session.getError() != null ? " (" + session.getError() + ")" : ""));
+            }
+            if (index < session.getNextChunk()) {
+                return session;
+            }
+            if (index > session.getNextChunk()) {
+                throw new IllegalStateException("청크 " + session.getNextChunk() + " 부터 보내야 합니다");
+            }
+            spool.write(content, Math.min(maxChunkSize.toBytes(), maxSize.toBytes() - session.getReceivedBytes()));
+            session.setNextChunk(index + 1);
+            session.setUpdatedAt(System.currentTimeMillis());
+            return session;
+        } finally {
+            spool.writeLock.unlock();
+        }
+    }
+
+    /**
+     * 마지막 청크까지 받았음을 알린다. 파서는 남은 내용을 읽고 끝난다.
+     */
+    public UploadSession complete(String uploadId) {
+        Spool spool = spools.get(uploadId);
+        if (spool == null) {
+            return null;
+        }
+        UploadSession session = spool.session;
+        spool.writeLock.lock();
+        try {
+            if (session.isDone()) {
+                return session;
+            }
+            if (session.getTotalBytes() >= 0 && session.getReceivedBytes() != session.getTotalBytes()) {
+                throw new IllegalArgumentException("받은 크기(" + session.getReceivedBytes()
+                        + ")가 업로드 크기(" + session.getTotalBytes() + ")와 다릅니다");
+            }
+            spool.finish(UploadSession.COMPLETED, null);
+            return session;
+        } finally {
+            spool.writeLock.unlock();
+        }
+    }
+
+    public UploadSession abort(String uploadId, String reason) {
+        Spool spool = spools.get(uploadId);
+        if (spool == null) {
+            return null;
+        }
+        spool.finish(UploadSession.ABORTED, reason);
+        return spool.session;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        spools.values().forEach(spool -> spool.finish(UploadSession.ABORTED, "서버 종료"));
+    }
+
+    // 버려진 업로드의 임시 파일과 대기 중인 파서를 새 업로드가 없어도 정리 (finish 가 파서를 깨워 중단시킴)
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    public void evictIdleUploads() {
+        long idleBefore = System.currentTimeMillis() - idleTimeout.toMillis();
+        spools.values().removeIf(spool -> {
+            if (spool.session.getUpdatedAt() >= idleBefore) {
+                return false;
+            }
+            spool.finish(UploadSession.ABORTED, "업로드가 " + idleTimeout.toMinutes() + "분 동안 진행되지 않았습니다");
+            return true;
+        });
+    }
+
+    /**
+     * 업로드 하나의 임시 파일. 쓰기는 확정된 길이(committed) 뒤에 하고, 청크를 다 받은 뒤에야 길이를 늘린다.
+     * 읽는 쪽은 committed 까지만 읽고 그 뒤는 다음 청크나 종료를 기다린다.
+     */
+    private static final class Spool {
+        private final UploadSession session;
+        private final Path file;
+        private final FileChannel channel;
+        // 청크 쓰기는 한 번에 하나
+        private final ReentrantLock writeLock = new ReentrantLock();
+        // committed / 종료 상태 변경 알림 (가상 스레드가 대기하므로 synchronized 대신 Lock 사용)
+        private final ReentrantLock stateLock = new ReentrantLock();
+        private final Condition changed = stateLock.newCondition();
+        private long committed;
+        private boolean finished;
+        private boolean readerClosed;
+
+        Spool(UploadSession session, Path file) throws IOException {
+            this.session = session;
+            this.file = file;
+            this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        void write(InputStream content, long maxBytes) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            long position = committed;
+            try {
+                int n;
+                while ((n = content.read(buffer.array())) != -1) {
+                    if (position + n - committed > maxBytes) {
+                        throw new IllegalArgumentException("청크 또는 업로드 크기가 한도를 넘었습니다");
+                    }
+                    buffer.clear().limit(n);
+                    while (buffer.hasRemaining()) {
+                        position += channel.write(buffer, position);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                // 끊긴 청크는 버린다 (다음 시도는 같은 위치부터 덮어씀)
+                channel.truncate(committed);
+                throw e;
+            }
+            stateLock.lock();
+            try {
+                committed = position;
+                session.setReceivedBytes(committed);
+                changed.signalAll();
+            } finally {
+                stateLock.unlock();
+            }
+        }
+
+        void finish(String status, String error) {
+            stateLock.lock();
+            try {
+                if (finished) {
+                    return;
+                }
+                finished = true;
+                session.setError(error);
+                session.setStatus(status);
+                session.setUpdatedAt(System.currentTimeMillis());
+                changed.signalAll();
+                // 파서가 이미 멈췄으면 (분석 실패) 여기서 정리
+                if (readerClosed) {
+                    release();
+                }
+            } finally {
+                stateLock.unlock();
+            }
+        }
+
+        InputStream openReader() {
+            return new InputStream() {
+                private long position;
+
+                @Override
+                public int read() throws IOException {
+                    byte[] single = new byte[1];
+                    return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    if (len == 0) {
+                        return 0;
+                    }
+                    long available = awaitData(position);
+                    if (available < 0) {
+                        return -1;
+                    }
+                    int n = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, available)), position);
+                    position += n;
+                    return n;
+                }
+
+                @Override
+                public void close() {
+                    stateLock.lock();
+                    try {
+                        readerClosed = true;
+                        if (finished) {
+                            release();
+                        }
+                    } finally {
+                        stateLock.unlock();
+                    }
+                }
+            };
+        }
+
+        // position 뒤에 읽을 수 있는 바이트 수. 업로드가 끝났으면 -1, 중단되었으면 예외
+        private long awaitData(long position) throws IOException {
+            stateLock.lock();
+            try {
+                while (committed <= position) {
+                    if (UploadSession.ABORTED.equals(session.getStatus())) {
+                        throw new IOException("업로드가 중단되었습니다"
+                                + (session.getError() != null ? ": " + session.getError() : ""));
+                    }
+                    if (finished) {
+                        return -1;
+                    }
+                    changed.await(1, TimeUnit.MINUTES);
+                }
+                return committed - position;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("업로드 대기 중 중단되었습니다", e);
+            } finally {
+                stateLock.unlock();
+            }
+        }
+
+        // 쓰는 쪽과 읽는 쪽이 모두 끝난 뒤에 임시 파일 삭제
+        private void release() {
+            try {
+                channel.close();
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                file.toFile().deleteOnExit();
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.archithreads.analyzer.service;
+
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.ArchiveInputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.apache.commons.io.input.CloseShieldInputStream;
+import org.apache.commons.io.input.ProxyInputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * gzip / zip / tar.gz 로 압축된 덤프를 풀면서 항목별 스트림으로 넘긴다.
+ * 압축을 푼 내용은 파일이나 메모리에 모으지 않고 파서가 읽는 만큼만 풀린다.
+ * 형식은 파일 이름이 아니라 앞부분의 매직 바이트로 판별한다.
+ */
+@Service
+public class CompressedDumpReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // tar 헤더의 "ustar" 매직 위치 (헤더 하나는 512 바이트)
+    private static final int TAR_MAGIC_OFFSET = 257;
+    private static final int TAR_HEADER_SIZE = 512;
+    // zip 안의 .gz 처럼 한 번 더 압축된 항목까지만 푼다
+    private static final int MAX_NESTING = 2;
+
+    @FunctionalInterface
+    public interface DumpEntryHandler {
+        /**
+         * content 는 이 호출 안에서만 유효하며 닫지 않아도 된다.
+         */
+        void handle(String name, InputStream content) throws IOException;
+    }
+
+    // 압축 폭탄 방지: 업로드 하나에서 풀어낼 수 있는 전체 크기와 덤프 수
+    @Value("${analyzer.upload.max-uncompressed-size:4GB}")
+    private DataSize maxUncompressedSize = DataSize.ofGigabytes(4);
+
+    @Value("${analyzer.upload.max-entries:50}")
+    private int maxEntries = 50;
+
+    /**
+     * 스트림 앞부분이 gzip 또는 zip 이면 true. mark 를 지원하는 스트림이어야 한다.
+     */
+    public boolean isCompressed(InputStream inputStream) throws IOException {
+        byte[] head = peek(inputStream, 4);
+        return isGzip(head) || isZip(head);
+    }
+
+    /**
+     * 압축 파일 안의 덤프마다 handler 를 호출하고 처리한 덤프 수를 돌려준다.
+     * 압축되지 않은 스트림이면 name 으로 한 번 호출한다.
+     */
+    public int readDumps(String name, InputStream inputStream, DumpEntryHandler handler) throws IOException {
+        UncompressedLimit limit = new UncompressedLimit(maxUncompressedSize.toBytes());
+        int[] count = new int[1];
+        read(name, buffered(inputStream), 0, limit, (entryName, content) -> {
+            if (++count[0] > maxEntries) {
+                throw new IOException("압축 파일에 덤프가 너무 많습니다 (최대 " + maxEntries + "개)");
+            }
+            handler.handle(entryName, content);
+        });
+        return count[0];
+    }
+
+    private void read(String name, InputStream inputStream, int depth, UncompressedLimit limit,
+                      DumpEntryHandler handler) throws IOException {
+        byte[] head = peek(inputStream, 4);
+        if (depth < MAX_NESTING && isGzip(head)) {
+            InputStream content = buffered(limit.wrap(new GZIPInputStream(CloseShieldInputStream.wrap(inputStream), BUFFER_SIZE)));
+            if (isTar(peek(content, TAR_HEADER_SIZE))) {
+                readArchive(new TarArchiveInputStream(content), depth, limit, handler);
+            } else {
+                read(stripSuffix(name, ".gz"), content, depth + 1, limit, handler);
+            }
+        } else if (depth < MAX_NESTING && isZip(head)) {
+            readArchive(new ZipArchiveInputStream(CloseShieldInputStream.wrap(inputStream)), depth, limit, handler);
+        } else if (depth < MAX_NESTING && isTar(peek(inputStream, TAR_HEADER_SIZE))) {
+            readArchive(new TarArchiveInputStream(CloseShieldInputStream.wrap(inputStream)), depth, limit, handler);
+        } else {
+            handler.handle(name, CloseShieldInputStream.wrap(inputStream));
+        }
+    }
+
+    private void readArchive(ArchiveInputStream archive, int depth, UncompressedLimit limit,
+                             DumpEntryHandler handler) throws IOException {
+        ArchiveEntry entry;
+        while ((entry = archive.getNextEntry()) != null) {
+            if (entry.isDirectory() || isHidden(entry.getName()) || !archive.canReadEntryData(entry)) {
+                continue;
+            }
+            // zip 항목은 압축 해제 스트림을 거치지 않으므로 여기서 크기를 센다 (tar.gz 는 이미 gzip 단계에서 셈)
+            InputStream content = archive instanceof ZipArchiveInputStream ? limit.wrap(archive) : archive;
+            read(entry.getName(), buffered(content), depth + 1, limit, handler);
+        }
+    }
+
+    // __MACOSX/ 리소스 포크, .DS_Store 등은 건너뛴다
+    private static boolean isHidden(String entryName) {
+        String fileName = entryName.substring(entryName.lastIndexOf('/') + 1);
+        return entryName.startsWith("__MACOSX/") || fileName.startsWith(".");
+    }
+
+    private static InputStream buffered(InputStream inputStream) {
+        return inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream, BUFFER_SIZE);
+    }
+
+    private static byte[] peek(InputStream inputStream, int length) throws IOException {
+        inputStream.mark(length);
+        byte[] head = inputStream.readNBytes(length);
+        inputStream.reset();
+        return head;
+    }
+
+    private static boolean isGzip(byte[] head) {
+        return head.length >= 2 && (head[0] & 0xff) == 0x1f && (head[1] & 0xff) == 0x8b;
+    }
+
+    private static boolean isZip(byte[] head) {
+        return head.length >= 4 && head[0] == 'P' && head[1] == 'K' && head[2] == 3 && head[3] == 4;
+    }
+
+    private static boolean isTar(byte[] head) {
+        return head.length >= TAR_HEADER_SIZE
+                && new String(head, TAR_MAGIC_OFFSET, 5, StandardCharsets.US_ASCII).equals("ustar");
+    }
+
+    private static String stripSuffix(String name, String suffix) {
+        if (name == null) {
+            return null;
+        }
+        return name.toLowerCase().endsWith(suffix) ? name.substring(0, name.length() - suffix.length()) : name;
+    }
+
+    // 업로드 하나에서 풀어낸 바이트 수를 누적하여 한도를 넘으면 실패시킨다
+    private static final class UncompressedLimit {
+        private final long maxBytes;
+        private long bytesRead;
+
+        UncompressedLimit(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        InputStream wrap(InputStream inputStream) {
+            return new ProxyInputStream(inputStream) {
+                @Override
+                protected void afterRead(int n) throws IOException {
+                    if (n > 0 && (bytesRead += n) > maxBytes) {
+                        throw new IOException("압축을 푼 크기가 한도(" + DataSize.ofBytes(maxBytes).toMegabytes() + "MB)를 넘었습니다");
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.FrameTable;
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import com.archithreads.analyzer.model.ThreadInfo;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * jcmd &lt;pid&gt; Thread.dump_to_file -format=json 출력(JDK 21+)을 읽는다.
+ * <pre>
+ * {"threadDump": {"processId": "970", "time": "...", "runtimeVersion": "21.0.1+12-LTS",
+ *   "threadContainers": [{"container": "&lt;root&gt;", "parent": null, "owner": null,
+ *     "threads": [{"tid": "1", "name": "main", "stack": ["java.base/java.lang.Thread.sleep0(Native Method)", ...]}],
+ *     "threadCount": "1"}, ...]}}
+ * </pre>
+ * JsonParser 토큰을 차례로 읽으면서 스레드 하나가 끝날 때마다 consumer 로 넘기므로, 트리를 만들지 않고
+ * 덤프 크기와 무관하게 스레드 하나 분량만 버퍼에 둔다. 프레임은 텍스트 덤프와 같은 "at ..." 형식으로 프레임 사전에 등록한다.
+ * <p>
+ * JDK 21 은 스레드 상태를 출력하지 않으므로 상위 프레임으로 추정한다 (BLOCKED 는 구분할 수 없음).
+ * 이후 JDK 가 추가한 state, virtual, blockedOn, waitingOn, parkBlocker, monitorsOwned 가 있으면 그 값을 사용한다.
+ */
+final class JsonThreadDumpParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // 상태 추정에 볼 상위 프레임 수 (Unsafe.park 아래의 LockSupport.parkNanos 등)
+    private static final int STATE_FRAMES = 4;
+    private static final List<String> TIMED_WAITING_FRAMES = List.of(
+            "java.lang.Thread.sleep", "java.lang.VirtualThread.sleepNanos", "LockSupport.parkNanos(",
+            "LockSupport.parkUntil(", "java.lang.VirtualThread.parkNanos(");
+    private static final List<String> WAITING_FRAMES = List.of(
+            "LockSupport.park(", "java.lang.VirtualThread.park(", "java.lang.Object.wait");
+    private static final String PARK_FRAME = "jdk.internal.misc.Unsafe.park(";
+    private static final String VIRTUAL_PARK_FRAME = "java.lang.VirtualThread.park";
+    private static final String VIRTUAL_THREAD_FRAME = "java.lang.VirtualThread.run(";
+
+    private final ThreadDumpAnalysis analysis;
+    private final FrameTable frameTable;
+    private final Consumer<ThreadInfo> consumer;
+    private int[] frameIds = new int[64];
+    private int frameCount;
+
+    private JsonThreadDumpParser(ThreadDumpAnalysis analysis, FrameTable frameTable, Consumer<ThreadInfo> consumer) {
+        this.analysis = analysis;
+        this.frameTable = frameTable;
+        this.consumer = consumer;
+    }
+
+    /**
+     * 스레드를 덤프 순서대로 consumer 로 넘긴다.
+     */
+    static void parse(Reader reader, ThreadDumpAnalysis analysis, FrameTable frameTable,
+                      Consumer<ThreadInfo> consumer) throws IOException {
+        JsonThreadDumpParser session = new JsonThreadDumpParser(analysis, frameTable, consumer);
+        try (JsonParser parser = JSON_FACTORY.createParser(reader)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("JSON 스레드 덤프는 객체로 시작해야 합니다.");
+            }
+            boolean found = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if (field.equals("threadDump") && parser.currentToken() == JsonToken.START_OBJECT) {
+                    session.readThreadDump(parser);
+                    found = true;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (!found) {
+                throw new IOException("jcmd Thread.dump_to_file -format=json 형식이 아닙니다 (threadDump 객체 없음).");
+            }
+        } catch (JsonProcessingException e) {
+            throw new IOException("JSON 스레드 덤프를 읽을 수 없습니다: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private void readThreadDump(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "time":
+                    analysis.setDumpTimestamp(timestamp(parser.getValueAsString()));
+                    break;
+                case "runtimeVersion":
+                    analysis.setJvmVersion(parser.getValueAsString());
+                    break;
+                case "threadContainers":
+                    if (token == JsonToken.START_ARRAY) {
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            readContainer(parser);
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+    }
+
+    // 컨테이너 이름은 threads 보다 먼저 출력된다
+    private void readContainer(JsonParser parser) throws IOException {
+        String container = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (field.equals("container")) {
+                container = parser.getValueAsString();
+            } else if (field.equals("threads") && token == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    ThreadInfo thread = readThread(parser);
+                    thread.setThreadContainer(container);
+                    consumer.accept(thread);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private ThreadInfo readThread(JsonParser parser) throws IOException {
+        ThreadInfo thread = new ThreadInfo();
+        String state = null;
+        Boolean virtual = null;
+        frameCount = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "tid":
+                    thread.setThreadId(parser.getValueAsString());
+                    break;
+                case "name":
+                    thread.setThreadName(parser.getValueAsString());
+                    break;
+                case "state":
+                    state = parser.getValueAsString();
+                    break;
+                case "virtual":
+                    virtual = parser.getValueAsBoolean();
+                    break;
+                case "stack":
+                    readFrames(parser, token);
+                    break;
+                case "blockedOn":
+                    thread.setWaitingToLock(parser.getValueAsString());
+                    thread.setLockInfo(thread.getWaitingToLock());
+                    break;
+                case "waitingOn":
+                    thread.setWaitingOn(parser.getValueAsString());
+                    thread.setLockInfo(thread.getWaitingOn());
+                    break;
+                case "parkBlocker":
+                    readParkBlocker(parser, thread, token);
+                    break;
+                case "monitorsOwned":
+                    readMonitorsOwned(parser, thread, token);
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+
+        // 스택은 프레임 ID 배열로만 보관하고 텍스트는 요청 시 렌더링
+        thread.setFrames(frameTable, Arrays.copyOf(frameIds, frameCount));
+        thread.setVirtual(virtual != null ? virtual : isVirtual());
+        applyState(thread, state != null ? state : inferState());
+        return thread;
+    }
+
+    private void readFrames(JsonParser parser, JsonToken token) throws IOException {
+        if (token != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.VALUE_STRING) {
+            if (frameCount == frameIds.length) {
+                frameIds = Arrays.copyOf(frameIds, frameCount * 2);
+            }
+            frameIds[frameCount++] = frameTable.intern("at " + parser.getText());
+        }
+    }
+
+    // {"object": "java.util.concurrent.locks.ReentrantLock$NonfairSync@1a2b3c", "owner": "42"}
+    private void readParkBlocker(JsonParser parser, ThreadInfo thread, JsonToken token) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            thread.setParkingToWaitFor(parser.getValueAsString());
+            thread.setLockInfo(thread.getParkingToWaitFor());
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (field.equals("object")) {
+                thread.setParkingToWaitFor(parser.getValueAsString());
+                thread.setLockInfo(thread.getParkingToWaitFor());
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    // [{"depth": 3, "locks": ["java.lang.Object@5e2de80c"]}, ...]
+    private void readMonitorsOwned(JsonParser parser, ThreadInfo thread, JsonToken token) throws IOException {
+        if (token != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (field.equals("locks") && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                            thread.getLockedMonitors().add(parser.getText());
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    // 상태 판단은 현재 스레드의 프레임 중 상위 STATE_FRAMES 개와 마지막 프레임만 읽는다
+    private String frame(int index) {
+        return frameTable.getFrame(frameIds[index]);
+    }
+
+    private boolean isVirtual() {
+        return frameCount > 0 && frame(frameCount - 1).contains(VIRTUAL_THREAD_FRAME);
+    }
+
+    /**
+     * 상위 프레임으로 추정한 java.lang.Thread.State. 스택이 없으면 null.
+     */
+    private String inferState() {
+        if (frameCount == 0) {
+            return null;
+        }
+        boolean parked = false;
+        for (int i = 0; i < Math.min(STATE_FRAMES, frameCount); i++) {
+            String frame = frame(i);
+            for (String timed : TIMED_WAITING_FRAMES) {
+                if (frame.contains(timed)) {
+                    return "TIMED_WAITING";
+                }
+            }
+            for (String waiting : WAITING_FRAMES) {
+                if (frame.contains(waiting)) {
+                    return "WAITING";
+                }
+            }
+            // Unsafe.park 는 바로 아래 호출자를 보고 시간 제한 여부를 판단
+            parked |= frame.contains(PARK_FRAME);
+        }
+        return parked ? "WAITING" : "RUNNABLE";
+    }
+
+    private void applyState(ThreadInfo thread, String state) {
+        thread.setJavaLangThreadState(state);
+        if (state == null) {
+            return;
+        }
+        switch (state) {
+            case "BLOCKED":
+                thread.setBlocked(true);
+                break;
+            case "WAITING":
+            case "TIMED_WAITING":
+                thread.setWaiting(true);
+                thread.setParked(thread.getParkingToWaitFor() != null || isParking());
+                break;
+            default:
+                break;
+        }
+    }
+
+    private boolean isParking() {
+        for (int i = 0; i < Math.min(STATE_FRAMES, frameCount); i++) {
+            String frame = frame(i);
+            if (frame.contains(PARK_FRAME) || frame.contains(VIRTUAL_PARK_FRAME)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // "2026-10-17T03:02:33.113821957Z" -> "2026-10-17 03:02:33" (텍스트 덤프와 같은 형식, UTC)
+    private static String timestamp(String time) {
+        if (time == null || time.length() < 19 || time.charAt(10) != 'T') {
+            return time;
+        }
+        return time.substring(0, 10) + " " + time.substring(11, 19);
+    }
+}
@@ -0,0 +1,158 @@
+package com.archithreads.analyzer.service;
+
+import java.util.*;
+
+/**
+ * 여러 패턴의 리터럴 키워드를 하나의 Aho-Corasick 오토마톤으로 컴파일한다.
+ * 텍스트를 한 번만 훑어서 매칭된 모든 패턴을 BitSet 으로 돌려준다.
+ */
+public final class KeywordMatcher {
+
+    private final List<String> patternNames;
+    private final Map<String, Integer> patternIndexes;
+
+    // 키워드에 등장하는 문자만 알파벳 클래스로 압축 (0 은 "그 외 문자")
+    private final int[] asciiClasses = new int[128];
+    private final Map<Character, Integer> otherClasses = new HashMap<>();
+    private final int alphabetSize;
+
+    // 실패 링크까지 반영된 완전 전이표: transitions[state * alphabetSize + charClass]
+    private final int[] transitions;
+    private final int[][] outputs;
+
+    public KeywordMatcher(Map<String, ? extends Collection<String>> keywordsByPattern) {
+        this.patternNames = new ArrayList<>(keywordsByPattern.keySet());
+        this.patternIndexes = new HashMap<>();
+        for (int i = 0; i < patternNames.size(); i++) {
+            patternIndexes.put(patternNames.get(i), i);
+        }
+
+        // 알파벳 클래스 할당
+        int nextClass = 1;
+        for (Collection<String> keywords : keywordsByPattern.values()) {
+            for (String keyword : keywords) {
+                for (int i = 0; i < keyword.length(); i++) {
+                    char c = keyword.charAt(i);
+                    if (c < 128) {
+                        if (asciiClasses[c] == 0) {
+                            asciiClasses[c] = nextClass++;
+                        }
+                    } else if (!otherClasses.containsKey(c)) {
+                        otherClasses.put(c, nextClass++);
+                    }
+                }
+            }
+        }
+        this.alphabetSize = nextClass;
+
+        // 트라이 구성
+        List<int[]> trie = new ArrayList<>();
+        List<Set<Integer>> trieOutputs = new ArrayList<>();
+        trie.add(newRow());
+        trieOutputs.add(new TreeSet<>());
+        for (Map.Entry<String, ? extends Collection<String>> entry : keywordsByPattern.entrySet()) {
+            int patternIndex = patternIndexes.get(entry.getKey());
+            for (String keyword : entry.getValue()) {
+                if (keyword.isEmpty()) {
+                    continue;
+                }
+                int state = 0;
+                for (int i = 0; i < keyword.length(); i++) {
+                    int charClass = charClass(keyword.charAt(i));
+                    int next = trie.get(state)[charClass];
+                    if (next <= 0) {
+                        next = trie.size();
+                        trie.get(state)[charClass] = next;
+                        trie.add(newRow());
+                        trieOutputs.add(new TreeSet<>());
+                    }
+                    state = next;
+                }
+                trieOutputs.get(state).add(patternIndex);
+            }
+        }
+
+        // BFS 로 실패 링크를 계산하면서 전이표를 DFA 로 완성
+        int stateCount = trie.size();
+        int[] failure = new int[stateCount];
+        this.transitions = new int[stateCount * alphabetSize];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < alphabetSize; c++) {
+            int next = trie.get(0)[c];
+            if (next > 0) {
+                failure[next] = 0;
+                transitions[c] = next;
+                queue.add(next);
+            } else {
+                transitions[c] = 0;
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            trieOutputs.get(state).addAll(trieOutputs.get(failure[state]));
+            for (int c = 0; c < alphabetSize; c++) {
+                int next = trie.get(state)[c];
+                if (next > 0) {
+                    failure[next] = transitions[failure[state] * alphabetSize + c];
+                    transitions[state * alphabetSize + c] = next;
+                    queue.add(next);
+                } else {
+                    transitions[state * alphabetSize + c] = transitions[failure[state] * alphabetSize + c];
+                }
+            }
+        }
+
+        this.outputs = new int[stateCount][];
+        for (int state = 0; state < stateCount; state++) {
+            outputs[state] = trieOutputs.get(state).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    public BitSet match(CharSequence text) {
+        BitSet matched = new BitSet(patternNames.size());
+        match(text, matched);
+        return matched;
+    }
+
+    /**
+     * 텍스트를 한 번 훑어서 매칭된 패턴 인덱스를 result 에 추가한다.
+     */
+    public void match(CharSequence text, BitSet result) {
+        if (text == null) {
+            return;
+        }
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = transitions[state * alphabetSize + charClass(text.charAt(i))];
+            int[] output = outputs[state];
+            for (int patternIndex : output) {
+                result.set(patternIndex);
+            }
+        }
+    }
+
+    public int indexOf(String patternName) {
+        Integer index = patternIndexes.get(patternName);
+        return index != null ? index : -1;
+    }
+
+    public String patternName(int index) {
+        return patternNames.get(index);
+    }
+
+    public int patternCount() {
+        return patternNames.size();
+    }
+
+    private int charClass(char c) {
+        if (c < 128) {
+            return asciiClasses[c];
+        }
+        Integer charClass = otherClasses.get(c);
+        return charClass != null ? charClass : 0;
+    }
+
+    private int[] newRow() {
+        return new int[alphabetSize];
+    }
+}
@@ -0,0 +1,134 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.DeadlockCycle;
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import com.archithreads.analyzer.model.ThreadInfo;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * "locked" / "Locked ownable synchronizers" 로 락 소유자를, "waiting to lock" / "parking to wait for" 로
+ * 대기 락을 연결한 wait-for 그래프를 만들고 강한 연결 요소(사이클)를 데드락으로 보고한다.
+ */
+@Service
+public class LockGraphAnalyzer {
+
+    private static final int NO_EDGE = -1;
+
+    public void analyze(ThreadDumpAnalysis analysis) {
+        List<ThreadInfo> threads = analysis.getThreads();
+        int threadCount = threads.size();
+
+        // 락 주소 -> 소유 스레드 인덱스
+        Map<String, Integer> ownerByLock = new HashMap<>();
+        for (int i = 0; i < threadCount; i++) {
+            ThreadInfo thread = threads.get(i);
+            for (String monitor : thread.getLockedMonitors()) {
+                // wait() 중이거나 재진입 대기 중인 모니터는 이미 놓은 상태이므로 소유로 보지 않음
+                if (!monitor.equals(thread.getWaitingOn()) && !monitor.equals(thread.getWaitingToLock())) {
+                    ownerByLock.putIfAbsent(monitor, i);
+                }
+            }
+            for (String synchronizer : thread.getLockedSynchronizers()) {
+                ownerByLock.putIfAbsent(synchronizer, i);
+            }
+        }
+
+        // 스레드는 최대 하나의 락을 기다리고 락의 소유자는 하나이므로 간선은 스레드당 최대 1개
+        int[] waitsFor = new int[threadCount];
+        String[] waitedLocks = new String[threadCount];
+        Map<String, Integer> contention = new HashMap<>();
+        for (int i = 0; i < threadCount; i++) {
+            waitsFor[i] = NO_EDGE;
+            ThreadInfo thread = threads.get(i);
+            String lock = thread.getWaitingToLock() != null ? thread.getWaitingToLock() : thread.getParkingToWaitFor();
+            if (lock == null) {
+                continue;
+            }
+            Integer owner = ownerByLock.get(lock);
+            // 모니터 진입 대기이거나 소유자가 있는 락만 경합으로 집계
+            // (작업 큐 Condition 에서 쉬는 유휴 워커처럼 아무도 소유하지 않은 park 대상은 제외)
+            if (thread.getWaitingToLock() != null || owner != null) {
+                contention.merge(lock, 1, Integer::sum);
+            }
+
+            if (owner != null && owner != i) {
+                ThreadInfo ownerThread = threads.get(owner);
+                thread.setLockOwner(ownerThread.getThreadName());
+                thread.setLockOwnerId(ownerThread.getTid() != null ? ownerThread.getTid() : ownerThread.getNid());
+                waitsFor[i] = owner;
+                waitedLocks[i] = lock;
+            }
+        }
+        analysis.setLockContentionCounts(contention);
+
+        List<DeadlockCycle> cycles = mergeWithJvmReport(findCycles(threads, waitsFor, waitedLocks),
+                analysis.getDeadlockCycles());
+        analysis.setDeadlockCycles(cycles);
+
+        Set<String> deadlockThreads = new LinkedHashSet<>();
+        for (DeadlockCycle cycle : cycles) {
+            deadlockThreads.addAll(cycle.getThreadNames());
+        }
+        analysis.setDeadlockThreads(new ArrayList<>(deadlockThreads));
+    }
+
+    /**
+     * 출차수가 1 이하인 그래프에서 강한 연결 요소(크기 2 이상)는 곧 단순 사이클이다.
+     * 각 정점에서 간선을 따라가며 이번 탐색에서 방문한 정점을 다시 만나면 사이클로 기록한다.
+     * 모든 정점은 한 번만 방문하므로 O(스레드 수) 이다.
+     */
+    private List<DeadlockCycle> findCycles(List<ThreadInfo> threads, int[] waitsFor, String[] waitedLocks) {
+        List<DeadlockCycle> cycles = new ArrayList<>();
+        int[] visitedBy = new int[waitsFor.length];
+        for (int start = 0; start < waitsFor.length; start++) {
+            if (visitedBy[start] != 0 || waitsFor[start] == NO_EDGE) {
+                continue;
+            }
+            int walk = start + 1;
+            int current = start;
+            while (current != NO_EDGE && visitedBy[current] == 0) {
+                visitedBy[current] = walk;
+                current = waitsFor[current];
+            }
+            if (current == NO_EDGE || visitedBy[current] != walk) {
+                // 대기 사슬의 끝에 도달했거나 이전 탐색에서 처리된 정점에 합류
+                continue;
+            }
+
+            DeadlockCycle cycle = new DeadlockCycle();
+            cycle.setDetectedByGraph(true);
+            int member = current;
+            do {
+                cycle.getThreadNames().add(threads.get(member).getThreadName());
+                cycle.getLockAddresses().add(waitedLocks[member]);
+                member = waitsFor[member];
+            } while (member != current);
+            cycles.add(cycle);
+        }
+        return cycles;
+    }
+
+    // JVM 이 보고한 사이클과 같은 스레드 집합이면 하나로 합치고, 그래프에서 못 찾은 보고는 그대로 유지
+    private List<DeadlockCycle> mergeWithJvmReport(List<DeadlockCycle> graphCycles, List<DeadlockCycle> reported) {
+        List<DeadlockCycle> merged = new ArrayList<>(graphCycles);
+        for (DeadlockCycle jvmCycle : reported) {
+            Set<String> names = new HashSet<>(jvmCycle.getThreadNames());
+            DeadlockCycle match = null;
+            for (DeadlockCycle graphCycle : graphCycles) {
+                if (graphCycle.getThreadNames().size() == names.size()
+                        && names.containsAll(graphCycle.getThreadNames())) {
+                    match = graphCycle;
+                    break;
+                }
+            }
+            if (match != null) {
+                match.setReportedByJvm(true);
+            } else {
+                merged.add(jvmCycle);
+            }
+        }
+        return merged;
+    }
+}
@@ -1,105 +1,73 @@
 package com.archithreads.analyzer.service;
 
+import com.archithreads.analyzer.model.DeadlockCycle;
 import com.archithreads.analyzer.model.ThreadInfo;
 import com.archithreads.analyzer.model.ThreadDumpAnalysis;
 import com.archithreads.analyzer.model.ProblemPattern;
+import com.archithreads.analyzer.model.StackGroup;
+import com.archithreads.analyzer.model.ThreadPoolUsage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.regex.Pattern;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
 public class PatternAnalyzer {
 
-    private static final Map<String, Pattern> COMMON_PATTERNS = new HashMap<>();
-    
-    static {
-        // 데이터베이스 관련 패턴
-        COMMON_PATTERNS.put("DATABASE_DEADLOCK", Pattern.compile(".*java\\.sql\\.Connection.*|.*oracle\\.jdbc.*|.*mysql\\.jdbc.*|.*postgresql\\.jdbc.*"));
-        COMMON_PATTERNS.put("DATABASE_TIMEOUT", Pattern.compile(".*SQLTimeoutException.*|.*Connection timeout.*|.*Query timeout.*"));
-        COMMON_PATTERNS.put("DATABASE_POOL_EXHAUSTED", Pattern.compile(".*ConnectionPool.*|.*DataSource.*|.*HikariPool.*"));
-        
-        // 메모리 관련 패턴
-        COMMON_PATTERNS.put("OUT_OF_MEMORY", Pattern.compile(".*OutOfMemoryError.*|.*GC overhead.*|.*PermGen.*|.*Metaspace.*"));
-        COMMON_PATTERNS.put("MEMORY_LEAK", Pattern.compile(".*WeakReference.*|.*SoftReference.*|.*PhantomReference.*"));
-        COMMON_PATTERNS.put("GC_PRESSURE", Pattern.compile(".*GC.*|.*GarbageCollector.*|.*Full GC.*"));
-        
-        // 네트워크 관련 패턴
-        COMMON_PATTERNS.put("NETWORK_TIMEOUT", Pattern.compile(".*SocketTimeoutException.*|.*ConnectException.*|.*UnknownHostException.*"));
-        COMMON_PATTERNS.put("HTTP_CLIENT_BLOCKED", Pattern.compile(".*HttpClient.*|.*ApacheHttpClient.*|.*OkHttp.*"));
-        COMMON_PATTERNS.put("SOCKET_IO", Pattern.compile(".*SocketInputStream.*|.*SocketOutputStream.*"));
-        
-        // 동기화 관련 패턴
-        COMMON_PATTERNS.put("DEADLOCK", Pattern.compile(".*deadlock.*|.*Found Java-level deadlock.*"));
-        COMMON_PATTERNS.put("LOCK_CONTENTION", Pattern.compile(".*synchronized.*|.*ReentrantLock.*|.*ReadWriteLock.*"));
-        COMMON_PATTERNS.put("WAIT_NOTIFY", Pattern.compile(".*wait\\(.*|.*notify\\(.*|.*notifyAll\\(.*"));
-        
-        // 스레드 풀 관련 패턴
-        COMMON_PATTERNS.put("THREAD_POOL_EXHAUSTED", Pattern.compile(".*ThreadPoolExecutor.*|.*ForkJoinPool.*|.*ExecutorService.*"));
-        COMMON_PATTERNS.put("THREAD_STARVATION", Pattern.compile(".*park.*|.*unpark.*|.*LockSupport.*"));
-        
-        // 파일 I/O 관련 패턴
-        COMMON_PATTERNS.put("FILE_IO_BLOCKED", Pattern.compile(".*FileInputStream.*|.*FileOutputStream.*|.*RandomAccessFile.*"));
-        COMMON_PATTERNS.put("NIO_BLOCKED", Pattern.compile(".*FileChannel.*|.*SocketChannel.*|.*Selector.*"));
-        
-        // 프레임워크 관련 패턴
-        COMMON_PATTERNS.put("SPRING_BEAN_CREATION", Pattern.compile(".*BeanFactory.*|.*ApplicationContext.*|.*@Autowired.*"));
-        COMMON_PATTERNS.put("HIBERNATE_SESSION", Pattern.compile(".*SessionFactory.*|.*Hibernate.*|.*EntityManager.*"));
-        COMMON_PATTERNS.put("JPA_QUERY", Pattern.compile(".*JPQL.*|.*CriteriaQuery.*|.*TypedQuery.*"));
-        
-        // 캐시 관련 패턴
-        COMMON_PATTERNS.put("CACHE_MISS", Pattern.compile(".*Cache.*|.*Redis.*|.*Memcached.*|.*EhCache.*"));
-        COMMON_PATTERNS.put("CACHE_EVICTION", Pattern.compile(".*evict.*|.*expire.*|.*TTL.*"));
-        
-        // 메시징 관련 패턴
-        COMMON_PATTERNS.put("MESSAGE_QUEUE", Pattern.compile(".*JMS.*|.*RabbitMQ.*|.*Kafka.*|.*ActiveMQ.*"));
-        COMMON_PATTERNS.put("MESSAGE_CONSUMER", Pattern.compile(".*MessageConsumer.*|.*MessageListener.*"));
-        
-        // 로깅 관련 패턴
-        COMMON_PATTERNS.put("LOGGING_BLOCKED", Pattern.compile(".*Logger.*|.*Log4j.*|.*Logback.*|.*SLF4J.*"));
-        
-        // 보안 관련 패턴
-        COMMON_PATTERNS.put("SECURITY_MANAGER", Pattern.compile(".*SecurityManager.*|.*AccessController.*|.*PrivilegedAction.*"));
-        
-        // 직렬화 관련 패턴
-        COMMON_PATTERNS.put("SERIALIZATION", Pattern.compile(".*ObjectInputStream.*|.*ObjectOutputStream.*|.*Serializable.*"));
-        
-        // 리플렉션 관련 패턴
-        COMMON_PATTERNS.put("REFLECTION", Pattern.compile(".*Class\\.forName.*|.*Method\\.invoke.*|.*Constructor\\.newInstance.*"));
-        
-        // 컴파일 관련 패턴
-        COMMON_PATTERNS.put("JIT_COMPILATION", Pattern.compile(".*Compiler.*|.*JIT.*|.*HotSpot.*"));
-        
-        // 모니터링 관련 패턴
-        COMMON_PATTERNS.put("JMX_MONITORING", Pattern.compile(".*MBeanServer.*|.*JMX.*|.*ManagementFactory.*"));
-        
-        // 기타 시스템 패턴
-        COMMON_PATTERNS.put("SYSTEM_PROPERTIES", Pattern.compile(".*System\\.getProperty.*|.*System\\.setProperty.*"));
-        COMMON_PATTERNS.put("ENVIRONMENT_VARIABLES", Pattern.compile(".*System\\.getenv.*|.*ProcessBuilder.*"));
+    // 내부 분석 단계 (AnalysisMetrics 타이머의 phase 태그)
+    private static final String PHASE_STACK_SCAN = AnalysisMetrics.PHASE_PATTERNS + ".stackScan";
+    private static final String PHASE_DEADLOCK = AnalysisMetrics.PHASE_PATTERNS + ".deadlock";
+    private static final String PHASE_LOCK_CONTENTION = AnalysisMetrics.PHASE_PATTERNS + ".lockContention";
+    private static final String PHASE_THREAD_POOLS = AnalysisMetrics.PHASE_PATTERNS + ".threadPools";
+    private static final String PHASE_CPU = AnalysisMetrics.PHASE_PATTERNS + ".cpu";
+    private static final String PHASE_RULES = AnalysisMetrics.PHASE_PATTERNS + ".rules";
+
+    private final AnalysisMetrics metrics;
+
+    // 키워드, 프레임 조건 등 선언적 규칙 (rules/*.yml)
+    private final RuleEngine ruleEngine;
+
+    // 이 크기 이상의 실행기 풀에 유휴 스레드가 하나도 없으면 포화로 보고
+    @Value("${analyzer.pools.saturation-min-threads:4}")
+    private int saturationMinThreads = 4;
+
+    private static final int MAX_CYCLE_IN_DESCRIPTION = 8;
+    private static final int MAX_THREADS_IN_DESCRIPTION = 8;
+
+    @Autowired
+    public PatternAnalyzer(AnalysisMetrics metrics, RuleEngine ruleEngine) {
+        this.metrics = metrics;
+        this.ruleEngine = ruleEngine;
     }
 
     public List<ProblemPattern> analyzePatterns(ThreadDumpAnalysis analysis) {
-        List<ProblemPattern> patterns = new ArrayList<>();
+        long started = System.nanoTime();
+        RulePlan.Evaluation rules = ruleEngine.getPlan().newEvaluation(analysis.getFrameTable());
+        
+        // 동일 스택 그룹을 한 번만 평가하고 그룹의 스레드 수만큼 반영
+        // (상태와 프레임이 같고 락 주소만 다를 수 있으므로 대표 스레드로 판단)
+        for (StackGroup group : analysis.getStackGroups()) {
+            rules.accept(group);
+        }
         
-        // 각 패턴별로 분석 수행
-        patterns.addAll(analyzeDeadlockPattern(analysis));
-        patterns.addAll(analyzeLockContentionPattern(analysis));
-        patterns.addAll(analyzeDatabasePattern(analysis));
-        patterns.addAll(analyzeMemoryPattern(analysis));
-        patterns.addAll(analyzeNetworkPattern(analysis));
-        patterns.addAll(analyzeThreadPoolPattern(analysis));
-        patterns.addAll(analyzeFileIOPattern(analysis));
-        patterns.addAll(analyzeFrameworkPattern(analysis));
-        patterns.addAll(analyzeCachePattern(analysis));
-        patterns.addAll(analyzeMessagingPattern(analysis));
-        patterns.addAll(analyzeLoggingPattern(analysis));
-        patterns.addAll(analyzeSecurityPattern(analysis));
-        patterns.addAll(analyzeSerializationPattern(analysis));
-        patterns.addAll(analyzeReflectionPattern(analysis));
-        patterns.addAll(analyzeJITPattern(analysis));
-        patterns.addAll(analyzeMonitoringPattern(analysis));
-        patterns.addAll(analyzeSystemPattern(analysis));
+        started = record(analysis, PHASE_STACK_SCAN, started);
+        
+        List<ProblemPattern> patterns = new ArrayList<>();
+        patterns.addAll(deadlockPatterns(analysis.getDeadlockCycles()));
+        started = record(analysis, PHASE_DEADLOCK, started);
+        // 락 경합: LockGraphAnalyzer 가 집계한 락별 대기 스레드 수 (소유자가 있거나 모니터 진입 대기인 락만)
+        patterns.addAll(lockContentionPatterns(analysis.getLockContentionCounts()));
+        started = record(analysis, PHASE_LOCK_CONTENTION, started);
+        patterns.addAll(threadPoolPatterns(analysis));
+        started = record(analysis, PHASE_THREAD_POOLS, started);
+        patterns.addAll(highCpuPatterns(analysis));
+        started = record(analysis, PHASE_CPU, started);
+        patterns.addAll(rules.toPatterns());
+        record(analysis, PHASE_RULES, started);
+        metrics.recordPatternHits(patterns);
         
         // 심각도별로 정렬하고 상위 3개 반환
         return patterns.stream()
@@ -115,45 +83,71 @@ public class PatternAnalyzer {
                 .collect(Collectors.toList());
     }
 
-    private List<ProblemPattern> analyzeDeadlockPattern(ThreadDumpAnalysis analysis) {
-        List<ProblemPattern> patterns = new ArrayList<>();
+    /**
+     * 패턴 이름(탐지된 문제명, 규칙 이름 또는 키워드 묶음 이름)에 해당하는 스레드를 고르는 필터.
+     * 상위 문제로 보고된 패턴은 관련 스레드 목록을, 그 외에는 규칙 매칭을 사용한다.
+     * 매칭 결과를 내부에 재사용하므로 한 스레드에서 순차적으로 사용해야 한다.
+     */
+    public Predicate<ThreadInfo> threadFilter(ThreadDumpAnalysis analysis, String patternName) {
+        for (ProblemPattern problem : analysis.getTopProblems()) {
+            if (problem.getPatternName().equals(patternName)
+                    && problem.getRelatedThreads() != null && !problem.getRelatedThreads().isEmpty()) {
+                Set<String> threadNames = new HashSet<>(problem.getRelatedThreads());
+                return thread -> threadNames.contains(thread.getThreadName());
+            }
+        }
         
-        // 데드락 감지
-        List<ThreadInfo> blockedThreads = analysis.getThreads().stream()
-                .filter(t -> "BLOCKED".equals(t.getJavaLangThreadState()))
-                .collect(Collectors.toList());
+        // 규칙 이름 또는 키워드 묶음 이름으로 매칭
+        Predicate<ThreadInfo> filter = ruleEngine.getPlan().threadFilter(analysis.getFrameTable(), patternName);
+        return filter != null ? filter : thread -> false;
+    }
+
+    // 단계 소요 시간을 기록하고 다음 단계의 시작 시각을 반환
+    private long record(ThreadDumpAnalysis analysis, String phase, long started) {
+        long now = System.nanoTime();
+        metrics.record(analysis, phase, now - started);
+        return now;
+    }
+
+    private List<ProblemPattern> deadlockPatterns(List<DeadlockCycle> deadlockCycles) {
+        List<ProblemPattern> patterns = new ArrayList<>();
         
-        if (blockedThreads.size() > 5) {
+        // wait-for 그래프 사이클 또는 JVM 이 보고한 데드락만 보고
+        for (DeadlockCycle cycle : deadlockCycles) {
+            StringBuilder description = new StringBuilder("데드락이 감지되었습니다. ");
+            if (cycle.getThreadNames().size() > MAX_CYCLE_IN_DESCRIPTION) {
+                // 긴 사이클은 앞부분만 표기 (전체 목록은 relatedThreads)
+                description.append(String.join(" → ", cycle.getThreadNames().subList(0, MAX_CYCLE_IN_DESCRIPTION)))
+                        .append(" → ... (").append(cycle.getThreadNames().size()).append("개 스레드 순환 대기)");
+            } else {
+                description.append(cycle.getChain());
+            }
+            if (cycle.getThreadNames().size() <= MAX_CYCLE_IN_DESCRIPTION
+                    && cycle.getLockAddresses().stream().anyMatch(Objects::nonNull)) {
+                description.append(" (락: ").append(cycle.getLockAddresses().stream()
+                        .filter(Objects::nonNull).map(lock -> "<" + lock + ">").collect(Collectors.joining(", ")))
+                        .append(")");
+            }
             ProblemPattern pattern = new ProblemPattern(
-                "DEADLOCK_SUSPECTED",
-                "데드락이 의심됩니다. " + blockedThreads.size() + "개의 스레드가 BLOCKED 상태입니다.",
-                "HIGH",
-                blockedThreads.size(),
-                0.8,
-                "스레드 간 락 경합으로 인한 데드락 발생",
-                "락 순서를 일관성 있게 유지하고, 락 타임아웃을 설정하세요."
+                "DEADLOCK_DETECTED",
+                description.toString(),
+                "CRITICAL",
+                cycle.getThreadNames().size(),
+                cycle.isReportedByJvm() ? 1.0 : 0.95,
+                "스레드들이 서로가 소유한 락을 순환 대기",
+                "락 획득 순서를 일관성 있게 유지하고, tryLock 타임아웃을 사용하세요."
             );
-            pattern.setRelatedThreads(blockedThreads.stream()
-                    .map(ThreadInfo::getThreadName)
-                    .collect(Collectors.toList()));
+            pattern.setRelatedThreads(new ArrayList<>(cycle.getThreadNames()));
             patterns.add(pattern);
         }
         
         return patterns;
     }
 
-    private List<ProblemPattern> analyzeLockContentionPattern(ThreadDumpAnalysis analysis) {
+    private List<ProblemPattern> lockContentionPatterns(Map<String, Integer> lockCounts) {
         List<ProblemPattern> patterns = new ArrayList<>();
         
         // 락 경합 분석
-        Map<String, Integer> lockCounts = new HashMap<>();
-        for (ThreadInfo thread : analysis.getThreads()) {
-            if (thread.getLockInfo() != null) {
-                lockCounts.put(thread.getLockInfo(), 
-                    lockCounts.getOrDefault(thread.getLockInfo(), 0) + 1);
-            }
-        }
-        
         for (Map.Entry<String, Integer> entry : lockCounts.entrySet()) {
             if (entry.getValue() > 3) {
                 ProblemPattern pattern = new ProblemPattern(
@@ -172,397 +166,104 @@ public class PatternAnalyzer {
         return patterns;
     }
 
-    private List<ProblemPattern> analyzeDatabasePattern(ThreadDumpAnalysis analysis) {
-        List<ProblemPattern> patterns = new ArrayList<>();
-        
-        for (ThreadInfo thread : analysis.getThreads()) {
-            String stackTrace = thread.getStackTrace();
-            
-            if (COMMON_PATTERNS.get("DATABASE_DEADLOCK").matcher(stackTrace).matches()) {
-                ProblemPattern pattern = new ProblemPattern(
-                    "DATABASE_DEADLOCK",
-                    "데이터베이스 데드락이 발생했습니다.",
-                    "HIGH",
-                    1,
-                    0.9,
-                    "데이터베이스 트랜잭션 간 데드락",
-                    "트랜잭션 순서를 일관성 있게 유지하고, 데드락 감지 및 해결 로직을 추가하세요."
-                );
-                pattern.setRelatedThreads(Arrays.asList(thread.getThreadName()));
-                patterns.add(pattern);
-            }
-            
-            if (COMMON_PATTERNS.get("DATABASE_TIMEOUT").matcher(stackTrace).matches()) {
-                ProblemPattern pattern = new ProblemPattern(
-                    "DATABASE_TIMEOUT",
-                    "데이터베이스 타임아웃이 발생했습니다.",
-                    "MEDIUM",
-                    1,
-                    0.8,
-                    "데이터베이스 쿼리 타임아웃",
-                    "쿼리 최적화 및 타임아웃 설정을 조정하세요."
-                );
-                pattern.setRelatedThreads(Arrays.asList(thread.getThreadName()));
-                patterns.add(pattern);
+    private List<ProblemPattern> threadPoolPatterns(ThreadDumpAnalysis analysis) {
+        Map<String, ThreadPoolUsage> saturated = new LinkedHashMap<>();
+        for (ThreadPoolUsage pool : analysis.getThreadPools()) {
+            if (isSaturated(pool)) {
+                saturated.put(pool.getPoolName(), pool);
             }
         }
-        
-        return patterns;
-    }
-
-    private List<ProblemPattern> analyzeMemoryPattern(ThreadDumpAnalysis analysis) {
-        List<ProblemPattern> patterns = new ArrayList<>();
-        
-        for (ThreadInfo thread : analysis.getThreads()) {
-            String stackTrace = thread.getStackTrace();
-            
-            if (COMMON_PATTERNS.get("OUT_OF_MEMORY").matcher(stackTrace).matches()) {
-                ProblemPattern pattern = new ProblemPattern(
-                    "OUT_OF_MEMORY",
-                    "메모리 부족 오류가 발생했습니다.",
-                    "CRITICAL",
-                    1,
-                    1.0,
-                    "JVM 힙 메모리 부족",
-                    "힙 메모리 크기를 증가시키거나 메모리 누수를 확인하세요."
-                );
-                pattern.setRelatedThreads(Arrays.asList(thread.getThreadName()));
-                patterns.add(pattern);
-            }
-            
-            if (COMMON_PATTERNS.get("GC_PRESSURE").matcher(stackTrace).matches()) {
-                ProblemPattern pattern = new ProblemPattern(
-                    "GC_PRESSURE",
-                    "가비지 컬렉션 압박이 발생했습니다.",
-                    "MEDIUM",
-                    1,
-                    0.6,
-                    "과도한 가비지 컬렉션",
-                    "GC 튜닝을 수행하고 메모리 사용량을 최적화하세요."
-                );
-                pattern.setRelatedThreads(Arrays.asList(thread.getThreadName()));
-                patterns.add(pattern);
-            }
+        if (saturated.isEmpty()) {
+            return Collections.emptyList();
         }
-        
-        return patterns;
-    }
 
-    private List<ProblemPattern> analyzeNetworkPattern(ThreadDumpAnalysis analysis) {
-        List<ProblemPattern> patterns = new ArrayList<>();
-        
+        Map<String, List<String>> poolThreads = new HashMap<>();
         for (ThreadInfo thread : analysis.getThreads()) {
-            String stackTrace = thread.getStackTrace();
-            
-            if (COMMON_PATTERNS.get("NETWORK_TIMEOUT").matcher(stackTrace).matches()) {
-                ProblemPattern pattern = new ProblemPattern(
-                    "NETWORK_TIMEOUT",
-                    "네트워크 타임아웃이 발생했습니다.",
-                    "MEDIUM",
-                    1,
-                    0.7,
-                    "네트워크 연결 타임아웃",
-                    "네트워크 타임아웃 설정을 조정하고 연결 풀링을 고려하세요."
-                );
-                pattern.setRelatedThreads(Arrays.asList(thread.getThreadName()));
-                patterns.add(pattern);
+            String poolName = ThreadPools.poolName(thread);
+            if (saturated.containsKey(poolName)) {
+                poolThreads.computeIfAbsent(poolName, name -> new ArrayList<>()).add(thread.getThreadName());
             }
         }
-        
-        return patterns;
-    }
 
-    private List<ProblemPattern> analyzeThreadPoolPattern(ThreadDumpAnalysis analysis) {
         List<ProblemPattern> patterns = new ArrayList<>();
-        
-        List<ThreadInfo> threadPoolThreads = analysis.getThreads().stream()
-                .filter(t -> COMMON_PATTERNS.get("THREAD_POOL_EXHAUSTED").matcher(t.getStackTrace()).matches())
-                .collect(Collectors.toList());
-        
-        if (threadPoolThreads.size() > 10) {
+        for (ThreadPoolUsage pool : saturated.values()) {
+            // 대부분이 작업 도중 대기 중이면 풀 크기보다 하위 자원(락, 외부 응답)이 원인
+            boolean mostlyBlocked = pool.getBlockedThreads() > pool.getBusyThreads();
             ProblemPattern pattern = new ProblemPattern(
                 "THREAD_POOL_EXHAUSTED",
-                "스레드 풀이 고갈되었습니다. " + threadPoolThreads.size() + "개의 스레드 풀 스레드가 있습니다.",
+                "스레드 풀 " + pool.getPoolName() + "의 스레드 " + pool.getThreadCount() + "개가 모두 사용 중입니다. (실행 "
+                        + pool.getBusyThreads() + ", 대기/차단 " + pool.getBlockedThreads() + ", 유휴 0)",
                 "HIGH",
-                threadPoolThreads.size(),
-                0.8,
-                "스레드 풀 크기 부족",
-                "스레드 풀 크기를 증가시키거나 작업 큐 크기를 조정하세요."
+                pool.getThreadCount(),
+                0.9,
+                mostlyBlocked ? "작업 스레드가 락이나 외부 응답을 기다리느라 풀로 반환되지 않음"
+                        : "처리 능력보다 많은 작업 유입 또는 오래 걸리는 작업",
+                mostlyBlocked ? "대기 중인 스레드의 스택에서 공통 대기 지점(락, DB/HTTP 호출)을 찾아 해소하고, 타임아웃을 설정하세요."
+                        : "풀 크기와 작업 큐 설정을 조정하고, 오래 걸리는 작업을 별도 풀로 분리하세요."
             );
-            pattern.setRelatedThreads(threadPoolThreads.stream()
-                    .map(ThreadInfo::getThreadName)
-                    .collect(Collectors.toList()));
+            pattern.setRelatedThreads(poolThreads.getOrDefault(pool.getPoolName(), new ArrayList<>()));
             patterns.add(pattern);
         }
-        
         return patterns;
     }
 
-    private List<ProblemPattern> analyzeFileIOPattern(ThreadDumpAnalysis analysis) {
-        List<ProblemPattern> patterns = new ArrayList<>();
-        
-        for (ThreadInfo thread : analysis.getThreads()) {
-            String stackTrace = thread.getStackTrace();
-            
-            if (COMMON_PATTERNS.get("FILE_IO_BLOCKED").matcher(stackTrace).matches()) {
-                ProblemPattern pattern = new ProblemPattern(
-                    "FILE_IO_BLOCKED",
-                    "파일 I/O가 블록되었습니다.",
-                    "LOW",
-                    1,
-                    0.5,
-                    "파일 시스템 I/O 지연",
-                    "비동기 I/O 사용을 고려하거나 I/O 타임아웃을 설정하세요."
-                );
-                pattern.setRelatedThreads(Arrays.asList(thread.getThreadName()));
-                patterns.add(pattern);
-            }
+    // 수명 대비 CPU 사용률이 높은 스레드 중 덤프 시점에도 실행 중인 스레드 (대기 중이면 과거의 부하일 수 있음)
+    private List<ProblemPattern> highCpuPatterns(ThreadDumpAnalysis analysis) {
+        Set<String> highCpu = new HashSet<>(analysis.getHighCpuThreads());
+        if (highCpu.isEmpty()) {
+            return Collections.emptyList();
         }
-        
-        return patterns;
-    }
-
-    private List<ProblemPattern> analyzeFrameworkPattern(ThreadDumpAnalysis analysis) {
-        List<ProblemPattern> patterns = new ArrayList<>();
-        
+        List<ThreadInfo> spinning = new ArrayList<>();
         for (ThreadInfo thread : analysis.getThreads()) {
-            String stackTrace = thread.getStackTrace();
-            
-            if (COMMON_PATTERNS.get("SPRING_BEAN_CREATION").matcher(stackTrace).matches()) {
-                ProblemPattern pattern = new ProblemPattern(
-                    "SPRING_BEAN_CREATION",
-                    "Spring Bean 생성 중 블록이 발생했습니다.",
-                    "MEDIUM",
-                    1,
-                    0.6,
-                    "Spring 컨텍스트 초기화 지연",
-                    "Bean 의존성을 최적화하고 지연 초기화를 고려하세요."
-                );
-                pattern.setRelatedThreads(Arrays.asList(thread.getThreadName()));
-                patterns.add(pattern);
+            if (highCpu.contains(thread.getThreadName()) && "RUNNABLE".equals(thread.getJavaLangThreadState())
+                    && thread.getCpuTimeMillis() != null && thread.getElapsedTimeMillis() != null) {
+                spinning.add(thread);
             }
         }
-        
-        return patterns;
-    }
-
-    private List<ProblemPattern> analyzeCachePattern(ThreadDumpAnalysis analysis) {
-        List<ProblemPattern> patterns = new ArrayList<>();
-        
-        for (ThreadInfo thread : analysis.getThreads()) {
-            String stackTrace = thread.getStackTrace();
-            
-            if (COMMON_PATTERNS.get("CACHE_MISS").matcher(stackTrace).matches()) {
-                ProblemPattern pattern = new ProblemPattern(
-                    "CACHE_MISS",
-                    "캐시 미스가 발생했습니다.",
-                    "LOW",
-                    1,
-                    0.4,
-                    "캐시 효율성 저하",
-                    "캐시 전략을 재검토하고 캐시 크기를 조정하세요."
-                );
-                pattern.setRelatedThreads(Arrays.asList(thread.getThreadName()));
-                patterns.add(pattern);
-            }
-        }
-        
-        return patterns;
-    }
-
-    private List<ProblemPattern> analyzeMessagingPattern(ThreadDumpAnalysis analysis) {
-        List<ProblemPattern> patterns = new ArrayList<>();
-        
-        for (ThreadInfo thread : analysis.getThreads()) {
-            String stackTrace = thread.getStackTrace();
-            
-            if (COMMON_PATTERNS.get("MESSAGE_QUEUE").matcher(stackTrace).matches()) {
-                ProblemPattern pattern = new ProblemPattern(
-                    "MESSAGE_QUEUE_BLOCKED",
-                    "메시지 큐 처리가 블록되었습니다.",
-                    "MEDIUM",
-                    1,
-                    0.6,
-                    "메시지 큐 처리 지연",
-                    "메시지 큐 설정을 최적화하고 처리량을 조정하세요."
-                );
-                pattern.setRelatedThreads(Arrays.asList(thread.getThreadName()));
-                patterns.add(pattern);
-            }
-        }
-        
-        return patterns;
-    }
-
-    private List<ProblemPattern> analyzeLoggingPattern(ThreadDumpAnalysis analysis) {
-        List<ProblemPattern> patterns = new ArrayList<>();
-        
-        for (ThreadInfo thread : analysis.getThreads()) {
-            String stackTrace = thread.getStackTrace();
-            
-            if (COMMON_PATTERNS.get("LOGGING_BLOCKED").matcher(stackTrace).matches()) {
-                ProblemPattern pattern = new ProblemPattern(
-                    "LOGGING_BLOCKED",
-                    "로깅이 블록되었습니다.",
-                    "LOW",
-                    1,
-                    0.3,
-                    "로깅 시스템 지연",
-                    "비동기 로깅을 사용하거나 로그 레벨을 조정하세요."
-                );
-                pattern.setRelatedThreads(Arrays.asList(thread.getThreadName()));
-                patterns.add(pattern);
-            }
-        }
-        
-        return patterns;
-    }
-
-    private List<ProblemPattern> analyzeSecurityPattern(ThreadDumpAnalysis analysis) {
-        List<ProblemPattern> patterns = new ArrayList<>();
-        
-        for (ThreadInfo thread : analysis.getThreads()) {
-            String stackTrace = thread.getStackTrace();
-            
-            if (COMMON_PATTERNS.get("SECURITY_MANAGER").matcher(stackTrace).matches()) {
-                ProblemPattern pattern = new ProblemPattern(
-                    "SECURITY_MANAGER",
-                    "보안 관리자 관련 블록이 발생했습니다.",
-                    "MEDIUM",
-                    1,
-                    0.5,
-                    "보안 정책 검사 지연",
-                    "보안 정책을 최적화하거나 권한을 사전에 부여하세요."
-                );
-                pattern.setRelatedThreads(Arrays.asList(thread.getThreadName()));
-                patterns.add(pattern);
-            }
-        }
-        
-        return patterns;
-    }
-
-    private List<ProblemPattern> analyzeSerializationPattern(ThreadDumpAnalysis analysis) {
-        List<ProblemPattern> patterns = new ArrayList<>();
-        
-        for (ThreadInfo thread : analysis.getThreads()) {
-            String stackTrace = thread.getStackTrace();
-            
-            if (COMMON_PATTERNS.get("SERIALIZATION").matcher(stackTrace).matches()) {
-                ProblemPattern pattern = new ProblemPattern(
-                    "SERIALIZATION_BLOCKED",
-                    "직렬화/역직렬화가 블록되었습니다.",
-                    "LOW",
-                    1,
-                    0.4,
-                    "객체 직렬화 지연",
-                    "직렬화 최적화를 고려하거나 비동기 처리를 사용하세요."
-                );
-                pattern.setRelatedThreads(Arrays.asList(thread.getThreadName()));
-                patterns.add(pattern);
-            }
+        if (spinning.isEmpty()) {
+            return Collections.emptyList();
         }
-        
-        return patterns;
-    }
+        spinning.sort(Comparator.comparingDouble(PatternAnalyzer::cpuRatio).reversed());
 
-    private List<ProblemPattern> analyzeReflectionPattern(ThreadDumpAnalysis analysis) {
-        List<ProblemPattern> patterns = new ArrayList<>();
-        
-        for (ThreadInfo thread : analysis.getThreads()) {
-            String stackTrace = thread.getStackTrace();
-            
-            if (COMMON_PATTERNS.get("REFLECTION").matcher(stackTrace).matches()) {
-                ProblemPattern pattern = new ProblemPattern(
-                    "REFLECTION_OVERUSE",
-                    "리플렉션 사용이 과도합니다.",
-                    "LOW",
-                    1,
-                    0.3,
-                    "리플렉션 성능 오버헤드",
-                    "리플렉션 사용을 최소화하고 캐싱을 고려하세요."
-                );
-                pattern.setRelatedThreads(Arrays.asList(thread.getThreadName()));
-                patterns.add(pattern);
+        List<String> threadNames = new ArrayList<>();
+        StringBuilder description = new StringBuilder("수명의 대부분 동안 CPU 를 사용한 실행 중 스레드 ")
+                .append(spinning.size()).append("개: ");
+        for (int i = 0; i < spinning.size(); i++) {
+            ThreadInfo thread = spinning.get(i);
+            threadNames.add(thread.getThreadName());
+            if (i < MAX_THREADS_IN_DESCRIPTION) {
+                description.append(i > 0 ? ", " : "").append(thread.getThreadName())
+                        .append(String.format(" (%.0f%%)", cpuRatio(thread) * 100));
             }
         }
-        
-        return patterns;
-    }
-
-    private List<ProblemPattern> analyzeJITPattern(ThreadDumpAnalysis analysis) {
-        List<ProblemPattern> patterns = new ArrayList<>();
-        
-        for (ThreadInfo thread : analysis.getThreads()) {
-            String stackTrace = thread.getStackTrace();
-            
-            if (COMMON_PATTERNS.get("JIT_COMPILATION").matcher(stackTrace).matches()) {
-                ProblemPattern pattern = new ProblemPattern(
-                    "JIT_COMPILATION",
-                    "JIT 컴파일이 진행 중입니다.",
-                    "LOW",
-                    1,
-                    0.2,
-                    "JIT 컴파일 오버헤드",
-                    "JIT 컴파일 최적화를 고려하거나 AOT 컴파일을 사용하세요."
-                );
-                pattern.setRelatedThreads(Arrays.asList(thread.getThreadName()));
-                patterns.add(pattern);
-            }
+        if (spinning.size() > MAX_THREADS_IN_DESCRIPTION) {
+            description.append(" 외 ").append(spinning.size() - MAX_THREADS_IN_DESCRIPTION).append("개");
         }
-        
-        return patterns;
+        ProblemPattern pattern = new ProblemPattern(
+            "HIGH_CPU",
+            description.toString(),
+            "HIGH",
+            spinning.size(),
+            0.8,
+            "바쁜 대기(spin), 종료 조건이 잘못된 반복문, 과도한 정규식/직렬화 또는 GC 압박",
+            "해당 스레드의 상위 프레임을 확인하고, 여러 덤프를 함께 분석하여 구간별 CPU 증가량으로 지금도 CPU 를 쓰는지 확인하세요."
+        );
+        pattern.setRelatedThreads(threadNames);
+        return List.of(pattern);
     }
 
-    private List<ProblemPattern> analyzeMonitoringPattern(ThreadDumpAnalysis analysis) {
-        List<ProblemPattern> patterns = new ArrayList<>();
-        
-        for (ThreadInfo thread : analysis.getThreads()) {
-            String stackTrace = thread.getStackTrace();
-            
-            if (COMMON_PATTERNS.get("JMX_MONITORING").matcher(stackTrace).matches()) {
-                ProblemPattern pattern = new ProblemPattern(
-                    "JMX_MONITORING",
-                    "JMX 모니터링이 활성화되어 있습니다.",
-                    "LOW",
-                    1,
-                    0.1,
-                    "모니터링 오버헤드",
-                    "모니터링 설정을 최적화하거나 샘플링 주기를 조정하세요."
-                );
-                pattern.setRelatedThreads(Arrays.asList(thread.getThreadName()));
-                patterns.add(pattern);
-            }
-        }
-        
-        return patterns;
+    private static double cpuRatio(ThreadInfo thread) {
+        return thread.getCpuTimeMillis() / thread.getElapsedTimeMillis();
     }
 
-    private List<ProblemPattern> analyzeSystemPattern(ThreadDumpAnalysis analysis) {
-        List<ProblemPattern> patterns = new ArrayList<>();
-        
-        for (ThreadInfo thread : analysis.getThreads()) {
-            String stackTrace = thread.getStackTrace();
-            
-            if (COMMON_PATTERNS.get("SYSTEM_PROPERTIES").matcher(stackTrace).matches()) {
-                ProblemPattern pattern = new ProblemPattern(
-                    "SYSTEM_PROPERTIES_ACCESS",
-                    "시스템 프로퍼티 접근이 발생했습니다.",
-                    "LOW",
-                    1,
-                    0.2,
-                    "시스템 프로퍼티 접근 오버헤드",
-                    "시스템 프로퍼티를 캐싱하여 성능을 개선하세요."
-                );
-                pattern.setRelatedThreads(Arrays.asList(thread.getThreadName()));
-                patterns.add(pattern);
-            }
-        }
-        
-        return patterns;
+    // 가상 스레드는 작업마다 새로 만들어지므로 고갈 대상이 아님
+    private boolean isSaturated(ThreadPoolUsage pool) {
+        return pool.getExecutorType() != null && !ThreadPools.VIRTUAL_THREAD_EXECUTOR.equals(pool.getExecutorType())
+                && pool.getThreadCount() >= saturationMinThreads
+                && pool.getIdleThreads() == 0;
     }
 
-    private int getSeverityScore(String severity) {
+    static int getSeverityScore(String severity) {
         switch (severity) {
             case "CRITICAL": return 5;
             case "HIGH": return 4;
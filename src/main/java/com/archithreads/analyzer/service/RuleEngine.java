@@ -0,0 +1,314 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.RuleDefinition;
+import com.archithreads.analyzer.model.RuleSet;
+import com.archithreads.analyzer.model.RuleStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 선언적 탐지 규칙을 읽어 평가 계획(RulePlan)으로 컴파일한다.
+ * 기본 규칙(classpath rules/builtin-rules.yml) 뒤에 규칙 디렉토리의 파일을 이름 순으로 읽으며,
+ * 같은 이름의 규칙과 키워드 묶음은 뒤에 읽은 것으로 바뀐다.
+ * 디렉토리의 파일이 바뀌면 재시작 없이 다시 컴파일하고, 오류가 있으면 이전 계획을 유지한다.
+ */
+@Service
+public class RuleEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(RuleEngine.class);
+
+    private static final String BUILTIN_RULES = "rules/builtin-rules.yml";
+    private static final String BUILTIN_SOURCE = "builtin";
+    // 편집기가 여러 번 저장하는 경우를 한 번의 재로드로 묶는 대기 시간
+    private static final long RELOAD_DEBOUNCE_MILLIS = 500;
+
+    // 스프링 밖(벤치마크, 테스트)에서 new 로 만들면 null 이며 기본 규칙만 사용한다
+    @Value("${analyzer.rules.directory:rules}")
+    private String directory;
+
+    @Value("${analyzer.rules.watch:true}")
+    private boolean watch = true;
+
+    // 규칙이 바뀌면 이전 규칙으로 만든 캐시 결과를 버린다
+    @Autowired(required = false)
+    private AnalysisCache analysisCache;
+
+    // 모르는 속성(오타)은 오류로 처리
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private volatile RulePlan plan;
+    private volatile RuleStatus status;
+    private WatchService watchService;
+
+    @PostConstruct
+    public void start() {
+        reload();
+        if (watch) {
+            startWatcher();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {
+                // 종료 중
+            }
+        }
+    }
+
+    /**
+     * 현재 평가 계획. 스프링 밖에서 생성된 경우(벤치마크 등)에는 처음 호출할 때 기본 규칙을 읽는다.
+     */
+    RulePlan getPlan() {
+        RulePlan current = plan;
+        if (current == null) {
+            synchronized (this) {
+                if (plan == null) {
+                    reload();
+                }
+                current = plan;
+            }
+        }
+        return current;
+    }
+
+    public RuleStatus getStatus() {
+        getPlan();
+        return status;
+    }
+
+    /**
+     * 규칙 파일을 모두 다시 읽어 컴파일한다.
+     * 처음 로드할 때는 잘못된 규칙만 빼고 적용하며, 다시 로드할 때 오류가 있으면 이전 계획을 유지한다.
+     */
+    public synchronized RuleStatus reload() {
+        List<String> errors = new ArrayList<>();
+        List<String> sources = new ArrayList<>();
+        RuleSet merged = new RuleSet();
+
+        merge(merged, loadBuiltin(), BUILTIN_SOURCE);
+        sources.add(BUILTIN_SOURCE);
+
+        for (Path file : ruleFiles(directory, errors)) {
+            try {
+                RuleSet ruleSet = read(file);
+                if (ruleSet != null) {
+                    merge(merged, ruleSet, file.getFileName().toString());
+                }
+                sources.add(file.toString());
+            } catch (IOException | IllegalArgumentException e) {
+                errors.add(file + ": " + e.getMessage());
+            }
+        }
+
+        RulePlan compiled = RulePlan.compile(merged, errors);
+        RuleStatus newStatus = new RuleStatus();
+        newStatus.setLoadedAt(System.currentTimeMillis());
+        newStatus.setSources(sources);
+        newStatus.setErrors(errors);
+
+        boolean apply = plan == null || errors.isEmpty();
+        RulePlan active = apply ? compiled : plan;
+        newStatus.setApplied(apply);
+        newStatus.setRuleCount(active.ruleCount());
+        newStatus.setKeywordSetCount(active.keywordSetCount());
+        newStatus.setKeywordCount(active.predicateCount());
+        newStatus.setRules(active.getRules());
+        if (apply) {
+            if (plan != null && analysisCache != null) {
+                analysisCache.clear();
+            }
+            plan = compiled;
+            log.info("탐지 규칙 {}개 로드 (키워드 묶음 {}개, 키워드 {}개, 파일 {}개)",
+                    compiled.ruleCount(), compiled.keywordSetCount(), compiled.predicateCount(), sources.size());
+        } else {
+            log.warn("탐지 규칙에 오류가 있어 이전 규칙을 유지합니다");
+        }
+        errors.forEach(error -> log.warn("탐지 규칙 오류: {}", error));
+        status = newStatus;
+        return newStatus;
+    }
+
+    private RuleSet loadBuiltin() {
+        try (InputStream in = RuleEngine.class.getClassLoader().getResourceAsStream(BUILTIN_RULES)) {
+            if (in == null) {
+                throw new IllegalStateException("기본 탐지 규칙이 없습니다: " + BUILTIN_RULES);
+            }
+            return convert(yaml().load(in));
+        } catch (IOException e) {
+            throw new IllegalStateException("기본 탐지 규칙을 읽을 수 없습니다", e);
+        }
+    }
+
+    private static List<Path> ruleFiles(String directory, List<String> errors) {
+        if (directory == null) {
+            return List.of();
+        }
+        Path rulesDirectory = Paths.get(directory);
+        if (!Files.isDirectory(rulesDirectory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(rulesDirectory)) {
+            return files.filter(RuleEngine::isRuleFile).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            errors.add(rulesDirectory + ": " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static boolean isRuleFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        return !name.startsWith(".") && Files.isRegularFile(file)
+                && (name.endsWith(".yml") || name.endsWith(".yaml") || name.endsWith(".json"));
+    }
+
+    // 빈 파일이면 null
+    private RuleSet read(Path file) throws IOException {
+        if (file.getFileName().toString().toLowerCase().endsWith(".json")) {
+            return Files.size(file) == 0 ? null : objectMapper.readValue(file.toFile(), RuleSet.class);
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return convert(yaml().load(reader));
+        } catch (RuntimeException e) {
+            // YAML 문법 오류 (YAMLException) 와 속성 변환 오류
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    private RuleSet convert(Object document) {
+        return document == null ? null : objectMapper.convertValue(document, RuleSet.class);
+    }
+
+    // 임의 객체를 만들지 않도록 기본 타입(Map, List, 문자열, 숫자)만 허용
+    private static Yaml yaml() {
+        return new Yaml(new SafeConstructor(new LoaderOptions()));
+    }
+
+    private static void merge(RuleSet merged, RuleSet ruleSet, String source) {
+        if (ruleSet.getKeywordSets() != null) {
+            merged.getKeywordSets().putAll(ruleSet.getKeywordSets());
+        }
+        if (ruleSet.getRules() == null) {
+            return;
+        }
+        for (RuleDefinition rule : ruleSet.getRules()) {
+            if (rule == null) {
+                continue;
+            }
+            rule.setSource(source);
+            int existing = indexOf(merged.getRules(), rule.getName());
+            if (existing >= 0) {
+                merged.getRules().set(existing, rule);
+            } else {
+                merged.getRules().add(rule);
+            }
+        }
+    }
+
+    private static int indexOf(List<RuleDefinition> rules, String name) {
+        for (int i = 0; i < rules.size(); i++) {
+            if (Objects.equals(rules.get(i).getName(), name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // 규칙 디렉토리 변경 감시
+    // 상위 디렉토리도 감시해 시작 후에 만들어지거나 지웠다가 다시 만든 규칙 디렉토리를 읽는다
+    private void startWatcher() {
+        Path rulesDirectory = Paths.get(directory).toAbsolutePath().normalize();
+        Path parent = rulesDirectory.getParent();
+        try {
+            watchService = rulesDirectory.getFileSystem().newWatchService();
+            if (parent != null && Files.isDirectory(parent)) {
+                parent.register(watchService, StandardWatchEventKinds.ENTRY_CREATE);
+            }
+            if (Files.isDirectory(rulesDirectory)) {
+                registerRulesDirectory(watchService, rulesDirectory);
+            } else {
+                log.info("규칙 디렉토리가 없어 기본 탐지 규칙만 사용합니다 (만들어지면 읽음): {}", rulesDirectory);
+            }
+        } catch (IOException e) {
+            log.warn("규칙 디렉토리를 감시할 수 없습니다: {}", rulesDirectory, e);
+            return;
+        }
+        Thread watcher = new Thread(() -> watch(watchService, rulesDirectory), "rule-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private static void registerRulesDirectory(WatchService service, Path rulesDirectory) throws IOException {
+        rulesDirectory.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+    }
+
+    private void watch(WatchService service, Path rulesDirectory) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                // 연속된 변경은 잠시 기다렸다가 한 번에 반영
+                do {
+                    changed |= handle(key, service, rulesDirectory);
+                    Thread.sleep(RELOAD_DEBOUNCE_MILLIS);
+                } while ((key = service.poll()) != null);
+                if (!changed) {
+                    continue;
+                }
+                try {
+                    reload();
+                } catch (RuntimeException e) {
+                    log.warn("탐지 규칙 다시 로드 실패", e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // 종료
+        }
+    }
+
+    // 규칙을 다시 읽어야 하는 변경이면 true
+    private boolean handle(WatchKey key, WatchService service, Path rulesDirectory) {
+        boolean rulesKey = rulesDirectory.equals(key.watchable());
+        boolean changed = rulesKey;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            // 상위 디렉토리에서는 규칙 디렉토리가 만들어진 경우만 본다
+            if (!rulesKey && rulesDirectory.getFileName().equals(event.context())
+                    && Files.isDirectory(rulesDirectory)) {
+                try {
+                    registerRulesDirectory(service, rulesDirectory);
+                    changed = true;
+                } catch (IOException e) {
+                    log.warn("규칙 디렉토리를 감시할 수 없습니다: {}", rulesDirectory, e);
+                }
+            }
+        }
+        if (!key.reset() && !rulesKey) {
+            log.warn("규칙 디렉토리 감시가 중단되었습니다");
+        }
+        return changed;
+    }
+}
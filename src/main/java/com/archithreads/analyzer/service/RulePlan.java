@@ -0,0 +1,461 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.FrameTable;
+import com.archithreads.analyzer.model.ProblemPattern;
+import com.archithreads.analyzer.model.RuleDefinition;
+import com.archithreads.analyzer.model.RuleMatch;
+import com.archithreads.analyzer.model.RuleSet;
+import com.archithreads.analyzer.model.StackGroup;
+import com.archithreads.analyzer.model.ThreadInfo;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * 규칙 집합을 컴파일한 평가 계획. 불변이며 여러 분석에서 동시에 사용할 수 있다.
+ * 규칙 전체에서 서로 다른 키워드 하나가 술어 하나가 되고, 모든 술어는 하나의 오토마톤으로 한 번에 매칭된다.
+ * 규칙은 트리거 술어로 색인되어, 스택에 트리거 키워드가 있는 그룹에서만 나머지 조건을 확인한다.
+ */
+final class RulePlan {
+
+    private static final List<String> SEVERITIES = List.of("CRITICAL", "HIGH", "MEDIUM", "LOW");
+    private static final int[] NONE = new int[0];
+
+    private final KeywordMatcher matcher;
+    private final List<CompiledRule> rules;
+    private final Map<String, Integer> ruleIndexes = new HashMap<>();
+    private final Map<String, int[]> keywordSets = new HashMap<>();
+
+    // 술어 -> 그 술어가 스택 어딘가에 있을 때 확인할 규칙 / 최상위 프레임에 있을 때 확인할 규칙
+    private final int[][] rulesByFramePredicate;
+    private final int[][] rulesByTopPredicate;
+    // 키워드 조건이 없어 모든 그룹에서 확인하는 규칙
+    private final int[] unconditionalRules;
+
+    private RulePlan(KeywordMatcher matcher, List<CompiledRule> rules, Map<String, int[]> keywordSets) {
+        this.matcher = matcher;
+        this.rules = rules;
+        this.keywordSets.putAll(keywordSets);
+
+        List<List<Integer>> byFrame = new ArrayList<>();
+        List<List<Integer>> byTop = new ArrayList<>();
+        for (int i = 0; i < matcher.patternCount(); i++) {
+            byFrame.add(new ArrayList<>());
+            byTop.add(new ArrayList<>());
+        }
+        List<Integer> unconditional = new ArrayList<>();
+        for (int r = 0; r < rules.size(); r++) {
+            CompiledRule rule = rules.get(r);
+            ruleIndexes.put(rule.definition.getName(), r);
+            if (rule.any.length > 0) {
+                for (int predicate : rule.any) {
+                    byFrame.get(predicate).add(r);
+                }
+            } else if (rule.all.length > 0) {
+                byFrame.get(rule.all[0]).add(r);
+            } else if (rule.top.length > 0) {
+                for (int predicate : rule.top) {
+                    byTop.get(predicate).add(r);
+                }
+            } else {
+                unconditional.add(r);
+            }
+        }
+        this.rulesByFramePredicate = toArrays(byFrame);
+        this.rulesByTopPredicate = toArrays(byTop);
+        this.unconditionalRules = unconditional.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * 규칙을 검증하고 컴파일한다. 잘못된 규칙은 건너뛰고 이유를 errors 에 추가한다.
+     */
+    static RulePlan compile(RuleSet ruleSet, List<String> errors) {
+        Map<String, List<String>> keywordSetDefinitions = ruleSet.getKeywordSets() != null
+                ? ruleSet.getKeywordSets() : Map.of();
+        List<RuleDefinition> definitions = ruleSet.getRules() != null ? ruleSet.getRules() : List.of();
+
+        // 1. 유효한 규칙 선별
+        List<RuleDefinition> valid = new ArrayList<>();
+        for (RuleDefinition definition : definitions) {
+            if (!definition.isEnabled()) {
+                continue;
+            }
+            String error = validate(definition, keywordSetDefinitions);
+            if (error != null) {
+                errors.add("규칙 " + (definition.getName() != null ? definition.getName() : "(이름 없음)")
+                        + (definition.getSource() != null ? " [" + definition.getSource() + "]" : "") + ": " + error);
+            } else {
+                valid.add(definition);
+            }
+        }
+
+        // 2. 서로 다른 키워드마다 술어 하나 (같은 키워드는 규칙이 몇 개든 한 번만 매칭)
+        Map<String, List<String>> predicates = new LinkedHashMap<>();
+        keywordSetDefinitions.values().forEach(keywords -> addPredicates(predicates, keywords));
+        for (RuleDefinition definition : valid) {
+            RuleMatch match = definition.getMatch();
+            addPredicates(predicates, match.getAnyFrame());
+            addPredicates(predicates, match.getAllFrames());
+            addPredicates(predicates, match.getNoFrame());
+            addPredicates(predicates, match.getTopFrame());
+        }
+        KeywordMatcher matcher = new KeywordMatcher(predicates);
+
+        Map<String, int[]> keywordSets = new HashMap<>();
+        keywordSetDefinitions.forEach((name, keywords) -> keywordSets.put(name, predicateIndexes(matcher, keywords)));
+
+        // 3. 규칙 조건을 술어 번호로 변환
+        List<CompiledRule> rules = new ArrayList<>();
+        for (RuleDefinition definition : valid) {
+            RuleMatch match = definition.getMatch();
+            Set<Integer> any = new LinkedHashSet<>();
+            if (match.getKeywordSets() != null) {
+                for (String keywordSet : match.getKeywordSets()) {
+                    for (int predicate : keywordSets.get(keywordSet)) {
+                        any.add(predicate);
+                    }
+                }
+            }
+            for (int predicate : predicateIndexes(matcher, match.getAnyFrame())) {
+                any.add(predicate);
+            }
+            rules.add(new CompiledRule(definition,
+                    any.stream().mapToInt(Integer::intValue).toArray(),
+                    predicateIndexes(matcher, match.getAllFrames()),
+                    predicateIndexes(matcher, match.getNoFrame()),
+                    predicateIndexes(matcher, match.getTopFrame())));
+        }
+        return new RulePlan(matcher, rules, keywordSets);
+    }
+
+    // 규칙 하나의 오류 메시지 (정상이면 null)
+    private static String validate(RuleDefinition definition, Map<String, List<String>> keywordSets) {
+        if (definition.getName() == null || definition.getName().isBlank()) {
+            return "name 이 없습니다";
+        }
+        if (definition.getSeverity() == null || !SEVERITIES.contains(definition.getSeverity())) {
+            return "severity 는 " + SEVERITIES + " 중 하나여야 합니다: " + definition.getSeverity();
+        }
+        if (definition.getConfidence() < 0 || definition.getConfidence() > 1) {
+            return "confidence 는 0 ~ 1 이어야 합니다: " + definition.getConfidence();
+        }
+        if (definition.getMinThreads() < 1) {
+            return "minThreads 는 1 이상이어야 합니다: " + definition.getMinThreads();
+        }
+        if (definition.getDescription() == null) {
+            return "description 이 없습니다";
+        }
+        RuleMatch match = definition.getMatch();
+        if (match == null || (isEmpty(match.getKeywordSets()) && isEmpty(match.getAnyFrame())
+                && isEmpty(match.getAllFrames()) && isEmpty(match.getNoFrame()) && isEmpty(match.getTopFrame())
+                && isEmpty(match.getStates()) && isEmpty(match.getThreadNames()))) {
+            return "match 조건이 없습니다";
+        }
+        if (match.getKeywordSets() != null) {
+            for (String keywordSet : match.getKeywordSets()) {
+                if (!keywordSets.containsKey(keywordSet)) {
+                    return "알 수 없는 keywordSet: " + keywordSet;
+                }
+                if (isEmpty(keywordSets.get(keywordSet))) {
+                    return "keywordSet 에 키워드가 없습니다: " + keywordSet;
+                }
+            }
+        }
+        for (List<String> keywords : Arrays.asList(match.getAnyFrame(), match.getAllFrames(), match.getNoFrame(),
+                match.getTopFrame(), match.getThreadNames())) {
+            if (keywords != null && keywords.stream().anyMatch(keyword -> keyword == null || keyword.isEmpty())) {
+                return "빈 키워드가 있습니다";
+            }
+        }
+        return null;
+    }
+
+    private static boolean isEmpty(List<String> values) {
+        return values == null || values.isEmpty();
+    }
+
+    private static void addPredicates(Map<String, List<String>> predicates, List<String> keywords) {
+        if (keywords != null) {
+            for (String keyword : keywords) {
+                if (keyword != null && !keyword.isEmpty()) {
+                    predicates.computeIfAbsent(keyword, k -> List.of(k));
+                }
+            }
+        }
+    }
+
+    private static int[] predicateIndexes(KeywordMatcher matcher, List<String> keywords) {
+        if (keywords == null || keywords.isEmpty()) {
+            return NONE;
+        }
+        return keywords.stream().mapToInt(matcher::indexOf).filter(index -> index >= 0).distinct().toArray();
+    }
+
+    private static int[][] toArrays(List<List<Integer>> lists) {
+        int[][] arrays = new int[lists.size()][];
+        for (int i = 0; i < arrays.length; i++) {
+            arrays[i] = lists.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return arrays;
+    }
+
+    int ruleCount() {
+        return rules.size();
+    }
+
+    int keywordSetCount() {
+        return keywordSets.size();
+    }
+
+    int predicateCount() {
+        return matcher.patternCount();
+    }
+
+    List<RuleDefinition> getRules() {
+        List<RuleDefinition> definitions = new ArrayList<>();
+        rules.forEach(rule -> definitions.add(rule.definition));
+        return definitions;
+    }
+
+    /**
+     * 분석 하나의 평가 상태 (프레임별 매칭 캐시와 규칙별 누적). 한 스레드에서만 사용한다.
+     */
+    Evaluation newEvaluation(FrameTable frameTable) {
+        return new Evaluation(frameTable);
+    }
+
+    /**
+     * 규칙 이름 또는 키워드 묶음 이름에 해당하는 스레드 필터. 모르는 이름이면 null.
+     * 스레드 수 조건(minThreads)은 보지 않는다.
+     */
+    Predicate<ThreadInfo> threadFilter(FrameTable frameTable, String name) {
+        Integer ruleIndex = ruleIndexes.get(name);
+        int[] keywordSet = keywordSets.get(name);
+        if (ruleIndex == null && keywordSet == null) {
+            return null;
+        }
+        StackMatcher stackMatcher = new StackMatcher(frameTable);
+        if (ruleIndex != null) {
+            CompiledRule rule = rules.get(ruleIndex);
+            return thread -> {
+                stackMatcher.match(thread);
+                return rule.matches(stackMatcher.frameBits, stackMatcher.topBits, thread)
+                        && rule.matchesThreadName(thread.getThreadName());
+            };
+        }
+        return thread -> {
+            stackMatcher.match(thread);
+            return anyOf(stackMatcher.frameBits, keywordSet);
+        };
+    }
+
+    private static boolean anyOf(BitSet bits, int[] predicates) {
+        for (int predicate : predicates) {
+            if (bits.get(predicate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    final class Evaluation {
+        private final StackMatcher stackMatcher;
+        private final BitSet candidates = new BitSet(rules.size());
+        // 규칙별 누적 (매칭된 규칙만 생성)
+        private final Accumulator[] accumulators = new Accumulator[rules.size()];
+
+        private Evaluation(FrameTable frameTable) {
+            this.stackMatcher = new StackMatcher(frameTable);
+        }
+
+        /**
+         * 동일 스택 그룹을 대표 스레드로 한 번 평가하고 그룹의 스레드 수만큼 반영한다.
+         */
+        void accept(StackGroup group) {
+            ThreadInfo thread = group.getRepresentative();
+            stackMatcher.match(thread);
+            BitSet frameBits = stackMatcher.frameBits;
+            BitSet topBits = stackMatcher.topBits;
+
+            // 트리거 술어가 매칭된 규칙만 후보
+            candidates.clear();
+            for (int predicate = frameBits.nextSetBit(0); predicate >= 0; predicate = frameBits.nextSetBit(predicate + 1)) {
+                for (int rule : rulesByFramePredicate[predicate]) {
+                    candidates.set(rule);
+                }
+            }
+            for (int predicate = topBits.nextSetBit(0); predicate >= 0; predicate = topBits.nextSetBit(predicate + 1)) {
+                for (int rule : rulesByTopPredicate[predicate]) {
+                    candidates.set(rule);
+                }
+            }
+            for (int rule : unconditionalRules) {
+                candidates.set(rule);
+            }
+
+            for (int r = candidates.nextSetBit(0); r >= 0; r = candidates.nextSetBit(r + 1)) {
+                CompiledRule rule = rules.get(r);
+                if (!rule.matches(frameBits, topBits, thread)) {
+                    continue;
+                }
+                Accumulator accumulator = accumulators[r];
+                if (accumulator == null) {
+                    accumulator = new Accumulator();
+                    accumulators[r] = accumulator;
+                }
+                if (rule.threadNames == null) {
+                    accumulator.count += group.getCount();
+                    accumulator.threadNames.addAll(group.getThreadNames());
+                } else {
+                    for (String threadName : group.getThreadNames()) {
+                        if (rule.matchesThreadName(threadName)) {
+                            accumulator.count++;
+                            accumulator.threadNames.add(threadName);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * 스레드 수 조건을 만족한 규칙을 규칙 순서대로 ProblemPattern 으로 만든다.
+         */
+        List<ProblemPattern> toPatterns() {
+            List<ProblemPattern> patterns = new ArrayList<>();
+            for (int r = 0; r < accumulators.length; r++) {
+                Accumulator accumulator = accumulators[r];
+                RuleDefinition definition = rules.get(r).definition;
+                if (accumulator == null || accumulator.count == 0 || accumulator.count < definition.getMinThreads()) {
+                    continue;
+                }
+                ProblemPattern pattern = new ProblemPattern(
+                    definition.getName(),
+                    definition.getDescription().replace("{count}", String.valueOf(accumulator.count)),
+                    definition.getSeverity(),
+                    accumulator.count,
+                    definition.getConfidence(),
+                    definition.getRootCause(),
+                    definition.getSolution()
+                );
+                pattern.setRelatedThreads(accumulator.threadNames);
+                patterns.add(pattern);
+            }
+            return patterns;
+        }
+    }
+
+    /**
+     * 스레드 스택의 술어 매칭. 고유 프레임별 결과를 캐시하여 같은 프레임은 한 번만 스캔한다.
+     */
+    private final class StackMatcher {
+        private final FrameTable frameTable;
+        private final BitSet[] frameMatches;
+        private final BitSet scratch = new BitSet();
+        private final BitSet scratchTop = new BitSet();
+        private BitSet frameBits;
+        private BitSet topBits;
+
+        StackMatcher(FrameTable frameTable) {
+            this.frameTable = frameTable;
+            this.frameMatches = frameTable != null ? new BitSet[frameTable.size()] : null;
+        }
+
+        void match(ThreadInfo thread) {
+            scratch.clear();
+            frameBits = scratch;
+            if (frameTable == null || thread.getFrameIds() == null || thread.getFrameTable() != frameTable) {
+                // 프레임 테이블이 없는 스레드는 스택 트레이스 전체를 스캔
+                matcher.match(thread.getStackTrace(), scratch);
+                scratchTop.clear();
+                List<String> frames = thread.getStackFrames();
+                if (frames != null && !frames.isEmpty()) {
+                    matcher.match(frames.get(0), scratchTop);
+                }
+                topBits = scratchTop;
+                return;
+            }
+            int[] frameIds = thread.getFrameIds();
+            for (int frameId : frameIds) {
+                scratch.or(frameMatch(frameId));
+            }
+            if (frameIds.length > 0) {
+                topBits = frameMatch(frameIds[0]);
+            } else {
+                scratchTop.clear();
+                topBits = scratchTop;
+            }
+        }
+
+        private BitSet frameMatch(int frameId) {
+            BitSet frameMatch = frameMatches[frameId];
+            if (frameMatch == null) {
+                frameMatch = matcher.match(frameTable.getFrame(frameId));
+                frameMatches[frameId] = frameMatch;
+            }
+            return frameMatch;
+        }
+    }
+
+    private static final class CompiledRule {
+        private final RuleDefinition definition;
+        private final int[] any;
+        private final int[] all;
+        private final int[] none;
+        private final int[] top;
+        private final Set<String> states;
+        private final List<String> threadNames;
+
+        CompiledRule(RuleDefinition definition, int[] any, int[] all, int[] none, int[] top) {
+            this.definition = definition;
+            this.any = any;
+            this.all = all;
+            this.none = none;
+            this.top = top;
+            RuleMatch match = definition.getMatch();
+            this.states = isEmpty(match.getStates()) ? null : new HashSet<>(match.getStates());
+            this.threadNames = isEmpty(match.getThreadNames()) ? null : List.copyOf(match.getThreadNames());
+        }
+
+        // 스레드 이름을 제외한 조건 (스택 그룹 단위로 같음)
+        boolean matches(BitSet frameBits, BitSet topBits, ThreadInfo thread) {
+            if (any.length > 0 && !anyOf(frameBits, any)) {
+                return false;
+            }
+            for (int predicate : all) {
+                if (!frameBits.get(predicate)) {
+                    return false;
+                }
+            }
+            for (int predicate : none) {
+                if (frameBits.get(predicate)) {
+                    return false;
+                }
+            }
+            if (top.length > 0 && !anyOf(topBits, top)) {
+                return false;
+            }
+            return states == null || states.contains(thread.getJavaLangThreadState());
+        }
+
+        boolean matchesThreadName(String threadName) {
+            if (threadNames == null) {
+                return true;
+            }
+            if (threadName == null) {
+                return false;
+            }
+            for (String part : threadNames) {
+                if (threadName.contains(part)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // 규칙 하나에 대한 매칭 스레드 수와 이름 누적
+    private static final class Accumulator {
+        private int count;
+        private final List<String> threadNames = new ArrayList<>();
+    }
+}
@@ -1,35 +1,320 @@
 package com.archithreads.analyzer.service;
 
 import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import com.archithreads.analyzer.model.ThreadIndex;
 import com.archithreads.analyzer.model.ProblemPattern;
+import com.archithreads.analyzer.model.ThreadInfo;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.io.input.ProxyInputStream;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class ThreadDumpAnalyzerService {
 
+    public static final String PHASE_PARSING = "PARSING";
+    public static final String PHASE_ANALYZING = "ANALYZING";
+
+    // 파싱 이후 순서대로 실행되는 분석 단계
+    public static final String ANALYZER_LOCK_GRAPH = "LOCK_GRAPH";
+    public static final String ANALYZER_PATTERNS = "PATTERNS";
+    public static final String ANALYZER_SUMMARY = "SUMMARY";
+    public static final List<String> ANALYZERS = List.of(ANALYZER_LOCK_GRAPH, ANALYZER_PATTERNS, ANALYZER_SUMMARY);
+
     @Autowired
     private ThreadDumpParser parser;
 
     @Autowired
     private PatternAnalyzer patternAnalyzer;
 
+    @Autowired
+    private LockGraphAnalyzer lockGraphAnalyzer;
+
+    @Autowired
+    private AnalysisStore analysisStore;
+
+    @Autowired
+    private AnalysisCache analysisCache;
+
+    @Autowired
+    private AnalysisArchive analysisArchive;
+
+    @Autowired
+    private AnalysisMetrics metrics;
+
+    @Autowired
+    private CompressedDumpReader compressedDumpReader;
+
+    // 이 크기 이상의 업로드는 임시 파일로 옮겨 메모리 매핑으로 파싱
+    @Value("${analyzer.parser.mapped-threshold:32MB}")
+    private DataSize mappedThreshold;
+
+    // 매핑이 아직 해제되지 않아 지우지 못한 임시 파일 (Windows). 매핑이 GC 로 해제된 뒤 다시 지운다
+    private final Queue<Path> pendingDeletes = new ConcurrentLinkedQueue<>();
+
     public ThreadDumpAnalysis analyzeThreadDump(String threadDumpContent) {
+        // 같은 내용을 다시 제출한 경우 캐시된 결과 반환
+        String cacheKey = analysisCache.keyOf(threadDumpContent);
+        ThreadDumpAnalysis cached = cachedAnalysis(cacheKey, threadDumpContent.length(), AnalysisProgressListener.NONE);
+        if (cached != null) {
+            return cached;
+        }
+        
         // Thread Dump 파싱
         ThreadDumpAnalysis analysis = parser.parseThreadDump(threadDumpContent);
         
+        return cache(cacheKey, analyze(analysis));
+    }
+
+    public ThreadDumpAnalysis analyzeThreadDump(InputStream threadDumpStream) throws IOException {
+        // 업로드 스트림을 한 줄씩 파싱 (전체 내용을 메모리에 올리지 않음)
+        ThreadDumpAnalysis analysis = parser.parseThreadDump(threadDumpStream);
+        
+        return analyze(analysis);
+    }
+
+    /**
+     * 임시 파일로 스풀링된 덤프를 분석하면서 진행 상황을 listener 로 보고한다.
+     */
+    public ThreadDumpAnalysis analyzeThreadDump(Path dumpFile, AnalysisProgressListener listener) throws IOException {
+        long size = Files.size(dumpFile);
+        String cacheKey;
+        try (InputStream inputStream = Files.newInputStream(dumpFile)) {
+            cacheKey = analysisCache.keyOf(inputStream);
+        }
+        ThreadDumpAnalysis cached = cachedAnalysis(cacheKey, size, listener);
+        if (cached != null) {
+            return cached;
+        }
+        
+        ThreadDumpAnalysis analysis;
+        if (size < mappedThreshold.toBytes()) {
+            try (InputStream inputStream = Files.newInputStream(dumpFile)) {
+                analysis = parseWithProgress(inputStream, listener);
+            }
+        } else {
+            listener.phaseStarted(PHASE_PARSING);
+            analysis = parser.parseMappedFile(dumpFile, threadListener(listener));
+            listener.bytesParsed(size);
+        }
+        
+        return cache(cacheKey, analyze(analysis, listener));
+    }
+
+    /**
+     * 아직 끝을 모르는 스트림(도착 중인 분할 업로드 등)을 읽는 대로 파싱하면서 진행 상황을 보고한다.
+     * 내용 해시를 미리 구할 수 없으므로 캐시를 거치지 않는다.
+     */
+    public ThreadDumpAnalysis analyzeThreadDump(InputStream threadDumpStream, AnalysisProgressListener listener) throws IOException {
+        return analyze(parseWithProgress(threadDumpStream, listener), listener);
+    }
+
+    private ThreadDumpAnalysis parseWithProgress(InputStream threadDumpStream, AnalysisProgressListener listener) throws IOException {
+        listener.phaseStarted(PHASE_PARSING);
+        InputStream inputStream = new ProxyInputStream(threadDumpStream) {
+            private long bytesRead;
+
+            @Override
+            protected void afterRead(int n) {
+                if (n > 0) {
+                    bytesRead += n;
+                    listener.bytesParsed(bytesRead);
+                }
+            }
+        };
+        return parser.parseThreadDump(inputStream, threadListener(listener));
+    }
+
+    private static Consumer<ThreadInfo> threadListener(AnalysisProgressListener listener) {
+        int[] threadCount = new int[1];
+        return thread -> listener.threadsParsed(++threadCount[0]);
+    }
+
+    public ThreadDumpAnalysis analyzeThreadDump(MultipartFile file) throws IOException {
+        // 업로드 내용을 한 번 읽어 캐시 키 계산 (같은 파일의 반복 업로드는 파싱 생략)
+        String cacheKey;
+        try (InputStream inputStream = file.getInputStream()) {
+            cacheKey = analysisCache.keyOf(inputStream);
+        }
+        ThreadDumpAnalysis cached = cachedAnalysis(cacheKey, file.getSize(), AnalysisProgressListener.NONE);
+        if (cached != null) {
+            return cached;
+        }
+        
+        if (file.getSize() < mappedThreshold.toBytes()) {
+            try (InputStream inputStream = file.getInputStream()) {
+                return cache(cacheKey, analyzeThreadDump(inputStream));
+            }
+        }
+        
+        // 대용량 덤프: 임시 파일로 스풀링 후 매핑 파싱
+        Path spoolFile = Files.createTempFile("threaddump-", ".txt");
+        try {
+            file.transferTo(spoolFile);
+            return cache(cacheKey, analyze(parser.parseMappedFile(spoolFile)));
+        } finally {
+            deleteSpoolFile(spoolFile);
+        }
+    }
+
+    /**
+     * 업로드 파일을 분석한다. gzip / zip / tar.gz 이면 압축을 풀면서 안의 덤프마다 분석하여
+     * (항목 이름 -> 분석 결과)를 압축 파일 안의 순서대로 돌려준다. 스레드가 없는 항목(README 등)은 제외한다.
+     */
+    public Map<String, ThreadDumpAnalysis> analyzeUpload(MultipartFile file) throws IOException {
+        Map<String, ThreadDumpAnalysis> analyses = new LinkedHashMap<>();
+        try (InputStream inputStream = new BufferedInputStream(file.getInputStream())) {
+            if (!compressedDumpReader.isCompressed(inputStream)) {
+                analyses.put(file.getOriginalFilename(), analyzeThreadDump(file));
+                return analyses;
+            }
+            
+            // 압축 업로드는 캐시하지 않음 (내용 해시를 구하려면 압축을 한 번 더 풀어야 함)
+            compressedDumpReader.readDumps(file.getOriginalFilename(), inputStream, (name, content) -> {
+                ThreadDumpAnalysis analysis = parser.parseThreadDump(content);
+                if (analysis.getTotalThreads() > 0) {
+                    analyses.put(name, analyze(analysis));
+                }
+            });
+        }
+        
+        if (analyses.isEmpty()) {
+            throw new IOException("압축 파일에서 Thread Dump 를 찾을 수 없습니다: " + file.getOriginalFilename());
+        }
+        return analyses;
+    }
+
+    private ThreadDumpAnalysis cachedAnalysis(String cacheKey, long size, AnalysisProgressListener listener) {
+        ThreadDumpAnalysis cached = analysisCache.get(cacheKey);
+        if (cached == null) {
+            return null;
+        }
+        // 진행 상황은 바로 완료로 보고하고, ID 조회가 가능하도록 다시 보관
+        listener.bytesParsed(size);
+        listener.threadsParsed(cached.getTotalThreads());
+        listener.phaseStarted(PHASE_ANALYZING);
+        ANALYZERS.forEach(listener::analyzerCompleted);
+        analysisStore.put(cached);
+        return cached;
+    }
+
+    private ThreadDumpAnalysis cache(String cacheKey, ThreadDumpAnalysis analysis) {
+        analysisCache.put(cacheKey, analysis);
+        return analysis;
+    }
+
+    /**
+     * 매핑 파싱에 쓴 임시 파일을 지운다. 결과는 매핑을 참조하지 않지만 (FrameTable.detach)
+     * Windows 는 매핑이 GC 로 해제되기 전에는 지울 수 없으므로 나중에 다시 시도한다.
+     */
+    void deleteSpoolFile(Path spoolFile) {
+        try {
+            Files.deleteIfExists(spoolFile);
+        } catch (IOException e) {
+            pendingDeletes.add(spoolFile);
+        }
+    }
+
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    public void retryPendingDeletes() {
+        pendingDeletes.removeIf(spoolFile -> {
+            try {
+                Files.deleteIfExists(spoolFile);
+                return true;
+            } catch (IOException e) {
+                return false;
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryPendingDeletes();
+        pendingDeletes.forEach(spoolFile -> spoolFile.toFile().deleteOnExit());
+    }
+
+    private ThreadDumpAnalysis analyze(ThreadDumpAnalysis analysis) {
+        return analyze(analysis, AnalysisProgressListener.NONE);
+    }
+
+    /**
+     * 덤프 파일 하나를 매핑하여 분석한다. 캐시/보관소/디스크 저장을 거치지 않는다 (배치 분석용).
+     */
+    public ThreadDumpAnalysis analyzeFile(Path dumpFile) throws IOException {
+        ThreadDumpAnalysis analysis = parser.parseMappedFile(dumpFile);
+        runAnalyzers(analysis, AnalysisProgressListener.NONE);
+        return analysis;
+    }
+
+    private ThreadDumpAnalysis analyze(ThreadDumpAnalysis analysis, AnalysisProgressListener listener) {
+        runAnalyzers(analysis, listener);
+        
+        // 결과 화면의 스레드 검색용 역색인 (배치 분석은 검색하지 않으므로 만들지 않음)
+        long started = System.nanoTime();
+        analysis.setThreadIndex(ThreadIndex.build(analysis.getThreads(), analysis.getFrameTable()));
+        metrics.record(analysis, AnalysisMetrics.PHASE_THREAD_INDEX, System.nanoTime() - started);
+        
+        // 결과를 ID 로 다시 조회할 수 있도록 보관 (메모리 + 디스크)
+        analysisStore.put(analysis);
+        analysisArchive.save(analysis);
+        
+        return analysis;
+    }
+
+    private void runAnalyzers(ThreadDumpAnalysis analysis, AnalysisProgressListener listener) {
+        listener.phaseStarted(PHASE_ANALYZING);
+        
+        // 락 wait-for 그래프로 데드락 사이클 탐지
+        long started = System.nanoTime();
+        lockGraphAnalyzer.analyze(analysis);
+        metrics.record(analysis, AnalysisMetrics.PHASE_LOCK_GRAPH, System.nanoTime() - started);
+        listener.analyzerCompleted(ANALYZER_LOCK_GRAPH);
+        
         // 패턴 분석 수행
+        started = System.nanoTime();
         List<ProblemPattern> patterns = patternAnalyzer.analyzePatterns(analysis);
+        metrics.record(analysis, AnalysisMetrics.PHASE_PATTERNS, System.nanoTime() - started);
+        listener.analyzerCompleted(ANALYZER_PATTERNS);
         
         // 상위 3개 문제점 설정
         analysis.setTopProblems(patterns.stream().limit(3).collect(Collectors.toList()));
         
         // 분석 요약 생성
+        started = System.nanoTime();
         analysis.setAnalysisSummary(generateAnalysisSummary(analysis, patterns));
-        
+        metrics.record(analysis, AnalysisMetrics.PHASE_SUMMARY, System.nanoTime() - started);
+        listener.analyzerCompleted(ANALYZER_SUMMARY);
+    }
+
+    /**
+     * 분석 ID 로 결과를 찾는다. 메모리에 없으면 디스크에 저장된 파일을 매핑하여 읽는다.
+     */
+    public ThreadDumpAnalysis findAnalysis(String analysisId) throws IOException {
+        ThreadDumpAnalysis analysis = analysisStore.get(analysisId);
+        if (analysis == null) {
+            analysis = analysisArchive.load(analysisId);
+            if (analysis != null) {
+                analysisStore.put(analysis);
+            }
+        }
         return analysis;
     }
 
@@ -59,8 +344,33 @@ public class ThreadDumpAnalyzerService {
             summary.append("심각한 문제점이 발견되지 않았습니다.\n");
         }
         
+        if (!analysis.getThreadPools().isEmpty()) {
+            summary.append("=== 스레드 풀 (상위 5개) ===\n");
+            analysis.getThreadPools().stream().limit(5).forEach(pool ->
+                    summary.append(pool.getPoolName()).append(": ").append(pool.getThreadCount()).append("개 (실행 ")
+                           .append(pool.getBusyThreads()).append(", 대기/차단 ").append(pool.getBlockedThreads())
+                           .append(", 유휴 ").append(pool.getIdleThreads()).append(")\n"));
+            summary.append("\n");
+        }
+        
+        if (!analysis.getCpuHotThreads().isEmpty()) {
+            summary.append("=== CPU 사용 상위 스레드 (상위 5개) ===\n");
+            analysis.getCpuHotThreads().stream().limit(5).forEach(usage ->
+                    summary.append(usage.getThreadName()).append(": ")
+                           .append(String.format("cpu %.2fs / 경과 %.1fs (%.1f%%)", usage.getCpuTimeMillis() / 1000,
+                                   usage.getElapsedTimeMillis() / 1000, usage.getCpuRatio() * 100))
+                           .append(", ").append(usage.getThreadState()).append("\n"));
+            summary.append("\n");
+        }
+        
         // 추가 권장사항
         summary.append("=== 권장사항 ===\n");
+        if (!analysis.getDeadlockThreads().isEmpty()) {
+            summary.append("- 데드락에 걸린 스레드: ").append(String.join(", ", analysis.getDeadlockThreads())).append("\n");
+        }
+        if (!analysis.getHighCpuThreads().isEmpty()) {
+            summary.append("- 수명 대비 CPU 사용률이 높은 스레드: ").append(String.join(", ", analysis.getHighCpuThreads())).append("\n");
+        }
         if (analysis.getBlockedThreads() > 5) {
             summary.append("- BLOCKED 스레드가 많습니다. 락 경합을 확인하세요.\n");
         }
@@ -0,0 +1,241 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.BatchDumpResult;
+import com.archithreads.analyzer.model.BatchSummary;
+import com.archithreads.analyzer.model.ProblemPattern;
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * 디렉토리(또는 glob)에 모인 덤프 파일을 병렬로 분석하여 덤프별 결과와 순위 요약을 파일로 쓴다.
+ */
+@Service
+public class ThreadDumpBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadDumpBatchService.class);
+
+    public static final String FORMAT_JSON = "json";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    private static final String SUMMARY_FILE = "summary.json";
+    private static final String NDJSON_FILE = "results.ndjson";
+
+    // 순위: 데드락 > 가장 심각한 문제 > BLOCKED 수 > 전체 스레드 수 (실패한 파일은 마지막)
+    private static final Comparator<BatchDumpResult> RANKING = Comparator
+            .comparing(BatchDumpResult::isFailed)
+            .thenComparing(Comparator.comparingInt(BatchDumpResult::getDeadlockThreads).reversed())
+            .thenComparing(Comparator.comparingInt((BatchDumpResult result) -> result.getTopSeverity() == null
+                    ? 0 : PatternAnalyzer.getSeverityScore(result.getTopSeverity())).reversed())
+            .thenComparing(Comparator.comparingInt(BatchDumpResult::getBlockedThreads).reversed())
+            .thenComparing(Comparator.comparingInt(BatchDumpResult::getTotalThreads).reversed());
+
+    @Autowired
+    private ThreadDumpAnalyzerService analyzerService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AnalysisJsonExporter jsonExporter;
+
+    // 동시에 분석하는 파일 수. 메모리 사용량은 이 수만큼의 분석 결과로 제한된다 (0 이면 CPU 수)
+    @Value("${analyzer.batch.parallelism:0}")
+    private int defaultParallelism;
+
+    /**
+     * inputs 는 디렉토리, 파일 또는 glob 패턴. 분석 결과는 outputDir 에 쓴다.
+     */
+    public BatchSummary run(List<String> inputs, Path outputDir, String format, int parallelism,
+                            boolean recursive) throws IOException, InterruptedException {
+        List<Path> dumpFiles = resolveInputs(inputs, recursive);
+        if (parallelism <= 0) {
+            parallelism = defaultParallelism > 0 ? defaultParallelism : Runtime.getRuntime().availableProcessors();
+        }
+        parallelism = Math.max(1, Math.min(parallelism, dumpFiles.size()));
+        Files.createDirectories(outputDir);
+
+        BatchSummary summary = new BatchSummary();
+        summary.setTotalFiles(dumpFiles.size());
+        summary.setParallelism(parallelism);
+        long started = System.nanoTime();
+
+        // NDJSON 은 하나의 파일에 덤프당 한 줄씩 (완료 순서대로) 기록
+        OutputStream ndjsonOut = FORMAT_NDJSON.equals(format)
+                ? new BufferedOutputStream(Files.newOutputStream(outputDir.resolve(NDJSON_FILE)), 256 * 1024)
+                : null;
+        // 파싱은 CPU 작업이므로 플랫폼 스레드 풀 사용. 작업에는 경로만 담아 두고 결과는 요약만 보관
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            Set<String> outputNames = new HashSet<>();
+            List<Future<BatchDumpResult>> futures = new ArrayList<>(dumpFiles.size());
+            for (Path dumpFile : dumpFiles) {
+                Path output = ndjsonOut == null ? outputDir.resolve(outputName(dumpFile, outputNames)) : null;
+                futures.add(executor.submit(() -> analyze(dumpFile, output, ndjsonOut)));
+            }
+            for (Future<BatchDumpResult> future : futures) {
+                BatchDumpResult result = future.get();
+                summary.getRanking().add(result);
+                summary.setTotalBytes(summary.getTotalBytes() + result.getFileSize());
+                if (result.isFailed()) {
+                    summary.setFailedFiles(summary.getFailedFiles() + 1);
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("배치 분석 실패", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            if (ndjsonOut != null) {
+                ndjsonOut.close();
+            }
+        }
+
+        summary.getRanking().sort(RANKING);
+        summary.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(outputDir.resolve(SUMMARY_FILE).toFile(), summary);
+        return summary;
+    }
+
+    private BatchDumpResult analyze(Path dumpFile, Path output, OutputStream ndjsonOut) {
+        BatchDumpResult result = new BatchDumpResult();
+        result.setFile(dumpFile.toString());
+        long started = System.nanoTime();
+        try {
+            result.setFileSize(Files.size(dumpFile));
+            ThreadDumpAnalysis analysis = analyzerService.analyzeFile(dumpFile);
+            summarize(analysis, result);
+
+            // 결과를 문자열로 만들지 않고 파일에 바로 쓴다 (한 줄은 다른 덤프와 섞이지 않도록 잠금 안에서)
+            if (ndjsonOut != null) {
+                synchronized (ndjsonOut) {
+                    jsonExporter.writeJson(analysis, ndjsonOut, null, null, true);
+                    ndjsonOut.write('\n');
+                }
+                result.setOutput(NDJSON_FILE);
+            } else {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(output), 256 * 1024)) {
+                    jsonExporter.writeJson(analysis, out, null, null, true);
+                }
+                result.setOutput(output.getFileName().toString());
+            }
+        } catch (Exception e) {
+            // 한 파일의 실패가 전체 배치를 멈추지 않도록 결과에 기록
+            log.warn("덤프 분석 실패: {}", dumpFile, e);
+            result.setError(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+        result.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+        return result;
+    }
+
+    private void summarize(ThreadDumpAnalysis analysis, BatchDumpResult result) {
+        result.setDumpTimestamp(analysis.getDumpTimestamp());
+        result.setTotalThreads(analysis.getTotalThreads());
+        result.setRunnableThreads(analysis.getRunnableThreads());
+        result.setBlockedThreads(analysis.getBlockedThreads());
+        result.setWaitingThreads(analysis.getWaitingThreads());
+        result.setDeadlockThreads(analysis.getDeadlockThreads() != null ? analysis.getDeadlockThreads().size() : 0);
+        List<ProblemPattern> problems = analysis.getTopProblems();
+        if (problems != null && !problems.isEmpty()) {
+            // topProblems 는 심각도 순으로 정렬되어 있음
+            result.setTopProblem(problems.get(0).getPatternName());
+            result.setTopSeverity(problems.get(0).getSeverity());
+        }
+    }
+
+    /**
+     * 입력 인자를 분석할 파일 목록으로 펼친다. 중복은 한 번만 포함하고 경로 순으로 정렬한다.
+     */
+    List<Path> resolveInputs(List<String> inputs, boolean recursive) throws IOException {
+        Set<Path> files = new TreeSet<>();
+        for (String input : inputs) {
+            int globStart = indexOfGlob(input);
+            if (globStart >= 0) {
+                // glob 문자 이전의 디렉토리부터 탐색 ("**" 는 하위 디렉토리까지)
+                int separator = Math.max(input.lastIndexOf('/', globStart), input.lastIndexOf('\\', globStart));
+                Path base = Paths.get(separator >= 0 ? input.substring(0, separator + 1) : ".");
+                PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + input);
+                try (Stream<Path> walk = Files.walk(base)) {
+                    // 상대 패턴("*.txt")은 현재 디렉토리 기준 경로와 비교
+                    walk.filter(Files::isRegularFile)
+                            .filter(file -> matcher.matches(separator >= 0 ? file : base.relativize(file)))
+                            .forEach(files::add);
+                }
+            } else {
+                Path path = Paths.get(input);
+                if (Files.isDirectory(path)) {
+                    try (Stream<Path> walk = Files.walk(path, recursive ? Integer.MAX_VALUE : 1)) {
+                        walk.filter(Files::isRegularFile)
+                                .filter(file -> !file.getFileName().toString().startsWith("."))
+                                .forEach(files::add);
+                    }
+                } else if (Files.isRegularFile(path)) {
+                    files.add(path);
+                } else {
+                    throw new NoSuchFileException(input);
+                }
+            }
+        }
+        return new ArrayList<>(files);
+    }
+
+    private static int indexOfGlob(String input) {
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == '{') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // 다른 디렉토리의 같은 파일명이 서로 덮어쓰지 않도록 번호를 붙인다
+    private static String outputName(Path dumpFile, Set<String> usedNames) {
+        String baseName = dumpFile.getFileName().toString();
+        String name = baseName + ".json";
+        for (int i = 2; !usedNames.add(name); i++) {
+            name = baseName + "-" + i + ".json";
+        }
+        return name;
+    }
+
+    /**
+     * 순위 요약을 표 형태로 출력한다.
+     */
+    public void printSummary(BatchSummary summary, Path outputDir, PrintStream out) {
+        out.printf("%d개 파일 분석 (실패 %d), %.1f MB, %d ms, %.1f MB/s, 병렬 %d%n",
+                summary.getTotalFiles(), summary.getFailedFiles(),
+                summary.getTotalBytes() / (1024.0 * 1024.0), summary.getElapsedMillis(),
+                summary.getMegabytesPerSecond(), summary.getParallelism());
+        out.printf("%-4s %-9s %-8s %-8s %-8s %-40s %s%n",
+                "순위", "DEADLOCK", "BLOCKED", "THREADS", "SEVERITY", "TOP PROBLEM", "FILE");
+        int rank = 1;
+        for (BatchDumpResult result : summary.getRanking()) {
+            if (result.isFailed()) {
+                out.printf("%-4d %-9s %-8s %-8s %-8s %-40s %s%n", rank++, "-", "-", "-", "ERROR",
+                        result.getError(), result.getFile());
+                continue;
+            }
+            out.printf("%-4d %-9d %-8d %-8d %-8s %-40s %s%n", rank++, result.getDeadlockThreads(),
+                    result.getBlockedThreads(), result.getTotalThreads(),
+                    result.getTopSeverity() != null ? result.getTopSeverity() : "-",
+                    result.getTopProblem() != null ? result.getTopProblem() : "-", result.getFile());
+        }
+        out.println("결과: " + outputDir.toAbsolutePath());
+    }
+}
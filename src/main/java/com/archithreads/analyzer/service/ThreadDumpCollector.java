@@ -0,0 +1,234 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.CallTree;
+import com.archithreads.analyzer.model.FrameTable;
+import com.archithreads.analyzer.model.StackGroup;
+import com.archithreads.analyzer.model.ThreadCpuUsage;
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import com.archithreads.analyzer.model.ThreadInfo;
+import com.archithreads.analyzer.model.ThreadPoolUsage;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * 파서가 덤프 순서대로 넘겨주는 스레드를 받아 스레드 목록, 스택 그룹, 호출 트리, 스레드 풀 현황을
+ * 한 번에 만들어 낸다. 스레드가 도착할 때마다 갱신되므로 별도의 2차 순회가 필요 없다.
+ */
+public class ThreadDumpCollector implements Consumer<ThreadInfo> {
+
+    // CPU 시간 순위에 남길 스레드 수
+    static final int CPU_HOT_LIMIT = 20;
+    // 수명의 절반 이상 CPU 를 쓴 스레드를 고CPU 로 본다 (막 시작한 스레드는 제외)
+    private static final double HIGH_CPU_RATIO = 0.5;
+    private static final double HIGH_CPU_MIN_ELAPSED_MILLIS = 10_000;
+
+    private final List<ThreadInfo> threads = new ArrayList<>();
+    private final Map<StackKey, Integer> groupIndexes = new HashMap<>();
+    private final List<StackGroup> stackGroups = new ArrayList<>();
+    private int[] groupLeaves = new int[64];
+    // 프레임 ID -> 스택 키 ID + 1 (락 라인은 주소를 뺀 텍스트별로 음수 ID 를 공유)
+    private int[] keyFrameIds = new int[256];
+    private final Map<String, Integer> lockLineIds = new HashMap<>();
+    // 스택 그룹별 풀 활동과 실행기 종류 (같은 스택이면 같으므로 그룹마다 한 번만 판별)
+    private final List<ThreadPools.Activity> groupActivities = new ArrayList<>();
+    private final List<String> groupExecutorTypes = new ArrayList<>();
+    private final Map<String, ThreadPoolUsage> pools = new HashMap<>();
+    private CallTree callTree;
+
+    @Override
+    public void accept(ThreadInfo thread) {
+        threads.add(thread);
+
+        // 상태 + 프레임 ID 로 스택 시그니처 계산 후 그룹에 추가
+        // (락 라인의 <0x...> 주소는 스레드마다 달라도 같은 스택으로 묶음)
+        StackKey key = new StackKey(thread.getJavaLangThreadState(), keyFrameIds(thread));
+        thread.setStackSignature(key.signature);
+        Integer groupIndex = groupIndexes.get(key);
+        if (groupIndex == null) {
+            groupIndex = stackGroups.size();
+            stackGroups.add(new StackGroup(Long.toHexString(key.signature), thread));
+            groupIndexes.put(key, groupIndex);
+
+            // 새 스택만 호출 트리에 경로를 등록하고, 같은 스택은 등록된 말단 노드만 재사용
+            if (groupIndex == groupLeaves.length) {
+                groupLeaves = Arrays.copyOf(groupLeaves, groupIndex * 2);
+            }
+            groupLeaves[groupIndex] = addToCallTree(thread);
+            groupActivities.add(ThreadPools.activity(thread));
+            groupExecutorTypes.add(ThreadPools.executorType(thread));
+        }
+        stackGroups.get(groupIndex).addThread(thread);
+        if (callTree != null && groupLeaves[groupIndex] >= 0) {
+            callTree.addSamples(groupLeaves[groupIndex], 1);
+        }
+        addToPool(thread, groupIndex);
+    }
+
+    public void complete(ThreadDumpAnalysis analysis) {
+        analysis.setThreads(threads);
+        analysis.setCallTree(callTree);
+
+        // 많은 스레드가 모인 그룹부터
+        List<StackGroup> groups = new ArrayList<>(stackGroups);
+        groups.sort(Comparator.comparingInt(StackGroup::getCount).reversed());
+        analysis.setStackGroups(groups);
+
+        // 여러 스레드로 이루어졌거나 실행기 작업 스레드인 풀만, 큰 풀부터
+        List<ThreadPoolUsage> threadPools = new ArrayList<>();
+        for (ThreadPoolUsage pool : pools.values()) {
+            if (pool.getThreadCount() > 1 || pool.getExecutorType() != null) {
+                threadPools.add(pool);
+            }
+        }
+        threadPools.sort(Comparator.comparingInt(ThreadPoolUsage::getThreadCount).reversed()
+                .thenComparing(ThreadPoolUsage::getPoolName));
+        analysis.setThreadPools(threadPools);
+
+        rankCpuUsage(analysis);
+    }
+
+    // 헤더에 cpu= / elapsed= 가 있는 스레드만 순위에 포함
+    private void rankCpuUsage(ThreadDumpAnalysis analysis) {
+        List<ThreadCpuUsage> usages = new ArrayList<>();
+        for (ThreadInfo thread : threads) {
+            if (thread.getCpuTimeMillis() == null || thread.getElapsedTimeMillis() == null) {
+                continue;
+            }
+            ThreadCpuUsage usage = new ThreadCpuUsage(thread.getThreadName(), thread.getNid(),
+                    thread.getJavaLangThreadState(), thread.getCpuTimeMillis(), thread.getElapsedTimeMillis());
+            usage.setTopFrame(topFrame(thread));
+            usages.add(usage);
+        }
+
+        List<ThreadCpuUsage> highCpu = new ArrayList<>();
+        for (ThreadCpuUsage usage : usages) {
+            if (usage.getElapsedTimeMillis() >= HIGH_CPU_MIN_ELAPSED_MILLIS && usage.getCpuRatio() >= HIGH_CPU_RATIO) {
+                highCpu.add(usage);
+            }
+        }
+        highCpu.sort(Comparator.comparingDouble(ThreadCpuUsage::getCpuRatio).reversed());
+        List<String> highCpuThreads = new ArrayList<>();
+        for (ThreadCpuUsage usage : highCpu) {
+            highCpuThreads.add(usage.getThreadName());
+        }
+        analysis.setHighCpuThreads(highCpuThreads);
+
+        usages.sort(Comparator.comparingDouble(ThreadCpuUsage::getCpuTimeMillis).reversed());
+        analysis.setCpuHotThreads(new ArrayList<>(usages.subList(0, Math.min(CPU_HOT_LIMIT, usages.size()))));
+    }
+
+    static String topFrame(ThreadInfo thread) {
+        for (String frame : thread.getStackFrames()) {
+            if (frame.startsWith("at ")) {
+                return frame.substring(3);
+            }
+        }
+        return null;
+    }
+
+    // 자바 프레임이 없는 JVM 내부 스레드는 풀로 집계하지 않음
+    private void addToPool(ThreadInfo thread, int groupIndex) {
+        ThreadPools.Activity activity = groupActivities.get(groupIndex);
+        if (activity == null) {
+            return;
+        }
+        ThreadPoolUsage pool = pools.computeIfAbsent(ThreadPools.poolName(thread), ThreadPoolUsage::new);
+        pool.setThreadCount(pool.getThreadCount() + 1);
+        switch (activity) {
+            case IDLE: pool.setIdleThreads(pool.getIdleThreads() + 1); break;
+            case BLOCKED: pool.setBlockedThreads(pool.getBlockedThreads() + 1); break;
+            default: pool.setBusyThreads(pool.getBusyThreads() + 1); break;
+        }
+        if (pool.getExecutorType() == null) {
+            pool.setExecutorType(groupExecutorTypes.get(groupIndex));
+        }
+    }
+
+    private int[] keyFrameIds(ThreadInfo thread) {
+        int[] frameIds = thread.getFrameIds();
+        FrameTable frameTable = thread.getFrameTable();
+        if (frameIds == null || frameTable == null) {
+            return frameIds;
+        }
+        int[] keyIds = frameIds;
+        for (int i = 0; i < frameIds.length; i++) {
+            int keyId = keyFrameId(frameTable, frameIds[i]);
+            if (keyId != frameIds[i]) {
+                if (keyIds == frameIds) {
+                    keyIds = frameIds.clone();
+                }
+                keyIds[i] = keyId;
+            }
+        }
+        return keyIds;
+    }
+
+    // 고유 프레임마다 한 번만 텍스트를 확인
+    private int keyFrameId(FrameTable frameTable, int frameId) {
+        if (frameId >= keyFrameIds.length) {
+            keyFrameIds = Arrays.copyOf(keyFrameIds, Math.max(frameId + 1, keyFrameIds.length * 2));
+        }
+        if (keyFrameIds[frameId] == 0) {
+            keyFrameIds[frameId] = lockLineId(frameTable.getFrame(frameId), frameId) + 1;
+        }
+        return keyFrameIds[frameId] - 1;
+    }
+
+    private int lockLineId(String frame, int frameId) {
+        if (frame.startsWith("at ")) {
+            return frameId;
+        }
+        int start = frame.indexOf('<');
+        int end = frame.indexOf('>', start + 1);
+        if (start < 0 || end < 0) {
+            return frameId;
+        }
+        String withoutAddress = frame.substring(0, start) + frame.substring(end + 1);
+        return -2 - lockLineIds.computeIfAbsent(withoutAddress, text -> lockLineIds.size());
+    }
+
+    private int addToCallTree(ThreadInfo thread) {
+        if (thread.getFrameTable() == null || thread.getFrameIds() == null) {
+            return -1;
+        }
+        if (callTree == null) {
+            callTree = new CallTree(thread.getFrameTable());
+        }
+        return callTree.addStack(thread.getFrameIds());
+    }
+
+    private static final class StackKey {
+        private final String state;
+        private final int[] frameIds;
+        private final long signature;
+
+        StackKey(String state, int[] frameIds) {
+            this.state = state;
+            this.frameIds = frameIds != null ? frameIds : new int[0];
+
+            // FNV-1a 64비트
+            long hash = 0xcbf29ce484222325L;
+            hash = (hash ^ (state != null ? state.hashCode() : 0)) * 0x100000001b3L;
+            for (int frameId : this.frameIds) {
+                hash = (hash ^ frameId) * 0x100000001b3L;
+            }
+            this.signature = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof StackKey)) return false;
+            StackKey other = (StackKey) o;
+            return signature == other.signature
+                    && Objects.equals(state, other.state)
+                    && Arrays.equals(frameIds, other.frameIds);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(signature);
+        }
+    }
+}
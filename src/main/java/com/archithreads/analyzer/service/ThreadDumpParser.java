@@ -1,188 +1,784 @@
 package com.archithreads.analyzer.service;
 
+import com.archithreads.analyzer.model.DeadlockCycle;
+import com.archithreads.analyzer.model.FrameTable;
 import com.archithreads.analyzer.model.ThreadInfo;
 import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import org.apache.commons.io.input.ProxyInputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Service
 public class ThreadDumpParser {
 
-    private static final Pattern THREAD_HEADER_PATTERN = Pattern.compile(
-        "\"([^\"]+)\"\\s+(?:#(\\d+)\\s+)?(?:daemon\\s+)?(?:prio=(\\d+)\\s+)?(?:os_prio=(\\d+)\\s+)?(?:tid=(0x[0-9a-fA-F]+)\\s+)?(?:nid=(0x[0-9a-fA-F]+)\\s+)?(?:nativeId=(0x[0-9a-fA-F]+)\\s+)?(?:javaThreadId=(\\d+)\\s+)?\\[([^\\]]+)\\]"
-    );
-
+    // 그룹 1: 대기 종류 (Object.wait / 모니터 진입 / wait() 후 재진입 / LockSupport.park)
     private static final Pattern LOCK_INFO_PATTERN = Pattern.compile(
-        "-\\s+(?:waiting\\s+on|parking\\s+to\\s+wait\\s+for)\\s+<([^>]+)>\\s+\\(a\\s+([^)]+)\\)"
+        "-\\s+(waiting\\s+on|waiting\\s+to\\s+lock|waiting\\s+to\\s+re-lock\\s+in\\s+wait\\(\\)|parking\\s+to\\s+wait\\s+for)\\s+<([^>]+)>\\s+\\(a\\s+([^)]+)\\)"
     );
 
     private static final Pattern LOCK_OWNER_PATTERN = Pattern.compile(
         "-\\s+locked\\s+<([^>]+)>\\s+\\(a\\s+([^)]+)\\)"
     );
 
+    // "Locked ownable synchronizers:" 섹션의 항목
+    private static final Pattern SYNCHRONIZER_PATTERN = Pattern.compile(
+        "-\\s+<([^>]+)>\\s+\\(a\\s+([^)]+)\\)"
+    );
+
+    // JVM 이 출력하는 "Found one Java-level deadlock:" 섹션의 스레드 이름 라인
+    private static final Pattern DEADLOCK_THREAD_PATTERN = Pattern.compile(
+        "\"(.+)\":"
+    );
+
     private static final Pattern BLOCKED_TIME_PATTERN = Pattern.compile(
-        "java\\.lang\\.Thread\\.State:\\s+(\\w+)(?:\\s+\\(at\\s+([^)]+)\\))?"
+        "java\\.lang\\.Thread\\.State:\\s+(\\w+)(?:\\s+\\((?:at\\s+)?([^)]+)\\))?"
     );
 
+    private static final Pattern TIMESTAMP_PATTERN = Pattern.compile(
+        "(\\d{4}-\\d{2}-\\d{2}\\s+\\d{2}:\\d{2}:\\d{2})"
+    );
+
+    private static final Pattern JVM_PATTERN = Pattern.compile(
+        "Java HotSpot\\(TM\\)\\s+(\\d+-Bit\\s+)?Server\\s+VM\\s+\\(([^)]+)\\)"
+    );
+
+    private static final Pattern ARGS_PATTERN = Pattern.compile(
+        "Command line arguments:\\s*([^\\n]+)"
+    );
+
+    // 첫 스레드 헤더 이전의 JVM 정보 영역에서 보관할 최대 라인 수
+    private static final int MAX_HEADER_LINES = 64;
+
+    // JSON 형식 판별 시 건너뛸 수 있는 선행 공백의 최대 길이
+    private static final int FORMAT_DETECT_LIMIT = 4096;
+
+    // 이 크기 이상의 매핑 파일은 ForkJoinPool 에서 청크 단위로 병렬 파싱
+    @Value("${analyzer.parser.parallel-threshold:8MB}")
+    private DataSize parallelThreshold = DataSize.ofMegabytes(8);
+
+    private final AnalysisMetrics metrics;
+
+    @Autowired
+    public ThreadDumpParser(AnalysisMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     public ThreadDumpAnalysis parseThreadDump(String threadDumpContent) {
+        try {
+            return parseThreadDump(new StringReader(threadDumpContent), null, () -> utf8Length(threadDumpContent));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public ThreadDumpAnalysis parseThreadDump(InputStream inputStream) throws IOException {
+        return parseThreadDump(inputStream, null);
+    }
+
+    /**
+     * threadListener 는 스레드 하나가 파싱될 때마다 덤프 순서대로 호출된다 (진행률 보고용, null 가능).
+     */
+    public ThreadDumpAnalysis parseThreadDump(InputStream inputStream, Consumer<ThreadInfo> threadListener) throws IOException {
+        // 수집 지표는 디코딩 전 바이트 수로 기록 (문자 수는 비 ASCII 이름이 있으면 달라짐)
+        long[] bytesRead = new long[1];
+        InputStream countingStream = new ProxyInputStream(inputStream) {
+            @Override
+            protected void afterRead(int n) {
+                if (n > 0) {
+                    bytesRead[0] += n;
+                }
+            }
+        };
+        return parseThreadDump(new InputStreamReader(countingStream, StandardCharsets.UTF_8), threadListener,
+                () -> bytesRead[0]);
+    }
+
+    private ThreadDumpAnalysis parseThreadDump(Reader reader, Consumer<ThreadInfo> threadListener,
+                                               LongSupplier ingestedBytes) throws IOException {
         ThreadDumpAnalysis analysis = new ThreadDumpAnalysis();
         
-        // JVM 정보 파싱
-        parseJvmInfo(threadDumpContent, analysis);
-        
-        // 스레드 정보 파싱
-        List<ThreadInfo> threads = parseThreads(threadDumpContent);
-        analysis.setThreads(threads);
+        // 스레드 정보 파싱 (JVM 정보는 헤더 라인에서 함께 추출)
+        long started = System.nanoTime();
+        ThreadDumpCollector collector = new ThreadDumpCollector();
+        parseThreads(reader, analysis, withListener(collector, threadListener));
+        collector.complete(analysis);
+        metrics.record(analysis, AnalysisMetrics.PHASE_PARSE_THREADS, System.nanoTime() - started);
         
         // 통계 계산
-        calculateStatistics(analysis);
+        calculateStatistics(analysis, false);
+        metrics.recordIngest(analysis, ingestedBytes.getAsLong());
         
         return analysis;
     }
 
-    private void parseJvmInfo(String content, ThreadDumpAnalysis analysis) {
-        // 타임스탬프 추출
-        Pattern timestampPattern = Pattern.compile("(\\d{4}-\\d{2}-\\d{2}\\s+\\d{2}:\\d{2}:\\d{2})");
-        Matcher timestampMatcher = timestampPattern.matcher(content);
-        if (timestampMatcher.find()) {
-            analysis.setDumpTimestamp(timestampMatcher.group(1));
+    /**
+     * 덤프를 한 줄씩 읽으면서 스레드 블록이 끝날 때마다 consumer 로 전달한다.
+     * 전체 내용을 하나의 String 으로 만들지 않는다.
+     * '{' 로 시작하면 jcmd Thread.dump_to_file -format=json 출력으로 보고 JsonThreadDumpParser 로 읽는다.
+     */
+    public void parseThreads(Reader reader, ThreadDumpAnalysis analysis, Consumer<ThreadInfo> consumer) throws IOException {
+        BufferedReader lineReader = reader instanceof BufferedReader
+                ? (BufferedReader) reader
+                : new BufferedReader(reader);
+        
+        FrameTable frameTable = new FrameTable();
+        analysis.setFrameTable(frameTable);
+        
+        if (startsWithJson(lineReader)) {
+            JsonThreadDumpParser.parse(lineReader, analysis, frameTable, consumer);
+            return;
+        }
+        
+        ParseSession session = new ParseSession(analysis, consumer, frameTable, null);
+        String line;
+        while ((line = lineReader.readLine()) != null) {
+            session.accept(line);
         }
+        session.finish();
+    }
 
-        // JVM 버전 정보 추출
-        Pattern jvmPattern = Pattern.compile("Java HotSpot\\(TM\\)\\s+(\\d+-Bit\\s+)?Server\\s+VM\\s+\\(([^)]+)\\)");
-        Matcher jvmMatcher = jvmPattern.matcher(content);
-        if (jvmMatcher.find()) {
-            analysis.setJvmVersion(jvmMatcher.group(2));
+    // String 을 UTF-8 로 인코딩했을 때의 바이트 수 (복사하지 않고 계산)
+    private static long utf8Length(String text) {
+        long length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
         }
+        return length;
+    }
 
-        // JVM 인수 추출
-        Pattern argsPattern = Pattern.compile("Command line arguments:\\s*([^\\n]+)");
-        Matcher argsMatcher = argsPattern.matcher(content);
-        if (argsMatcher.find()) {
-            analysis.setJvmArgs(argsMatcher.group(1));
+    /**
+     * 덤프 파일을 메모리 매핑하여 파싱한다. 스택 프레임 라인은 디코딩하지 않고
+     * 매핑 내 바이트 범위로 프레임 사전에 등록하며, 파싱이 끝나면 고유 프레임만 힙으로 옮긴다.
+     */
+    public ThreadDumpAnalysis parseMappedFile(Path dumpFile) throws IOException {
+        return parseMappedFile(dumpFile, null);
+    }
+
+    public ThreadDumpAnalysis parseMappedFile(Path dumpFile, Consumer<ThreadInfo> threadListener) throws IOException {
+        try (FileChannel channel = FileChannel.open(dumpFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE || startsWithJson(channel)) {
+                // 단일 매핑 한도(2GB)를 넘거나 JSON 덤프이면 스트리밍 파싱으로 처리
+                try (InputStream inputStream = Files.newInputStream(dumpFile)) {
+                    return parseThreadDump(inputStream, threadListener);
+                }
+            }
+            
+            long started = System.nanoTime();
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            ThreadDumpAnalysis analysis = new ThreadDumpAnalysis();
+            
+            boolean parallel = size >= parallelThreshold.toBytes() && ForkJoinPool.getCommonPoolParallelism() > 1;
+            FrameTable frameTable = new FrameTable(mapped);
+            analysis.setFrameTable(frameTable);
+            ThreadDumpCollector collector = new ThreadDumpCollector();
+            Consumer<ThreadInfo> consumer = withListener(collector, threadListener);
+            if (parallel) {
+                parseMappedParallel(mapped, (int) size, analysis, frameTable, consumer);
+            } else {
+                ParseSession session = new ParseSession(analysis, consumer, frameTable, mapped);
+                parseMappedRange(mapped, 0, (int) size, session);
+                session.finish();
+            }
+            collector.complete(analysis);
+            // 결과가 매핑을 붙잡지 않도록 고유 프레임만 힙으로 복사 (업로드 임시 파일은 파싱 직후 삭제됨)
+            frameTable.detach();
+            metrics.record(analysis, AnalysisMetrics.PHASE_PARSE_THREADS, System.nanoTime() - started);
+            
+            // 통계 계산
+            calculateStatistics(analysis, parallel);
+            metrics.recordIngest(analysis, size);
+            
+            return analysis;
         }
     }
 
-    private List<ThreadInfo> parseThreads(String content) {
-        List<ThreadInfo> threads = new ArrayList<>();
-        String[] lines = content.split("\n");
+    /**
+     * 스레드 헤더 경계에서 청크를 나누어 ForkJoinPool 에서 병렬로 파싱하고,
+     * 청크 순서대로 결과를 이어 붙인다.
+     */
+    private void parseMappedParallel(ByteBuffer mapped, int size, ThreadDumpAnalysis analysis,
+                                     FrameTable frameTable, Consumer<ThreadInfo> consumer) {
+        int[] boundaries = findChunkBoundaries(mapped, size, ForkJoinPool.getCommonPoolParallelism() * 4);
+        int chunkCount = boundaries.length - 1;
         
-        ThreadInfo currentThread = null;
-        StringBuilder stackTrace = new StringBuilder();
-        boolean inStackTrace = false;
+        List<List<ThreadInfo>> chunkThreads = new ArrayList<>(Collections.nCopies(chunkCount, null));
+        FrameTable[] chunkFrameTables = new FrameTable[chunkCount];
+        ForkJoinPool.commonPool().invoke(
+                new ChunkParseTask(mapped, boundaries, 0, chunkCount, chunkThreads, chunkFrameTables, analysis));
+        
+        // 청크별 프레임 사전을 하나로 병합하면서 스레드의 프레임 ID 를 재매핑하고 순서대로 수집
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            int[] remap = frameTable.mergeFrom(chunkFrameTables[chunk]);
+            for (ThreadInfo thread : chunkThreads.get(chunk)) {
+                int[] frameIds = thread.getFrameIds();
+                for (int i = 0; i < frameIds.length; i++) {
+                    frameIds[i] = remap[frameIds[i]];
+                }
+                thread.setFrames(frameTable, frameIds);
+                consumer.accept(thread);
+            }
+        }
+    }
+
+    // 빈 줄 다음에 오는 '"' 로 시작하는 라인 (스레드 헤더) 시작 위치를 청크 경계로 사용
+    private int[] findChunkBoundaries(ByteBuffer mapped, int size, int targetChunks) {
+        int chunkSize = Math.max(size / targetChunks, 1);
+        List<Integer> boundaries = new ArrayList<>();
+        boundaries.add(0);
         
-        for (String line : lines) {
-            line = line.trim();
+        int position = chunkSize;
+        while (position < size) {
+            int boundary = nextThreadHeaderStart(mapped, position, size);
+            if (boundary >= size) {
+                break;
+            }
+            boundaries.add(boundary);
+            position = boundary + chunkSize;
+        }
+        boundaries.add(size);
+        
+        return boundaries.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private int nextThreadHeaderStart(ByteBuffer mapped, int from, int size) {
+        int position = from;
+        while (position < size) {
+            // 다음 라인 시작으로 이동
+            while (position < size && mapped.get(position) != '\n') {
+                position++;
+            }
+            position++;
             
-            if (line.isEmpty()) {
-                if (currentThread != null && inStackTrace) {
-                    currentThread.setStackTrace(stackTrace.toString());
-                    threads.add(currentThread);
-                    currentThread = null;
-                    stackTrace = new StringBuilder();
-                    inStackTrace = false;
+            int lineStart = position;
+            int first = lineStart;
+            while (first < size && isWhitespace(mapped.get(first))) {
+                first++;
+            }
+            // 빈 줄이면 다음 라인이 헤더인지 확인
+            if (first < size && mapped.get(first) == '\n') {
+                int next = first + 1;
+                if (next < size && mapped.get(next) == '"' && !endsWithColon(mapped, next, size)) {
+                    return next;
+                }
+            }
+        }
+        return size;
+    }
+
+    // 데드락 리포트의 "Thread-1": 형식 라인은 스레드 헤더가 아니다
+    private boolean endsWithColon(ByteBuffer mapped, int lineStart, int size) {
+        int end = lineStart;
+        while (end < size && mapped.get(end) != '\n') {
+            end++;
+        }
+        while (end > lineStart && isWhitespace(mapped.get(end - 1))) {
+            end--;
+        }
+        return end > lineStart && mapped.get(end - 1) == ':';
+    }
+
+    @SuppressWarnings("serial")
+    private final class ChunkParseTask extends RecursiveAction {
+        private final ByteBuffer mapped;
+        private final int[] boundaries;
+        private final int fromChunk;
+        private final int toChunk;
+        private final List<List<ThreadInfo>> results;
+        private final FrameTable[] frameTables;
+        private final ThreadDumpAnalysis analysis;
+
+        ChunkParseTask(ByteBuffer mapped, int[] boundaries, int fromChunk, int toChunk,
+                       List<List<ThreadInfo>> results, FrameTable[] frameTables, ThreadDumpAnalysis analysis) {
+            this.mapped = mapped;
+            this.boundaries = boundaries;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.results = results;
+            this.frameTables = frameTables;
+            this.analysis = analysis;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk > 1) {
+                int middle = (fromChunk + toChunk) >>> 1;
+                invokeAll(new ChunkParseTask(mapped, boundaries, fromChunk, middle, results, frameTables, analysis),
+                          new ChunkParseTask(mapped, boundaries, middle, toChunk, results, frameTables, analysis));
+                return;
+            }
+            
+            // JVM 정보 헤더는 첫 청크에만 존재한다
+            List<ThreadInfo> threads = new ArrayList<>();
+            FrameTable frameTable = new FrameTable(mapped);
+            ParseSession session = new ParseSession(analysis, threads::add, frameTable, mapped);
+            parseMappedRange(mapped, boundaries[fromChunk], boundaries[fromChunk + 1], session);
+            session.finish();
+            results.set(fromChunk, threads);
+            frameTables[fromChunk] = frameTable;
+        }
+    }
+
+    // 선행 공백과 BOM 을 건너뛴 첫 문자가 '{' 인지 확인하고 읽은 위치를 되돌린다
+    private static boolean startsWithJson(BufferedReader reader) throws IOException {
+        reader.mark(FORMAT_DETECT_LIMIT);
+        try {
+            for (int i = 0; i < FORMAT_DETECT_LIMIT; i++) {
+                int c = reader.read();
+                if (c < 0) {
+                    return false;
                 }
+                if (c != '\uFEFF' && !Character.isWhitespace(c)) {
+                    return c == '{';
+                }
+            }
+            return false;
+        } finally {
+            reader.reset();
+        }
+    }
+
+    private static boolean startsWithJson(FileChannel channel) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate((int) Math.min(channel.size(), FORMAT_DETECT_LIMIT));
+        channel.read(head, 0);
+        for (int i = 0; i < head.position(); i++) {
+            byte b = head.get(i);
+            // UTF-8 BOM (EF BB BF)
+            if (i < 3 && (b == (byte) 0xEF || b == (byte) 0xBB || b == (byte) 0xBF)) {
                 continue;
             }
+            if (!isWhitespace(b) && b != '\n') {
+                return b == '{';
+            }
+        }
+        return false;
+    }
+
+    private static Consumer<ThreadInfo> withListener(ThreadDumpCollector collector, Consumer<ThreadInfo> threadListener) {
+        return threadListener != null ? collector.andThen(threadListener) : collector;
+    }
+
+    private void parseMappedRange(ByteBuffer mapped, int from, int to, ParseSession session) {
+        byte[] lineBuffer = new byte[256];
+        int lineStart = from;
+        while (lineStart < to) {
+            int lineEnd = lineStart;
+            while (lineEnd < to && mapped.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            
+            // 프레임 라인("at ...")은 디코딩하지 않고 오프셋만 기록
+            int first = lineStart;
+            while (first < lineEnd && isWhitespace(mapped.get(first))) {
+                first++;
+            }
+            if (!session.acceptMappedFrame(mapped, first, lineStart, lineEnd)) {
+                int length = lineEnd - lineStart;
+                if (length > lineBuffer.length) {
+                    lineBuffer = new byte[Math.max(length, lineBuffer.length * 2)];
+                }
+                mapped.get(lineStart, lineBuffer, 0, length);
+                session.accept(new String(lineBuffer, 0, length, StandardCharsets.UTF_8), lineStart, lineEnd);
+            }
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private void parseJvmInfo(List<String> headerLines, ThreadDumpAnalysis analysis) {
+        for (String line : headerLines) {
+            // 타임스탬프 추출
+            if (analysis.getDumpTimestamp() == null) {
+                Matcher timestampMatcher = TIMESTAMP_PATTERN.matcher(line);
+                if (timestampMatcher.find()) {
+                    analysis.setDumpTimestamp(timestampMatcher.group(1));
+                }
+            }
+
+            // JVM 버전 정보 추출
+            if (analysis.getJvmVersion() == null) {
+                Matcher jvmMatcher = JVM_PATTERN.matcher(line);
+                if (jvmMatcher.find()) {
+                    analysis.setJvmVersion(jvmMatcher.group(2));
+                }
+            }
+
+            // JVM 인수 추출
+            if (analysis.getJvmArgs() == null) {
+                Matcher argsMatcher = ARGS_PATTERN.matcher(line);
+                if (argsMatcher.find()) {
+                    analysis.setJvmArgs(argsMatcher.group(1));
+                }
+            }
+        }
+    }
+
+    private final class ParseSession {
+        private final ThreadDumpAnalysis analysis;
+        private final Consumer<ThreadInfo> consumer;
+        private final FrameTable frameTable;
+        private final ByteBuffer mapped;
+        private List<String> headerLines = new ArrayList<>();
+        private ThreadInfo currentThread;
+        private ThreadInfo lastThread;
+        private ThreadInfo synchronizerOwner;
+        private DeadlockCycle reportedDeadlock;
+        private final List<DeadlockCycle> reportedDeadlocks = new ArrayList<>();
+        private int[] frameIds = new int[64];
+        private int frameCount;
+
+        ParseSession(ThreadDumpAnalysis analysis, Consumer<ThreadInfo> consumer, FrameTable frameTable, ByteBuffer mapped) {
+            this.analysis = analysis;
+            this.consumer = consumer;
+            this.frameTable = frameTable;
+            this.mapped = mapped;
+        }
+
+        // 매핑 모드의 "at " 라인: 디코딩 없이 바이트 범위로 프레임 등록
+        boolean acceptMappedFrame(ByteBuffer buffer, int first, int lineStart, int lineEnd) {
+            if (currentThread == null || lineEnd - first < 3
+                    || buffer.get(first) != 'a' || buffer.get(first + 1) != 't' || buffer.get(first + 2) != ' ') {
+                return false;
+            }
+            addMappedFrame(first, lineEnd);
+            return true;
+        }
+
+        void accept(String rawLine) {
+            accept(rawLine, -1, -1);
+        }
+
+        void accept(String rawLine, int lineStart, int lineEnd) {
+            String line = rawLine.trim();
+            
+            // 빈 줄은 스레드 블록의 끝
+            if (line.isEmpty()) {
+                if (currentThread != null) {
+                    emitCurrentThread();
+                }
+                synchronizerOwner = null;
+                return;
+            }
+            
+            // JVM 이 보고한 데드락 섹션
+            if (acceptDeadlockReport(line)) {
+                return;
+            }
+            
+            // 스레드 블록 뒤의 "Locked ownable synchronizers:" 섹션
+            if (line.equals("Locked ownable synchronizers:")) {
+                synchronizerOwner = currentThread != null ? currentThread : lastThread;
+                return;
+            }
+            if (synchronizerOwner != null) {
+                Matcher synchronizerMatcher = SYNCHRONIZER_PATTERN.matcher(line);
+                if (synchronizerMatcher.matches()) {
+                    synchronizerOwner.getLockedSynchronizers().add(synchronizerMatcher.group(1));
+                    return;
+                }
+                if (line.equals("- None")) {
+                    return;
+                }
+                synchronizerOwner = null;
+            }
             
             // 스레드 헤더 라인인지 확인
-            Matcher headerMatcher = THREAD_HEADER_PATTERN.matcher(line);
-            if (headerMatcher.matches()) {
+            ThreadInfo header = parseThreadHeader(line);
+            if (header != null) {
+                flushHeaderLines();
                 if (currentThread != null) {
-                    currentThread.setStackTrace(stackTrace.toString());
-                    threads.add(currentThread);
+                    emitCurrentThread();
                 }
-                
-                currentThread = new ThreadInfo();
-                currentThread.setThreadName(headerMatcher.group(1));
-                currentThread.setThreadId(headerMatcher.group(2));
-                currentThread.setPriority(headerMatcher.group(3));
-                currentThread.setOsPriority(headerMatcher.group(4));
-                currentThread.setTid(headerMatcher.group(5));
-                currentThread.setNid(headerMatcher.group(6));
-                currentThread.setNativeId(headerMatcher.group(7));
-                currentThread.setJavaThreadId(headerMatcher.group(8));
-                currentThread.setThreadState(headerMatcher.group(9));
-                
-                stackTrace = new StringBuilder();
-                inStackTrace = false;
-                continue;
+                currentThread = header;
+                return;
             }
             
-            if (currentThread != null) {
-                // 데몬 스레드 확인
-                if (line.contains("daemon")) {
-                    currentThread.setDaemon("true");
+            if (currentThread == null) {
+                // 첫 스레드 이전의 라인만 JVM 정보 후보로 보관
+                if (headerLines != null && headerLines.size() < MAX_HEADER_LINES) {
+                    headerLines.add(line);
                 }
+                return;
+            }
+            
+            // 락 정보 파싱
+            Matcher lockMatcher = LOCK_INFO_PATTERN.matcher(line);
+            if (lockMatcher.matches()) {
+                String lock = lockMatcher.group(2);
+                currentThread.setLockInfo(lock);
                 
-                // 락 정보 파싱
-                Matcher lockMatcher = LOCK_INFO_PATTERN.matcher(line);
-                if (lockMatcher.matches()) {
-                    currentThread.setLockInfo(lockMatcher.group(1));
-                    currentThread.setWaitingOn(lockMatcher.group(1));
+                if (lockMatcher.group(1).startsWith("waiting on")) {
+                    // Object.wait(): 모니터를 놓고 notify 를 기다림
+                    currentThread.setWaitingOn(lock);
+                    currentThread.setWaiting(true);
+                } else if (lockMatcher.group(1).startsWith("parking")) {
+                    currentThread.setParkingToWaitFor(lock);
+                    currentThread.setParked(true);
                     currentThread.setWaiting(true);
+                } else {
+                    // 모니터 진입 대기 (BLOCKED)
+                    currentThread.setWaitingToLock(lock);
                 }
+            }
+            
+            // 락 소유자 정보 파싱
+            Matcher ownerMatcher = LOCK_OWNER_PATTERN.matcher(line);
+            if (ownerMatcher.matches()) {
+                currentThread.getLockedMonitors().add(ownerMatcher.group(1));
+            }
+            
+            // 스레드 상태 파싱
+            Matcher stateMatcher = BLOCKED_TIME_PATTERN.matcher(line);
+            if (stateMatcher.matches()) {
+                String state = stateMatcher.group(1);
+                currentThread.setJavaLangThreadState(state);
                 
-                // 락 소유자 정보 파싱
-                Matcher ownerMatcher = LOCK_OWNER_PATTERN.matcher(line);
-                if (ownerMatcher.matches()) {
-                    currentThread.getLockedMonitors().add(ownerMatcher.group(1));
+                switch (state) {
+                    case "BLOCKED":
+                        currentThread.setBlocked(true);
+                        break;
+                    case "WAITING":
+                    case "TIMED_WAITING":
+                        currentThread.setWaiting(true);
+                        break;
                 }
-                
-                // 스레드 상태 파싱
-                Matcher stateMatcher = BLOCKED_TIME_PATTERN.matcher(line);
-                if (stateMatcher.matches()) {
-                    String state = stateMatcher.group(1);
-                    currentThread.setJavaLangThreadState(state);
-                    
-                    switch (state) {
-                        case "BLOCKED":
-                            currentThread.setBlocked(true);
-                            break;
-                        case "WAITING":
-                        case "TIMED_WAITING":
-                            currentThread.setWaiting(true);
-                            break;
+            }
+            
+            // 스택 트레이스 수집 (trim 이후이므로 탭 없이 비교)
+            if (line.startsWith("at ") || line.startsWith("- ")) {
+                if (mapped != null) {
+                    int first = lineStart;
+                    while (first < lineEnd && isWhitespace(mapped.get(first))) {
+                        first++;
                     }
+                    addMappedFrame(first, lineEnd);
+                } else {
+                    addFrame(frameTable.intern(line));
                 }
-                
-                // 스택 트레이스 수집
-                if (line.startsWith("\tat ") || line.startsWith("\t- ")) {
-                    inStackTrace = true;
-                    currentThread.getStackFrames().add(line);
-                    stackTrace.append(line).append("\n");
+            }
+        }
+
+        void finish() {
+            flushHeaderLines();
+            
+            // 마지막 스레드 처리
+            if (currentThread != null) {
+                emitCurrentThread();
+            }
+            
+            // 병렬 청크에서도 호출되므로 목록 단위로 동기화
+            if (!reportedDeadlocks.isEmpty()) {
+                List<DeadlockCycle> deadlockCycles = analysis.getDeadlockCycles();
+                synchronized (deadlockCycles) {
+                    deadlockCycles.addAll(reportedDeadlocks);
                 }
             }
         }
-        
-        // 마지막 스레드 처리
-        if (currentThread != null) {
-            currentThread.setStackTrace(stackTrace.toString());
-            threads.add(currentThread);
+
+        /**
+         * "Found one Java-level deadlock:" 부터 "Java stack information ..." 까지의 스레드 이름을 수집한다.
+         * 이어지는 스택 정보는 스레드 헤더 형식이 아니므로 기존 흐름에서 무시된다.
+         */
+        private boolean acceptDeadlockReport(String line) {
+            if (line.startsWith("Found one Java-level deadlock")) {
+                if (currentThread != null) {
+                    emitCurrentThread();
+                }
+                reportedDeadlock = new DeadlockCycle();
+                reportedDeadlock.setReportedByJvm(true);
+                return true;
+            }
+            if (reportedDeadlock == null) {
+                return false;
+            }
+            if (line.startsWith("Java stack information")) {
+                if (!reportedDeadlock.getThreadNames().isEmpty()) {
+                    reportedDeadlocks.add(reportedDeadlock);
+                }
+                reportedDeadlock = null;
+                return true;
+            }
+            Matcher nameMatcher = DEADLOCK_THREAD_PATTERN.matcher(line);
+            if (nameMatcher.matches()) {
+                reportedDeadlock.getThreadNames().add(nameMatcher.group(1));
+            }
+            return true;
         }
-        
-        return threads;
+
+        private void flushHeaderLines() {
+            if (headerLines != null) {
+                long started = System.nanoTime();
+                parseJvmInfo(headerLines, analysis);
+                metrics.record(analysis, AnalysisMetrics.PHASE_PARSE_JVM_INFO, System.nanoTime() - started);
+                headerLines = null;
+            }
+        }
+
+        private void addMappedFrame(int first, int lineEnd) {
+            int end = lineEnd;
+            while (end > first && isWhitespace(mapped.get(end - 1))) {
+                end--;
+            }
+            addFrame(frameTable.intern(first, end - first));
+        }
+
+        private void addFrame(int frameId) {
+            if (frameCount == frameIds.length) {
+                frameIds = Arrays.copyOf(frameIds, frameCount * 2);
+            }
+            frameIds[frameCount++] = frameId;
+        }
+
+        private void emitCurrentThread() {
+            // 스택은 프레임 ID 배열로만 보관하고 텍스트는 요청 시 렌더링
+            currentThread.setFrames(frameTable, Arrays.copyOf(frameIds, frameCount));
+            frameCount = 0;
+            consumer.accept(currentThread);
+            lastThread = currentThread;
+            currentThread = null;
+        }
+    }
+
+    /**
+     * "main" #1 [971] daemon prio=5 os_prio=0 cpu=1237.34ms elapsed=6731.25s tid=0x00007f... nid=971 waiting on condition  [0x00007f...]
+     * 속성의 유무와 순서가 JDK 버전마다 다르므로(cpu/elapsed 는 11+, [os tid] 와 10진수 nid 는 19+) 토큰 단위로 읽는다.
+     * 스레드 헤더가 아니면 null.
+     */
+    static ThreadInfo parseThreadHeader(String line) {
+        int nameEnd = line.lastIndexOf('"');
+        // 이름 뒤에는 공백이 와야 한다 (데드락 리포트의 "Thread-1": 라인은 헤더가 아님)
+        if (line.isEmpty() || line.charAt(0) != '"' || nameEnd < 2 || nameEnd + 1 >= line.length()
+                || !Character.isWhitespace(line.charAt(nameEnd + 1))) {
+            return null;
+        }
+        ThreadInfo thread = new ThreadInfo();
+        thread.setThreadName(line.substring(1, nameEnd));
+
+        int length = line.length();
+        int position = nameEnd + 1;
+        while (position < length) {
+            while (position < length && Character.isWhitespace(line.charAt(position))) {
+                position++;
+            }
+            int start = position;
+            while (position < length && !Character.isWhitespace(line.charAt(position))) {
+                position++;
+            }
+            if (start == position) {
+                break;
+            }
+            String token = line.substring(start, position);
+            int equals = token.indexOf('=');
+            if (equals > 0) {
+                String value = token.substring(equals + 1);
+                switch (token.substring(0, equals)) {
+                    case "prio": thread.setPriority(value); break;
+                    case "os_prio": thread.setOsPriority(value); break;
+                    case "tid": thread.setTid(value); break;
+                    case "nid": thread.setNid(value); break;
+                    case "nativeId": thread.setNativeId(value); break;
+                    case "javaThreadId": thread.setJavaThreadId(value); break;
+                    case "cpu": thread.setCpuTimeMillis(parseMillis(value)); break;
+                    case "elapsed": thread.setElapsedTimeMillis(parseMillis(value)); break;
+                    default: break;
+                }
+            } else if (token.charAt(0) == '#' && thread.getThreadId() == null) {
+                thread.setThreadId(token.substring(1));
+            } else if (token.equals("daemon")) {
+                thread.setDaemon("true");
+            } else if (token.charAt(0) == '[' && token.endsWith("]") && position >= length) {
+                // 마지막 [ ] 는 스택 주소 (이름 뒤의 [os tid] 는 nid 와 같으므로 무시)
+                thread.setThreadState(token.substring(1, token.length() - 1));
+            }
+        }
+        return thread;
     }
 
-    private void calculateStatistics(ThreadDumpAnalysis analysis) {
-        Map<String, Integer> stateCounts = new HashMap<>();
-        int totalThreads = 0;
-        int runnableThreads = 0;
-        int blockedThreads = 0;
-        int waitingThreads = 0;
-        int timedWaitingThreads = 0;
-        int terminatedThreads = 0;
+    // "1237.34ms", "6731.25s" -> 밀리초
+    private static Double parseMillis(String value) {
+        try {
+            if (value.endsWith("ms")) {
+                return Double.parseDouble(value.substring(0, value.length() - 2));
+            }
+            if (value.endsWith("s")) {
+                return Double.parseDouble(value.substring(0, value.length() - 1)) * 1000;
+            }
+            return null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void calculateStatistics(ThreadDumpAnalysis analysis, boolean parallel) {
+        long started = System.nanoTime();
+        List<ThreadInfo> threads = analysis.getThreads();
+        
+        // 상태별 카운트를 리덕션으로 집계 (병렬 모드에서는 청크별 부분 합을 병합)
+        ThreadStateStatistics statistics = (parallel ? threads.parallelStream() : threads.stream())
+                .collect(ThreadStateStatistics::new, ThreadStateStatistics::add, ThreadStateStatistics::combine);
         
-        for (ThreadInfo thread : analysis.getThreads()) {
+        analysis.setTotalThreads(statistics.totalThreads);
+        analysis.setRunnableThreads(statistics.runnableThreads);
+        analysis.setBlockedThreads(statistics.blockedThreads);
+        analysis.setWaitingThreads(statistics.waitingThreads);
+        analysis.setTimedWaitingThreads(statistics.timedWaitingThreads);
+        analysis.setTerminatedThreads(statistics.terminatedThreads);
+        analysis.setThreadStateCounts(statistics.stateCounts);
+        metrics.record(analysis, AnalysisMetrics.PHASE_CALCULATE_STATISTICS, System.nanoTime() - started);
+    }
+
+    private static final class ThreadStateStatistics {
+        private final Map<String, Integer> stateCounts = new HashMap<>();
+        private int totalThreads;
+        private int runnableThreads;
+        private int blockedThreads;
+        private int waitingThreads;
+        private int timedWaitingThreads;
+        private int terminatedThreads;
+
+        void add(ThreadInfo thread) {
             totalThreads++;
             String state = thread.getJavaLangThreadState();
             
             if (state != null) {
-                stateCounts.put(state, stateCounts.getOrDefault(state, 0) + 1);
+                stateCounts.merge(state, 1, Integer::sum);
                 
                 switch (state) {
                     case "RUNNABLE":
@@ -203,13 +799,15 @@ public class ThreadDumpParser {
                 }
             }
         }
-        
-        analysis.setTotalThreads(totalThreads);
-        analysis.setRunnableThreads(runnableThreads);
-        analysis.setBlockedThreads(blockedThreads);
-        analysis.setWaitingThreads(waitingThreads);
-        analysis.setTimedWaitingThreads(timedWaitingThreads);
-        analysis.setTerminatedThreads(terminatedThreads);
-        analysis.setThreadStateCounts(stateCounts);
+
+        void combine(ThreadStateStatistics other) {
+            other.stateCounts.forEach((state, count) -> stateCounts.merge(state, count, Integer::sum));
+            totalThreads += other.totalThreads;
+            runnableThreads += other.runnableThreads;
+            blockedThreads += other.blockedThreads;
+            waitingThreads += other.waitingThreads;
+            timedWaitingThreads += other.timedWaitingThreads;
+            terminatedThreads += other.terminatedThreads;
+        }
     }
 }
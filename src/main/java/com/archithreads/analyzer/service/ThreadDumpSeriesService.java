@@ -0,0 +1,44 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import com.archithreads.analyzer.model.ThreadDumpSeries;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@Service
+public class ThreadDumpSeriesService {
+
+    @Autowired
+    private ThreadDumpParser parser;
+
+    @Autowired
+    private LockGraphAnalyzer lockGraphAnalyzer;
+
+    /**
+     * 업로드 순서를 수집 순서로 보고 덤프를 하나씩 파싱해 추적기에 반영한다.
+     * 각 덤프의 분석 결과는 반영 직후 버린다.
+     */
+    public ThreadDumpSeries analyzeSeries(List<MultipartFile> files) throws IOException {
+        ThreadDumpSeriesTracker tracker = new ThreadDumpSeriesTracker();
+        for (MultipartFile file : files) {
+            if (file == null || file.isEmpty()) {
+                continue;
+            }
+            try (InputStream inputStream = file.getInputStream()) {
+                addSnapshot(tracker, parser.parseThreadDump(inputStream));
+            }
+        }
+        return tracker.toSeries();
+    }
+
+    public void addSnapshot(ThreadDumpSeriesTracker tracker, ThreadDumpAnalysis analysis) {
+        // 락 소유자/대기 정보는 wait-for 그래프에서 채워진다
+        lockGraphAnalyzer.analyze(analysis);
+        tracker.addSnapshot(analysis);
+    }
+}
@@ -0,0 +1,280 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.FrameTable;
+import com.archithreads.analyzer.model.PersistentLock;
+import com.archithreads.analyzer.model.PoolGrowth;
+import com.archithreads.analyzer.model.StuckThread;
+import com.archithreads.analyzer.model.ThreadCpuUsage;
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import com.archithreads.analyzer.model.ThreadDumpSeries;
+import com.archithreads.analyzer.model.ThreadInfo;
+
+import java.util.*;
+
+/**
+ * 시간 순서로 들어오는 덤프를 하나씩 반영하면서 스레드별 상태를 갱신한다.
+ * 이전 스냅샷의 분석 결과는 보관하지 않으므로 스냅샷 수가 늘어도 메모리는 스레드 수에만 비례한다.
+ */
+public class ThreadDumpSeriesTracker {
+
+    private final Map<String, TrackedThread> threads = new HashMap<>();
+    private final Map<String, List<Integer>> poolCounts = new LinkedHashMap<>();
+    private final ThreadDumpSeries series = new ThreadDumpSeries();
+    private int snapshotCount;
+
+    public void addSnapshot(ThreadDumpAnalysis analysis) {
+        int index = snapshotCount++;
+        series.getDumpTimestamps().add(analysis.getDumpTimestamp());
+        series.getThreadCounts().add(analysis.getTotalThreads());
+        series.getBlockedCounts().add(analysis.getBlockedThreads());
+
+        Map<String, Integer> contention = analysis.getLockContentionCounts();
+        Map<String, Integer> snapshotPoolCounts = new HashMap<>();
+        for (ThreadInfo thread : analysis.getThreads()) {
+            String key = threadKey(thread);
+            TrackedThread tracked = threads.get(key);
+            long stackHash = stackHash(thread);
+            String state = thread.getJavaLangThreadState();
+
+            // 처음 보거나, 직전 스냅샷에 없었거나, nid 가 다른 스레드에 재사용된 경우 새로 추적
+            if (tracked == null || tracked.lastSeen != index - 1
+                    || !Objects.equals(tracked.threadName, thread.getThreadName())) {
+                tracked = new TrackedThread(thread.getThreadName(), index);
+                threads.put(key, tracked);
+            } else if (tracked.stackHash != stackHash || !Objects.equals(tracked.state, state)) {
+                tracked.unchangedSince = index;
+            }
+            tracked.lastSeen = index;
+            tracked.nid = thread.getNid();
+            tracked.state = state;
+            tracked.stackHash = stackHash;
+            tracked.latestLockOwner = thread.getLockOwner();
+            tracked.latestWaitingFor = thread.getWaitingToLock() != null
+                    ? thread.getWaitingToLock() : thread.getParkingToWaitFor();
+
+            // 첫 스냅샷부터 변하지 않은 스레드만 스택 보고용으로 첫 스냅샷의 스레드를 보관
+            tracked.sample = tracked.unchangedSince == 0 ? (tracked.sample != null ? tracked.sample : thread) : null;
+
+            // 추적을 시작한 스냅샷과 최신 스냅샷의 cpu= / elapsed= (JDK 11+)
+            if (thread.getCpuTimeMillis() != null && thread.getElapsedTimeMillis() != null) {
+                if (tracked.firstCpuTimeMillis == null) {
+                    tracked.firstCpuTimeMillis = thread.getCpuTimeMillis();
+                    tracked.firstElapsedTimeMillis = thread.getElapsedTimeMillis();
+                }
+                tracked.latestCpuTimeMillis = thread.getCpuTimeMillis();
+                tracked.latestElapsedTimeMillis = thread.getElapsedTimeMillis();
+                tracked.latestTopFrame = ThreadDumpCollector.topFrame(thread);
+            }
+
+            updateHeldLocks(tracked, thread, index, contention);
+            snapshotPoolCounts.merge(ThreadPools.poolName(thread), 1, Integer::sum);
+        }
+
+        // 이번 스냅샷에 없는 스레드는 종료된 것으로 보고 추적 중단
+        threads.values().removeIf(tracked -> tracked.lastSeen != index);
+
+        for (Map.Entry<String, Integer> entry : snapshotPoolCounts.entrySet()) {
+            poolCounts.computeIfAbsent(entry.getKey(), pool -> new ArrayList<>(Collections.nCopies(index, 0)));
+        }
+        for (Map.Entry<String, List<Integer>> entry : poolCounts.entrySet()) {
+            entry.getValue().add(snapshotPoolCounts.getOrDefault(entry.getKey(), 0));
+        }
+    }
+
+    public ThreadDumpSeries toSeries() {
+        series.setSnapshotCount(snapshotCount);
+        series.getStuckThreads().clear();
+        series.getPersistentLocks().clear();
+        series.getPoolGrowth().clear();
+        series.getCpuDeltas().clear();
+        if (snapshotCount == 0) {
+            return series;
+        }
+
+        for (TrackedThread tracked : threads.values()) {
+            if (snapshotCount > 1 && tracked.unchangedSince == 0 && tracked.sample != null && isStuck(tracked)) {
+                series.getStuckThreads().add(toStuckThread(tracked));
+            }
+            if (snapshotCount > 1) {
+                addCpuDelta(tracked);
+            }
+            for (Map.Entry<String, HeldLock> entry : tracked.heldLocks.entrySet()) {
+                if (snapshotCount > 1 && entry.getValue().since == 0) {
+                    PersistentLock lock = new PersistentLock();
+                    lock.setLockAddress(entry.getKey());
+                    lock.setOwnerThreadName(tracked.threadName);
+                    lock.setOwnerNid(tracked.nid);
+                    lock.setMaxWaiters(entry.getValue().maxWaiters);
+                    series.getPersistentLocks().add(lock);
+                }
+            }
+        }
+        series.getStuckThreads().sort(Comparator.comparingInt((StuckThread t) -> stateRank(t.getThreadState()))
+                .thenComparing(StuckThread::getThreadName));
+        series.getPersistentLocks().sort(Comparator.comparingInt(PersistentLock::getMaxWaiters).reversed());
+        series.getCpuDeltas().sort(Comparator.comparingDouble(ThreadCpuUsage::getCpuTimeMillis).reversed());
+        if (series.getCpuDeltas().size() > ThreadDumpCollector.CPU_HOT_LIMIT) {
+            series.getCpuDeltas().subList(ThreadDumpCollector.CPU_HOT_LIMIT, series.getCpuDeltas().size()).clear();
+        }
+
+        // 한 번이라도 2개 이상이었던 풀만 증감 순으로
+        for (Map.Entry<String, List<Integer>> entry : poolCounts.entrySet()) {
+            if (Collections.max(entry.getValue()) > 1) {
+                series.getPoolGrowth().add(new PoolGrowth(entry.getKey(), new ArrayList<>(entry.getValue())));
+            }
+        }
+        series.getPoolGrowth().sort(Comparator.comparingInt(PoolGrowth::getGrowth).reversed());
+        return series;
+    }
+
+    public int getSnapshotCount() {
+        return snapshotCount;
+    }
+
+    // 추적 구간 동안 CPU 를 쓴 스레드만 (구간의 CPU 증가량 / 경과 시간 증가량)
+    private void addCpuDelta(TrackedThread tracked) {
+        if (tracked.firstCpuTimeMillis == null) {
+            return;
+        }
+        double cpuDelta = tracked.latestCpuTimeMillis - tracked.firstCpuTimeMillis;
+        double elapsedDelta = tracked.latestElapsedTimeMillis - tracked.firstElapsedTimeMillis;
+        if (cpuDelta <= 0 || elapsedDelta <= 0) {
+            return;
+        }
+        ThreadCpuUsage usage = new ThreadCpuUsage(tracked.threadName, tracked.nid, tracked.state, cpuDelta, elapsedDelta);
+        usage.setTopFrame(tracked.latestTopFrame);
+        series.getCpuDeltas().add(usage);
+    }
+
+    // 실행 중이거나 다른 스레드가 가진 락을 기다리며 멈춘 경우만 (풀의 유휴 대기는 제외)
+    private boolean isStuck(TrackedThread tracked) {
+        if (tracked.sample.getFrameIds() != null ? tracked.sample.getFrameIds().length == 0
+                : tracked.sample.getStackFrames().isEmpty()) {
+            return false;
+        }
+        return "RUNNABLE".equals(tracked.state) || "BLOCKED".equals(tracked.state)
+                || tracked.latestLockOwner != null;
+    }
+
+    private StuckThread toStuckThread(TrackedThread tracked) {
+        ThreadInfo sample = tracked.sample;
+        StuckThread stuck = new StuckThread();
+        stuck.setThreadName(tracked.threadName);
+        stuck.setNid(tracked.nid);
+        stuck.setThreadState(tracked.state);
+        stuck.setWaitingFor(tracked.latestWaitingFor);
+        stuck.setLockOwner(tracked.latestLockOwner);
+        stuck.setStackTrace(sample.getStackTrace());
+        stuck.setSnapshotCount(snapshotCount);
+        for (String frame : sample.getStackFrames()) {
+            if (frame.startsWith("at ")) {
+                stuck.setTopFrame(frame);
+                break;
+            }
+        }
+        return stuck;
+    }
+
+    private void updateHeldLocks(TrackedThread tracked, ThreadInfo thread, int index, Map<String, Integer> contention) {
+        if (thread.getLockedMonitors().isEmpty() && thread.getLockedSynchronizers().isEmpty()) {
+            tracked.heldLocks = Collections.emptyMap();
+            return;
+        }
+        Map<String, HeldLock> heldLocks = new HashMap<>();
+        List<String> owned = new ArrayList<>(thread.getLockedSynchronizers());
+        for (String monitor : thread.getLockedMonitors()) {
+            // wait() 로 놓은 모니터는 소유로 보지 않음
+            if (!monitor.equals(thread.getWaitingOn()) && !monitor.equals(thread.getWaitingToLock())) {
+                owned.add(monitor);
+            }
+        }
+        for (String lock : owned) {
+            HeldLock previous = tracked.heldLocks.get(lock);
+            HeldLock held = previous != null ? previous : new HeldLock(index);
+            held.maxWaiters = Math.max(held.maxWaiters, contention.getOrDefault(lock, 0));
+            heldLocks.put(lock, held);
+        }
+        tracked.heldLocks = heldLocks;
+    }
+
+    // JSON 덤프에는 nid/tid 가 없으므로 재사용되지 않는 자바 스레드 ID 를 사용
+    private String threadKey(ThreadInfo thread) {
+        if (thread.getNid() != null) {
+            return thread.getNid();
+        }
+        if (thread.getTid() != null) {
+            return thread.getTid();
+        }
+        return thread.getThreadId() != null ? "#" + thread.getThreadId() : thread.getThreadName();
+    }
+
+    // 덤프마다 프레임 ID 가 다르므로 프레임 텍스트의 해시로 스택을 비교
+    private long stackHash(ThreadInfo thread) {
+        long hash = 0xcbf29ce484222325L;
+        FrameTable frameTable = thread.getFrameTable();
+        int[] frameIds = thread.getFrameIds();
+        if (frameTable != null && frameIds != null) {
+            for (int frameId : frameIds) {
+                hash = (hash ^ frameHash(frameTable.getFrame(frameId))) * 0x100000001b3L;
+            }
+        } else {
+            for (String frame : thread.getStackFrames()) {
+                hash = (hash ^ frameHash(frame)) * 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+
+    // 락 라인("- locked <0x...> (a java.lang.Object)")은 주소를 빼고 종류와 클래스만 비교.
+    // GC 가 락 객체를 옮기면 주소가 바뀌므로 같은 곳에 멈춘 스레드가 변한 것으로 보이지 않게 한다
+    private static int frameHash(String frame) {
+        if (frame.startsWith("at ")) {
+            return frame.hashCode();
+        }
+        int start = frame.indexOf('<');
+        int end = frame.indexOf('>', start + 1);
+        if (start < 0 || end < 0) {
+            return frame.hashCode();
+        }
+        return frame.substring(0, start).trim().hashCode() * 31 + frame.substring(end + 1).trim().hashCode();
+    }
+
+    private int stateRank(String state) {
+        if ("BLOCKED".equals(state)) return 0;
+        if ("RUNNABLE".equals(state)) return 2;
+        return 1;
+    }
+
+    private static final class TrackedThread {
+        private final String threadName;
+        private int lastSeen;
+        private int unchangedSince;
+        private String nid;
+        private String state;
+        private long stackHash;
+        private String latestLockOwner;
+        private String latestWaitingFor;
+        private ThreadInfo sample;
+        private Map<String, HeldLock> heldLocks = Collections.emptyMap();
+        private Double firstCpuTimeMillis;
+        private Double firstElapsedTimeMillis;
+        private double latestCpuTimeMillis;
+        private double latestElapsedTimeMillis;
+        private String latestTopFrame;
+
+        TrackedThread(String threadName, int index) {
+            this.threadName = threadName;
+            this.lastSeen = index;
+            this.unchangedSince = index;
+        }
+    }
+
+    private static final class HeldLock {
+        private final int since;
+        private int maxWaiters;
+
+        HeldLock(int since) {
+            this.since = since;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.ThreadInfo;
+
+import java.util.List;
+
+/**
+ * 스레드 이름을 풀 이름으로 정규화하고, 스택으로 풀 스레드가 유휴/실행/대기 중인지 판별한다.
+ */
+final class ThreadPools {
+
+    enum Activity { IDLE, BUSY, BLOCKED }
+
+    // 작업마다 스레드를 만드는 가상 스레드 실행기 (유휴 스레드가 없는 것이 정상)
+    static final String VIRTUAL_THREAD_EXECUTOR = "VirtualThread";
+
+    // 풀에서 다음 작업을 기다리는 위치 (JDK/Tomcat 실행기, ForkJoinPool, Jetty, Netty 이벤트 루프)
+    private static final List<String> IDLE_FRAMES = List.of(
+            "ThreadPoolExecutor.getTask(",
+            "ForkJoinPool.awaitWork(",
+            "QueuedThreadPool$Runner.idleJobPoll(",
+            "ReservedThreadExecutor$ReservedThread.reservedWait(",
+            "SingleThreadEventExecutor.takeTask(",
+            "NioEventLoop.select(",
+            "EpollEventLoop.epollWait(",
+            "KQueueEventLoop.kqueueWait(");
+
+    // 작업 스레드의 실행 루프 프레임과 실행기 종류
+    private static final List<String[]> WORKER_FRAMES = List.of(
+            new String[]{"ThreadPoolExecutor$Worker.run(", "ThreadPoolExecutor"},
+            new String[]{"ForkJoinWorkerThread.run(", "ForkJoinPool"},
+            new String[]{"QueuedThreadPool$Runner.run(", "QueuedThreadPool"},
+            new String[]{"ReservedThreadExecutor$ReservedThread.run(", "QueuedThreadPool"},
+            new String[]{"SingleThreadEventExecutor$", "EventLoop"},
+            new String[]{"java.lang.VirtualThread.run(", VIRTUAL_THREAD_EXECUTOR});
+
+    private ThreadPools() {
+    }
+
+    /**
+     * 끝의 스레드 번호를 떼어 풀 이름으로 사용한다.
+     * http-nio-8080-exec-17 → http-nio-8080-exec, pool-3-thread-9 → pool-3-thread,
+     * ForkJoinPool.commonPool-worker-5 → ForkJoinPool.commonPool-worker, RMI TCP Connection(4)-10.0.0.1 → RMI TCP Connection
+     */
+    static String poolName(String threadName) {
+        if (threadName == null) {
+            return "";
+        }
+        String name = threadName;
+        int paren = name.indexOf('(');
+        if (paren > 0 && paren + 1 < name.length() && Character.isDigit(name.charAt(paren + 1))) {
+            name = name.substring(0, paren);
+        }
+        int end = name.length();
+        while (end > 0 && Character.isDigit(name.charAt(end - 1))) {
+            end--;
+        }
+        if (end < name.length()) {
+            while (end > 0 && isSeparator(name.charAt(end - 1))) {
+                end--;
+            }
+        }
+        return end == 0 ? threadName : name.substring(0, end);
+    }
+
+    /**
+     * 이름 없는 스레드(주로 가상 스레드)는 JSON 덤프의 스레드 컨테이너로 묶는다.
+     */
+    static String poolName(ThreadInfo thread) {
+        String threadName = thread.getThreadName();
+        if ((threadName == null || threadName.isEmpty()) && thread.getThreadContainer() != null) {
+            return thread.getThreadContainer();
+        }
+        return poolName(threadName);
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '-' || c == '_' || c == '#' || Character.isWhitespace(c);
+    }
+
+    /**
+     * 스택으로 판별한 활동. 자바 프레임이 없는 JVM 내부 스레드(GC, 컴파일러 등)는 null.
+     */
+    static Activity activity(ThreadInfo thread) {
+        List<String> frames = thread.getStackFrames();
+        if (frames.isEmpty()) {
+            return null;
+        }
+        for (String frame : frames) {
+            for (String idleFrame : IDLE_FRAMES) {
+                if (frame.contains(idleFrame)) {
+                    return Activity.IDLE;
+                }
+            }
+        }
+        String state = thread.getJavaLangThreadState();
+        if ("BLOCKED".equals(state) || "WAITING".equals(state) || "TIMED_WAITING".equals(state)) {
+            return Activity.BLOCKED;
+        }
+        return Activity.BUSY;
+    }
+
+    /**
+     * 작업 스레드의 실행 루프로 판별한 실행기 종류. 풀 스레드가 아니면 null.
+     */
+    static String executorType(ThreadInfo thread) {
+        List<String> frames = thread.getStackFrames();
+        // 실행 루프는 스택 아래쪽에 있음
+        for (int i = frames.size() - 1; i >= 0; i--) {
+            String frame = frames.get(i);
+            for (String[] worker : WORKER_FRAMES) {
+                if (frame.contains(worker[0])) {
+                    return worker[1];
+                }
+            }
+        }
+        return null;
+    }
+}
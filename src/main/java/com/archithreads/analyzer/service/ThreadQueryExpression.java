@@ -0,0 +1,162 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.ThreadBitmap;
+import com.archithreads.analyzer.model.ThreadIndex;
+
+import java.util.Locale;
+
+/**
+ * 스레드 검색식을 ThreadIndex 의 비트맵 연산으로 계산한다.
+ * <pre>
+ *   frame:com.acme.billing AND state:BLOCKED
+ *   (lock:0x00000000c0001111 OR name:"http-nio") AND NOT frame:java.lang.Thread.sleep
+ * </pre>
+ * 조건은 frame / state / lock / name, 연산자는 AND, OR, NOT(또는 -) 와 괄호.
+ * 연산자 없이 나란히 쓴 조건은 AND 이고, 값에 공백이나 괄호가 있으면 큰따옴표로 감싼다.
+ */
+final class ThreadQueryExpression {
+
+    private final String query;
+    private final ThreadIndex index;
+    private int position;
+
+    private ThreadQueryExpression(String query, ThreadIndex index) {
+        this.query = query;
+        this.index = index;
+    }
+
+    /**
+     * 검색식에 맞는 스레드 집합. 문법 오류면 IllegalArgumentException.
+     */
+    static ThreadBitmap evaluate(String query, ThreadIndex index) {
+        ThreadQueryExpression expression = new ThreadQueryExpression(query, index);
+        ThreadBitmap result = expression.parseOr();
+        expression.skipWhitespace();
+        if (expression.position < query.length()) {
+            throw expression.error("예상하지 못한 '" + query.charAt(expression.position) + "'");
+        }
+        return result;
+    }
+
+    private ThreadBitmap parseOr() {
+        ThreadBitmap result = parseAnd();
+        while (acceptKeyword("OR") || accept("||")) {
+            result = result.or(parseAnd());
+        }
+        return result;
+    }
+
+    private ThreadBitmap parseAnd() {
+        ThreadBitmap result = parseNot();
+        while (true) {
+            if (acceptKeyword("AND") || accept("&&")) {
+                result = result.and(parseNot());
+            } else if (startsTerm()) {
+                result = result.and(parseNot());
+            } else {
+                return result;
+            }
+        }
+    }
+
+    private ThreadBitmap parseNot() {
+        if (acceptKeyword("NOT") || accept("!") || accept("-")) {
+            return parseNot().not();
+        }
+        return parsePrimary();
+    }
+
+    private ThreadBitmap parsePrimary() {
+        skipWhitespace();
+        if (accept("(")) {
+            ThreadBitmap result = parseOr();
+            if (!accept(")")) {
+                throw error("')' 가 없습니다");
+            }
+            return result;
+        }
+        int start = position;
+        while (position < query.length() && query.charAt(position) != ':' && isWordChar(query.charAt(position))) {
+            position++;
+        }
+        String field = query.substring(start, position).toLowerCase(Locale.ROOT);
+        if (field.isEmpty() || !accept(":")) {
+            throw error("조건은 frame:값, state:값, lock:값, name:값 형식이어야 합니다");
+        }
+        String value = parseValue();
+        switch (field) {
+            case "frame": return index.frame(value);
+            case "state": return index.state(value);
+            case "lock": return index.lock(value);
+            case "name": return index.threadName(value);
+            default: throw error("알 수 없는 조건: " + field);
+        }
+    }
+
+    private String parseValue() {
+        if (position < query.length() && query.charAt(position) == '"') {
+            int end = query.indexOf('"', position + 1);
+            if (end < 0) {
+                throw error("닫는 따옴표가 없습니다");
+            }
+            String value = query.substring(position + 1, end);
+            position = end + 1;
+            return value;
+        }
+        int start = position;
+        while (position < query.length() && isWordChar(query.charAt(position))) {
+            position++;
+        }
+        if (start == position) {
+            throw error("값이 없습니다");
+        }
+        return query.substring(start, position);
+    }
+
+    private boolean startsTerm() {
+        skipWhitespace();
+        if (position >= query.length() || query.charAt(position) == ')' || query.startsWith("||", position)) {
+            return false;
+        }
+        return !isKeywordAt("OR");
+    }
+
+    private boolean acceptKeyword(String keyword) {
+        skipWhitespace();
+        if (!isKeywordAt(keyword)) {
+            return false;
+        }
+        position += keyword.length();
+        return true;
+    }
+
+    // 대소문자 무시, 뒤에 공백/괄호가 오는 단어만 연산자로 본다 (예: "ORDER:" 는 아님)
+    private boolean isKeywordAt(String keyword) {
+        int end = position + keyword.length();
+        return query.regionMatches(true, position, keyword, 0, keyword.length())
+                && (end == query.length() || Character.isWhitespace(query.charAt(end)) || query.charAt(end) == '(');
+    }
+
+    private boolean accept(String token) {
+        skipWhitespace();
+        if (query.startsWith(token, position)) {
+            position += token.length();
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while (position < query.length() && Character.isWhitespace(query.charAt(position))) {
+            position++;
+        }
+    }
+
+    private static boolean isWordChar(char c) {
+        return !Character.isWhitespace(c) && c != '(' && c != ')' && c != '"';
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("검색식 오류 (" + (position + 1) + "번째 문자): " + message);
+    }
+}
@@ -0,0 +1,139 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.ThreadBitmap;
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import com.archithreads.analyzer.model.ThreadIndex;
+import com.archithreads.analyzer.model.ThreadInfo;
+import com.archithreads.analyzer.model.ThreadPage;
+import com.archithreads.analyzer.model.ThreadSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * 보관된 분석 결과의 스레드 목록을 필터링/정렬하여 페이지 단위로 잘라 준다.
+ * 상태/이름/락/프레임 조건은 분석 결과의 역색인(ThreadIndex)으로 계산한다.
+ */
+@Service
+public class ThreadQueryService {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    // 정렬 키 (기본은 덤프 순서)
+    private static final Map<String, Comparator<ThreadInfo>> SORTS = Map.of(
+            "name", Comparator.comparing(ThreadInfo::getThreadName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)),
+            "state", Comparator.comparing(ThreadInfo::getJavaLangThreadState, Comparator.nullsLast(Comparator.naturalOrder())),
+            "depth", Comparator.comparingInt(ThreadQueryService::stackDepth),
+            "lock", Comparator.comparing(ThreadInfo::getLockInfo, Comparator.nullsLast(Comparator.naturalOrder()))
+    );
+
+    @Autowired
+    private PatternAnalyzer patternAnalyzer;
+
+    /**
+     * state 는 java.lang.Thread.State 값, name/lock 은 부분 문자열(대소문자 무시), pattern 은 패턴 이름,
+     * q 는 frame/state/lock/name 조건을 AND/OR/NOT 으로 조합한 검색식 (ThreadQueryExpression).
+     * 모든 필터는 선택이며 함께 주면 AND 조건이다. 검색식 문법 오류는 IllegalArgumentException.
+     */
+    public ThreadPage query(ThreadDumpAnalysis analysis, String q, String state, String name, String lock,
+                            String pattern, String sort, boolean descending, int page, int size) {
+        List<ThreadInfo> threads = analysis.getThreads();
+        
+        // 색인 조건은 비트맵 교집합으로 계산하고, 패턴 필터는 남은 스레드에만 적용
+        ThreadBitmap candidates = candidates(analysis, q, state, name, lock);
+        Predicate<ThreadInfo> patternFilter = hasText(pattern) ? patternAnalyzer.threadFilter(analysis, pattern) : null;
+        
+        // 원래 위치(index)를 유지한 채 필터링
+        List<Integer> matches = new ArrayList<>();
+        if (candidates == null) {
+            for (int index = 0; index < threads.size(); index++) {
+                if (patternFilter == null || patternFilter.test(threads.get(index))) {
+                    matches.add(index);
+                }
+            }
+        } else {
+            for (int index : candidates.toArray()) {
+                if (patternFilter == null || patternFilter.test(threads.get(index))) {
+                    matches.add(index);
+                }
+            }
+        }
+        
+        Comparator<ThreadInfo> comparator = sort != null ? SORTS.get(sort) : null;
+        if (comparator != null || descending) {
+            Comparator<Integer> byIndex = comparator != null
+                    ? Comparator.<Integer, ThreadInfo>comparing(threads::get, comparator).thenComparingInt(Integer::intValue)
+                    : Comparator.naturalOrder();
+            matches.sort(descending ? byIndex.reversed() : byIndex);
+        }
+        
+        size = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        page = Math.max(0, page);
+        ThreadPage result = new ThreadPage();
+        result.setPage(page);
+        result.setSize(size);
+        result.setTotalElements(matches.size());
+        int from = (int) Math.min((long) page * size, matches.size());
+        for (int index : matches.subList(from, Math.min(from + size, matches.size()))) {
+            result.getThreads().add(new ThreadSummary(index, threads.get(index)));
+        }
+        return result;
+    }
+
+    /**
+     * 덤프 순서상 index 번째 스레드. 범위를 벗어나면 null.
+     */
+    public ThreadInfo getThread(ThreadDumpAnalysis analysis, int index) {
+        List<ThreadInfo> threads = analysis.getThreads();
+        return index >= 0 && index < threads.size() ? threads.get(index) : null;
+    }
+
+    // 색인으로 거를 조건이 없으면 null
+    private ThreadBitmap candidates(ThreadDumpAnalysis analysis, String q, String state, String name, String lock) {
+        if (!hasText(q) && !hasText(state) && !hasText(name) && !hasText(lock)) {
+            return null;
+        }
+        ThreadIndex index = threadIndex(analysis);
+        ThreadBitmap result = hasText(q) ? ThreadQueryExpression.evaluate(q, index) : index.all();
+        if (hasText(state)) {
+            result = result.and(index.state(state.trim()));
+        }
+        if (hasText(name)) {
+            result = result.and(index.threadName(name.trim()));
+        }
+        if (hasText(lock)) {
+            result = result.and(index.lock(lock.trim()));
+        }
+        return result;
+    }
+
+    /**
+     * 분석 결과의 검색 색인. 저장소에서 다시 읽은 결과처럼 색인이 없으면 만들어 붙여 둔다.
+     */
+    private ThreadIndex threadIndex(ThreadDumpAnalysis analysis) {
+        ThreadIndex index = analysis.getThreadIndex();
+        if (index == null) {
+            synchronized (analysis) {
+                index = analysis.getThreadIndex();
+                if (index == null) {
+                    index = ThreadIndex.build(analysis.getThreads(), analysis.getFrameTable());
+                    analysis.setThreadIndex(index);
+                }
+            }
+        }
+        return index;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static int stackDepth(ThreadInfo thread) {
+        return thread.getFrameIds() != null ? thread.getFrameIds().length : thread.getStackFrames().size();
+    }
+}
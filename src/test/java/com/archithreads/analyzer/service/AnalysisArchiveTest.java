@@ -0,0 +1,120 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalysisArchiveTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void loadsAnalysisWhileSaveIsPending() throws Exception {
+        AnalysisArchive archive = archive(DataSize.ofMegabytes(1));
+        ThreadDumpAnalysis analysis = analyze("first");
+
+        archive.save(analysis);
+        assertThat(archive.load("first")).isNotNull();
+
+        archive.shutdown();
+        assertThat(directory.resolve("first.atd")).exists();
+        ThreadDumpAnalysis read = archive.load("first");
+        assertThat(read.getThreads()).hasSameSizeAs(analysis.getThreads());
+    }
+
+    @Test
+    void deletesOldestFilesOverMaxSize() throws Exception {
+        ThreadDumpAnalysis first = analyze("first");
+        AnalysisArchive archive = archive(DataSize.ofBytes(1));
+        archive.save(first);
+        archive.shutdown();
+        long fileSize = Files.size(directory.resolve("first.atd"));
+
+        // 파일 두 개까지만 들어가는 크기
+        archive = archive(DataSize.ofBytes(fileSize * 2 + fileSize / 2));
+        archive.save(analyze("second"));
+        archive.save(analyze("third"));
+        archive.shutdown();
+
+        assertThat(atdFiles()).containsExactlyInAnyOrder("second.atd", "third.atd");
+    }
+
+    @Test
+    void loadedAnalysisDoesNotKeepFileMapped() throws Exception {
+        AnalysisArchive archive = archive(DataSize.ofMegabytes(1));
+        ThreadDumpAnalysis analysis = analyze("first");
+        archive.save(analysis);
+        archive.shutdown();
+
+        ThreadDumpAnalysis read = archive.load("first");
+
+        // 매핑을 붙잡고 있으면 Windows 에서 보관 기간이 지나도 파일을 지울 수 없다
+        assertThat(ReflectionTestUtils.getField(read.getFrameTable(), "source")).isNotInstanceOf(MappedByteBuffer.class);
+        assertThat(read.getThreads().get(0).getStackFrames()).isEqualTo(analysis.getThreads().get(0).getStackFrames());
+    }
+
+    @Test
+    void retriesFailedDeleteOnNextSave() throws Exception {
+        // 지울 수 없는 .atd (비어 있지 않은 디렉토리) 를 보관 기간보다 오래된 것으로 만든다
+        Path stuck = Files.createDirectory(directory.resolve("stuck.atd"));
+        Path lock = Files.writeString(stuck.resolve("lock"), "x");
+        Files.setLastModifiedTime(stuck, FileTime.from(Instant.now().minus(Duration.ofDays(60))));
+        AnalysisArchive archive = archive(DataSize.ofMegabytes(1));
+
+        archive.save(analyze("first"));
+        flush(archive);
+        assertThat(stuck).exists();
+        long trackedBytes = (long) ReflectionTestUtils.getField(archive, "archivedBytes");
+        assertThat(trackedBytes).isEqualTo(Files.size(stuck) + Files.size(directory.resolve("first.atd")));
+
+        Files.delete(lock);
+        archive.save(analyze("second"));
+        archive.shutdown();
+        assertThat(stuck).doesNotExist();
+        assertThat(atdFiles()).containsExactlyInAnyOrder("first.atd", "second.atd");
+    }
+
+    private static void flush(AnalysisArchive archive) throws Exception {
+        ((ExecutorService) ReflectionTestUtils.getField(archive, "writer")).submit(() -> { }).get();
+    }
+
+    private AnalysisArchive archive(DataSize maxSize) {
+        AnalysisArchive archive = new AnalysisArchive();
+        ReflectionTestUtils.setField(archive, "directory", directory.toString());
+        ReflectionTestUtils.setField(archive, "maxSize", maxSize);
+        return archive;
+    }
+
+    private ThreadDumpAnalysis analyze(String analysisId) throws IOException {
+        ThreadDumpAnalysis analysis;
+        try (InputStream in = getClass().getResourceAsStream("/archive/sample.txt")) {
+            analysis = new ThreadDumpParser(new AnalysisMetrics()).parseThreadDump(in);
+        }
+        analysis.setAnalysisId(analysisId);
+        return analysis;
+    }
+
+    private String[] atdFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(".atd"))
+                    .toArray(String[]::new);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.archithreads.analyzer.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 캐시 키는 줄바꿈 형식과 앞뒤 공백만 무시하고, 본문 안의 공백 차이는 구분한다.
+ */
+class AnalysisCacheTest {
+
+    private final AnalysisCache cache = new AnalysisCache();
+
+    @Test
+    void crlfAndLfGiveSameKey() throws IOException {
+        String dump = ThreadDumpParserTest.read(17);
+        String crlf = dump.replace("\n", "\r\n");
+
+        assertThat(crlf).isNotEqualTo(dump);
+        assertThat(cache.keyOf(crlf)).isEqualTo(cache.keyOf(dump));
+        assertThat(keyOfStream(crlf)).isEqualTo(cache.keyOf(dump));
+    }
+
+    @Test
+    void leadingAndTrailingWhitespaceIsIgnored() throws IOException {
+        String dump = ThreadDumpParserTest.read(17);
+        String padded = "\n \t\r\n" + dump + "\n\n  \t\r\n";
+
+        assertThat(cache.keyOf(padded)).isEqualTo(cache.keyOf(dump));
+        assertThat(keyOfStream(padded)).isEqualTo(cache.keyOf(dump));
+    }
+
+    @Test
+    void whitespaceInsideContentIsKept() {
+        assertThat(cache.keyOf("a b")).isNotEqualTo(cache.keyOf("a  b"));
+        assertThat(cache.keyOf("a\nb")).isNotEqualTo(cache.keyOf("a\n\nb"));
+        assertThat(cache.keyOf("a\tb")).isNotEqualTo(cache.keyOf("a b"));
+        assertThat(cache.keyOf("a\r\nb")).isEqualTo(cache.keyOf("a\nb"));
+    }
+
+    @Test
+    void streamKeyMatchesStringKeyAcrossBufferBoundaries() throws IOException {
+        // 내부 버퍼(64KB)보다 큰 CRLF 덤프를 몇 바이트씩 끊어 읽힌다
+        StringBuilder dump = new StringBuilder();
+        while (dump.length() < 200 * 1024) {
+            dump.append(ThreadDumpParserTest.read(21).replace("\n", "\r\n"));
+        }
+        byte[] bytes = dump.toString().getBytes(StandardCharsets.UTF_8);
+        InputStream trickle = new FilterInputStream(new ByteArrayInputStream(bytes)) {
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                return super.read(buffer, offset, Math.min(length, 7));
+            }
+        };
+
+        assertThat(cache.keyOf(trickle)).isEqualTo(cache.keyOf(dump.toString().replace("\r", "")));
+    }
+
+    private String keyOfStream(String content) throws IOException {
+        return cache.keyOf(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
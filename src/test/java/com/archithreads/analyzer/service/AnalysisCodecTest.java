@@ -0,0 +1,163 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.ArchivedAnalysis;
+import com.archithreads.analyzer.model.DeadlockCycle;
+import com.archithreads.analyzer.model.ProblemPattern;
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import com.archithreads.analyzer.model.ThreadInfo;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * .atd 저장 형식 왕복과 이전 버전 파일 읽기.
+ * sample-v1.atd, sample-v2.atd 는 각 버전을 쓰던 코드로 sample-v1.txt, sample.txt 를 분석해 저장한 파일이다.
+ */
+class AnalysisCodecTest {
+
+    private final AnalysisMetrics metrics = new AnalysisMetrics();
+    private final ThreadDumpParser parser = new ThreadDumpParser(metrics);
+    private final LockGraphAnalyzer lockGraphAnalyzer = new LockGraphAnalyzer();
+    private final PatternAnalyzer patternAnalyzer = new PatternAnalyzer(metrics, new RuleEngine());
+
+    @Test
+    void roundTripKeepsThreadsAndResults() throws IOException {
+        ThreadDumpAnalysis original = analyze("sample.txt");
+        original.setAnalysisId("round-trip");
+
+        ThreadDumpAnalysis read = AnalysisCodec.read(ByteBuffer.wrap(encode(original)));
+
+        assertThat(read.getAnalysisId()).isEqualTo("round-trip");
+        assertThat(read.getDumpTimestamp()).isEqualTo("2026-10-17 10:00:00");
+        assertSameThreads(read, original);
+        assertSameResults(read, original);
+        assertThat(read.getLockContentionCounts()).isEqualTo(original.getLockContentionCounts());
+        for (int t = 0; t < original.getThreads().size(); t++) {
+            ThreadInfo expected = original.getThreads().get(t);
+            ThreadInfo actual = read.getThreads().get(t);
+            assertThat(actual.getCpuTimeMillis()).isEqualTo(expected.getCpuTimeMillis());
+            assertThat(actual.getElapsedTimeMillis()).isEqualTo(expected.getElapsedTimeMillis());
+            assertThat(actual.getThreadContainer()).isEqualTo(expected.getThreadContainer());
+        }
+        assertThat(read.getStackGroups()).hasSameSizeAs(original.getStackGroups());
+        assertThat(read.getThreadPools()).hasSameSizeAs(original.getThreadPools());
+        assertThat(read.getCpuHotThreads()).hasSameSizeAs(original.getCpuHotThreads());
+    }
+
+    @Test
+    void readsHeaderOnly() throws IOException {
+        ThreadDumpAnalysis original = analyze("sample.txt");
+        original.setAnalysisId("header-only");
+
+        ArchivedAnalysis header = AnalysisCodec.readHeader(ByteBuffer.wrap(encode(original)));
+
+        assertThat(header.getAnalysisId()).isEqualTo("header-only");
+        assertThat(header.getTotalThreads()).isEqualTo(original.getThreads().size());
+        assertThat(header.getDumpTimestamp()).isEqualTo("2026-10-17 10:00:00");
+    }
+
+    @Test
+    void readsVersion1WithoutCpuTimes() throws IOException {
+        ThreadDumpAnalysis read = AnalysisCodec.read(ByteBuffer.wrap(resource("sample-v1.atd")));
+        ThreadDumpAnalysis expected = analyze("sample-v1.txt");
+
+        assertThat(read.getAnalysisId()).isEqualTo("sample-v1");
+        assertSameThreads(read, expected);
+        assertSameResults(read, expected);
+        // 저장된 분석 결과는 다시 계산하지 않고 파일에 있는 그대로 읽는다
+        assertThat(read.getLockContentionCounts()).containsKeys("0x00000000c0001111", "0x00000000c0002222");
+        assertThat(read.getThreads()).allSatisfy(thread -> {
+            assertThat(thread.getCpuTimeMillis()).isNull();
+            assertThat(thread.getThreadContainer()).isNull();
+        });
+        assertThat(read.getCpuHotThreads()).isEmpty();
+    }
+
+    @Test
+    void readsVersion2WithCpuTimes() throws IOException {
+        ThreadDumpAnalysis read = AnalysisCodec.read(ByteBuffer.wrap(resource("sample-v2.atd")));
+        ThreadDumpAnalysis expected = analyze("sample.txt");
+
+        assertThat(read.getAnalysisId()).isEqualTo("sample-v2");
+        assertSameThreads(read, expected);
+        assertThat(read.getDeadlockCycles()).hasSize(1);
+        for (int t = 0; t < expected.getThreads().size(); t++) {
+            assertThat(read.getThreads().get(t).getCpuTimeMillis())
+                    .isEqualTo(expected.getThreads().get(t).getCpuTimeMillis());
+        }
+        assertThat(read.getThreads()).allSatisfy(thread -> assertThat(thread.getThreadContainer()).isNull());
+        // CPU 순위는 읽을 때 다시 계산
+        assertThat(read.getCpuHotThreads()).isNotEmpty();
+        assertThat(read.getCpuHotThreads().get(0).getThreadName()).isEqualTo("order-worker-1");
+    }
+
+    @Test
+    void rejectsUnknownVersion() throws IOException {
+        byte[] bytes = resource("sample-v2.atd");
+        ByteBuffer.wrap(bytes).putShort(4, (short) (AnalysisCodec.VERSION + 1));
+
+        assertThatThrownBy(() -> AnalysisCodec.read(ByteBuffer.wrap(bytes)))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("버전");
+    }
+
+    private ThreadDumpAnalysis analyze(String name) throws IOException {
+        ThreadDumpAnalysis analysis;
+        try (InputStream in = getClass().getResourceAsStream("/archive/" + name)) {
+            analysis = parser.parseThreadDump(in);
+        }
+        lockGraphAnalyzer.analyze(analysis);
+        analysis.setTopProblems(patternAnalyzer.analyzePatterns(analysis).stream().limit(3).toList());
+        return analysis;
+    }
+
+    private static byte[] encode(ThreadDumpAnalysis analysis) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AnalysisCodec.write(analysis, out);
+        return out.toByteArray();
+    }
+
+    private byte[] resource(String name) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/archive/" + name)) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static void assertSameThreads(ThreadDumpAnalysis actual, ThreadDumpAnalysis expected) {
+        assertThat(actual.getThreads()).hasSameSizeAs(expected.getThreads());
+        for (int t = 0; t < expected.getThreads().size(); t++) {
+            ThreadInfo e = expected.getThreads().get(t);
+            ThreadInfo a = actual.getThreads().get(t);
+            assertThat(a.getThreadName()).isEqualTo(e.getThreadName());
+            assertThat(a.getNid()).isEqualTo(e.getNid());
+            assertThat(a.getJavaLangThreadState()).isEqualTo(e.getJavaLangThreadState());
+            assertThat(a.getLockInfo()).isEqualTo(e.getLockInfo());
+            assertThat(a.getParkingToWaitFor()).isEqualTo(e.getParkingToWaitFor());
+            assertThat(a.getStackFrames()).containsExactlyElementsOf(e.getStackFrames());
+            assertThat(a.getLockedMonitors()).containsExactlyElementsOf(e.getLockedMonitors());
+            assertThat(a.getLockedSynchronizers()).containsExactlyElementsOf(e.getLockedSynchronizers());
+            assertThat(a.isBlocked()).isEqualTo(e.isBlocked());
+            assertThat(a.isWaiting()).isEqualTo(e.isWaiting());
+            assertThat(a.isParked()).isEqualTo(e.isParked());
+        }
+    }
+
+    private static void assertSameResults(ThreadDumpAnalysis actual, ThreadDumpAnalysis expected) {
+        assertThat(actual.getTotalThreads()).isEqualTo(expected.getTotalThreads());
+        assertThat(actual.getBlockedThreads()).isEqualTo(expected.getBlockedThreads());
+        assertThat(actual.getWaitingThreads()).isEqualTo(expected.getWaitingThreads());
+        assertThat(actual.getThreadStateCounts()).isEqualTo(expected.getThreadStateCounts());
+        assertThat(actual.getDeadlockCycles()).extracting(DeadlockCycle::getThreadNames)
+                .containsExactlyElementsOf(expected.getDeadlockCycles().stream().map(DeadlockCycle::getThreadNames).toList());
+        List<String> expectedPatterns = expected.getTopProblems().stream().map(ProblemPattern::getPatternName).toList();
+        assertThat(actual.getTopProblems()).extracting(ProblemPattern::getPatternName)
+                .containsExactlyElementsOf(expectedPatterns);
+    }
+}
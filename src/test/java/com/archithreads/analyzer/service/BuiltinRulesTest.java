@@ -0,0 +1,138 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.ProblemPattern;
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import com.archithreads.analyzer.model.ThreadInfo;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 기본 규칙(rules/builtin-rules.yml)의 키워드가 라이브러리 프레임에만 걸리고
+ * 이름이 비슷한 애플리케이션 클래스에는 걸리지 않는지 확인한다.
+ */
+class BuiltinRulesTest {
+
+    private static final String DUMP = """
+            2026-10-17 10:00:00
+            Full thread dump OpenJDK 64-Bit Server VM (21.0.1+12-LTS mixed mode, sharing):
+
+            "ehcache-get" #21 [1101] prio=5 os_prio=0 cpu=1.00ms elapsed=60.00s tid=0x00007f0000001101 nid=1101 waiting for monitor entry  [0x00007f0000101000]
+               java.lang.Thread.State: BLOCKED (on object monitor)
+            \tat net.sf.ehcache.Cache.get(Cache.java:1620)
+            \t- waiting to lock <0x00000000c0000101> (a net.sf.ehcache.store.MemoryStore)
+            \tat com.acme.user.UserService.find(UserService.java:40)
+
+            "user-cache" #22 [1102] prio=5 os_prio=0 cpu=1.00ms elapsed=60.00s tid=0x00007f0000001102 nid=1102 runnable  [0x00007f0000102000]
+               java.lang.Thread.State: RUNNABLE
+            \tat com.acme.user.UserCache.find(UserCache.java:25)
+            \tat com.acme.user.UserService.find(UserService.java:41)
+
+            "caffeine-maintenance" #23 [1103] prio=5 os_prio=0 cpu=1.00ms elapsed=60.00s tid=0x00007f0000001103 nid=1103 runnable  [0x00007f0000103000]
+               java.lang.Thread.State: RUNNABLE
+            \tat com.github.benmanes.caffeine.cache.BoundedLocalCache.evictEntries(BoundedLocalCache.java:757)
+            \tat com.github.benmanes.caffeine.cache.BoundedLocalCache.maintenance(BoundedLocalCache.java:1711)
+
+            "session-reaper" #24 [1104] prio=5 os_prio=0 cpu=1.00ms elapsed=60.00s tid=0x00007f0000001104 nid=1104 runnable  [0x00007f0000104000]
+               java.lang.Thread.State: RUNNABLE
+            \tat com.acme.session.SessionStore.expireIdle(SessionStore.java:88)
+            \tat com.acme.session.SessionStore.evictAll(SessionStore.java:95)
+
+            "log-blocked" #25 [1105] prio=5 os_prio=0 cpu=1.00ms elapsed=60.00s tid=0x00007f0000001105 nid=1105 waiting on condition  [0x00007f0000105000]
+               java.lang.Thread.State: WAITING (parking)
+            \tat jdk.internal.misc.Unsafe.park(java.base@21.0.1/Native Method)
+            \t- parking to wait for  <0x00000000c0000105> (a java.util.concurrent.locks.ReentrantLock$NonfairSync)
+            \tat java.util.concurrent.locks.ReentrantLock.lock(java.base@21.0.1/ReentrantLock.java:322)
+            \tat ch.qos.logback.core.OutputStreamAppender.writeBytes(OutputStreamAppender.java:197)
+            \tat ch.qos.logback.classic.Logger.info(Logger.java:591)
+            \tat com.acme.order.OrderService.place(OrderService.java:60)
+
+            "log-writing" #26 [1106] prio=5 os_prio=0 cpu=1.00ms elapsed=60.00s tid=0x00007f0000001106 nid=1106 runnable  [0x00007f0000106000]
+               java.lang.Thread.State: RUNNABLE
+            \tat java.io.FileOutputStream.writeBytes(java.base@21.0.1/Native Method)
+            \tat ch.qos.logback.core.OutputStreamAppender.writeBytes(OutputStreamAppender.java:199)
+            \tat ch.qos.logback.classic.Logger.info(Logger.java:591)
+            \tat com.acme.order.OrderService.place(OrderService.java:60)
+
+            "AsyncAppender-Worker-ASYNC" #27 [1107] daemon prio=5 os_prio=0 cpu=1.00ms elapsed=60.00s tid=0x00007f0000001107 nid=1107 waiting on condition  [0x00007f0000107000]
+               java.lang.Thread.State: WAITING (parking)
+            \tat jdk.internal.misc.Unsafe.park(java.base@21.0.1/Native Method)
+            \t- parking to wait for  <0x00000000c0000107> (a java.util.concurrent.locks.AbstractQueuedSynchronizer$ConditionObject)
+            \tat java.util.concurrent.ArrayBlockingQueue.take(java.base@21.0.1/ArrayBlockingQueue.java:420)
+            \tat ch.qos.logback.core.AsyncAppenderBase$Worker.run(AsyncAppenderBase.java:289)
+
+            "audit-logger" #28 [1108] prio=5 os_prio=0 cpu=1.00ms elapsed=60.00s tid=0x00007f0000001108 nid=1108 waiting for monitor entry  [0x00007f0000108000]
+               java.lang.Thread.State: BLOCKED (on object monitor)
+            \tat com.acme.audit.AuditLogger.write(AuditLogger.java:30)
+            \t- waiting to lock <0x00000000c0000108> (a com.acme.audit.AuditLogger)
+
+            "explicit-gc" #29 [1109] prio=5 os_prio=0 cpu=1.00ms elapsed=60.00s tid=0x00007f0000001109 nid=1109 runnable  [0x00007f0000109000]
+               java.lang.Thread.State: RUNNABLE
+            \tat java.lang.Runtime.gc(java.base@21.0.1/Native Method)
+            \tat java.lang.System.gc(java.base@21.0.1/System.java:1864)
+            \tat com.acme.batch.ImportJob.run(ImportJob.java:77)
+
+            "gc-stats" #30 [1110] prio=5 os_prio=0 cpu=1.00ms elapsed=60.00s tid=0x00007f0000001110 nid=1110 runnable  [0x00007f0000110000]
+               java.lang.Thread.State: RUNNABLE
+            \tat com.acme.monitor.GCStats.sample(GCStats.java:12)
+
+            """;
+
+    private static ThreadDumpAnalysis analysis;
+    private static RulePlan plan;
+
+    @BeforeAll
+    static void parse() {
+        analysis = ThreadDumpParserTest.parser().parseThreadDump(DUMP);
+        plan = new RuleEngine().getPlan();
+    }
+
+    @Test
+    void compilesWithoutErrors() {
+        assertThat(new RuleEngine().getStatus().getErrors()).isEmpty();
+    }
+
+    @Test
+    void cacheMiss() {
+        assertMatches("CACHE_MISS", "ehcache-get", "caffeine-maintenance");
+    }
+
+    @Test
+    void cacheEviction() {
+        assertMatches("CACHE_EVICTION", "caffeine-maintenance");
+    }
+
+    @Test
+    void loggingBlocked() {
+        assertMatches("LOGGING_BLOCKED", "log-blocked");
+    }
+
+    @Test
+    void gcPressure() {
+        assertMatches("GC_PRESSURE", "explicit-gc");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {8, 11, 17, 21})
+    void fixturesHaveNoLibraryPatterns(int jdk) throws IOException {
+        // 픽스처에는 UserCache, OrderCache 같은 애플리케이션 클래스만 있다
+        ThreadDumpAnalysis fixture = ThreadDumpParserTest.parser().parseThreadDump(ThreadDumpParserTest.read(jdk));
+        PatternAnalyzer patternAnalyzer = new PatternAnalyzer(new AnalysisMetrics(), new RuleEngine());
+
+        assertThat(patternAnalyzer.analyzePatterns(fixture)).extracting(ProblemPattern::getPatternName)
+                .doesNotContain("CACHE_MISS", "LOGGING_BLOCKED", "GC_PRESSURE");
+    }
+
+    private static void assertMatches(String name, String... threadNames) {
+        Predicate<ThreadInfo> filter = plan.threadFilter(analysis.getFrameTable(), name);
+        assertThat(analysis.getThreads().stream().filter(filter).map(ThreadInfo::getThreadName))
+                .as(name)
+                .containsExactly(threadNames);
+    }
+}
@@ -0,0 +1,149 @@
+package com.archithreads.analyzer.service;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompressedDumpReaderTest {
+
+    private static final String FIRST = "\"main\" #1 prio=5 tid=0x1 nid=0x1 runnable\n";
+    private static final String SECOND = "\"worker\" #2 prio=5 tid=0x2 nid=0x2 runnable\n";
+
+    private final CompressedDumpReader reader = new CompressedDumpReader();
+
+    @Test
+    void passesPlainDumpThrough() throws IOException {
+        byte[] plain = bytes(FIRST);
+
+        assertThat(reader.isCompressed(new ByteArrayInputStream(plain))).isFalse();
+        assertThat(read("dump.txt", plain)).containsExactly(Map.entry("dump.txt", FIRST));
+    }
+
+    @Test
+    void readsGzip() throws IOException {
+        byte[] gzip = gzip(bytes(FIRST));
+
+        assertThat(reader.isCompressed(new ByteArrayInputStream(gzip))).isTrue();
+        assertThat(read("dump.txt.gz", gzip)).containsExactly(Map.entry("dump.txt", FIRST));
+    }
+
+    @Test
+    void readsZipEntriesAndSkipsHiddenOnes() throws IOException {
+        byte[] zip = zip(Map.of(
+                "dumps/", "",
+                "dumps/first.txt", FIRST,
+                "dumps/second.txt", SECOND,
+                "dumps/.DS_Store", "x",
+                "__MACOSX/dumps/._first.txt", "x"));
+
+        assertThat(reader.isCompressed(new ByteArrayInputStream(zip))).isTrue();
+        assertThat(read("dumps.zip", zip)).containsOnly(
+                Map.entry("dumps/first.txt", FIRST), Map.entry("dumps/second.txt", SECOND));
+    }
+
+    @Test
+    void readsTarGz() throws IOException {
+        ByteArrayOutputStream tar = new ByteArrayOutputStream();
+        try (TarArchiveOutputStream out = new TarArchiveOutputStream(tar)) {
+            for (Map.Entry<String, String> file : Map.of("first.txt", FIRST, "second.txt", SECOND).entrySet()) {
+                byte[] content = bytes(file.getValue());
+                TarArchiveEntry entry = new TarArchiveEntry(file.getKey());
+                entry.setSize(content.length);
+                out.putArchiveEntry(entry);
+                out.write(content);
+                out.closeArchiveEntry();
+            }
+        }
+
+        assertThat(read("dumps.tar.gz", gzip(tar.toByteArray()))).containsOnly(
+                Map.entry("first.txt", FIRST), Map.entry("second.txt", SECOND));
+    }
+
+    @Test
+    void readsGzipInsideZip() throws IOException {
+        ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        try (ZipArchiveOutputStream out = new ZipArchiveOutputStream(zip)) {
+            out.putArchiveEntry(new ZipArchiveEntry("first.txt.gz"));
+            out.write(gzip(bytes(FIRST)));
+            out.closeArchiveEntry();
+        }
+
+        assertThat(read("dumps.zip", zip.toByteArray())).containsExactly(Map.entry("first.txt", FIRST));
+    }
+
+    @Test
+    void rejectsUncompressedSizeOverLimit() throws IOException {
+        ReflectionTestUtils.setField(reader, "maxUncompressedSize", DataSize.ofBytes(FIRST.length() + SECOND.length() - 1));
+        byte[] gzip = gzip(bytes(FIRST + SECOND));
+        byte[] zip = zip(Map.of("first.txt", FIRST, "second.txt", SECOND));
+
+        assertThatThrownBy(() -> read("dump.txt.gz", gzip))
+                .isInstanceOf(IOException.class).hasMessageContaining("한도");
+        // zip 은 항목들의 합계로 센다
+        assertThatThrownBy(() -> read("dumps.zip", zip))
+                .isInstanceOf(IOException.class).hasMessageContaining("한도");
+    }
+
+    @Test
+    void rejectsTooManyEntries() throws IOException {
+        ReflectionTestUtils.setField(reader, "maxEntries", 2);
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put("first.txt", FIRST);
+        files.put("second.txt", SECOND);
+
+        assertThat(read("dumps.zip", zip(files))).hasSize(2);
+        files.put("third.txt", FIRST);
+        byte[] zip = zip(files);
+        assertThatThrownBy(() -> read("dumps.zip", zip))
+                .isInstanceOf(IOException.class).hasMessageContaining("최대 2개");
+    }
+
+    // 항목 이름 -> 내용 (handler 안에서 모두 읽는다)
+    private Map<String, String> read(String name, byte[] upload) throws IOException {
+        Map<String, String> dumps = new LinkedHashMap<>();
+        int count = reader.readDumps(name, new ByteArrayInputStream(upload), (entryName, content) ->
+                dumps.put(entryName, new String(content.readAllBytes(), StandardCharsets.UTF_8)));
+        assertThat(count).isEqualTo(dumps.size());
+        return dumps;
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzip)) {
+            out.write(content);
+        }
+        return gzip.toByteArray();
+    }
+
+    // 이름이 / 로 끝나면 디렉토리 항목
+    private static byte[] zip(Map<String, String> files) throws IOException {
+        ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        try (ZipArchiveOutputStream out = new ZipArchiveOutputStream(zip)) {
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                out.putArchiveEntry(new ZipArchiveEntry(file.getKey()));
+                out.write(bytes(file.getValue()));
+                out.closeArchiveEntry();
+            }
+        }
+        return zip.toByteArray();
+    }
+}
@@ -0,0 +1,101 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.DeadlockCycle;
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LockGraphAnalyzerTest {
+
+    // order-1 은 모니터를 쥐고 ReentrantLock 을, order-2 는 ReentrantLock 을 쥐고 모니터를 기다린다 (JVM 보고 없음)
+    private static final String MIXED_CYCLE = """
+            2026-10-17 10:00:00
+            Full thread dump OpenJDK 64-Bit Server VM (21.0.1+12-LTS mixed mode, sharing):
+
+            "order-1" #31 [1201] prio=5 os_prio=0 cpu=10.00ms elapsed=60.00s tid=0x00007f0000001000 nid=1201 waiting on condition  [0x00007f0000101000]
+               java.lang.Thread.State: WAITING (parking)
+            	at jdk.internal.misc.Unsafe.park(java.base@21.0.1/Native Method)
+            	- parking to wait for  <0x00000000c0000b0b> (a java.util.concurrent.locks.ReentrantLock$NonfairSync)
+            	at java.util.concurrent.locks.LockSupport.park(java.base@21.0.1/LockSupport.java:221)
+            	at java.util.concurrent.locks.ReentrantLock.lock(java.base@21.0.1/ReentrantLock.java:322)
+            	at com.acme.order.Stock.reserve(Stock.java:40)
+            	- locked <0x00000000c0000a0a> (a com.acme.order.Stock)
+            	at com.acme.order.OrderWorker.run(OrderWorker.java:21)
+
+            "order-2" #32 [1202] prio=5 os_prio=0 cpu=10.00ms elapsed=60.00s tid=0x00007f0000002000 nid=1202 waiting for monitor entry  [0x00007f0000102000]
+               java.lang.Thread.State: BLOCKED (on object monitor)
+            	at com.acme.order.Stock.release(Stock.java:55)
+            	- waiting to lock <0x00000000c0000a0a> (a com.acme.order.Stock)
+            	at com.acme.order.OrderWorker.run(OrderWorker.java:30)
+
+               Locked ownable synchronizers:
+            	- <0x00000000c0000b0b> (a java.util.concurrent.locks.ReentrantLock$NonfairSync)
+
+            "order-3" #33 [1203] prio=5 os_prio=0 cpu=10.00ms elapsed=60.00s tid=0x00007f0000003000 nid=1203 waiting for monitor entry  [0x00007f0000103000]
+               java.lang.Thread.State: BLOCKED (on object monitor)
+            	at com.acme.order.Stock.release(Stock.java:55)
+            	- waiting to lock <0x00000000c0000a0a> (a com.acme.order.Stock)
+            	at com.acme.order.OrderWorker.run(OrderWorker.java:30)
+
+            """;
+
+    private final LockGraphAnalyzer analyzer = new LockGraphAnalyzer();
+
+    @Test
+    void detectsMonitorAndReentrantLockCycle() {
+        ThreadDumpAnalysis analysis = analyze(MIXED_CYCLE);
+
+        assertThat(analysis.getDeadlockCycles()).hasSize(1);
+        DeadlockCycle cycle = analysis.getDeadlockCycles().get(0);
+        assertThat(cycle.isDetectedByGraph()).isTrue();
+        assertThat(cycle.isReportedByJvm()).isFalse();
+        assertThat(cycle.getThreadNames()).containsExactlyInAnyOrder("order-1", "order-2");
+        assertThat(cycle.getLockAddresses()).containsExactlyInAnyOrder("0x00000000c0000a0a", "0x00000000c0000b0b");
+        // order-3 은 사이클에 합류하지만 사이클 구성원은 아님
+        assertThat(analysis.getDeadlockThreads()).containsExactlyInAnyOrder("order-1", "order-2");
+        assertThat(analysis.getThreads().get(2).getLockOwner()).isEqualTo("order-1");
+
+        assertThat(analysis.getLockContentionCounts())
+                .containsEntry("0x00000000c0000a0a", 2)
+                .containsEntry("0x00000000c0000b0b", 1)
+                .hasSize(2);
+    }
+
+    @Test
+    void idlePoolWorkersAreNotContention() {
+        ThreadDumpAnalysis analysis = analyze(idlePoolDump(40));
+
+        assertThat(analysis.getThreads()).hasSize(40);
+        assertThat(analysis.getLockContentionCounts()).isEmpty();
+        assertThat(analysis.getDeadlockCycles()).isEmpty();
+    }
+
+    /**
+     * 같은 작업 큐 Condition 에서 쉬는 ThreadPoolExecutor 워커들 (소유자 없음).
+     */
+    static String idlePoolDump(int workers) {
+        StringBuilder dump = new StringBuilder("2026-10-17 10:00:00\n")
+                .append("Full thread dump OpenJDK 64-Bit Server VM (21.0.1+12-LTS mixed mode, sharing):\n\n");
+        for (int i = 1; i <= workers; i++) {
+            dump.append("\"pool-1-thread-").append(i).append("\" #").append(100 + i).append(" [").append(2000 + i)
+                    .append("] prio=5 os_prio=0 cpu=1.00ms elapsed=60.00s tid=0x00007f00000").append(10000 + i)
+                    .append(" nid=").append(2000 + i).append(" waiting on condition  [0x00007f0000200000]\n")
+                    .append("   java.lang.Thread.State: WAITING (parking)\n")
+                    .append("\tat jdk.internal.misc.Unsafe.park(java.base@21.0.1/Native Method)\n")
+                    .append("\t- parking to wait for  <0x00000000aa000000> (a java.util.concurrent.locks.AbstractQueuedSynchronizer$ConditionObject)\n")
+                    .append("\tat java.util.concurrent.locks.LockSupport.park(java.base@21.0.1/LockSupport.java:371)\n")
+                    .append("\tat java.util.concurrent.LinkedBlockingQueue.take(java.base@21.0.1/LinkedBlockingQueue.java:435)\n")
+                    .append("\tat java.util.concurrent.ThreadPoolExecutor.getTask(java.base@21.0.1/ThreadPoolExecutor.java:1070)\n")
+                    .append("\tat java.util.concurrent.ThreadPoolExecutor.runWorker(java.base@21.0.1/ThreadPoolExecutor.java:1130)\n")
+                    .append("\tat java.lang.Thread.run(java.base@21.0.1/Thread.java:1583)\n\n");
+        }
+        return dump.toString();
+    }
+
+    private ThreadDumpAnalysis analyze(String dump) {
+        ThreadDumpAnalysis analysis = ThreadDumpParserTest.parser().parseThreadDump(dump);
+        analyzer.analyze(analysis);
+        return analysis;
+    }
+}
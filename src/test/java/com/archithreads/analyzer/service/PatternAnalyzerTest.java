@@ -0,0 +1,68 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.ProblemPattern;
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PatternAnalyzerTest {
+
+    private final LockGraphAnalyzer lockGraphAnalyzer = new LockGraphAnalyzer();
+    private final PatternAnalyzer patternAnalyzer = new PatternAnalyzer(new AnalysisMetrics(), new RuleEngine());
+
+    @Test
+    void reportsThreadsBlockedOnOwnedMonitor() {
+        StringBuilder dump = new StringBuilder("""
+                2026-10-17 10:00:00
+                Full thread dump OpenJDK 64-Bit Server VM (21.0.1+12-LTS mixed mode, sharing):
+
+                "audit-1" #40 [1300] prio=5 os_prio=0 cpu=10.00ms elapsed=60.00s tid=0x00007f0000010000 nid=1300 runnable  [0x00007f0000110000]
+                   java.lang.Thread.State: RUNNABLE
+                	at com.acme.audit.AuditLog.append(AuditLog.java:80)
+                	- locked <0x00000000c0000c0c> (a com.acme.audit.AuditLog)
+                	at com.acme.audit.AuditWorker.run(AuditWorker.java:25)
+
+                """);
+        for (int i = 2; i <= 6; i++) {
+            dump.append("\"audit-").append(i).append("\" #").append(39 + i).append(" [").append(1299 + i)
+                    .append("] prio=5 os_prio=0 cpu=10.00ms elapsed=60.00s tid=0x00007f000001000").append(i)
+                    .append(" nid=").append(1299 + i).append(" waiting for monitor entry  [0x00007f0000110000]\n")
+                    .append("   java.lang.Thread.State: BLOCKED (on object monitor)\n")
+                    .append("\tat com.acme.audit.AuditLog.append(AuditLog.java:78)\n")
+                    .append("\t- waiting to lock <0x00000000c0000c0c> (a com.acme.audit.AuditLog)\n")
+                    .append("\tat com.acme.audit.AuditWorker.run(AuditWorker.java:25)\n\n");
+        }
+
+        List<ProblemPattern> contention = lockContention(dump.toString());
+
+        assertThat(contention).hasSize(1);
+        assertThat(contention.get(0).getAffectedThreads()).isEqualTo(5);
+        assertThat(contention.get(0).getDescription()).contains("0x00000000c0000c0c");
+    }
+
+    @Test
+    void ignoresIdlePoolWorkers() {
+        assertThat(lockContention(LockGraphAnalyzerTest.idlePoolDump(40))).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {8, 11, 17, 21})
+    void fixturesHaveNoLockContention(int jdk) throws IOException {
+        // 픽스처의 풀 워커들은 소유자 없는 Condition 에서 쉬고 있을 뿐이다
+        assertThat(lockContention(ThreadDumpParserTest.read(jdk))).isEmpty();
+    }
+
+    private List<ProblemPattern> lockContention(String dump) {
+        ThreadDumpAnalysis analysis = ThreadDumpParserTest.parser().parseThreadDump(dump);
+        lockGraphAnalyzer.analyze(analysis);
+        return patternAnalyzer.analyzePatterns(analysis).stream()
+                .filter(pattern -> "LOCK_CONTENTION".equals(pattern.getPatternName()))
+                .toList();
+    }
+}
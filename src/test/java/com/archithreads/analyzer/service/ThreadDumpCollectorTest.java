@@ -0,0 +1,61 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.StackGroup;
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThreadDumpCollectorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void groupsStacksThatDifferOnlyInLockAddresses() throws IOException {
+        StringBuilder dump = new StringBuilder("2026-10-17 10:00:00\n")
+                .append("Full thread dump OpenJDK 64-Bit Server VM (21.0.1+12-LTS mixed mode, sharing):\n\n");
+        // 워커마다 다른 Condition 에서 대기
+        for (int i = 1; i <= 6; i++) {
+            dump.append("\"worker-").append(i).append("\" #").append(20 + i).append(" [").append(1100 + i)
+                    .append("] prio=5 os_prio=0 cpu=1.00ms elapsed=60.00s tid=0x00007f000000").append(1000 + i)
+                    .append(" nid=").append(1100 + i).append(" waiting on condition  [0x00007f0000100000]\n")
+                    .append("   java.lang.Thread.State: WAITING (parking)\n")
+                    .append("\tat jdk.internal.misc.Unsafe.park(java.base@21.0.1/Native Method)\n")
+                    .append("\t- parking to wait for  <0x00000000b000000").append(i)
+                    .append("> (a java.util.concurrent.locks.AbstractQueuedSynchronizer$ConditionObject)\n")
+                    .append("\tat java.util.concurrent.locks.LockSupport.park(java.base@21.0.1/LockSupport.java:371)\n")
+                    .append("\tat com.acme.batch.Worker.run(Worker.java:30)\n\n");
+        }
+        // 연결마다 다른 InputStreamReader 를 잡고 읽는 중
+        for (int i = 1; i <= 3; i++) {
+            dump.append("\"reader-").append(i).append("\" #").append(30 + i).append(" [").append(1200 + i)
+                    .append("] prio=5 os_prio=0 cpu=1.00ms elapsed=60.00s tid=0x00007f000000").append(2000 + i)
+                    .append(" nid=").append(1200 + i).append(" runnable  [0x00007f0000200000]\n")
+                    .append("   java.lang.Thread.State: RUNNABLE\n")
+                    .append("\tat sun.nio.ch.SocketDispatcher.read0(java.base@21.0.1/Native Method)\n")
+                    .append("\tat sun.nio.cs.StreamDecoder.read(java.base@21.0.1/StreamDecoder.java:188)\n")
+                    .append("\t- locked <0x00000000c000000").append(i).append("> (a java.io.InputStreamReader)\n")
+                    .append("\tat java.io.BufferedReader.readLine(java.base@21.0.1/BufferedReader.java:329)\n")
+                    .append("\tat com.acme.net.Connection.run(Connection.java:52)\n\n");
+        }
+        Path dumpFile = Files.writeString(directory.resolve("dump.txt"), dump);
+
+        ThreadDumpAnalysis streamed = ThreadDumpParserTest.parser().parseThreadDump(dump.toString());
+        ThreadDumpAnalysis mapped = ThreadDumpParserTest.parser().parseMappedFile(dumpFile);
+
+        for (ThreadDumpAnalysis analysis : new ThreadDumpAnalysis[] {streamed, mapped}) {
+            assertThat(analysis.getStackGroups()).extracting(StackGroup::getCount).containsExactly(6, 3);
+            assertThat(analysis.getThreads().get(0).getStackSignature())
+                    .isEqualTo(analysis.getThreads().get(5).getStackSignature());
+            // 그룹의 스택은 대표 스레드의 실제 주소를 그대로 보여준다
+            assertThat(analysis.getStackGroups().get(0).getStackFrames())
+                    .contains("- parking to wait for  <0x00000000b0000001> (a java.util.concurrent.locks.AbstractQueuedSynchronizer$ConditionObject)");
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import com.archithreads.analyzer.model.ThreadInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * dumps/jdk*.txt 는 벤치마크의 SyntheticThreadDumpGenerator 로 만든 24개 스레드 덤프다 (seed 42).
+ * main 스레드에는 데몬 여부 판정을 확인하려고 DaemonLoader 프레임을 덧붙였다.
+ * dumps/jdk21.json 은 JDK 21 jcmd Thread.dump_to_file -format=json 출력에서 컨테이너별로 몇 개 스레드만 남긴 것이다.
+ */
+class ThreadDumpParserTest {
+
+    private static final int THREADS = 24;
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @ValueSource(ints = {8, 11, 17, 21})
+    void parsesHeaderFormat(int jdk) throws IOException {
+        ThreadDumpAnalysis analysis = parser().parseThreadDump(read(jdk));
+
+        assertThat(analysis.getDumpTimestamp()).isEqualTo("2024-05-01 10:00:00");
+        assertThat(analysis.getThreads()).hasSize(THREADS);
+        assertThat(analysis.getTotalThreads()).isEqualTo(THREADS);
+        assertThat(analysis.getThreadStateCounts().values().stream().mapToInt(Integer::intValue).sum())
+                .isEqualTo(THREADS);
+
+        ThreadInfo referenceHandler = analysis.getThreads().get(0);
+        assertThat(referenceHandler.getThreadName()).isEqualTo("Reference Handler");
+        assertThat(referenceHandler.getThreadId()).isEqualTo("1");
+        assertThat(referenceHandler.getDaemon()).isEqualTo("true");
+        assertThat(referenceHandler.getPriority()).isEqualTo("10");
+        assertThat(referenceHandler.getTid()).isEqualTo("0x00007f3a2c006800");
+        // JDK 21 은 nid 를 10진수로 찍는다
+        assertThat(referenceHandler.getNid()).isEqualTo(jdk >= 21 ? "10752" : "0x2a00");
+        if (jdk == 8) {
+            assertThat(referenceHandler.getCpuTimeMillis()).isNull();
+            assertThat(referenceHandler.getElapsedTimeMillis()).isNull();
+        } else {
+            assertThat(referenceHandler.getCpuTimeMillis()).isEqualTo(396.87);
+            assertThat(referenceHandler.getElapsedTimeMillis()).isEqualTo(5_455_460.0);
+        }
+        // 데몬 여부는 헤더 토큰으로만 판단 ("daemon" 이 들어간 프레임은 무관)
+        ThreadInfo main = analysis.getThreads().stream()
+                .filter(thread -> thread.getThreadName().equals("main")).findFirst().orElseThrow();
+        assertThat(main.getStackFrames()).anyMatch(frame -> frame.contains("commons.daemon"));
+        assertThat(main.getDaemon()).isNull();
+
+        assertThat(analysis.getThreads()).allSatisfy(thread -> {
+            assertThat(thread.getThreadName()).isNotBlank();
+            assertThat(thread.getNid()).isNotNull();
+            assertThat(thread.getJavaLangThreadState()).isNotNull();
+            // 프레임과 락 라인은 들여쓰기 없이 보관
+            assertThat(thread.getStackFrames()).allSatisfy(frame -> assertThat(frame).matches("(at |- ).+"));
+        });
+        assertThat(analysis.getBlockedThreads()).isPositive();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {8, 11, 17, 21})
+    void streamingAndMappedParsesAreEquivalent(int jdk) throws IOException {
+        String dump = read(jdk);
+        Path dumpFile = Files.writeString(directory.resolve("jdk" + jdk + ".txt"), dump);
+
+        ThreadDumpAnalysis fromString = parser().parseThreadDump(dump);
+        ThreadDumpAnalysis streamed;
+        try (InputStream in = Files.newInputStream(dumpFile)) {
+            streamed = parser().parseThreadDump(in);
+        }
+        ThreadDumpAnalysis mapped = parser().parseMappedFile(dumpFile);
+
+        assertEquivalent(streamed, fromString);
+        assertEquivalent(mapped, streamed);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {8, 11, 17, 21})
+    void parallelParseMatchesSequential(int jdk) throws IOException {
+        assumeTrue(ForkJoinPool.getCommonPoolParallelism() > 1, "공용 ForkJoinPool 병렬도가 1");
+        Path dumpFile = Files.writeString(directory.resolve("jdk" + jdk + ".txt"), read(jdk));
+
+        ThreadDumpAnalysis sequential = parser().parseMappedFile(dumpFile);
+        ThreadDumpParser parallelParser = parser();
+        // 작은 파일도 청크로 나누어 병렬 파싱
+        ReflectionTestUtils.setField(parallelParser, "parallelThreshold", DataSize.ofBytes(1));
+        ThreadDumpAnalysis parallel = parallelParser.parseMappedFile(dumpFile);
+
+        assertEquivalent(parallel, sequential);
+        assertThat(parallel.getFrameTable().size()).isEqualTo(sequential.getFrameTable().size());
+    }
+
+    @Test
+    void parsesJcmdJsonFromEveryEntryPoint() throws IOException {
+        String dump;
+        try (InputStream in = ThreadDumpParserTest.class.getResourceAsStream("/dumps/jdk21.json")) {
+            dump = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        Path dumpFile = Files.writeString(directory.resolve("jdk21.json"), dump);
+
+        ThreadDumpAnalysis fromString = parser().parseThreadDump(dump);
+        ThreadDumpAnalysis streamed;
+        try (InputStream in = Files.newInputStream(dumpFile)) {
+            streamed = parser().parseThreadDump(in);
+        }
+        // JSON 은 매핑하지 않고 스트리밍 파싱으로 넘어간다
+        ThreadDumpAnalysis mapped = parser().parseMappedFile(dumpFile);
+
+        assertJcmdJson(fromString);
+        assertEquivalent(streamed, fromString);
+        assertEquivalent(mapped, fromString);
+        for (int t = 0; t < fromString.getThreads().size(); t++) {
+            ThreadInfo expected = fromString.getThreads().get(t);
+            assertThat(streamed.getThreads().get(t).getThreadContainer()).isEqualTo(expected.getThreadContainer());
+            assertThat(mapped.getThreads().get(t).getThreadContainer()).isEqualTo(expected.getThreadContainer());
+            assertThat(streamed.getThreads().get(t).isVirtual()).isEqualTo(expected.isVirtual());
+            assertThat(mapped.getThreads().get(t).isVirtual()).isEqualTo(expected.isVirtual());
+        }
+    }
+
+    private static void assertJcmdJson(ThreadDumpAnalysis analysis) {
+        assertThat(analysis.getDumpTimestamp()).isEqualTo("2026-10-17 03:02:50");
+        assertThat(analysis.getJvmVersion()).isEqualTo("21.0.1+12-LTS");
+        assertThat(analysis.getTotalThreads()).isEqualTo(12);
+
+        String root = "<root>";
+        String pool = "java.util.concurrent.ThreadPoolExecutor@7fc2413d";
+        String carriers = "ForkJoinPool-1/jdk.internal.vm.SharedThreadContainer@61ce18f6";
+        String virtual = "java.util.concurrent.ThreadPerTaskExecutor@5ae2d235";
+        // JDK 21 은 상태를 출력하지 않으므로 상위 프레임으로 추정 (스택이 비면 알 수 없음)
+        assertThread(analysis, 0, "1", "main", root, "TIMED_WAITING", false);
+        assertThread(analysis, 1, "4", "Reference Handler", root, "RUNNABLE", false);
+        assertThread(analysis, 2, "5", "Finalizer", root, "WAITING", false);
+        assertThread(analysis, 3, "6", "Signal Dispatcher", root, null, false);
+        assertThread(analysis, 4, "11", "Common-Cleaner", root, "TIMED_WAITING", false);
+        assertThread(analysis, 5, "2016", "pool-1-thread-1", pool, "WAITING", false);
+        assertThread(analysis, 6, "2017", "pool-1-thread-2", pool, "RUNNABLE", false);
+        assertThread(analysis, 7, "14", "ForkJoinPool-1-worker-1", carriers, "RUNNABLE", false);
+        // 가상 스레드는 이름이 비어 있다
+        assertThread(analysis, 8, "13", "", virtual, "TIMED_WAITING", true);
+        assertThread(analysis, 9, "15", "", virtual, "WAITING", true);
+        assertThread(analysis, 10, "16", "", virtual, "RUNNABLE", true);
+        assertThread(analysis, 11, "17", "", virtual, null, false);
+
+        assertThat(analysis.getThreads().get(0).getStackFrames())
+                .containsExactly("at java.base/java.lang.Thread.sleep0(Native Method)",
+                        "at java.base/java.lang.Thread.sleep(Thread.java:509)",
+                        "at com.acme.Application.main(Application.java:13)");
+        assertThat(analysis.getThreads().get(2).isParked()).isFalse();
+        assertThat(analysis.getThreads().get(4).isParked()).isTrue();
+        assertThat(analysis.getThreads().get(5).isParked()).isTrue();
+        assertThat(analysis.getThreads().get(9).isParked()).isTrue();
+        assertThat(analysis.getThreadStateCounts())
+                .containsEntry("RUNNABLE", 4)
+                .containsEntry("WAITING", 3)
+                .containsEntry("TIMED_WAITING", 3);
+    }
+
+    private static void assertThread(ThreadDumpAnalysis analysis, int index, String tid, String name,
+                                     String container, String state, boolean virtual) {
+        ThreadInfo thread = analysis.getThreads().get(index);
+        assertThat(thread.getThreadId()).isEqualTo(tid);
+        assertThat(thread.getThreadName()).as(tid).isEqualTo(name);
+        assertThat(thread.getThreadContainer()).as(tid).isEqualTo(container);
+        assertThat(thread.getJavaLangThreadState()).as(tid).isEqualTo(state);
+        assertThat(thread.isVirtual()).as(tid).isEqualTo(virtual);
+    }
+
+    static ThreadDumpParser parser() {
+        return new ThreadDumpParser(new AnalysisMetrics());
+    }
+
+    static String read(int jdk) throws IOException {
+        try (InputStream in = ThreadDumpParserTest.class.getResourceAsStream("/dumps/jdk" + jdk + ".txt")) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void assertEquivalent(ThreadDumpAnalysis actual, ThreadDumpAnalysis expected) {
+        assertThat(actual.getDumpTimestamp()).isEqualTo(expected.getDumpTimestamp());
+        assertThat(actual.getJvmVersion()).isEqualTo(expected.getJvmVersion());
+        assertThat(actual.getTotalThreads()).isEqualTo(expected.getTotalThreads());
+        assertThat(actual.getThreadStateCounts()).isEqualTo(expected.getThreadStateCounts());
+        assertThat(actual.getLockContentionCounts()).isEqualTo(expected.getLockContentionCounts());
+        assertThat(actual.getDeadlockThreads()).isEqualTo(expected.getDeadlockThreads());
+        assertThat(actual.getStackGroups()).hasSameSizeAs(expected.getStackGroups());
+        assertThat(actual.getThreadPools()).hasSameSizeAs(expected.getThreadPools());
+
+        assertThat(actual.getThreads()).hasSameSizeAs(expected.getThreads());
+        for (int t = 0; t < expected.getThreads().size(); t++) {
+            ThreadInfo e = expected.getThreads().get(t);
+            ThreadInfo a = actual.getThreads().get(t);
+            assertThat(a.getThreadName()).isEqualTo(e.getThreadName());
+            assertThat(a.getThreadId()).isEqualTo(e.getThreadId());
+            assertThat(a.getDaemon()).isEqualTo(e.getDaemon());
+            assertThat(a.getNid()).isEqualTo(e.getNid());
+            assertThat(a.getThreadState()).isEqualTo(e.getThreadState());
+            assertThat(a.getJavaLangThreadState()).isEqualTo(e.getJavaLangThreadState());
+            assertThat(a.getLockInfo()).isEqualTo(e.getLockInfo());
+            assertThat(a.getWaitingToLock()).isEqualTo(e.getWaitingToLock());
+            assertThat(a.getParkingToWaitFor()).isEqualTo(e.getParkingToWaitFor());
+            assertThat(a.getCpuTimeMillis()).isEqualTo(e.getCpuTimeMillis());
+            assertThat(a.getStackFrames()).containsExactlyElementsOf(e.getStackFrames());
+            assertThat(a.getLockedMonitors()).containsExactlyElementsOf(e.getLockedMonitors());
+            assertThat(a.getLockedSynchronizers()).containsExactlyElementsOf(e.getLockedSynchronizers());
+            assertThat(a.isBlocked()).isEqualTo(e.isBlocked());
+            assertThat(a.isWaiting()).isEqualTo(e.isWaiting());
+            assertThat(a.isParked()).isEqualTo(e.isParked());
+        }
+    }
+}
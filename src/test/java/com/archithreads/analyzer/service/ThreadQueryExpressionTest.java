@@ -0,0 +1,83 @@
+package com.archithreads.analyzer.service;
+
+import com.archithreads.analyzer.model.ThreadDumpAnalysis;
+import com.archithreads.analyzer.model.ThreadIndex;
+import com.archithreads.analyzer.model.ThreadInfo;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 색인 검색 결과를 스레드 목록을 직접 훑은 결과와 비교한다.
+ */
+class ThreadQueryExpressionTest {
+
+    private static ThreadDumpAnalysis analysis;
+    private static ThreadIndex index;
+
+    @BeforeAll
+    static void parse() throws IOException {
+        analysis = ThreadDumpParserTest.parser().parseThreadDump(ThreadDumpParserTest.read(17));
+        index = ThreadIndex.build(analysis.getThreads(), analysis.getFrameTable());
+    }
+
+    @Test
+    void state() {
+        assertCount("state:BLOCKED", thread -> "BLOCKED".equals(thread.getJavaLangThreadState()));
+        assertCount("state:timed_waiting", thread -> "TIMED_WAITING".equals(thread.getJavaLangThreadState()));
+    }
+
+    @Test
+    void framePackagePrefix() {
+        assertCount("frame:com.acme.billing", anyFrame("at com.acme.billing."));
+    }
+
+    @Test
+    void threadNameSubstring() {
+        assertCount("name:\"http-nio\"", thread -> thread.getThreadName().contains("http-nio"));
+    }
+
+    @Test
+    void lockAddress() {
+        String lock = "0x00000000c00006c8";
+        assertCount("lock:" + lock, thread -> lock.equals(thread.getParkingToWaitFor())
+                || lock.equals(thread.getLockInfo()) || thread.getLockedMonitors().contains(lock));
+    }
+
+    @Test
+    void booleanOperators() {
+        Predicate<ThreadInfo> http = thread -> thread.getThreadName().contains("http-nio");
+        Predicate<ThreadInfo> waiting = thread -> "WAITING".equals(thread.getJavaLangThreadState());
+        assertCount("name:http-nio AND NOT state:WAITING", http.and(waiting.negate()));
+        assertCount("name:http-nio -state:WAITING", http.and(waiting.negate()));
+        assertCount("(frame:com.acme.order OR frame:com.acme.user) state:RUNNABLE",
+                anyFrame("at com.acme.order.").or(anyFrame("at com.acme.user."))
+                        .and(thread -> "RUNNABLE".equals(thread.getJavaLangThreadState())));
+    }
+
+    @Test
+    void rejectsSyntaxErrors() {
+        assertThatThrownBy(() -> ThreadQueryExpression.evaluate("state:BLOCKED AND (", index))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ThreadQueryExpression.evaluate("color:red", index))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Predicate<ThreadInfo> anyFrame(String prefix) {
+        return thread -> thread.getStackFrames().stream().anyMatch(frame -> frame.startsWith(prefix));
+    }
+
+    private static void assertCount(String query, Predicate<ThreadInfo> expected) {
+        List<ThreadInfo> threads = analysis.getThreads();
+        int[] matching = IntStream.range(0, threads.size()).filter(t -> expected.test(threads.get(t))).toArray();
+        assertThat(matching).as("픽스처에 %s 에 맞는 스레드가 있어야 함", query).isNotEmpty();
+        assertThat(ThreadQueryExpression.evaluate(query, index).toArray()).as(query).containsExactly(matching);
+    }
+}